@@ -0,0 +1,73 @@
+package benchmarks;
+
+import br.com.cadastro.alunos.model.dto.AlunoDTO;
+import br.com.cadastro.alunos.model.entities.Aluno;
+import br.com.cadastro.alunos.model.mapper.AlunoMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversões do {@link AlunoMapper} aplicadas a cada linha devolvida pela API.
+ * Cada operação converte a lista inteira; divida pelo tamanho para o custo por aluno.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AlunoMapperBenchmark {
+
+    private static final int QUANTIDADE = 1000;
+
+    private final AlunoMapper alunoMapper = new AlunoMapper();
+
+    private List<Aluno> alunos;
+    private List<Aluno> alunosSemMedia;
+    private List<AlunoDTO> dtos;
+
+    @Setup
+    public void preparar() {
+        alunos = DadosBenchmark.alunos(QUANTIDADE);
+        // Entidades ainda não gravadas: o mapper calcula a média e a situação
+        alunosSemMedia = DadosBenchmark.alunos(QUANTIDADE);
+        alunosSemMedia.forEach(aluno -> {
+            aluno.setMedia(null);
+            aluno.setSituacao(null);
+        });
+        dtos = DadosBenchmark.dtos(QUANTIDADE);
+    }
+
+    @Benchmark
+    public void toDTO(Blackhole blackhole) {
+        for (Aluno aluno : alunos) {
+            blackhole.consume(alunoMapper.toDTO(aluno));
+        }
+    }
+
+    @Benchmark
+    public void toDTOCalculandoMedia(Blackhole blackhole) {
+        for (Aluno aluno : alunosSemMedia) {
+            blackhole.consume(alunoMapper.toDTO(aluno));
+        }
+    }
+
+    @Benchmark
+    public void toEntity(Blackhole blackhole) {
+        for (AlunoDTO dto : dtos) {
+            blackhole.consume(alunoMapper.toEntity(dto));
+        }
+    }
+}
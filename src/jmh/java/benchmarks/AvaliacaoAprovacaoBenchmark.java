@@ -0,0 +1,64 @@
+package benchmarks;
+
+import br.com.cadastro.alunos.model.entities.SituacaoAluno;
+import br.com.cadastro.alunos.model.estatisticas.AvaliacaoAlunos;
+import br.com.cadastro.alunos.model.estatisticas.AvaliadorAprovacao;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Separação de aprovados e reprovados da população inteira pela coluna de situação do retrato colunar:
+ * uma posição por iteração contra um vetor de situações por iteração (jdk.incubator.vector).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", AvaliadorAprovacao.MODULO_VETORIAL})
+public class AvaliacaoAprovacaoBenchmark {
+
+    private static final long SEMENTE = 42L;
+
+    @Param({"1000000", "10000000"})
+    private int quantidade;
+
+    private byte[] situacoes;
+
+    private final AvaliadorAprovacao escalar = AvaliadorAprovacao.escalar();
+    private AvaliadorAprovacao vetorial;
+
+    @Setup
+    public void preparar() {
+        SplittableRandom aleatorio = new SplittableRandom(SEMENTE);
+        situacoes = new byte[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            situacoes[i] = aleatorio.nextBoolean()
+                    ? SituacaoAluno.APROVADO.getCodigo()
+                    : SituacaoAluno.REPROVADO.getCodigo();
+        }
+        vetorial = AvaliadorAprovacao.vetorial();
+    }
+
+    @Benchmark
+    public AvaliacaoAlunos escalar() {
+        return escalar.avaliar(situacoes, quantidade);
+    }
+
+    @Benchmark
+    public AvaliacaoAlunos vetorial() {
+        return vetorial.avaliar(situacoes, quantidade);
+    }
+}
@@ -0,0 +1,67 @@
+package benchmarks;
+
+import br.com.cadastro.alunos.model.entities.Aluno;
+import br.com.cadastro.alunos.model.estatisticas.PoliticaCompilada;
+import br.com.cadastro.alunos.model.services.AlunoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cálculo da média e da situação pelos caminhos usados na inclusão, alteração e importação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalculoMediaBenchmark {
+
+    private static final int QUANTIDADE = 1000;
+
+    // Só atualizarSituacaoAluno com a política informada é exercitado, e ele não usa o repositório, o publicador
+    // de eventos, o filtro de CPFs, as travas por CPF nem as políticas gravadas
+    private final AlunoService alunoService = new AlunoService(null, null, null, null, null);
+
+    private List<Aluno> alunos;
+
+    @Setup
+    public void preparar() {
+        alunos = DadosBenchmark.alunos(QUANTIDADE);
+    }
+
+    @Benchmark
+    public void calcularMedia(Blackhole blackhole) {
+        for (Aluno aluno : alunos) {
+            blackhole.consume(aluno.calcularMedia());
+        }
+    }
+
+    @Benchmark
+    public void atualizarMedia(Blackhole blackhole) {
+        for (Aluno aluno : alunos) {
+            aluno.atualizarMedia();
+            blackhole.consume(aluno.getMedia());
+        }
+    }
+
+    @Benchmark
+    public void atualizarSituacaoAluno(Blackhole blackhole) {
+        for (Aluno aluno : alunos) {
+            alunoService.atualizarSituacaoAluno(aluno, PoliticaCompilada.PADRAO);
+            blackhole.consume(aluno.getSituacao());
+        }
+    }
+}
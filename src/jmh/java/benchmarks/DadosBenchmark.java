@@ -0,0 +1,53 @@
+package benchmarks;
+
+import br.com.cadastro.alunos.model.dto.AlunoDTO;
+import br.com.cadastro.alunos.model.entities.Aluno;
+import br.com.cadastro.alunos.model.entities.Cpf;
+import br.com.cadastro.alunos.model.entities.Notas;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Massa de dados determinística compartilhada pelos benchmarks: notas em décimos (0 a 100)
+ * e média/situação preenchidas como vêm do banco.
+ */
+final class DadosBenchmark {
+
+    private static final long SEMENTE = 42L;
+
+    private DadosBenchmark() {
+    }
+
+    static List<Aluno> alunos(int quantidade) {
+        SplittableRandom aleatorio = new SplittableRandom(SEMENTE);
+        List<Aluno> alunos = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            Aluno aluno = Aluno.builder()
+                    .cpf(Cpf.comDigitosVerificadores(i + 1L))
+                    .nome("Aluno Benchmark " + i)
+                    .endereco("Rua dos Benchmarks, " + i + ", Bairro Teste, Cidade Teste")
+                    .turma("10" + (i % 10) + "B")
+                    .nota1(nota(aleatorio))
+                    .nota2(nota(aleatorio))
+                    .nota3(nota(aleatorio))
+                    .build();
+            aluno.atualizarMedia();
+            aluno.setSituacao(Notas.situacao(aluno.getMedia()));
+            alunos.add(aluno);
+        }
+        return alunos;
+    }
+
+    static List<AlunoDTO> dtos(int quantidade) {
+        return alunos(quantidade).stream()
+                .map(aluno -> new AlunoDTO(aluno.getCpf(), aluno.getNome(), aluno.getTurma(), aluno.getMedia(),
+                        aluno.getSituacao(), aluno.getNota1(), aluno.getNota2(), aluno.getNota3()))
+                .toList();
+    }
+
+    private static Short nota(SplittableRandom aleatorio) {
+        return (short) aleatorio.nextInt(101);
+    }
+}
@@ -1,11 +1,24 @@
 package br.com.cadastro.alunos.api.controller.v1;
 
+import br.com.cadastro.alunos.model.cache.VersaoAlunos;
+import br.com.cadastro.alunos.model.dto.AlteracaoNotas;
 import br.com.cadastro.alunos.model.dto.AlunoDTO;
+import br.com.cadastro.alunos.model.dto.ResultadoAvaliacao;
+import br.com.cadastro.alunos.model.dto.ResultadoImportacao;
 import br.com.cadastro.alunos.model.entities.Aluno;
+import br.com.cadastro.alunos.model.entities.Cpf;
+import br.com.cadastro.alunos.model.exceptions.BusinessException;
 import br.com.cadastro.alunos.model.mapper.AlunoMapper;
+import br.com.cadastro.alunos.model.repository.NotasGravadas;
 import br.com.cadastro.alunos.model.services.AlunoService;
+import br.com.cadastro.alunos.model.services.ImportacaoAlunoService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -13,39 +26,160 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 @RestController
 @Tag(name = "Cadastro de Alunos", description = "Endpoints para operações CRUD de alunos")
 @RequestMapping("v1/alunos")
 public class CadastroAlunosController {
 
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
     private final AlunoService alunoService;
+    private final ImportacaoAlunoService importacaoAlunoService;
     private final AlunoMapper alunoMapper;
+    private final ObjectMapper objectMapper;
+    private final VersaoAlunos versaoAlunos;
 
     @Autowired
-    public CadastroAlunosController(AlunoService alunoService, AlunoMapper alunoMapper) {
+    public CadastroAlunosController(AlunoService alunoService, ImportacaoAlunoService importacaoAlunoService,
+                                    AlunoMapper alunoMapper, ObjectMapper objectMapper,
+                                    VersaoAlunos versaoAlunos) {
         this.alunoService = alunoService;
+        this.importacaoAlunoService = importacaoAlunoService;
         this.alunoMapper = alunoMapper;
+        this.objectMapper = objectMapper;
+        this.versaoAlunos = versaoAlunos;
     }
 
-    @GetMapping()
-    @Operation(summary = "Listar todos os alunos", description = "Retorna uma lista com todos os alunos cadastrados")
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Listar todos os alunos",
+            description = "Retorna todos os alunos em streaming, sem carregar a tabela em memória: array JSON "
+                    + "escrito de forma incremental (application/json) ou um objeto por linha (application/x-ndjson)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de alunos retornada com sucesso",
-                    content = @Content(schema = @Schema(implementation = AlunoDTO.class))),
+                    content = {
+                            @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    array = @ArraySchema(schema = @Schema(implementation = AlunoDTO.class))),
+                            @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                    schema = @Schema(implementation = AlunoDTO.class))
+                    }),
+            @ApiResponse(responseCode = "304", description = "Lista não mudou desde a versão informada em If-None-Match"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<StreamingResponseBody> listarAlunos(
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest request) {
+        // Versão lida antes da consulta: 304 sem acessar o banco; o corpo escrito depois nunca é mais
+        // antigo que a versão da ETag. O checkNotModified já grava ETag e Last-Modified na resposta 200
+        VersaoAlunos.Versao versao = versaoAlunos.geral();
+        if (request.checkNotModified(versao.etag(false), versao.getInstante())) {
+            return null;
+        }
+        boolean ndjson = MediaType.APPLICATION_NDJSON.equals(formatoPreferido(accept));
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(exportarAlunos(!ndjson));
+    }
+
+    // Primeiro dos formatos aceitos pelo cliente, por ordem de preferência (q); JSON quando não informado
+    private static MediaType formatoPreferido(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> aceitos = MediaType.parseMediaTypes(accept);
+        MimeTypeUtils.sortBySpecificity(aceitos);
+        for (MediaType aceito : aceitos) {
+            if (aceito.equalsTypeAndSubtype(MediaType.APPLICATION_NDJSON)) {
+                return MediaType.APPLICATION_NDJSON;
+            }
+            if (aceito.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return MediaType.APPLICATION_JSON;
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    private StreamingResponseBody exportarAlunos(boolean comoArray) {
+        ObjectWriter writer = objectMapper.writerFor(AlunoDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        return saida -> {
+            try (JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida)) {
+                gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                gerador.setRootValueSeparator(null);
+                if (comoArray) {
+                    gerador.writeStartArray();
+                }
+                alunoService.exportarAlunos(aluno -> {
+                    try {
+                        writer.writeValue(gerador, aluno);
+                        if (!comoArray) {
+                            gerador.writeRaw('\n');
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                if (comoArray) {
+                    gerador.writeEndArray();
+                }
+            }
+        };
+    }
+
+    @PostMapping(value = "/lote", consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE})
+    @Operation(summary = "Importar alunos em lote",
+            description = "Cadastra alunos lidos em streaming de um corpo NDJSON (um aluno por linha) ou CSV "
+                    + "(cpf;nome;endereco;turma;nota1;nota2;nota3, cabeçalho opcional). Retorna o resultado de cada linha")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Importação processada; consulte o resultado por linha"),
+            @ApiResponse(responseCode = "415", description = "Formato do corpo não suportado"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<ResultadoImportacao> importarAlunos(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            Reader corpo) {
+
+        ImportacaoAlunoService.Formato formato = MediaType.APPLICATION_NDJSON.isCompatibleWith(
+                MediaType.parseMediaType(contentType))
+                ? ImportacaoAlunoService.Formato.NDJSON
+                : ImportacaoAlunoService.Formato.CSV;
+
+        ResultadoImportacao resultado = importacaoAlunoService.importarAlunos(corpo, formato);
+        return ResponseEntity.ok(resultado);
+    }
+
+    @PostMapping("/avaliacao")
+    @Operation(summary = "Reavaliar a situação dos alunos",
+            description = "Recalcula a situação de todos os alunos pela média, em lotes confirmados individualmente, "
+                    + "e retorna quantos alunos foram processados e alterados")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Avaliação concluída com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Tamanho de lote inválido"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
-    public ResponseEntity<List<AlunoDTO>> listarAlunos() {
-        List<Aluno> alunos = alunoService.listarAlunos();
-        List<AlunoDTO> alunosDTO = alunos.stream()
-                .map(alunoMapper::toDTO)
-                .toList();
-        return ResponseEntity.ok(alunosDTO);
+    public Callable<ResponseEntity<ResultadoAvaliacao>> avaliarAlunos(
+            @Parameter(description = "Quantidade de alunos por lote")
+            @RequestParam(defaultValue = "1000") int tamanhoLote) {
+
+        // Executada no executor assíncrono do MVC (thread virtual quando habilitada),
+        // liberando a thread do Tomcat durante a reavaliação
+        return () -> ResponseEntity.ok(alunoService.avaliarAlunos(tamanhoLote));
     }
 
     @PostMapping
@@ -61,21 +195,23 @@ public class CadastroAlunosController {
 
         Aluno alunoSalvo = alunoService.incluirAluno(aluno);
         AlunoDTO alunoDTO = alunoMapper.toDTO(alunoSalvo);
-        return ResponseEntity.status(HttpStatus.CREATED).body(alunoDTO);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(String.valueOf(alunoSalvo.getVersao())).body(alunoDTO);
     }
 
     @DeleteMapping("{cpf}")
     @Operation(summary = "Excluir um aluno", description = "Remove um aluno do sistema pelo CPF")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Aluno excluído com sucesso"),
+            @ApiResponse(responseCode = "400", description = "CPF inválido"),
             @ApiResponse(responseCode = "404", description = "Aluno não encontrado"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     public ResponseEntity<Void> excluirAluno(
-            @Parameter(description = "CPF do aluno a ser excluído", required = true)
-            @Valid @PathVariable String cpf) {
+            @Parameter(description = "CPF do aluno a ser excluído, formatado ou só com dígitos", required = true,
+                    example = "123.456.789-09")
+            @PathVariable String cpf) {
 
-        alunoService.excluirAluno(cpf);
+        alunoService.excluirAluno(cpfInformado(cpf));
         return ResponseEntity.noContent().build();
     }
 
@@ -85,14 +221,70 @@ public class CadastroAlunosController {
             @ApiResponse(responseCode = "200", description = "Aluno alterado com sucesso"),
             @ApiResponse(responseCode = "400", description = "Dados inválidos"),
             @ApiResponse(responseCode = "404", description = "Aluno não encontrado"),
+            @ApiResponse(responseCode = "409", description = "Aluno alterado por outra requisição (versão desatualizada)"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
     public ResponseEntity<AlunoDTO> alterarAluno(
+            @Parameter(description = "Versão do aluno lida pelo cliente (ETag da inclusão ou da última alteração)")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Parameter(description = "Dados do aluno a ser alterado", required = true)
             @Valid @RequestBody Aluno aluno) {
 
+        aluno.setVersao(versaoInformada(ifMatch));
         Aluno alunoAlterado = alunoService.alterarAluno(aluno.getCpf(), aluno);
         AlunoDTO alunoDTO = alunoMapper.toDTO(alunoAlterado);
-        return ResponseEntity.ok(alunoDTO);
+        return ResponseEntity.ok().eTag(String.valueOf(alunoAlterado.getVersao())).body(alunoDTO);
+    }
+
+    @PatchMapping("{cpf}/notas")
+    @Operation(summary = "Alterar notas de um aluno",
+            description = "Altera apenas as notas informadas e recalcula a situação com um único UPDATE, "
+                    + "sem reenviar nome e endereço. Retorna o aluno com a nova média")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Notas alteradas com sucesso"),
+            @ApiResponse(responseCode = "400", description = "CPF ou notas inválidas, ou nenhuma nota informada"),
+            @ApiResponse(responseCode = "404", description = "Aluno não encontrado"),
+            @ApiResponse(responseCode = "409", description = "Aluno alterado por outra requisição (versão desatualizada)"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<AlunoDTO> alterarNotas(
+            @Parameter(description = "CPF do aluno, formatado ou só com dígitos", required = true,
+                    example = "123.456.789-09")
+            @PathVariable String cpf,
+            @Parameter(description = "Versão do aluno lida pelo cliente (ETag da inclusão ou da última alteração)")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Parameter(description = "Notas alteradas", required = true)
+            @Valid @RequestBody AlteracaoNotas notas) {
+
+        NotasGravadas gravadas = alunoService.alterarNotas(cpfInformado(cpf), notas, versaoInformada(ifMatch));
+        return ResponseEntity.ok().eTag(String.valueOf(gravadas.getVersao())).body(gravadas.getAtual());
+    }
+
+    /**
+     * CPF do caminho ("123.456.789-09" ou "12345678909") com os dígitos verificadores conferidos.
+     */
+    private static long cpfInformado(String cpf) {
+        if (!Cpf.valido(cpf)) {
+            throw new BusinessException("O CPF do aluno não é válido");
+        }
+        return Cpf.valor(cpf);
+    }
+
+    /**
+     * Versão do If-Match ("3" ou W/"3"); ausente ou "*" aceita qualquer versão.
+     */
+    private static Long versaoInformada(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String etag = ifMatch.trim();
+        if (etag.startsWith("W/")) {
+            etag = etag.substring(2);
+        }
+        try {
+            return Long.valueOf(etag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new BusinessException("If-Match deve conter a versão do aluno retornada na ETag", e);
+        }
     }
 }
\ No newline at end of file
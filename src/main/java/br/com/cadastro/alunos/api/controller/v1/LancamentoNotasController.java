@@ -0,0 +1,75 @@
+package br.com.cadastro.alunos.api.controller.v1;
+
+import br.com.cadastro.alunos.model.dto.AlteracaoNotasTurma;
+import br.com.cadastro.alunos.model.dto.ResultadoAlteracaoNotas;
+import br.com.cadastro.alunos.model.dto.ResultadoLancamentoNotas;
+import br.com.cadastro.alunos.model.services.AlunoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("v1/turmas")
+@Tag(name = "Notas da turma", description = "Endpoints para lançar e alterar as notas dos alunos de uma turma")
+public class LancamentoNotasController {
+
+    private final AlunoService alunoService;
+
+    @Autowired
+    public LancamentoNotasController(AlunoService alunoService) {
+        this.alunoService = alunoService;
+    }
+
+    @PutMapping("{turma}/notas/{prova}")
+    @Operation(summary = "Lançar as notas de uma avaliação",
+            description = "Grava a nota da avaliação (1, 2 ou 3) de cada CPF informado em uma única transação, "
+                    + "com os UPDATEs enviados em lote, e recalcula a situação dos alunos na mesma passada. "
+                    + "CPFs sem aluno na turma são listados no resultado")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Notas lançadas; consulte os CPFs não encontrados"),
+            @ApiResponse(responseCode = "400", description = "Avaliação inválida, notas ausentes ou fora de 0 a 10"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<ResultadoLancamentoNotas> lancarNotas(
+            @Parameter(description = "Código da turma", required = true)
+            @PathVariable String turma,
+            @Parameter(description = "Avaliação (1, 2 ou 3)", required = true)
+            @PathVariable int prova,
+            @Parameter(description = "Nota de cada aluno, por CPF", required = true,
+                    example = "{\"123.456.789-09\": 8.5, \"111.444.777-35\": 6.0}")
+            @RequestBody Map<String, Double> notas) {
+
+        return ResponseEntity.ok(alunoService.lancarNotas(turma, prova, notas));
+    }
+
+    @PatchMapping("{turma}/notas")
+    @Operation(summary = "Alterar notas de alunos de uma turma",
+            description = "Altera as notas informadas de vários alunos da turma em uma única transação, "
+                    + "com um UPDATE por aluno. CPFs sem aluno na turma são listados no resultado")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Notas alteradas; consulte os CPFs não encontrados"),
+            @ApiResponse(responseCode = "400", description = "Notas inválidas, CPF ou notas ausentes"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<ResultadoAlteracaoNotas> alterarNotasDaTurma(
+            @Parameter(description = "Código da turma", required = true)
+            @PathVariable String turma,
+            @Parameter(description = "Alunos e notas alteradas", required = true)
+            @Valid @RequestBody AlteracaoNotasTurma alteracoes) {
+
+        return ResponseEntity.ok(alunoService.alterarNotasDaTurma(turma, alteracoes.getAlunos()));
+    }
+}
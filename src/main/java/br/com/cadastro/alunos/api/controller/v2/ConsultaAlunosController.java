@@ -1,11 +1,21 @@
 package br.com.cadastro.alunos.api.controller.v2;
 
+import br.com.cadastro.alunos.model.cache.CacheSegundoNivel;
+import br.com.cadastro.alunos.model.cache.CpfsCadastrados;
+import br.com.cadastro.alunos.model.cache.RespostaJson;
+import br.com.cadastro.alunos.model.cache.RespostaJsonCache;
+import br.com.cadastro.alunos.model.cache.VersaoAlunos;
 import br.com.cadastro.alunos.model.dto.AlunoDTO;
-import br.com.cadastro.alunos.model.entities.Aluno;
-import br.com.cadastro.alunos.model.mapper.AlunoMapper;
+import br.com.cadastro.alunos.model.dto.EstatisticasCache;
+import br.com.cadastro.alunos.model.dto.EstatisticasFiltroCpfs;
+import br.com.cadastro.alunos.model.dto.EstatisticasRegiaoCache;
+import br.com.cadastro.alunos.model.dto.PaginaCursor;
 import br.com.cadastro.alunos.model.services.ConsultaAlunoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -14,9 +24,12 @@ import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -28,63 +41,82 @@ import java.util.List;
 public class ConsultaAlunosController {
 
     private final ConsultaAlunoService consultaAlunoService;
-    private final AlunoMapper alunoMapper;
+    private final RespostaJsonCache respostaJsonCache;
+    private final VersaoAlunos versaoAlunos;
+    private final CpfsCadastrados cpfsCadastrados;
+    private final CacheSegundoNivel cacheSegundoNivel;
 
     @Autowired
-    public ConsultaAlunosController(ConsultaAlunoService consultaAlunoService, AlunoMapper alunoMapper) {
+    public ConsultaAlunosController(ConsultaAlunoService consultaAlunoService, RespostaJsonCache respostaJsonCache,
+                                    VersaoAlunos versaoAlunos, CpfsCadastrados cpfsCadastrados,
+                                    CacheSegundoNivel cacheSegundoNivel) {
         this.consultaAlunoService = consultaAlunoService;
-        this.alunoMapper = alunoMapper;
+        this.respostaJsonCache = respostaJsonCache;
+        this.versaoAlunos = versaoAlunos;
+        this.cpfsCadastrados = cpfsCadastrados;
+        this.cacheSegundoNivel = cacheSegundoNivel;
     }
 
     @GetMapping
     @Operation(summary = "Listar alunos", description = "Retorna lista de alunos com filtros opcionais")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Alunos encontrados com sucesso"),
+            @ApiResponse(responseCode = "200", description = "Alunos encontrados com sucesso",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            array = @ArraySchema(schema = @Schema(implementation = AlunoDTO.class)))),
             @ApiResponse(responseCode = "204", description = "Nenhum aluno encontrado"),
+            @ApiResponse(responseCode = "304", description = "Lista não mudou desde a versão informada em If-None-Match"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
     })
-    public ResponseEntity<List<AlunoDTO>> listarAlunos(
+    public ResponseEntity<byte[]> listarAlunos(
             @Parameter(description = "Situação do aluno: aprovado, reprovado")
             @RequestParam(required = false) String situacao,
 
             @Parameter(description = "Tipo de reprovação: uma-prova")
-            @RequestParam(required = false) String tipo) {
+            @RequestParam(required = false) String tipo,
+
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
 
-        List<Aluno> alunos;
+        RespostaJson alunos;
 
         if ("uma-prova".equals(tipo) && "aprovado".equals(situacao)) {
             //não pode haver aluno aprovado que fez apenas uma prova
             return ResponseEntity.badRequest().build(); // Retorna 400 Bad Request
         }
 
+        // Versão lida antes da consulta: 304 sem acessar o banco nem serializar
+        VersaoAlunos.Versao versao = versaoAlunos.geral();
+        if (request.checkNotModified(versao.etag(RespostaJson.aceitaGzip(acceptEncoding)), versao.getInstante())) {
+            return null;
+        }
+
+        // As listagens são servidas já serializadas; a consulta só roda quando o JSON não está em cache
         if ("uma-prova".equals(tipo)) {
             // Se tipo=uma-prova está presente (sozinho ou com situacao=reprovado)
-            alunos = consultaAlunoService.listarAlunosReprovadosUmaProva();
+            alunos = respostaJsonCache.obter("uma-prova", consultaAlunoService::listarAlunosReprovadosUmaProva);
         } else if ("aprovado".equals(situacao)) {
             // Se situacao=aprovado (e tipo não é uma-prova)
-            alunos = consultaAlunoService.listarAlunosAprovados();
+            alunos = respostaJsonCache.obter("aprovados", consultaAlunoService::listarAlunosAprovados);
         } else if ("reprovado".equals(situacao)) {
             // Se situacao=reprovado (e tipo não é uma-prova)
-            alunos = consultaAlunoService.listarTodosAlunosReprovados();
+            alunos = respostaJsonCache.obter("reprovados", consultaAlunoService::listarTodosAlunosReprovados);
         } else {
-            alunos = consultaAlunoService.listarTodosAlunos();
+            alunos = respostaJsonCache.obter("todos", consultaAlunoService::listarTodosAlunos);
         }
 
-        if (alunos.isEmpty()) {
+        if (alunos.isVazia()) {
             return ResponseEntity.noContent().build();
         }
 
-        List<AlunoDTO> alunosDTO = alunos.stream()
-                .map(alunoMapper::toDTO)
-                .toList();
-
-        return ResponseEntity.ok(alunosDTO);
+        return alunos.comoResposta(acceptEncoding);
     }
 
     @GetMapping("/por-turma")
     @Operation(summary = "Buscar alunos por turma", description = "Retorna alunos de uma turma específica com filtros")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Alunos encontrados com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Turma não mudou desde a versão informada em If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Nenhum aluno encontrado na turma informada"),
             @ApiResponse(responseCode = "400", description = "Parâmetros inválidos"),
             @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
@@ -100,9 +132,16 @@ public class ConsultaAlunosController {
             @RequestParam(defaultValue = "0") @Min(0) int page,
 
             @Parameter(description = "Tamanho da página")
-            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size) {
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size,
 
-        Page<Aluno> alunos;
+            WebRequest request) {
+
+        VersaoAlunos.Versao versao = versaoAlunos.daTurma(turma);
+        if (request.checkNotModified(versao.etag(false), versao.getInstante())) {
+            return null;
+        }
+
+        Page<AlunoDTO> alunos;
 
         // Lógica de seleção do tipo de consulta
         if ("aprovado".equalsIgnoreCase(situacao)) {
@@ -113,8 +152,79 @@ public class ConsultaAlunosController {
             alunos = consultaAlunoService.buscarTodosAlunosPorTurma(turma, page, size);
         }
 
-        Page<AlunoDTO> alunosDTO = alunos.map(alunoMapper::toDTO);
-        return ResponseEntity.ok(alunosDTO);
+        return comVersao(versao).body(alunos);
+    }
+
+    @GetMapping(value = "/por-turma", params = "cursor")
+    @Operation(summary = "Buscar alunos por turma com cursor",
+            description = "Retorna alunos de uma turma em páginas navegadas por cursor. Informe cursor vazio na "
+                    + "primeira página e o nextCursor retornado nas seguintes")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Alunos encontrados com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Turma não mudou desde a versão informada em If-None-Match"),
+            @ApiResponse(responseCode = "404", description = "Nenhum aluno encontrado na turma informada"),
+            @ApiResponse(responseCode = "400", description = "Parâmetros ou cursor inválidos"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<PaginaCursor<AlunoDTO>> buscarAlunosPorTurmaComCursor(
+            @Parameter(description = "Código da turma", required = true)
+            @RequestParam @NotBlank String turma,
+
+            @Parameter(description = "Situação do aluno: aprovado, reprovado, todos")
+            @RequestParam(required = false, defaultValue = "todos") String situacao,
+
+            @Parameter(description = "Cursor da próxima página (vazio na primeira página)")
+            @RequestParam(defaultValue = "") String cursor,
+
+            @Parameter(description = "Tamanho da página")
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size,
+
+            WebRequest request) {
+
+        VersaoAlunos.Versao versao = versaoAlunos.daTurma(turma);
+        if (request.checkNotModified(versao.etag(false), versao.getInstante())) {
+            return null;
+        }
+
+        PaginaCursor<AlunoDTO> alunos = consultaAlunoService.buscarAlunosPorTurmaComCursor(turma, situacao, cursor, size);
+        return comVersao(versao).body(alunos);
+    }
+
+    @GetMapping("/cache/estatisticas")
+    @Operation(summary = "Estatísticas do cache de consultas",
+            description = "Retorna tamanho, acertos, falhas, taxa de acerto e remoções do cache de consultas de alunos")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso")
+    })
+    public ResponseEntity<EstatisticasCache> obterEstatisticasCache() {
+        return ResponseEntity.ok(consultaAlunoService.obterEstatisticasCache());
+    }
+
+    @GetMapping("/cache/cpfs")
+    @Operation(summary = "Estatísticas do filtro de CPFs",
+            description = "Retorna quantidade de CPFs, memória ocupada e taxa de falsos positivos estimada do filtro "
+                    + "consultado antes das verificações de existência de CPF")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso")
+    })
+    public ResponseEntity<EstatisticasFiltroCpfs> obterEstatisticasFiltroCpfs() {
+        return ResponseEntity.ok(cpfsCadastrados.estatisticas());
+    }
+
+    @GetMapping("/cache/segundo-nivel")
+    @Operation(summary = "Estatísticas do cache de segundo nível",
+            description = "Retorna acertos, falhas, gravações e taxa de acerto das regiões de alunos e de consultas "
+                    + "por turma do cache de segundo nível do Hibernate")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso")
+    })
+    public ResponseEntity<List<EstatisticasRegiaoCache>> obterEstatisticasCacheSegundoNivel() {
+        return ResponseEntity.ok(cacheSegundoNivel.estatisticas());
     }
 
-}
\ No newline at end of file
+    private static ResponseEntity.BodyBuilder comVersao(VersaoAlunos.Versao versao) {
+        return ResponseEntity.ok()
+                .eTag(versao.etag(false))
+                .lastModified(versao.getInstante());
+    }
+}
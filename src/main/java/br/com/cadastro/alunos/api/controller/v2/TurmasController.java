@@ -0,0 +1,119 @@
+package br.com.cadastro.alunos.api.controller.v2;
+
+import br.com.cadastro.alunos.model.dto.EstatisticasTurma;
+import br.com.cadastro.alunos.model.dto.ResultadoSimulacao;
+import br.com.cadastro.alunos.model.entities.PoliticaAprovacao;
+import br.com.cadastro.alunos.model.services.ConsultaAlunoService;
+import br.com.cadastro.alunos.model.services.PoliticaAprovacaoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/v2/turmas")
+@Tag(name = "Consulta de turmas", description = "Endpoints para indicadores agregados por turma")
+public class TurmasController {
+
+    private final ConsultaAlunoService consultaAlunoService;
+    private final PoliticaAprovacaoService politicaAprovacaoService;
+
+    @Autowired
+    public TurmasController(ConsultaAlunoService consultaAlunoService,
+                            PoliticaAprovacaoService politicaAprovacaoService) {
+        this.consultaAlunoService = consultaAlunoService;
+        this.politicaAprovacaoService = politicaAprovacaoService;
+    }
+
+    @GetMapping("/estatisticas")
+    @Operation(summary = "Estatísticas de todas as turmas",
+            description = "Retorna, para cada turma, quantidade de alunos, aprovados, reprovados, média geral "
+                    + "e menor/maior nota de cada avaliação")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso"),
+            @ApiResponse(responseCode = "204", description = "Nenhuma turma cadastrada"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<List<EstatisticasTurma>> listarEstatisticasTurmas() {
+        List<EstatisticasTurma> estatisticas = consultaAlunoService.listarEstatisticasTurmas();
+        if (estatisticas.isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(estatisticas);
+    }
+
+    @GetMapping("/{turma}/estatisticas")
+    @Operation(summary = "Estatísticas de uma turma",
+            description = "Retorna quantidade de alunos, aprovados, reprovados, média geral e menor/maior nota "
+                    + "de cada avaliação da turma")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Nenhum aluno encontrado na turma informada"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<EstatisticasTurma> obterEstatisticasTurma(
+            @Parameter(description = "Código da turma", required = true)
+            @PathVariable String turma) {
+        return ResponseEntity.ok(consultaAlunoService.obterEstatisticasTurma(turma));
+    }
+
+    @GetMapping("/{turma}/politica")
+    @Operation(summary = "Política de aprovação de uma turma",
+            description = "Retorna os pesos das avaliações, a média mínima e a quantidade mínima de provas "
+                    + "da turma; turmas sem política gravada seguem a padrão (pesos iguais e média 7.0)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Política retornada com sucesso"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<PoliticaAprovacao> obterPolitica(
+            @Parameter(description = "Código da turma", required = true)
+            @PathVariable String turma) {
+        return ResponseEntity.ok(politicaAprovacaoService.obterPolitica(turma));
+    }
+
+    @PutMapping("/{turma}/politica")
+    @Operation(summary = "Gravar a política de aprovação de uma turma",
+            description = "Inclui ou substitui a política da turma e recalcula a situação gravada dos alunos dela; "
+                    + "as inclusões, alterações e lançamentos de notas seguintes já usam a nova política")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Política gravada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Política inválida"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<PoliticaAprovacao> salvarPolitica(
+            @Parameter(description = "Código da turma", required = true)
+            @PathVariable String turma,
+            @Valid @RequestBody PoliticaAprovacao politica) {
+        return ResponseEntity.ok(politicaAprovacaoService.salvarPolitica(turma, politica));
+    }
+
+    @PostMapping("/{turma}/simulacao")
+    @Operation(summary = "Simular uma política de aprovação",
+            description = "Informa quantos alunos da turma seriam aprovados pela política proposta (ou, sem corpo, "
+                    + "pela política gravada) e quantos mudariam de situação, sem gravar nada")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Simulação realizada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Política inválida"),
+            @ApiResponse(responseCode = "404", description = "Nenhum aluno encontrado na turma informada"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<ResultadoSimulacao> simularPolitica(
+            @Parameter(description = "Código da turma", required = true)
+            @PathVariable String turma,
+            @Valid @RequestBody(required = false) PoliticaAprovacao proposta) {
+        return ResponseEntity.ok(politicaAprovacaoService.simular(turma, proposta));
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.cadastro.alunos.config;
+
+import br.com.cadastro.alunos.model.entities.Aluno;
+import br.com.cadastro.alunos.model.repository.AlunoRepository;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Regiões do cache de segundo nível do Hibernate (JCache com o provedor Caffeine, em memória).
+ * As regiões são criadas aqui, limitadas por tamanho e por tempo, e o Hibernate recebe o
+ * CacheManager pronto; nenhuma região é criada com o padrão ilimitado do provedor.
+ */
+@Configuration
+public class CacheSegundoNivelConfig {
+
+    // O provedor é compartilhado pela JVM e não é fechado aqui; só o CacheManager pertence ao contexto
+    @Bean
+    @SuppressWarnings("PMD.CloseResource")
+    public CacheManager cacheManagerSegundoNivel(
+            @Value("${cadastro.cache.segundo-nivel.tamanho-maximo:10000}") long tamanhoMaximo,
+            @Value("${cadastro.cache.segundo-nivel.expiracao:10m}") Duration expiracao) {
+        CachingProvider provedor = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // URI próprio por contexto: o CacheManager padrão do provedor é único na JVM, e o Hibernate
+        // fecha o CacheManager que recebe quando o contexto termina
+        CacheManager cacheManager = provedor.getCacheManager(URI.create("cadastro-alunos:" + UUID.randomUUID()),
+                provedor.getDefaultClassLoader());
+        cacheManager.createCache(Aluno.REGIAO_CACHE, limitada(tamanhoMaximo, expiracao));
+        cacheManager.createCache(AlunoRepository.REGIAO_CONSULTAS, limitada(tamanhoMaximo, expiracao));
+        // Região das consultas em cache sem região própria, que o Hibernate sempre abre
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                limitada(tamanhoMaximo, expiracao));
+        // Um carimbo de atualização por tabela, consultado antes de usar um resultado do cache de consultas:
+        // não pode expirar nem ser removido por tamanho
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer propriedadesCacheSegundoNivel(CacheManager cacheManagerSegundoNivel) {
+        return propriedades -> propriedades.put(ConfigSettings.CACHE_MANAGER, cacheManagerSegundoNivel);
+    }
+
+    private static CaffeineConfiguration<Object, Object> limitada(long tamanhoMaximo, Duration expiracao) {
+        CaffeineConfiguration<Object, Object> configuracao = new CaffeineConfiguration<>();
+        configuracao.setMaximumSize(OptionalLong.of(tamanhoMaximo));
+        configuracao.setExpireAfterWrite(OptionalLong.of(expiracao.toNanos()));
+        // As entradas do Hibernate já são cópias desmontadas e imutáveis do estado da entidade
+        configuracao.setStoreByValue(false);
+        return configuracao;
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.cadastro.alunos.model.cache;
+
+import br.com.cadastro.alunos.model.dto.EstatisticasRegiaoCache;
+import br.com.cadastro.alunos.model.entities.Aluno;
+import br.com.cadastro.alunos.model.repository.AlunoRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Contadores das regiões do cache de segundo nível do Hibernate: alunos por CPF e páginas por turma.
+ * As regiões são criadas em {@code CacheSegundoNivelConfig}; as gravações por JDBC são removidas delas
+ * pelo próprio repositório, depois da transação.
+ */
+@Component
+public class CacheSegundoNivel {
+
+    private final SessionFactory sessionFactory;
+
+    @Autowired
+    public CacheSegundoNivel(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    public List<EstatisticasRegiaoCache> estatisticas() {
+        Statistics statistics = sessionFactory.getStatistics();
+        return List.of(
+                estatisticas(Aluno.REGIAO_CACHE, statistics.getDomainDataRegionStatistics(Aluno.REGIAO_CACHE)),
+                // A região de consultas só existe depois da primeira consulta em cache
+                estatisticas(AlunoRepository.REGIAO_CONSULTAS,
+                        statistics.getQueryRegionStatistics(AlunoRepository.REGIAO_CONSULTAS)));
+    }
+
+    private static EstatisticasRegiaoCache estatisticas(String regiao, CacheRegionStatistics regiaoStats) {
+        if (regiaoStats == null) {
+            return new EstatisticasRegiaoCache(regiao, 0, 0, 0, 0);
+        }
+        long acertos = regiaoStats.getHitCount();
+        long falhas = regiaoStats.getMissCount();
+        double taxaAcerto = acertos + falhas == 0 ? 0 : (double) acertos / (acertos + falhas);
+        return new EstatisticasRegiaoCache(regiao, acertos, falhas, regiaoStats.getPutCount(), taxaAcerto);
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.cadastro.alunos.model.cache;
+
+import lombok.Value;
+
+/**
+ * Chave de uma consulta em cache: tipo da consulta, turma (nula nas listagens gerais) e paginação.
+ */
+@Value
+public class ChaveConsulta {
+
+    String tipo;
+    String turma;
+    int pagina;
+    int tamanho;
+
+    public static ChaveConsulta geral(String tipo) {
+        return new ChaveConsulta(tipo, null, 0, 0);
+    }
+
+    public static ChaveConsulta porTurma(String tipo, String turma, int pagina, int tamanho) {
+        return new ChaveConsulta(tipo, turma, pagina, tamanho);
+    }
+
+    public boolean isGeral() {
+        return turma == null;
+    }
+}
@@ -0,0 +1,108 @@
+package br.com.cadastro.alunos.model.cache;
+
+import br.com.cadastro.alunos.model.dto.EstatisticasCache;
+import br.com.cadastro.alunos.model.events.AlunosAlteradosEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache de leitura (read-through) das consultas de alunos, limitado por tamanho e por tempo.
+ * As entradas são invalidadas após o commit das gravações, apenas para as turmas afetadas
+ * e para as listagens gerais, que contêm alunos de todas as turmas.
+ * <p>
+ * Cada invalidação avança uma geração (geral, por turma ou de todas as turmas). Uma consulta que
+ * estava em andamento durante a invalidação pode ter lido os dados anteriores à gravação: se a geração
+ * da sua chave mudou, o resultado é devolvido a quem consultou, mas retirado do cache.
+ */
+@Component
+public class ConsultaAlunoCache {
+
+    private static final Logger logger = LogManager.getLogger(ConsultaAlunoCache.class);
+
+    private final Cache<ChaveConsulta, Object> consultas;
+
+    // Geração da última invalidação: a geral avança a cada gravação (as listagens gerais sempre mudam);
+    // cada turma guarda a geral da última gravação que a afetou, como as versões de VersaoAlunos
+    private final AtomicLong geracao = new AtomicLong();
+    private final AtomicLong geracaoTodasAsTurmas = new AtomicLong();
+    private final Map<String, Long> geracoesTurmas = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ConsultaAlunoCache(@Value("${cadastro.cache.consultas.tamanho-maximo:1000}") long tamanhoMaximo,
+                              @Value("${cadastro.cache.consultas.expiracao:5m}") Duration expiracao) {
+        this.consultas = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(expiracao)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Retorna o resultado em cache para a chave ou executa a consulta e o guarda.
+     * Exceções da consulta não são armazenadas.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T obter(ChaveConsulta chave, Supplier<T> consulta) {
+        long antes = geracao(chave);
+        T resultado = (T) consultas.get(chave, k -> consulta.get());
+        // A invalidação avança a geração antes de remover as entradas: ou ela remove o que foi guardado
+        // aqui, ou a mudança já é visível nesta leitura e o resultado sai do cache
+        if (geracao(chave) != antes) {
+            consultas.asMap().remove(chave, resultado);
+        }
+        return resultado;
+    }
+
+    /**
+     * Invalida as consultas das turmas alteradas depois que a transação que as gravou é confirmada,
+     * para que uma leitura concorrente não recoloque no cache dados ainda não confirmados.
+     * Roda depois da remoção das gravações por JDBC do cache de segundo nível, de onde as consultas
+     * refeitas leriam, e antes do {@link RespostaJsonCache}, que serializa as listagens guardadas aqui.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarAlunos(AlunosAlteradosEvent evento) {
+        long nova = geracao.incrementAndGet();
+        if (evento.isTodasAsTurmas()) {
+            geracaoTodasAsTurmas.set(nova);
+            consultas.invalidateAll();
+            if (logger.isDebugEnabled()) {
+                logger.debug("Cache de consultas invalidado por completo");
+            }
+            return;
+        }
+        evento.getTurmas().forEach(turma -> geracoesTurmas.put(turma, nova));
+        consultas.asMap().keySet().removeIf(chave -> chave.isGeral() || evento.getTurmas().contains(chave.getTurma()));
+        if (logger.isDebugEnabled()) {
+            logger.debug("Cache de consultas invalidado para as turmas {}", evento.getTurmas());
+        }
+    }
+
+    private long geracao(ChaveConsulta chave) {
+        if (chave.isGeral()) {
+            return geracao.get();
+        }
+        return Math.max(geracaoTodasAsTurmas.get(), geracoesTurmas.getOrDefault(chave.getTurma(), 0L));
+    }
+
+    public EstatisticasCache estatisticas() {
+        CacheStats stats = consultas.stats();
+        return new EstatisticasCache(consultas.estimatedSize(), stats.hitCount(), stats.missCount(),
+                stats.hitRate(), stats.evictionCount());
+    }
+}
@@ -0,0 +1,210 @@
+package br.com.cadastro.alunos.model.cache;
+
+import br.com.cadastro.alunos.model.dto.AlunoDTO;
+import br.com.cadastro.alunos.model.dto.EstatisticasFiltroCpfs;
+import br.com.cadastro.alunos.model.events.AlunosAlteradosEvent;
+import br.com.cadastro.alunos.model.repository.AlunoRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+
+/**
+ * Filtro de Bloom com contadores dos CPFs cadastrados, usado para evitar consultas de existência
+ * de CPFs que certamente não estão no banco. "Não" é definitivo; "talvez" exige a consulta.
+ * <p>
+ * Cada posição tem um contador de 4 bits (16 por {@code long}), o que permite remover CPFs excluídos.
+ * Um contador que chega a 15 fica saturado e não é mais decrementado: o filtro pode errar só para o
+ * lado de "talvez". Inclusões são registradas antes do commit e exclusões depois dele, pelo mesmo
+ * motivo. Gravações feitas por fora do serviço não são vistas; a chave primária continua sendo a
+ * garantia final contra CPFs duplicados.
+ */
+@Component
+public class CpfsCadastrados {
+
+    private static final Logger logger = LogManager.getLogger(CpfsCadastrados.class);
+
+    private static final int BITS_CONTADOR = 4;
+    private static final int CONTADORES_POR_PALAVRA = Long.SIZE / BITS_CONTADOR;
+    private static final long CONTADOR_SATURADO = (1L << BITS_CONTADOR) - 1;
+
+    private final AlunoRepository alunoRepository;
+    private final AtomicLongArray contadores;
+    private final int posicoes;
+    private final int funcoesHash;
+    private final AtomicLong cpfs = new AtomicLong();
+
+    // Até a carga inicial terminar, todo CPF "talvez" exista
+    @SuppressWarnings("PMD.AvoidUsingVolatile")
+    private volatile boolean carregado;
+
+    @Autowired
+    public CpfsCadastrados(AlunoRepository alunoRepository,
+                           @Value("${cadastro.cpfs.capacidade:1000000}") int capacidade,
+                           @Value("${cadastro.cpfs.taxa-falsos-positivos:0.01}") double taxaFalsosPositivos) {
+        if (capacidade <= 0 || taxaFalsosPositivos <= 0 || taxaFalsosPositivos >= 1) {
+            throw new IllegalArgumentException("Capacidade e taxa de falsos positivos do filtro de CPFs inválidas");
+        }
+        this.alunoRepository = alunoRepository;
+        // Dimensionamento clássico: m = -n ln p / (ln 2)^2 posições e k = (m / n) ln 2 funções de hash
+        long calculadas = (long) Math.ceil(-capacidade * Math.log(taxaFalsosPositivos) / (Math.log(2) * Math.log(2)));
+        int palavras = (int) Math.min(Integer.MAX_VALUE / CONTADORES_POR_PALAVRA,
+                (calculadas + CONTADORES_POR_PALAVRA - 1) / CONTADORES_POR_PALAVRA);
+        this.posicoes = palavras * CONTADORES_POR_PALAVRA;
+        this.funcoesHash = Math.max(1, (int) Math.round((double) posicoes / capacidade * Math.log(2)));
+        this.contadores = new AtomicLongArray(palavras);
+    }
+
+    /**
+     * Carrega os CPFs já gravados quando a aplicação termina de subir.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        long inicio = System.nanoTime();
+        alunoRepository.percorrerCpfs(this::adicionar);
+        carregado = true;
+        if (logger.isInfoEnabled()) {
+            logger.info("Filtro de CPFs carregado em {} ms: {} CPFs, {} bytes, {} funções de hash",
+                    (System.nanoTime() - inicio) / 1_000_000, cpfs.get(), getMemoriaBytes(), funcoesHash);
+        }
+    }
+
+    /**
+     * {@code false} se o CPF certamente não está cadastrado; {@code true} se pode estar.
+     */
+    public boolean podeExistir(long cpf) {
+        if (!carregado) {
+            return true;
+        }
+        long hash = hash(cpf);
+        for (int i = 0; i < funcoesHash; i++) {
+            if (contador(posicao(hash, i)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Registra um CPF gravado. Chamado logo após o INSERT, antes do commit: se a transação for
+     * desfeita, o CPF fica como falso positivo, nunca como falso negativo.
+     */
+    public void adicionar(long cpf) {
+        long hash = hash(cpf);
+        for (int i = 0; i < funcoesHash; i++) {
+            incrementar(posicao(hash, i));
+        }
+        cpfs.incrementAndGet();
+    }
+
+    /**
+     * Remove os CPFs excluídos depois do commit. Alterações levam o mesmo CPF nos retratos anterior e
+     * atual e não mudam o filtro. Exclusões anteriores à carga são ignoradas: a carga pode não ter
+     * contado o CPF, e decrementar seus contadores apagaria outros CPFs.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarAlunos(AlunosAlteradosEvent evento) {
+        if (!carregado || evento.getRemovidos().isEmpty()) {
+            return;
+        }
+        Set<Long> mantidos = evento.getIncluidos().stream().map(AlunoDTO::getCpf).collect(Collectors.toSet());
+        evento.getRemovidos().stream()
+                .map(AlunoDTO::getCpf)
+                .filter(cpf -> !mantidos.contains(cpf))
+                .forEach(this::remover);
+    }
+
+    private void remover(long cpf) {
+        long hash = hash(cpf);
+        for (int i = 0; i < funcoesHash; i++) {
+            decrementar(posicao(hash, i));
+        }
+        cpfs.decrementAndGet();
+    }
+
+    /**
+     * Taxa de falsos positivos estimada pela ocupação atual: (posições ocupadas / posições) ^ funções de hash.
+     */
+    public double getTaxaFalsosPositivos() {
+        long ocupadas = 0;
+        for (int palavra = 0; palavra < contadores.length(); palavra++) {
+            long valor = contadores.get(palavra);
+            for (int i = 0; i < CONTADORES_POR_PALAVRA; i++) {
+                if (((valor >>> (i * BITS_CONTADOR)) & CONTADOR_SATURADO) != 0) {
+                    ocupadas++;
+                }
+            }
+        }
+        return Math.pow((double) ocupadas / posicoes, funcoesHash);
+    }
+
+    public long getMemoriaBytes() {
+        return (long) contadores.length() * Long.BYTES;
+    }
+
+    public EstatisticasFiltroCpfs estatisticas() {
+        return new EstatisticasFiltroCpfs(carregado, cpfs.get(), posicoes, funcoesHash, getMemoriaBytes(),
+                getTaxaFalsosPositivos());
+    }
+
+    private int contador(int posicao) {
+        return (int) ((contadores.get(posicao / CONTADORES_POR_PALAVRA) >>> deslocamento(posicao)) & CONTADOR_SATURADO);
+    }
+
+    private void incrementar(int posicao) {
+        int palavra = posicao / CONTADORES_POR_PALAVRA;
+        int deslocamento = deslocamento(posicao);
+        long atual;
+        do {
+            atual = contadores.get(palavra);
+            if (((atual >>> deslocamento) & CONTADOR_SATURADO) == CONTADOR_SATURADO) {
+                return;
+            }
+        } while (!contadores.compareAndSet(palavra, atual, atual + (1L << deslocamento)));
+    }
+
+    private void decrementar(int posicao) {
+        int palavra = posicao / CONTADORES_POR_PALAVRA;
+        int deslocamento = deslocamento(posicao);
+        long atual;
+        do {
+            atual = contadores.get(palavra);
+            long contador = (atual >>> deslocamento) & CONTADOR_SATURADO;
+            if (contador == 0 || contador == CONTADOR_SATURADO) {
+                return;
+            }
+        } while (!contadores.compareAndSet(palavra, atual, atual - (1L << deslocamento)));
+    }
+
+    private static int deslocamento(int posicao) {
+        return (posicao % CONTADORES_POR_PALAVRA) * BITS_CONTADOR;
+    }
+
+    /**
+     * Hash duplo (Kirsch-Mitzenmacher): a i-ésima posição é h1 + i * h2, com h1 e h2 as metades do hash de 64 bits.
+     */
+    private int posicao(long hash, int i) {
+        int combinado = (int) hash + i * (int) (hash >>> 32);
+        return (combinado & Integer.MAX_VALUE) % posicoes;
+    }
+
+    // Finalização do MurmurHash3 sobre o CPF numérico, para espalhar os bits de CPFs próximos
+    private static long hash(long cpf) {
+        long hash = cpf;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
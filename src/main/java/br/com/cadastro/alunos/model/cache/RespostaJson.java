@@ -0,0 +1,84 @@
+package br.com.cadastro.alunos.model.cache;
+
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Corpo JSON já codificado em UTF-8 de uma listagem, pronto para ser copiado na resposta.
+ * A versão gzip é gerada na primeira requisição que a aceita e reaproveitada nas seguintes.
+ */
+public final class RespostaJson {
+
+    private final byte[] json;
+    @Getter
+    private final boolean vazia;
+    // Versão dos dados lida antes da consulta que gerou o corpo
+    @Getter
+    private final VersaoAlunos.Versao versao;
+    // Gerada sob demanda; duas threads podem comprimir ao mesmo tempo, com o mesmo resultado
+    @SuppressWarnings("PMD.AvoidUsingVolatile")
+    private volatile byte[] gzip;
+
+    RespostaJson(byte[] json, boolean vazia, VersaoAlunos.Versao versao) {
+        this.json = json;
+        this.vazia = vazia;
+        this.versao = versao;
+    }
+
+    public int getTamanho() {
+        return json.length;
+    }
+
+    /**
+     * Resposta 200 com o corpo em cache, comprimido quando o cliente aceita gzip. ETag e Last-Modified
+     * vêm da versão em que o corpo foi gerado, nunca de uma versão lida depois.
+     */
+    public ResponseEntity<byte[]> comoResposta(String acceptEncoding) {
+        boolean gzip = aceitaGzip(acceptEncoding);
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .eTag(versao.etag(gzip))
+                .lastModified(versao.getInstante());
+        if (gzip) {
+            return resposta.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gzip());
+        }
+        return resposta.body(json);
+    }
+
+    byte[] gzip() {
+        byte[] comprimido = gzip;
+        if (comprimido == null) {
+            ByteArrayOutputStream saida = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+            try (GZIPOutputStream gzipSaida = new GZIPOutputStream(saida)) {
+                gzipSaida.write(json);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            comprimido = saida.toByteArray();
+            gzip = comprimido;
+        }
+        return comprimido;
+    }
+
+    public static boolean aceitaGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String codificacao : acceptEncoding.split(",")) {
+            String[] partes = codificacao.trim().split(";");
+            if (("gzip".equalsIgnoreCase(partes[0].trim()) || "*".equals(partes[0].trim()))
+                    && (partes.length == 1 || !partes[1].trim().matches("q=0(\\.0*)?"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.cadastro.alunos.model.cache;
+
+import br.com.cadastro.alunos.model.dto.AlunoDTO;
+import br.com.cadastro.alunos.model.events.AlunosAlteradosEvent;
+import br.com.cadastro.alunos.model.exceptions.ServiceException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Cache das listagens gerais de alunos já serializadas em JSON. Uma leitura repetida copia
+ * os bytes para a resposta, sem consulta, mapeamento nem serialização. Como as listagens
+ * contêm alunos de todas as turmas, qualquer gravação confirmada invalida o cache inteiro.
+ * <p>
+ * Cada resposta guarda a versão geral de {@link VersaoAlunos} lida antes da sua consulta e só é
+ * servida enquanto essa for a versão atual. Uma consulta ainda em andamento durante a invalidação
+ * pode gravar o seu resultado depois dela, mas com a versão antiga: a primeira leitura após
+ * o avanço da versão descarta esse resultado e consulta de novo.
+ */
+@Component
+public class RespostaJsonCache {
+
+    private static final Logger logger = LogManager.getLogger(RespostaJsonCache.class);
+
+    private final Cache<String, RespostaJson> respostas;
+    private final ObjectWriter writer;
+    private final VersaoAlunos versaoAlunos;
+
+    @Autowired
+    public RespostaJsonCache(ObjectMapper objectMapper, VersaoAlunos versaoAlunos,
+                             @Value("${cadastro.cache.respostas.tamanho-maximo:16}") long tamanhoMaximo,
+                             @Value("${cadastro.cache.consultas.expiracao:5m}") Duration expiracao) {
+        this.writer = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, AlunoDTO.class));
+        this.versaoAlunos = versaoAlunos;
+        this.respostas = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(expiracao)
+                .build();
+    }
+
+    /**
+     * Retorna o JSON em cache da listagem, se gerado na versão atual dos dados, ou executa a consulta,
+     * serializa e guarda o resultado com a versão lida antes dela.
+     */
+    public RespostaJson obter(String listagem, Supplier<List<AlunoDTO>> consulta) {
+        VersaoAlunos.Versao versao = versaoAlunos.geral();
+        return respostas.asMap().compute(listagem, (chave, atual) -> atual != null && atual.getVersao().equals(versao)
+                ? atual
+                : serializar(chave, consulta.get(), versao));
+    }
+
+    /**
+     * Invalida depois do {@link ConsultaAlunoCache} e do retrato colunar dos alunos, para que uma resposta
+     * regerada já leia as listagens atualizadas, e antes de {@link VersaoAlunos} avançar a versão usada nas ETags.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE + 2)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarAlunos(AlunosAlteradosEvent evento) {
+        respostas.invalidateAll();
+        if (logger.isDebugEnabled()) {
+            logger.debug("Cache de respostas JSON invalidado");
+        }
+    }
+
+    private RespostaJson serializar(String listagem, List<AlunoDTO> alunos, VersaoAlunos.Versao versao) {
+        try {
+            byte[] json = writer.writeValueAsBytes(alunos);
+            if (logger.isDebugEnabled()) {
+                logger.debug("Listagem {} serializada: {} alunos, {} bytes", listagem, alunos.size(), json.length);
+            }
+            return new RespostaJson(json, alunos.isEmpty(), versao);
+        } catch (JsonProcessingException e) {
+            logger.error("Erro ao serializar a listagem {}", listagem, e);
+            throw new ServiceException("Erro ao serializar a listagem de alunos", e);
+        }
+    }
+}
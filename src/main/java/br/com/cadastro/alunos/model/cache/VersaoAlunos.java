@@ -0,0 +1,93 @@
+package br.com.cadastro.alunos.model.cache;
+
+import br.com.cadastro.alunos.model.events.AlunosAlteradosEvent;
+import lombok.Value;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Versão dos dados de alunos, geral e por turma, usada para responder GETs condicionais
+ * (ETag e Last-Modified) sem consultar o banco. A versão geral cresce a cada gravação confirmada;
+ * a de uma turma é a versão geral da última gravação que a afetou.
+ */
+@Component
+public class VersaoAlunos {
+
+    private static final Logger logger = LogManager.getLogger(VersaoAlunos.class);
+
+    private final Clock relogio;
+    // Distingue as ETags de execuções diferentes da aplicação, já que o contador recomeça do zero
+    private final long inicio;
+
+    @SuppressWarnings("PMD.AvoidUsingVolatile")
+    private volatile Versao geral;
+    // Última gravação que afetou todas as turmas (ex.: reavaliação geral)
+    @SuppressWarnings("PMD.AvoidUsingVolatile")
+    private volatile Versao todasAsTurmas;
+    private final Map<String, Versao> turmas = new ConcurrentHashMap<>();
+
+    public VersaoAlunos() {
+        this(Clock.systemUTC());
+    }
+
+    VersaoAlunos(Clock relogio) {
+        this.relogio = relogio;
+        this.inicio = relogio.millis();
+        this.geral = new Versao(inicio, 0, inicio);
+        this.todasAsTurmas = geral;
+    }
+
+    public Versao geral() {
+        return geral;
+    }
+
+    public Versao daTurma(String turma) {
+        Versao daTurma = turmas.get(turma);
+        Versao deTodas = todasAsTurmas;
+        return daTurma == null || daTurma.getNumero() < deTodas.getNumero() ? deTodas : daTurma;
+    }
+
+    /**
+     * Avança as versões depois que os caches de consultas e de respostas foram invalidados.
+     * Quem lê a versão antes dos dados nunca associa uma versão nova a dados antigos.
+     */
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void aoAlterarAlunos(AlunosAlteradosEvent evento) {
+        Versao nova = new Versao(inicio, geral.getNumero() + 1, relogio.millis());
+        if (evento.isTodasAsTurmas()) {
+            todasAsTurmas = nova;
+        } else {
+            evento.getTurmas().forEach(turma -> turmas.put(turma, nova));
+        }
+        geral = nova;
+        if (logger.isDebugEnabled()) {
+            logger.debug("Dados de alunos na versão {} (turmas {})", nova.getNumero(),
+                    evento.isTodasAsTurmas() ? "todas" : evento.getTurmas());
+        }
+    }
+
+    @Value
+    public static class Versao {
+
+        long inicio;
+        long numero;
+        // Instante da gravação, em milissegundos, para o cabeçalho Last-Modified
+        long instante;
+
+        /**
+         * ETag forte da representação; a versão comprimida tem bytes diferentes e, portanto, outra ETag.
+         */
+        public String etag(boolean gzip) {
+            return "\"" + Long.toString(inicio, 36) + "-" + numero + (gzip ? "-gz" : "") + "\"";
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.cadastro.alunos.model.converters;
+
+import br.com.cadastro.alunos.model.entities.Cpf;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Lê o CPF do JSON, formatado ou só com dígitos, no valor numérico; CPF com dígitos verificadores
+ * errados é rejeitado na leitura do corpo.
+ */
+public class CpfJsonDeserializer extends JsonDeserializer<Long> {
+
+    @Override
+    public Long deserialize(JsonParser parser, DeserializationContext contexto) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            String texto = parser.getText().trim();
+            if (Cpf.valido(texto)) {
+                return Cpf.valor(texto);
+            }
+            return (Long) contexto.handleWeirdStringValue(Long.class, texto, "CPF inválido");
+        }
+        return (Long) contexto.handleUnexpectedToken(Long.class, parser);
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.cadastro.alunos.model.converters;
+
+import br.com.cadastro.alunos.model.entities.Cpf;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+
+/**
+ * Escreve o CPF numérico formatado no JSON ("000.000.000-00"), mantendo o contrato da API.
+ */
+public class CpfJsonSerializer extends JsonSerializer<Long> {
+
+    @Override
+    public void serialize(Long cpf, JsonGenerator gerador, SerializerProvider provider) throws IOException {
+        char[] texto = new char[Cpf.TAMANHO_FORMATADO];
+        Cpf.formatar(cpf, texto, 0);
+        gerador.writeString(texto, 0, texto.length);
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.cadastro.alunos.model.converters;
+
+import br.com.cadastro.alunos.model.entities.Notas;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * Converte a nota em décimos para as colunas DECIMAL(3,1) (ex.: 95 décimos = 9.5).
+ */
+@Converter
+public class NotaConverter implements AttributeConverter<Short, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Short decimos) {
+        return decimos == null ? null : BigDecimal.valueOf(decimos, 1);
+    }
+
+    @Override
+    public Short convertToEntityAttribute(BigDecimal nota) {
+        return nota == null ? null : Notas.decimos(nota);
+    }
+}
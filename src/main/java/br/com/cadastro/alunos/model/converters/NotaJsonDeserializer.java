@@ -0,0 +1,34 @@
+package br.com.cadastro.alunos.model.converters;
+
+import br.com.cadastro.alunos.model.entities.Notas;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Lê a nota decimal do JSON (ex.: 9.5) em décimos. O valor é lido como {@link BigDecimal}, sem passar
+ * por double, e fora de 0 a 10 (ex.: 10.04) não é arredondado para dentro da faixa: o Bean Validation rejeita.
+ */
+public class NotaJsonDeserializer extends JsonDeserializer<Short> {
+
+    @Override
+    public Short deserialize(JsonParser parser, DeserializationContext contexto) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT || parser.currentToken() == JsonToken.VALUE_NUMBER_FLOAT) {
+            return Notas.decimos(parser.getDecimalValue());
+        }
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            // Mesma coerção que o Jackson aplicava ao Double: "9.5" também é aceito
+            String texto = parser.getText().trim();
+            try {
+                return Notas.decimos(new BigDecimal(texto));
+            } catch (NumberFormatException e) {
+                return (Short) contexto.handleWeirdStringValue(Short.class, texto, "nota inválida");
+            }
+        }
+        return (Short) contexto.handleUnexpectedToken(Short.class, parser);
+    }
+}
@@ -0,0 +1,19 @@
+package br.com.cadastro.alunos.model.converters;
+
+import br.com.cadastro.alunos.model.entities.Notas;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+
+/**
+ * Escreve a nota em décimos como número decimal no JSON (95 décimos = 9.5), mantendo o contrato da API.
+ */
+public class NotaJsonSerializer extends JsonSerializer<Short> {
+
+    @Override
+    public void serialize(Short decimos, JsonGenerator gerador, SerializerProvider provider) throws IOException {
+        gerador.writeNumber(Notas.valor(decimos));
+    }
+}
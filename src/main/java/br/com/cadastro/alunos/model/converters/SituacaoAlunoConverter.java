@@ -0,0 +1,22 @@
+package br.com.cadastro.alunos.model.converters;
+
+import br.com.cadastro.alunos.model.entities.SituacaoAluno;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Converte a situação do aluno para o código TINYINT da coluna STATUS (0 = reprovado, 1 = aprovado).
+ */
+@Converter
+public class SituacaoAlunoConverter implements AttributeConverter<SituacaoAluno, Byte> {
+
+    @Override
+    public Byte convertToDatabaseColumn(SituacaoAluno situacao) {
+        return situacao == null ? null : situacao.getCodigo();
+    }
+
+    @Override
+    public SituacaoAluno convertToEntityAttribute(Byte codigo) {
+        return codigo == null ? null : SituacaoAluno.doCodigo(codigo);
+    }
+}
@@ -0,0 +1,55 @@
+package br.com.cadastro.alunos.model.dto;
+
+import br.com.cadastro.alunos.model.converters.CpfJsonDeserializer;
+import br.com.cadastro.alunos.model.converters.CpfJsonSerializer;
+import br.com.cadastro.alunos.model.converters.NotaJsonDeserializer;
+import br.com.cadastro.alunos.model.converters.NotaJsonSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.*;
+
+/**
+ * Notas a alterar de um aluno; as omitidas (nulas) mantêm o valor gravado.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Notas alteradas de um aluno; informe apenas as avaliações que mudaram")
+public class AlteracaoNotas {
+
+    @Schema(type = "string", description = "CPF do aluno (apenas na alteração por turma)", example = "123.456.789-09")
+    @JsonSerialize(using = CpfJsonSerializer.class)
+    @JsonDeserialize(using = CpfJsonDeserializer.class)
+    private Long cpf;
+
+    // Notas em décimos, como em Aluno
+    @Schema(type = "number", description = "Nova nota da primeira avaliação", example = "9.5")
+    @JsonSerialize(using = NotaJsonSerializer.class)
+    @JsonDeserialize(using = NotaJsonDeserializer.class)
+    @Min(value = 0, message = "O campo NOTA_1 deve ser no mínimo 0.0")
+    @Max(value = 100, message = "O campo NOTA_1 deve ser no máximo 10.0")
+    private Short nota1;
+
+    @Schema(type = "number", description = "Nova nota da segunda avaliação", example = "8.0")
+    @JsonSerialize(using = NotaJsonSerializer.class)
+    @JsonDeserialize(using = NotaJsonDeserializer.class)
+    @Min(value = 0, message = "O campo NOTA_2 deve ser no mínimo 0.0")
+    @Max(value = 100, message = "O campo NOTA_2 deve ser no máximo 10.0")
+    private Short nota2;
+
+    @Schema(type = "number", description = "Nova nota da terceira avaliação", example = "7.5")
+    @JsonSerialize(using = NotaJsonSerializer.class)
+    @JsonDeserialize(using = NotaJsonDeserializer.class)
+    @Min(value = 0, message = "O campo NOTA_3 deve ser no mínimo 0.0")
+    @Max(value = 100, message = "O campo NOTA_3 deve ser no máximo 10.0")
+    private Short nota3;
+
+    public boolean isVazia() {
+        return nota1 == null && nota2 == null && nota3 == null;
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.cadastro.alunos.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Notas alteradas de vários alunos de uma turma")
+public class AlteracaoNotasTurma {
+
+    @Schema(description = "Alunos e as notas que mudaram")
+    @NotEmpty(message = "Informe ao menos um aluno")
+    private List<@Valid AlteracaoNotas> alunos;
+}
@@ -1,39 +1,60 @@
 package br.com.cadastro.alunos.model.dto;
 
+import br.com.cadastro.alunos.model.converters.CpfJsonDeserializer;
+import br.com.cadastro.alunos.model.converters.CpfJsonSerializer;
+import br.com.cadastro.alunos.model.converters.NotaJsonDeserializer;
+import br.com.cadastro.alunos.model.converters.NotaJsonSerializer;
+import br.com.cadastro.alunos.model.entities.SituacaoAluno;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import io.swagger.v3.oas.annotations.media.Schema;
-import lombok.*;
-
-@Getter
-@Setter
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+// Imutável: a mesma instância é compartilhada pelos caches, pelo retrato em memória e entre threads.
+// O construtor com todos os campos é usado pelas projeções do JPQL; o Jackson lê pelo builder
+@Value
 @Builder
-@NoArgsConstructor
+@Jacksonized
 @AllArgsConstructor
 @Schema(description = "Dados do aluno para API")
 public class AlunoDTO {
 
-    @Schema(description = "CPF do aluno", example = "000.000.000-00")
-    private String cpf;
+    // CPF numérico, como em Aluno
+    @Schema(type = "string", description = "CPF do aluno", example = "123.456.789-09")
+    @JsonSerialize(using = CpfJsonSerializer.class)
+    @JsonDeserialize(using = CpfJsonDeserializer.class)
+    Long cpf;
 
     @Schema(description = "Nome do aluno", example = "João Da Silva Souza")
-    private String nome;
+    String nome;
 
     @Schema(description = "Turma do aluno", example = "1001B")
-    private String turma;
+    String turma;
 
     @Schema(description = "Média das notas do aluno", example = "8.50")
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "#.00")
-    private Double media;
+    Double media;
 
     @Schema(description = "Situação do aluno (APROVADO/REPROVADO)", example = "APROVADO")
-    private String situacao;
-
-    @Schema(description = "Nota da primeira avaliação", example = "9.0")
-    private Double nota1;
-
-    @Schema(description = "Nota da segunda avaliação", example = "8.0")
-    private Double nota2;
-
-    @Schema(description = "Nota da terceira avaliação", example = "8.5")
-    private Double nota3;
+    SituacaoAluno situacao;
+
+    // Notas em décimos, como em Aluno
+    @Schema(type = "number", description = "Nota da primeira avaliação", example = "9.0")
+    @JsonSerialize(using = NotaJsonSerializer.class)
+    @JsonDeserialize(using = NotaJsonDeserializer.class)
+    Short nota1;
+
+    @Schema(type = "number", description = "Nota da segunda avaliação", example = "8.0")
+    @JsonSerialize(using = NotaJsonSerializer.class)
+    @JsonDeserialize(using = NotaJsonDeserializer.class)
+    Short nota2;
+
+    @Schema(type = "number", description = "Nota da terceira avaliação", example = "8.5")
+    @JsonSerialize(using = NotaJsonSerializer.class)
+    @JsonDeserialize(using = NotaJsonDeserializer.class)
+    Short nota3;
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package br.com.cadastro.alunos.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Contadores do cache de consultas de alunos")
+public class EstatisticasCache {
+
+    @Schema(description = "Quantidade aproximada de consultas em cache", example = "120")
+    private long tamanho;
+
+    @Schema(description = "Consultas respondidas pelo cache", example = "5400")
+    private long acertos;
+
+    @Schema(description = "Consultas que foram ao banco", example = "600")
+    private long falhas;
+
+    @Schema(description = "Proporção de acertos (0 a 1)", example = "0.9")
+    private double taxaAcerto;
+
+    @Schema(description = "Entradas removidas por tamanho ou expiração", example = "35")
+    private long remocoes;
+}
@@ -0,0 +1,31 @@
+package br.com.cadastro.alunos.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Ocupação do filtro de CPFs cadastrados usado antes das consultas de existência")
+public class EstatisticasFiltroCpfs {
+
+    @Schema(description = "Se a carga inicial terminou; antes dela todo CPF vai ao banco", example = "true")
+    private boolean carregado;
+
+    @Schema(description = "Quantidade aproximada de CPFs no filtro", example = "10000")
+    private long cpfs;
+
+    @Schema(description = "Quantidade de contadores de 4 bits", example = "9585072")
+    private int posicoes;
+
+    @Schema(description = "Funções de hash aplicadas a cada CPF", example = "7")
+    private int funcoesHash;
+
+    @Schema(description = "Memória ocupada pelos contadores, em bytes", example = "4792536")
+    private long memoriaBytes;
+
+    @Schema(description = "Taxa de falsos positivos estimada pela ocupação atual (0 a 1)", example = "0.0000001")
+    private double taxaFalsosPositivos;
+}
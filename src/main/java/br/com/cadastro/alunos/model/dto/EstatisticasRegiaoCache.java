@@ -0,0 +1,28 @@
+package br.com.cadastro.alunos.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Contadores de uma região do cache de segundo nível do Hibernate")
+public class EstatisticasRegiaoCache {
+
+    @Schema(description = "Nome da região", example = "alunos")
+    private String regiao;
+
+    @Schema(description = "Leituras respondidas pela região", example = "5400")
+    private long acertos;
+
+    @Schema(description = "Leituras que foram ao banco", example = "600")
+    private long falhas;
+
+    @Schema(description = "Entradas gravadas na região", example = "600")
+    private long gravacoes;
+
+    @Schema(description = "Proporção de acertos (0 a 1)", example = "0.9")
+    private double taxaAcerto;
+}
@@ -0,0 +1,37 @@
+package br.com.cadastro.alunos.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Indicadores agregados dos alunos de uma turma")
+public class EstatisticasTurma {
+
+    @Schema(description = "Turma", example = "1001B")
+    private String turma;
+
+    @Schema(description = "Quantidade de alunos na turma", example = "32")
+    private long quantidade;
+
+    @Schema(description = "Alunos aprovados", example = "25")
+    private long aprovados;
+
+    @Schema(description = "Alunos reprovados", example = "7")
+    private long reprovados;
+
+    @Schema(description = "Média das médias dos alunos", example = "7.84")
+    private Double mediaGeral;
+
+    @Schema(description = "Menor e maior nota da primeira avaliação")
+    private FaixaNota nota1;
+
+    @Schema(description = "Menor e maior nota da segunda avaliação")
+    private FaixaNota nota2;
+
+    @Schema(description = "Menor e maior nota da terceira avaliação")
+    private FaixaNota nota3;
+}
@@ -0,0 +1,19 @@
+package br.com.cadastro.alunos.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Menor e maior nota de uma avaliação na turma")
+public class FaixaNota {
+
+    @Schema(description = "Menor nota da avaliação", example = "4.5")
+    private Double minima;
+
+    @Schema(description = "Maior nota da avaliação", example = "10.0")
+    private Double maxima;
+}
@@ -0,0 +1,25 @@
+package br.com.cadastro.alunos.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Página de resultados navegada por cursor (keyset)")
+public class PaginaCursor<T> {
+
+    @Schema(description = "Itens da página")
+    private List<T> content;
+
+    @Schema(description = "Cursor opaco para a próxima página; nulo quando não há mais resultados",
+            example = "MTAwMUJ8dG9kb3N8MTIzNDU2Nzg5MDk")
+    private String nextCursor;
+
+    @Schema(description = "Quantidade de itens na página", example = "10")
+    private int size;
+}
@@ -0,0 +1,24 @@
+package br.com.cadastro.alunos.model.dto;
+
+import br.com.cadastro.alunos.model.converters.CpfJsonSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado da alteração de notas de uma turma")
+public class ResultadoAlteracaoNotas {
+
+    @Schema(description = "Alunos alterados, com a nova média e situação")
+    private List<AlunoDTO> alterados;
+
+    @Schema(description = "CPFs sem aluno cadastrado na turma", example = "[\"123.456.789-09\"]")
+    @JsonSerialize(contentUsing = CpfJsonSerializer.class)
+    private List<Long> naoEncontrados;
+}
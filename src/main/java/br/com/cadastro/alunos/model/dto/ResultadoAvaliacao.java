@@ -0,0 +1,25 @@
+package br.com.cadastro.alunos.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resumo da reavaliação da situação dos alunos")
+public class ResultadoAvaliacao {
+
+    @Schema(description = "Quantidade de alunos lidos", example = "1000000")
+    private long processados;
+
+    @Schema(description = "Quantidade de alunos cuja situação mudou", example = "1250")
+    private long alterados;
+
+    @Schema(description = "Quantidade de lotes confirmados", example = "1000")
+    private int lotes;
+
+    @Schema(description = "Duração total em milissegundos", example = "5230")
+    private long duracaoMs;
+}
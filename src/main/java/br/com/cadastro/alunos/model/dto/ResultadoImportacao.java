@@ -0,0 +1,27 @@
+package br.com.cadastro.alunos.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Relatório da importação de alunos em lote")
+public class ResultadoImportacao {
+
+    @Schema(description = "Quantidade de linhas lidas", example = "20000")
+    private long total;
+
+    @Schema(description = "Quantidade de alunos inseridos", example = "19990")
+    private long inseridos;
+
+    @Schema(description = "Quantidade de linhas rejeitadas (inválidas ou duplicadas)", example = "10")
+    private long rejeitados;
+
+    @Schema(description = "Resultado de cada linha do arquivo")
+    private List<ResultadoLinhaImportacao> linhas;
+}
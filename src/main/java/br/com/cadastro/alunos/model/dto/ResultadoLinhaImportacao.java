@@ -0,0 +1,28 @@
+package br.com.cadastro.alunos.model.dto;
+
+import br.com.cadastro.alunos.model.converters.CpfJsonSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado da importação de uma linha do arquivo")
+public class ResultadoLinhaImportacao {
+
+    @Schema(description = "Número da linha no arquivo (começando em 1)", example = "12")
+    private long linha;
+
+    @Schema(type = "string", description = "CPF informado na linha, quando pôde ser lido", example = "123.456.789-09")
+    @JsonSerialize(using = CpfJsonSerializer.class)
+    private Long cpf;
+
+    @Schema(description = "Situação da linha: INSERIDO, DUPLICADO ou INVALIDO", example = "INSERIDO")
+    private String situacao;
+
+    @Schema(description = "Motivo da rejeição; nulo para linhas inseridas", example = "CPF já cadastrado")
+    private String mensagem;
+}
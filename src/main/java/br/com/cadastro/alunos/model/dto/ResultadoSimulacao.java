@@ -0,0 +1,34 @@
+package br.com.cadastro.alunos.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado de uma política de aprovação aplicada às notas de uma turma, sem gravar")
+public class ResultadoSimulacao {
+
+    @Schema(description = "Turma", example = "1001B")
+    private String turma;
+
+    @Schema(description = "Quantidade de alunos na turma", example = "32")
+    private long quantidade;
+
+    @Schema(description = "Alunos aprovados pela política", example = "27")
+    private long aprovados;
+
+    @Schema(description = "Alunos reprovados pela política", example = "5")
+    private long reprovados;
+
+    @Schema(description = "Alunos aprovados pela situação gravada", example = "25")
+    private long aprovadosAtuais;
+
+    @Schema(description = "Alunos que passariam de reprovados (ou sem situação) a aprovados", example = "3")
+    private long passariamAAprovados;
+
+    @Schema(description = "Alunos aprovados hoje que passariam a reprovados", example = "1")
+    private long passariamAReprovados;
+}
@@ -1,12 +1,31 @@
 package br.com.cadastro.alunos.model.entities;
 
+import br.com.cadastro.alunos.model.converters.CpfJsonDeserializer;
+import br.com.cadastro.alunos.model.converters.CpfJsonSerializer;
+import br.com.cadastro.alunos.model.converters.NotaConverter;
+import br.com.cadastro.alunos.model.converters.NotaJsonDeserializer;
+import br.com.cadastro.alunos.model.converters.NotaJsonSerializer;
+import br.com.cadastro.alunos.model.converters.SituacaoAlunoConverter;
+import br.com.cadastro.alunos.model.validacao.CpfValido;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.proxy.HibernateProxy;
 
 import java.util.Objects;
@@ -20,15 +39,26 @@ import java.util.Objects;
 @AllArgsConstructor
 @Schema(description = "MODELO ALUNOS")
 @Table(name = "ALUNOS")
+// O UPDATE grava só as colunas alteradas (mais a versão), não a linha inteira
+@DynamicUpdate
+// Cache de segundo nível: o findById de um CPF já lido não vai ao banco. Gravações por JDBC não passam
+// pelo Hibernate e são removidas do cache pelo repositório depois do commit
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Aluno.REGIAO_CACHE)
 @SuppressWarnings("PMD.UselessParentheses")
 public class Aluno {
 
+	public static final String REGIAO_CACHE = "alunos";
+
+	// CPF numérico (BIGINT), ver Cpf; no JSON continua formatado
 	@Id
 	@Column(unique = true, name = "CPF")
-	@NotBlank(message = "O CPF do aluno não pode ser nulo ou vazio")
-	@Schema(description = "CPF do aluno ", example = "000.000.000-00")
-	@Size(min = 13, max = 14, message = "O campo CPF deve ter 13 caracteres")
-	private String cpf;
+	@JsonSerialize(using = CpfJsonSerializer.class)
+	@JsonDeserialize(using = CpfJsonDeserializer.class)
+	@NotNull(message = "O CPF do aluno não pode ser nulo ou vazio")
+	@CpfValido
+	@Schema(type = "string", description = "CPF do aluno ", example = "123.456.789-09")
+	private Long cpf;
 
 	@Column(name = "NOME")
 	@Schema(description = "Nome do aluno", example = "João Da Silva Souza")
@@ -48,30 +78,71 @@ public class Aluno {
 	@Size(min = 4, max = 5, message = "O campo TURMA deve ter no minimo 4 caracteres e no maximo 5 ")
 	private String turma;
 
+	// Notas em décimos (95 = 9.5), ver Notas; no JSON e no banco continuam decimais
 	@Column(name = "NOTA_1", columnDefinition = "DECIMAL(3, 1)")
-	@Schema(description = "Nota da primeira avaliação do aluno", example = "10")
+	@Convert(converter = NotaConverter.class)
+	@JsonSerialize(using = NotaJsonSerializer.class)
+	@JsonDeserialize(using = NotaJsonDeserializer.class)
+	@Schema(type = "number", description = "Nota da primeira avaliação do aluno", example = "10")
 	@NotNull(message = "A nota da primeira avaliação do aluno não pode ser nula ou vazia")
-	@DecimalMin(value = "0.0", message = "O campo NOTA_1 deve ser no mínimo 0.0")
-	@DecimalMax(value = "10.0", message = "O campo NOTA_1 deve ser no máximo 10.0")
-	private Double nota1;
+	@Min(value = 0, message = "O campo NOTA_1 deve ser no mínimo 0.0")
+	@Max(value = 100, message = "O campo NOTA_1 deve ser no máximo 10.0")
+	private Short nota1;
 
 	@Column(name = "NOTA_2", columnDefinition = "DECIMAL(3,1)")
-	@Schema(description = "Nota da segunda avaliação do aluno", example = "10")
+	@Convert(converter = NotaConverter.class)
+	@JsonSerialize(using = NotaJsonSerializer.class)
+	@JsonDeserialize(using = NotaJsonDeserializer.class)
+	@Schema(type = "number", description = "Nota da segunda avaliação do aluno", example = "10")
 	@NotNull(message = "A nota da primeira avaliação do aluno não pode ser nula ou vazia")
-	@DecimalMin(value = "0.0", message = "O campo NOTA_2 deve ser no mínimo 0.0")
-	@DecimalMax(value = "10.0", message = "O campo NOTA_2 deve ser no máximo 10.0")
-	private Double nota2;
+	@Min(value = 0, message = "O campo NOTA_2 deve ser no mínimo 0.0")
+	@Max(value = 100, message = "O campo NOTA_2 deve ser no máximo 10.0")
+	private Short nota2;
 
 	@Column(name = "NOTA_3", columnDefinition = "DECIMAL(3,1)")
-	@Schema(description = "Nota da terceira avaliação do aluno", example = "10")
+	@Convert(converter = NotaConverter.class)
+	@JsonSerialize(using = NotaJsonSerializer.class)
+	@JsonDeserialize(using = NotaJsonDeserializer.class)
+	@Schema(type = "number", description = "Nota da terceira avaliação do aluno", example = "10")
 	@NotNull(message = "A nota da primeira avaliação do aluno não pode ser nula ou vazia")
-	@DecimalMin(value = "0.0", message = "O campo NOTA_3 deve ser no mínimo 0.0")
-	@DecimalMax(value = "10.0", message = "O campo NOTA_3 deve ser no máximo 10.0")
-	private Double nota3;
+	@Min(value = 0, message = "O campo NOTA_3 deve ser no mínimo 0.0")
+	@Max(value = 100, message = "O campo NOTA_3 deve ser no máximo 10.0")
+	private Short nota3;
 
 	@Schema(description = "Coluna para mostrar se o aluno esta aprovado ou reprovado", hidden = true)
-	@Column(name = "APROVADO")
-	private String aprovado;
+	@Column(name = "STATUS", columnDefinition = "TINYINT")
+	@Convert(converter = SituacaoAlunoConverter.class)
+	private SituacaoAluno situacao;
+
+	// Coluna gerada pelo banco (ROUND((NOTA_1 + NOTA_2 + NOTA_3) / 3, 2)); nunca é escrita pela aplicação
+	@Schema(description = "Média das notas, calculada a partir das três avaliações", hidden = true)
+	@Column(name = "MEDIA", columnDefinition = "DECIMAL(4,2)", insertable = false, updatable = false)
+	@JsonProperty(access = JsonProperty.Access.READ_ONLY)
+	private Double media;
+
+	// Controle de concorrência otimista: o UPDATE confere e incrementa a versão lida.
+	// Na API a versão trafega nos cabeçalhos ETag e If-Match, não no corpo
+	@Version
+	@Schema(hidden = true)
+	@Column(name = "VERSAO")
+	@JsonIgnore
+	private Long versao;
+
+	/**
+	 * Calcula a média das três notas com duas casas decimais, da mesma forma que a coluna gerada MEDIA.
+	 */
+	public Double calcularMedia() {
+		return Notas.media(nota1, nota2, nota3);
+	}
+
+	/**
+	 * Mantém a média em memória igual à do banco após inclusões e alterações, sem precisar reler a linha.
+	 */
+	@PrePersist
+	@PreUpdate
+	public void atualizarMedia() {
+		this.media = calcularMedia();
+	}
 
 	@Override
 	public final boolean equals(Object obj) {
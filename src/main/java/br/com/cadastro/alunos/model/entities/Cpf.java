@@ -0,0 +1,116 @@
+package br.com.cadastro.alunos.model.entities;
+
+/**
+ * CPF em representação numérica: os 11 dígitos como um {@code long} (coluna BIGINT), com os dígitos
+ * verificadores incluídos. Zeros à esquerda não são guardados; a formatação os repõe.
+ * A leitura e a validação percorrem o texto uma vez, só com aritmética inteira, sem criar objetos.
+ */
+public final class Cpf {
+
+    /**
+     * Tamanho do CPF formatado ("000.000.000-00").
+     */
+    public static final int TAMANHO_FORMATADO = 14;
+
+    private static final int DIGITOS = 11;
+    private static final long MAIOR_VALOR = 99_999_999_999L;
+    // CPFs com os 11 dígitos iguais passam no cálculo dos verificadores, mas não são válidos
+    private static final long DIGITOS_REPETIDOS = 11_111_111_111L;
+
+    private Cpf() {
+    }
+
+    /**
+     * Lê o CPF formatado ("123.456.789-09") ou só com dígitos ("12345678909") e confere os dígitos verificadores.
+     *
+     * @throws IllegalArgumentException se o texto não for um CPF válido
+     */
+    public static long valor(CharSequence texto) {
+        long valor = texto == null ? -1 : ler(texto);
+        if (!valido(valor)) {
+            throw new IllegalArgumentException("CPF inválido: " + texto);
+        }
+        return valor;
+    }
+
+    public static boolean valido(CharSequence texto) {
+        return texto != null && valido(ler(texto));
+    }
+
+    public static boolean valido(long cpf) {
+        return cpf > 0 && cpf <= MAIOR_VALOR && cpf % DIGITOS_REPETIDOS != 0
+                && comDigitosVerificadores(cpf / 100) == cpf;
+    }
+
+    /**
+     * Acrescenta os dois dígitos verificadores aos 9 primeiros dígitos do CPF.
+     */
+    public static long comDigitosVerificadores(long base) {
+        int soma1 = 0;
+        int soma2 = 0;
+        long resto = base;
+        // Do último dígito da base para o primeiro: pesos 2 a 10 no primeiro verificador e 3 a 11 no segundo
+        for (int peso = 2; peso <= 10; peso++) {
+            int digito = (int) (resto % 10);
+            resto /= 10;
+            soma1 += digito * peso;
+            soma2 += digito * (peso + 1);
+        }
+        int verificador1 = digitoVerificador(soma1);
+        int verificador2 = digitoVerificador(soma2 + 2 * verificador1);
+        return base * 100 + verificador1 * 10L + verificador2;
+    }
+
+    public static String formatar(long cpf) {
+        char[] texto = new char[TAMANHO_FORMATADO];
+        formatar(cpf, texto, 0);
+        return new String(texto);
+    }
+
+    /**
+     * Escreve o CPF formatado em {@code destino} a partir de {@code inicio}, ocupando {@link #TAMANHO_FORMATADO} posições.
+     */
+    public static void formatar(long cpf, char[] destino, int inicio) {
+        long resto = cpf;
+        for (int i = TAMANHO_FORMATADO - 1; i >= 0; i--) {
+            if (i == 11) {
+                destino[inicio + i] = '-';
+            } else if (i == 3 || i == 7) {
+                destino[inicio + i] = '.';
+            } else {
+                destino[inicio + i] = (char) ('0' + resto % 10);
+                resto /= 10;
+            }
+        }
+    }
+
+    /**
+     * Dígitos do CPF, ou -1 se o texto não tiver um dos dois formatos aceitos.
+     */
+    private static long ler(CharSequence texto) {
+        int tamanho = texto.length();
+        boolean formatado = tamanho == TAMANHO_FORMATADO;
+        if (!formatado && tamanho != DIGITOS) {
+            return -1;
+        }
+        long valor = 0;
+        for (int i = 0; i < tamanho; i++) {
+            char c = texto.charAt(i);
+            if (formatado && (i == 3 || i == 7 || i == 11)) {
+                if (c != (i == 11 ? '-' : '.')) {
+                    return -1;
+                }
+            } else if (c >= '0' && c <= '9') {
+                valor = valor * 10 + (c - '0');
+            } else {
+                return -1;
+            }
+        }
+        return valor;
+    }
+
+    private static int digitoVerificador(int soma) {
+        int resto = soma % 11;
+        return resto < 2 ? 0 : 11 - resto;
+    }
+}
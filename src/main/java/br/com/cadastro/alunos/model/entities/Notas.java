@@ -0,0 +1,94 @@
+package br.com.cadastro.alunos.model.entities;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Aritmética das notas em ponto fixo. As notas são guardadas em décimos (0 a 100), como nas
+ * colunas DECIMAL(3,1), e a média em centésimos, como na coluna MEDIA DECIMAL(4,2).
+ * Todas as contas são inteiras, então o resultado é exatamente o mesmo do banco e não depende
+ * de arredondamento de ponto flutuante nos casos de fronteira (ex.: média 6,97 contra 7,00).
+ */
+@SuppressWarnings("PMD.ClassNamingConventions")
+public final class Notas {
+
+    /**
+     * Média mínima para aprovação, em centésimos (7,00).
+     */
+    public static final int MEDIA_APROVACAO_CENTESIMOS = 700;
+
+    private Notas() {
+    }
+
+    /**
+     * Nota máxima em décimos (10,0).
+     */
+    public static final short NOTA_MAXIMA_DECIMOS = 100;
+
+    // Fora de 0 a 10 a nota não é arredondada para dentro da faixa (10,04 não vira 10,0 nem -0,04 vira 0):
+    // vira um valor fora de 0 a 100 décimos, que o @Min/@Max dos campos rejeita
+    private static final Short ABAIXO_DA_FAIXA = -1;
+    private static final Short ACIMA_DA_FAIXA = NOTA_MAXIMA_DECIMOS + 1;
+
+    /**
+     * Converte uma nota decimal para décimos, arredondando meio para cima como o DECIMAL(3,1).
+     * A faixa de 0 a 10 é verificada antes do arredondamento. Valores de 0 a 100 décimos vêm
+     * do cache de {@link Short#valueOf(short)} e não alocam.
+     */
+    public static Short decimos(BigDecimal nota) {
+        if (nota.signum() < 0) {
+            return ABAIXO_DA_FAIXA;
+        }
+        if (nota.compareTo(BigDecimal.TEN) > 0) {
+            return ACIMA_DA_FAIXA;
+        }
+        return nota.setScale(1, RoundingMode.HALF_UP).unscaledValue().shortValue();
+    }
+
+    /**
+     * Mesma conversão de {@link #decimos(BigDecimal)} para notas que já chegam como double.
+     */
+    public static Short decimos(double nota) {
+        if (nota < 0 || Double.isNaN(nota)) {
+            return ABAIXO_DA_FAIXA;
+        }
+        if (nota > NOTA_MAXIMA_DECIMOS / 10.0) {
+            return ACIMA_DA_FAIXA;
+        }
+        return (short) Math.round(nota * 10);
+    }
+
+    public static double valor(short decimos) {
+        return decimos / 10.0;
+    }
+
+    /**
+     * Média das três notas em centésimos, arredondada meio para cima como ROUND(x, 2).
+     * A soma em décimos vezes 10 dividida por 3 tem resto 0, 1 ou 2 (fração ,00, ,33 ou ,67),
+     * então somar 1 antes da divisão inteira arredonda exatamente os casos que sobem.
+     */
+    public static int mediaCentesimos(int nota1, int nota2, int nota3) {
+        return ((nota1 + nota2 + nota3) * 10 + 1) / 3;
+    }
+
+    /**
+     * Média das três notas com duas casas decimais, ou {@code null} se alguma nota estiver ausente.
+     */
+    public static Double media(Short nota1, Short nota2, Short nota3) {
+        if (nota1 == null || nota2 == null || nota3 == null) {
+            return null;
+        }
+        return mediaCentesimos(nota1, nota2, nota3) / 100.0;
+    }
+
+    public static SituacaoAluno situacao(int mediaCentesimos) {
+        return mediaCentesimos >= MEDIA_APROVACAO_CENTESIMOS ? SituacaoAluno.APROVADO : SituacaoAluno.REPROVADO;
+    }
+
+    /**
+     * Situação pela média com duas casas decimais (persistida ou calculada), ou {@code null} sem média.
+     */
+    public static SituacaoAluno situacao(Double media) {
+        return media == null ? null : situacao((int) Math.round(media * 100));
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.cadastro.alunos.model.entities;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+
+/**
+ * Política de aprovação de uma turma. A média é ponderada pelos pesos das avaliações e arredondada
+ * em centésimos como a coluna MEDIA; o aluno também precisa ter feito (nota maior que zero) ao menos
+ * {@code provasMinimas} avaliações. Turmas sem política seguem {@link #padrao(String)}.
+ */
+@Entity
+@Builder
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Política de aprovação de uma turma")
+@Table(name = "POLITICAS_APROVACAO")
+public class PoliticaAprovacao {
+
+    private static final int PESO_PADRAO = 1;
+
+    // A turma vem da URL
+    @Id
+    @Column(name = "TURMA")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Schema(description = "Turma", example = "1001B", accessMode = Schema.AccessMode.READ_ONLY)
+    private String turma;
+
+    @Column(name = "PESO_1", columnDefinition = "TINYINT")
+    @Schema(description = "Peso da primeira avaliação", example = "1")
+    @NotNull(message = "O peso da primeira avaliação não pode ser nulo")
+    @Min(value = 0, message = "O campo PESO_1 deve ser no mínimo 0")
+    @Max(value = 10, message = "O campo PESO_1 deve ser no máximo 10")
+    private Integer peso1;
+
+    @Column(name = "PESO_2", columnDefinition = "TINYINT")
+    @Schema(description = "Peso da segunda avaliação", example = "1")
+    @NotNull(message = "O peso da segunda avaliação não pode ser nulo")
+    @Min(value = 0, message = "O campo PESO_2 deve ser no mínimo 0")
+    @Max(value = 10, message = "O campo PESO_2 deve ser no máximo 10")
+    private Integer peso2;
+
+    @Column(name = "PESO_3", columnDefinition = "TINYINT")
+    @Schema(description = "Peso da terceira avaliação", example = "2")
+    @NotNull(message = "O peso da terceira avaliação não pode ser nulo")
+    @Min(value = 0, message = "O campo PESO_3 deve ser no mínimo 0")
+    @Max(value = 10, message = "O campo PESO_3 deve ser no máximo 10")
+    private Integer peso3;
+
+    @Column(name = "MEDIA_MINIMA", columnDefinition = "DECIMAL(4,2)")
+    @Schema(type = "number", description = "Média ponderada mínima para aprovação", example = "7.0")
+    @NotNull(message = "A média mínima não pode ser nula")
+    @DecimalMin(value = "0.0", message = "O campo MEDIA_MINIMA deve ser no mínimo 0.0")
+    @DecimalMax(value = "10.0", message = "O campo MEDIA_MINIMA deve ser no máximo 10.0")
+    @Digits(integer = 2, fraction = 2, message = "O campo MEDIA_MINIMA deve ter no máximo duas casas decimais")
+    private BigDecimal mediaMinima;
+
+    @Column(name = "PROVAS_MINIMAS", columnDefinition = "TINYINT")
+    @Schema(description = "Quantidade mínima de avaliações feitas (nota maior que zero)", example = "0")
+    @NotNull(message = "A quantidade mínima de provas não pode ser nula")
+    @Min(value = 0, message = "O campo PROVAS_MINIMAS deve ser no mínimo 0")
+    @Max(value = 3, message = "O campo PROVAS_MINIMAS deve ser no máximo 3")
+    private Integer provasMinimas;
+
+    /**
+     * Regra das turmas sem política: pesos iguais e média 7,00, a mesma de {@link Notas#situacao(int)}.
+     */
+    public static PoliticaAprovacao padrao(String turma) {
+        return new PoliticaAprovacao(turma, PESO_PADRAO, PESO_PADRAO, PESO_PADRAO,
+                BigDecimal.valueOf(Notas.MEDIA_APROVACAO_CENTESIMOS, 2), 0);
+    }
+}
@@ -0,0 +1,31 @@
+package br.com.cadastro.alunos.model.entities;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Situação de aprovação do aluno, persistida como um código de um byte na coluna STATUS.
+ */
+@Schema(description = "Situação do aluno")
+public enum SituacaoAluno {
+
+    REPROVADO((byte) 0),
+    APROVADO((byte) 1);
+
+    private final byte codigo;
+
+    SituacaoAluno(byte codigo) {
+        this.codigo = codigo;
+    }
+
+    public byte getCodigo() {
+        return codigo;
+    }
+
+    public static SituacaoAluno doCodigo(byte codigo) {
+        return switch (codigo) {
+            case 0 -> REPROVADO;
+            case 1 -> APROVADO;
+            default -> throw new IllegalArgumentException("Código de situação inválido: " + codigo);
+        };
+    }
+}
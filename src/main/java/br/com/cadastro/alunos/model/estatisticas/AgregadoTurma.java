@@ -0,0 +1,112 @@
+package br.com.cadastro.alunos.model.estatisticas;
+
+import br.com.cadastro.alunos.model.dto.AlunoDTO;
+import br.com.cadastro.alunos.model.dto.EstatisticasTurma;
+import br.com.cadastro.alunos.model.dto.FaixaNota;
+import br.com.cadastro.alunos.model.entities.SituacaoAluno;
+import lombok.Getter;
+
+/**
+ * Totais de uma turma que aceitam inclusão e remoção de alunos em tempo constante.
+ * Mínimo e máximo de cada avaliação saem de um histograma indexado pela nota em décimos
+ * (ver {@link br.com.cadastro.alunos.model.entities.Notas}), então remover a menor nota não exige reler a turma.
+ */
+public class AgregadoTurma {
+
+    private static final int PROVAS = 3;
+    // Notas de 0.0 a 10.0 com uma casa decimal
+    private static final int FAIXAS = 101;
+
+    @Getter
+    private final String turma;
+    private long quantidade;
+    private long aprovados;
+    private long reprovados;
+    // Soma em centésimos, a mesma precisão da coluna MEDIA, para não acumular erro de ponto flutuante
+    private long somaMediasCentesimos;
+    private final long[][] histogramas = new long[PROVAS][FAIXAS];
+
+    public AgregadoTurma(String turma) {
+        this.turma = turma;
+    }
+
+    public void adicionar(AlunoDTO aluno) {
+        aplicar(aluno, 1);
+    }
+
+    public void remover(AlunoDTO aluno) {
+        aplicar(aluno, -1);
+    }
+
+    /**
+     * Soma totais já agregados pelo banco (carga inicial).
+     */
+    public void somarTotais(long quantidade, long aprovados, long reprovados, long somaMediasCentesimos) {
+        this.quantidade += quantidade;
+        this.aprovados += aprovados;
+        this.reprovados += reprovados;
+        this.somaMediasCentesimos += somaMediasCentesimos;
+    }
+
+    /**
+     * Soma ocorrências de uma nota já agrupadas pelo banco (carga inicial).
+     *
+     * @param prova avaliação de 1 a 3
+     * @param nota  nota em décimos
+     */
+    public void somarNota(int prova, Short nota, long ocorrencias) {
+        if (nota != null) {
+            histogramas[prova - 1][faixa(nota)] += ocorrencias;
+        }
+    }
+
+    public boolean isVazio() {
+        return quantidade <= 0;
+    }
+
+    public EstatisticasTurma resumir() {
+        Double mediaGeral = isVazio() ? null : Math.round((double) somaMediasCentesimos / quantidade) / 100.0;
+        return new EstatisticasTurma(turma, quantidade, aprovados, reprovados, mediaGeral,
+                faixaNota(histogramas[0]), faixaNota(histogramas[1]), faixaNota(histogramas[2]));
+    }
+
+    private void aplicar(AlunoDTO aluno, int sinal) {
+        quantidade += sinal;
+        if (aluno.getSituacao() == SituacaoAluno.APROVADO) {
+            aprovados += sinal;
+        } else if (aluno.getSituacao() == SituacaoAluno.REPROVADO) {
+            reprovados += sinal;
+        }
+        if (aluno.getMedia() != null) {
+            somaMediasCentesimos += sinal * Math.round(aluno.getMedia() * 100);
+        }
+        contarNota(0, aluno.getNota1(), sinal);
+        contarNota(1, aluno.getNota2(), sinal);
+        contarNota(2, aluno.getNota3(), sinal);
+    }
+
+    private void contarNota(int prova, Short nota, int sinal) {
+        if (nota != null) {
+            histogramas[prova][faixa(nota)] += sinal;
+        }
+    }
+
+    private static int faixa(short decimos) {
+        return Math.max(0, Math.min(FAIXAS - 1, decimos));
+    }
+
+    private static FaixaNota faixaNota(long[] histograma) {
+        int minima = 0;
+        while (minima < FAIXAS && histograma[minima] <= 0) {
+            minima++;
+        }
+        if (minima == FAIXAS) {
+            return new FaixaNota(null, null);
+        }
+        int maxima = FAIXAS - 1;
+        while (histograma[maxima] <= 0) {
+            maxima--;
+        }
+        return new FaixaNota(minima / 10.0, maxima / 10.0);
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.cadastro.alunos.model.estatisticas;
+
+import lombok.Getter;
+
+import java.util.BitSet;
+
+/**
+ * Resultado de {@link AvaliadorAprovacao}: um bit por posição da coluna avaliada.
+ * Uma posição fora dos dois conjuntos não tem situação.
+ */
+@Getter
+public class AvaliacaoAlunos {
+
+    private final BitSet aprovados;
+    private final BitSet reprovados;
+
+    AvaliacaoAlunos(long[] aprovados, long[] reprovados) {
+        this.aprovados = BitSet.valueOf(aprovados);
+        this.reprovados = BitSet.valueOf(reprovados);
+    }
+
+    static long[] palavras(int quantidade) {
+        return new long[(quantidade + Long.SIZE - 1) / Long.SIZE];
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.cadastro.alunos.model.estatisticas;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Separa aprovados e reprovados de uma população inteira pela coluna de situação gravada (o código de
+ * {@link br.com.cadastro.alunos.model.entities.SituacaoAluno} da coluna STATUS), em uma única passada.
+ * Posições sem situação (qualquer outro código) não entram em nenhum dos conjuntos.
+ * <p>
+ * A implementação vetorial usa o módulo incubado {@code jdk.incubator.vector}, que só existe quando a
+ * JVM sobe com {@code --add-modules jdk.incubator.vector}; sem ele, {@link #preferido()} usa a escalar.
+ */
+public interface AvaliadorAprovacao {
+
+    String MODULO_VETORIAL = "jdk.incubator.vector";
+
+    /**
+     * @param quantidade alunos avaliados, das posições 0 a {@code quantidade - 1} da coluna
+     */
+    AvaliacaoAlunos avaliar(byte[] situacoes, int quantidade);
+
+    static AvaliadorAprovacao escalar() {
+        return new AvaliadorEscalar();
+    }
+
+    static boolean isVetorialDisponivel() {
+        return ModuleLayer.boot().findModule(MODULO_VETORIAL).isPresent();
+    }
+
+    /**
+     * A classe vetorial só é carregada depois de confirmar que o módulo existe.
+     */
+    static AvaliadorAprovacao vetorial() {
+        if (!isVetorialDisponivel()) {
+            throw new IllegalStateException("Módulo " + MODULO_VETORIAL + " indisponível nesta JVM");
+        }
+        return new AvaliadorVetorial();
+    }
+
+    static AvaliadorAprovacao preferido() {
+        boolean vetorial = isVetorialDisponivel();
+        Logger logger = LogManager.getLogger(AvaliadorAprovacao.class);
+        if (!vetorial && logger.isInfoEnabled()) {
+            logger.info("Módulo {} indisponível; avaliação de aprovação em modo escalar", MODULO_VETORIAL);
+        }
+        return vetorial ? vetorial() : escalar();
+    }
+}
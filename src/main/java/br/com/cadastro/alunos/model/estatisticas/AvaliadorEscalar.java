@@ -0,0 +1,33 @@
+package br.com.cadastro.alunos.model.estatisticas;
+
+import br.com.cadastro.alunos.model.entities.SituacaoAluno;
+
+/**
+ * Uma posição por iteração, com a mesma comparação da versão vetorial.
+ */
+final class AvaliadorEscalar implements AvaliadorAprovacao {
+
+    @Override
+    public AvaliacaoAlunos avaliar(byte[] situacoes, int quantidade) {
+        long[] aprovados = AvaliacaoAlunos.palavras(quantidade);
+        long[] reprovados = AvaliacaoAlunos.palavras(quantidade);
+        avaliar(situacoes, 0, quantidade, aprovados, reprovados);
+        return new AvaliacaoAlunos(aprovados, reprovados);
+    }
+
+    /**
+     * Avalia as posições de {@code inicio} a {@code fim - 1}; também usada no resto que não completa um vetor.
+     */
+    static void avaliar(byte[] situacoes, int inicio, int fim, long[] aprovados, long[] reprovados) {
+        byte aprovado = SituacaoAluno.APROVADO.getCodigo();
+        byte reprovado = SituacaoAluno.REPROVADO.getCodigo();
+        for (int i = inicio; i < fim; i++) {
+            long bit = 1L << i;
+            if (situacoes[i] == aprovado) {
+                aprovados[i >>> 6] |= bit;
+            } else if (situacoes[i] == reprovado) {
+                reprovados[i >>> 6] |= bit;
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.cadastro.alunos.model.estatisticas;
+
+import br.com.cadastro.alunos.model.entities.SituacaoAluno;
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Compara um vetor de situações por iteração (32 alunos com AVX2, 64 com AVX-512) com os códigos de
+ * aprovado e reprovado e grava as máscaras direto nas palavras dos bitsets. Só é carregada
+ * por {@link AvaliadorAprovacao#vetorial()}, com o módulo {@code jdk.incubator.vector} presente.
+ */
+final class AvaliadorVetorial implements AvaliadorAprovacao {
+
+    // A máscara vira um long (toLong), então o vetor não pode ter mais que 64 posições
+    private static final VectorSpecies<Byte> ESPECIE = ByteVector.SPECIES_PREFERRED.length() <= Long.SIZE
+            ? ByteVector.SPECIES_PREFERRED
+            : ByteVector.SPECIES_256;
+
+    @Override
+    public AvaliacaoAlunos avaliar(byte[] situacoes, int quantidade) {
+        long[] aprovados = AvaliacaoAlunos.palavras(quantidade);
+        long[] reprovados = AvaliacaoAlunos.palavras(quantidade);
+        byte aprovado = SituacaoAluno.APROVADO.getCodigo();
+        byte reprovado = SituacaoAluno.REPROVADO.getCodigo();
+
+        int fimVetorial = ESPECIE.loopBound(quantidade);
+        int i = 0;
+        for (; i < fimVetorial; i += ESPECIE.length()) {
+            ByteVector situacao = ByteVector.fromArray(ESPECIE, situacoes, i);
+            // O tamanho do vetor é potência de 2 até 64: cada bloco cabe inteiro em uma palavra
+            int deslocamento = i & (Long.SIZE - 1);
+            aprovados[i >>> 6] |= situacao.compare(VectorOperators.EQ, aprovado).toLong() << deslocamento;
+            reprovados[i >>> 6] |= situacao.compare(VectorOperators.EQ, reprovado).toLong() << deslocamento;
+        }
+        AvaliadorEscalar.avaliar(situacoes, i, quantidade, aprovados, reprovados);
+        return new AvaliacaoAlunos(aprovados, reprovados);
+    }
+}
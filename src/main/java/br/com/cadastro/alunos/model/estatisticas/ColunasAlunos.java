@@ -0,0 +1,305 @@
+package br.com.cadastro.alunos.model.estatisticas;
+
+import br.com.cadastro.alunos.model.dto.AlunoDTO;
+import br.com.cadastro.alunos.model.dto.ResultadoSimulacao;
+import br.com.cadastro.alunos.model.entities.Notas;
+import br.com.cadastro.alunos.model.entities.SituacaoAluno;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Retrato em colunas da tabela ALUNOS: uma posição por aluno, ordenada pelo CPF, com as notas e a
+ * média em arrays primitivos (décimos e centésimos, ver {@link Notas}), a turma como código de um
+ * dicionário e a situação pelo código de {@link SituacaoAluno}. Um filtro percorre só as colunas
+ * que usa, sem montar entidades; o {@link AlunoDTO} é criado apenas para os alunos selecionados.
+ * Aprovados e reprovados saem da coluna de situação, a mesma STATUS gravada pela política da turma em
+ * cada escrita, pelo {@link AvaliadorAprovacao}; as notas só são avaliadas na simulação de uma política
+ * ({@link PoliticaCompilada}), que não grava nada.
+ * <p>
+ * Não é thread-safe: o acesso é serializado por {@link RetratoColunarAlunos}.
+ */
+public class ColunasAlunos {
+
+    // Nota, média ou situação ausente (a coluna aceita NULL)
+    private static final short SEM_VALOR = -1;
+    private static final byte SEM_SITUACAO = -1;
+
+    private static final int CAPACIDADE_MINIMA = 16;
+
+    private static final AvaliadorAprovacao AVALIADOR = AvaliadorAprovacao.preferido();
+
+    private int quantidade;
+    private long[] cpfs;
+    private String[] nomes;
+    private int[] turmas;
+    private short[] notas1;
+    private short[] notas2;
+    private short[] notas3;
+    private short[] medias;
+    private byte[] situacoes;
+
+    // Dicionário das turmas: código = posição na lista. Turmas sem alunos continuam no dicionário
+    private final List<String> turmasPorCodigo = new ArrayList<>();
+    private final Map<String, Integer> codigosPorTurma = new HashMap<>();
+
+    public ColunasAlunos(int capacidade) {
+        int inicial = Math.max(CAPACIDADE_MINIMA, capacidade);
+        cpfs = new long[inicial];
+        nomes = new String[inicial];
+        turmas = new int[inicial];
+        notas1 = new short[inicial];
+        notas2 = new short[inicial];
+        notas3 = new short[inicial];
+        medias = new short[inicial];
+        situacoes = new byte[inicial];
+    }
+
+    /**
+     * Acrescenta um aluno ao final (carga inicial, lida em ordem de CPF).
+     *
+     * @param media média em centésimos, ou {@code null}
+     */
+    public void acrescentar(long cpf, String nome, String turma, Short nota1, Short nota2, Short nota3,
+                            Short media, SituacaoAluno situacao) {
+        if (quantidade > 0 && cpf <= cpfs[quantidade - 1]) {
+            throw new IllegalArgumentException("Os alunos devem ser acrescentados em ordem crescente de CPF");
+        }
+        garantirCapacidade(quantidade + 1);
+        gravar(quantidade, cpf, nome, turma, nota1, nota2, nota3, media, situacao);
+        quantidade++;
+    }
+
+    /**
+     * Aplica uma gravação confirmada: os alunos em {@code removidos} saem e os de {@code incluidos} entram
+     * ou substituem o retrato anterior do mesmo CPF. Alterações sobrescrevem a posição do aluno; inclusões
+     * e exclusões deslocam só as posições depois da primeira afetada, cada uma no máximo uma vez.
+     */
+    public void aplicar(Collection<AlunoDTO> removidos, Collection<AlunoDTO> incluidos) {
+        // Retrato final de cada CPF em ordem crescente; null = excluído
+        TreeMap<Long, AlunoDTO> alteracoes = new TreeMap<>();
+        removidos.forEach(aluno -> alteracoes.put(aluno.getCpf(), null));
+        incluidos.forEach(aluno -> alteracoes.put(aluno.getCpf(), aluno));
+
+        List<Integer> posicoesRemovidas = new ArrayList<>();
+        List<AlunoDTO> novos = new ArrayList<>();
+        alteracoes.forEach((cpf, aluno) -> {
+            int posicao = Arrays.binarySearch(cpfs, 0, quantidade, cpf);
+            if (posicao >= 0 && aluno == null) {
+                posicoesRemovidas.add(posicao);
+            } else if (posicao >= 0) {
+                gravar(posicao, aluno);
+            } else if (aluno != null) {
+                novos.add(aluno);
+            }
+        });
+        remover(posicoesRemovidas);
+        inserir(novos);
+    }
+
+    public int getQuantidade() {
+        return quantidade;
+    }
+
+    /**
+     * Memória ocupada pelos arrays das colunas, sem contar os nomes e o dicionário de turmas.
+     */
+    public long getMemoriaBytes() {
+        return (long) cpfs.length * (Long.BYTES + Integer.BYTES + 4 * Short.BYTES + Byte.BYTES)
+                + (long) nomes.length * Integer.BYTES;
+    }
+
+    /**
+     * Alunos com a situação gravada APROVADO; a situação devolvida em cada DTO é a mesma do filtro.
+     */
+    public List<AlunoDTO> aprovados() {
+        return selecionar(AVALIADOR.avaliar(situacoes, quantidade).getAprovados());
+    }
+
+    /**
+     * Alunos com a situação gravada REPROVADO; alunos sem situação ficam de fora.
+     */
+    public List<AlunoDTO> reprovados() {
+        return selecionar(AVALIADOR.avaliar(situacoes, quantidade).getReprovados());
+    }
+
+    /**
+     * Alunos que fizeram exatamente uma prova; uma prova é considerada feita quando a nota é maior que zero.
+     */
+    public List<AlunoDTO> comUmaProva() {
+        List<AlunoDTO> selecionados = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            if (provaFeita(notas1[i]) + provaFeita(notas2[i]) + provaFeita(notas3[i]) == 1) {
+                selecionados.add(aluno(i));
+            }
+        }
+        return Collections.unmodifiableList(selecionados);
+    }
+
+    /**
+     * Avalia os alunos da turma pela {@code politica} e compara com a situação gravada, em uma passada
+     * pelas colunas de turma, notas e situação. Vazio se a turma não tiver alunos.
+     */
+    public Optional<ResultadoSimulacao> simular(String turma, PoliticaCompilada politica) {
+        Integer codigoTurma = codigosPorTurma.get(turma);
+        if (codigoTurma == null) {
+            return Optional.empty();
+        }
+        int codigo = codigoTurma;
+        byte aprovado = SituacaoAluno.APROVADO.getCodigo();
+        long alunos = 0;
+        long aprovados = 0;
+        long reprovados = 0;
+        long aprovadosAtuais = 0;
+        long passariamAAprovados = 0;
+        long passariamAReprovados = 0;
+        for (int i = 0; i < quantidade; i++) {
+            if (turmas[i] != codigo) {
+                continue;
+            }
+            alunos++;
+            SituacaoAluno situacao = politica.situacao(notas1[i], notas2[i], notas3[i]);
+            boolean aprovadoAtual = situacoes[i] == aprovado;
+            boolean aprovadoSimulado = situacao == SituacaoAluno.APROVADO;
+            if (aprovadoSimulado) {
+                aprovados++;
+            } else if (situacao == SituacaoAluno.REPROVADO) {
+                reprovados++;
+            }
+            if (aprovadoAtual) {
+                aprovadosAtuais++;
+            }
+            if (aprovadoSimulado && !aprovadoAtual) {
+                passariamAAprovados++;
+            } else if (aprovadoAtual && !aprovadoSimulado) {
+                passariamAReprovados++;
+            }
+        }
+        return alunos == 0 ? Optional.empty() : Optional.of(new ResultadoSimulacao(turma, alunos, aprovados, reprovados,
+                aprovadosAtuais, passariamAAprovados, passariamAReprovados));
+    }
+
+    private List<AlunoDTO> selecionar(BitSet posicoes) {
+        List<AlunoDTO> selecionados = new ArrayList<>(posicoes.cardinality());
+        for (int i = posicoes.nextSetBit(0); i >= 0; i = posicoes.nextSetBit(i + 1)) {
+            selecionados.add(aluno(i));
+        }
+        return Collections.unmodifiableList(selecionados);
+    }
+
+    private static int provaFeita(short nota) {
+        return nota > 0 ? 1 : 0;
+    }
+
+    private AlunoDTO aluno(int posicao) {
+        return new AlunoDTO(cpfs[posicao], nomes[posicao], turmasPorCodigo.get(turmas[posicao]),
+                medias[posicao] == SEM_VALOR ? null : medias[posicao] / 100.0,
+                situacoes[posicao] == SEM_SITUACAO ? null : SituacaoAluno.doCodigo(situacoes[posicao]),
+                valor(notas1[posicao]), valor(notas2[posicao]), valor(notas3[posicao]));
+    }
+
+    // Compacta as posições seguintes à primeira removida, bloco a bloco
+    private void remover(List<Integer> posicoes) {
+        if (posicoes.isEmpty()) {
+            return;
+        }
+        int destino = posicoes.get(0);
+        for (int i = 0; i < posicoes.size(); i++) {
+            int inicio = posicoes.get(i) + 1;
+            int fim = i + 1 < posicoes.size() ? posicoes.get(i + 1) : quantidade;
+            mover(inicio, destino, fim - inicio);
+            destino += fim - inicio;
+        }
+        // Solta os nomes que ficaram além do fim
+        Arrays.fill(nomes, destino, quantidade, null);
+        quantidade = destino;
+    }
+
+    // Intercala os novos alunos (em ordem de CPF) de trás para frente, abrindo espaço no lugar
+    private void inserir(List<AlunoDTO> novos) {
+        if (novos.isEmpty()) {
+            return;
+        }
+        garantirCapacidade(quantidade + novos.size());
+        int ultimo = quantidade - 1;
+        for (int i = novos.size() - 1; i >= 0; i--) {
+            AlunoDTO aluno = novos.get(i);
+            int posicao = -Arrays.binarySearch(cpfs, 0, ultimo + 1, aluno.getCpf()) - 1;
+            mover(posicao, posicao + i + 1, ultimo - posicao + 1);
+            gravar(posicao + i, aluno);
+            ultimo = posicao - 1;
+        }
+        quantidade += novos.size();
+    }
+
+    private void mover(int origem, int destino, int tamanho) {
+        if (tamanho <= 0 || origem == destino) {
+            return;
+        }
+        System.arraycopy(cpfs, origem, cpfs, destino, tamanho);
+        System.arraycopy(nomes, origem, nomes, destino, tamanho);
+        System.arraycopy(turmas, origem, turmas, destino, tamanho);
+        System.arraycopy(notas1, origem, notas1, destino, tamanho);
+        System.arraycopy(notas2, origem, notas2, destino, tamanho);
+        System.arraycopy(notas3, origem, notas3, destino, tamanho);
+        System.arraycopy(medias, origem, medias, destino, tamanho);
+        System.arraycopy(situacoes, origem, situacoes, destino, tamanho);
+    }
+
+    private void gravar(int posicao, AlunoDTO aluno) {
+        Short media = aluno.getMedia() == null ? null : (short) Math.round(aluno.getMedia() * 100);
+        gravar(posicao, aluno.getCpf(), aluno.getNome(), aluno.getTurma(), aluno.getNota1(), aluno.getNota2(),
+                aluno.getNota3(), media, aluno.getSituacao());
+    }
+
+    private void gravar(int posicao, long cpf, String nome, String turma, Short nota1, Short nota2, Short nota3,
+                        Short media, SituacaoAluno situacao) {
+        cpfs[posicao] = cpf;
+        nomes[posicao] = nome;
+        turmas[posicao] = codigoTurma(turma);
+        notas1[posicao] = primitivo(nota1);
+        notas2[posicao] = primitivo(nota2);
+        notas3[posicao] = primitivo(nota3);
+        medias[posicao] = primitivo(media);
+        situacoes[posicao] = situacao == null ? SEM_SITUACAO : situacao.getCodigo();
+    }
+
+    private int codigoTurma(String turma) {
+        return codigosPorTurma.computeIfAbsent(turma, nova -> {
+            turmasPorCodigo.add(nova);
+            return turmasPorCodigo.size() - 1;
+        });
+    }
+
+    private void garantirCapacidade(int minima) {
+        if (minima <= cpfs.length) {
+            return;
+        }
+        int capacidade = Math.max(minima, cpfs.length + (cpfs.length >> 1));
+        cpfs = Arrays.copyOf(cpfs, capacidade);
+        nomes = Arrays.copyOf(nomes, capacidade);
+        turmas = Arrays.copyOf(turmas, capacidade);
+        notas1 = Arrays.copyOf(notas1, capacidade);
+        notas2 = Arrays.copyOf(notas2, capacidade);
+        notas3 = Arrays.copyOf(notas3, capacidade);
+        medias = Arrays.copyOf(medias, capacidade);
+        situacoes = Arrays.copyOf(situacoes, capacidade);
+    }
+
+    private static short primitivo(Short valor) {
+        return valor == null ? SEM_VALOR : valor;
+    }
+
+    // Notas de 0 a 100 décimos vêm do cache de Short.valueOf e não alocam
+    private static Short valor(short decimos) {
+        return decimos == SEM_VALOR ? null : decimos;
+    }
+}
@@ -0,0 +1,105 @@
+package br.com.cadastro.alunos.model.estatisticas;
+
+import br.com.cadastro.alunos.model.dto.AlunoDTO;
+import br.com.cadastro.alunos.model.dto.EstatisticasTurma;
+import br.com.cadastro.alunos.model.events.AlunosAlteradosEvent;
+import br.com.cadastro.alunos.model.repository.AlunoRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Estatísticas por turma mantidas em memória e atualizadas de forma incremental a cada gravação
+ * confirmada. Os agregados são carregados do banco na primeira leitura e recarregados apenas
+ * quando uma gravação não informa os alunos alterados (ex.: reavaliação geral).
+ */
+@Component
+public class EstatisticasTurmas {
+
+    private static final Logger logger = LogManager.getLogger(EstatisticasTurmas.class);
+
+    private final AlunoRepository alunoRepository;
+
+    // Número de gravações confirmadas, usado para saber se a carga já enxergou uma gravação
+    private final AtomicLong gravacoes = new AtomicLong();
+
+    // null enquanto os agregados precisam ser (re)carregados do banco
+    private Map<String, AgregadoTurma> agregados;
+    private long gravacoesAntesDaCarga;
+    private long gravacoesAposCarga;
+
+    @Autowired
+    public EstatisticasTurmas(AlunoRepository alunoRepository) {
+        this.alunoRepository = alunoRepository;
+    }
+
+    public synchronized Optional<EstatisticasTurma> daTurma(String turma) {
+        return Optional.ofNullable(carregados().get(turma)).map(AgregadoTurma::resumir);
+    }
+
+    public synchronized List<EstatisticasTurma> todas() {
+        return carregados().values().stream()
+                .map(AgregadoTurma::resumir)
+                .sorted(Comparator.comparing(EstatisticasTurma::getTurma))
+                .toList();
+    }
+
+    /**
+     * Aplica a gravação depois do commit, como o cache de consultas, para que os totais
+     * nunca incluam alunos de uma transação desfeita.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarAlunos(AlunosAlteradosEvent evento) {
+        long gravacao = gravacoes.incrementAndGet();
+        synchronized (this) {
+            if (agregados == null || gravacao <= gravacoesAntesDaCarga) {
+                // Ainda não carregados, ou confirmada antes da carga e portanto já contada nela
+                return;
+            }
+            if (gravacao <= gravacoesAposCarga || evento.isTodasAsTurmas() || !evento.isComRetratos()) {
+                // Confirmada durante a carga (pode ou não ter sido contada) ou sem os alunos alterados
+                agregados = null;
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Estatísticas por turma serão recarregadas na próxima leitura");
+                }
+                return;
+            }
+            evento.getRemovidos().forEach(this::remover);
+            evento.getIncluidos().forEach(aluno ->
+                    agregados.computeIfAbsent(aluno.getTurma(), AgregadoTurma::new).adicionar(aluno));
+        }
+    }
+
+    private void remover(AlunoDTO aluno) {
+        AgregadoTurma agregado = agregados.get(aluno.getTurma());
+        if (agregado != null) {
+            agregado.remover(aluno);
+            if (agregado.isVazio()) {
+                agregados.remove(aluno.getTurma());
+            }
+        }
+    }
+
+    private Map<String, AgregadoTurma> carregados() {
+        if (agregados == null) {
+            gravacoesAntesDaCarga = gravacoes.get();
+            Map<String, AgregadoTurma> carga = new HashMap<>();
+            alunoRepository.agregarPorTurma().forEach(agregado -> carga.put(agregado.getTurma(), agregado));
+            gravacoesAposCarga = gravacoes.get();
+            agregados = carga;
+            if (logger.isInfoEnabled()) {
+                logger.info("Estatísticas carregadas do banco para {} turmas", carga.size());
+            }
+        }
+        return agregados;
+    }
+}
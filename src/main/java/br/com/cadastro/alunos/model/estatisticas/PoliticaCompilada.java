@@ -0,0 +1,93 @@
+package br.com.cadastro.alunos.model.estatisticas;
+
+import br.com.cadastro.alunos.model.entities.Notas;
+import br.com.cadastro.alunos.model.entities.PoliticaAprovacao;
+import br.com.cadastro.alunos.model.entities.SituacaoAluno;
+
+/**
+ * {@link PoliticaAprovacao} reduzida a uma comparação inteira por aluno, sem calcular a média nem dividir.
+ * <p>
+ * A média ponderada em centésimos, arredondada meio para cima, é 10 * S / P (S = soma dos pesos vezes as
+ * notas em décimos, P = soma dos pesos). Ela atinge a média mínima M exatamente quando 10 * S / P &gt;= M - 0,5,
+ * ou seja, 20 * S &gt;= (2M - 1) * P. Os pesos já multiplicados por 20 e o lado direito são calculados uma vez;
+ * com pesos iguais e média 7,00 o resultado é o mesmo de {@link Notas#situacao(int)}. A mesma comparação é
+ * gerada em SQL ({@link #sql(String, String, String)}) para as gravações que recalculam a situação no próprio
+ * comando.
+ */
+public final class PoliticaCompilada {
+
+    public static final PoliticaCompilada PADRAO = compilar(PoliticaAprovacao.padrao(null));
+
+    private final int fator1;
+    private final int fator2;
+    private final int fator3;
+    private final int limite;
+    private final int provasMinimas;
+
+    private PoliticaCompilada(int peso1, int peso2, int peso3, int mediaMinimaCentesimos, int provasMinimas) {
+        this.fator1 = 20 * peso1;
+        this.fator2 = 20 * peso2;
+        this.fator3 = 20 * peso3;
+        this.limite = (2 * mediaMinimaCentesimos - 1) * (peso1 + peso2 + peso3);
+        this.provasMinimas = provasMinimas;
+    }
+
+    /**
+     * Compila uma política já validada (pesos de 0 a 10 com soma positiva, média com até duas casas).
+     */
+    public static PoliticaCompilada compilar(PoliticaAprovacao politica) {
+        if (politica.getPeso1() + politica.getPeso2() + politica.getPeso3() <= 0) {
+            throw new IllegalArgumentException("A soma dos pesos deve ser maior que zero");
+        }
+        return new PoliticaCompilada(politica.getPeso1(), politica.getPeso2(), politica.getPeso3(),
+                politica.getMediaMinima().movePointRight(2).intValueExact(), politica.getProvasMinimas());
+    }
+
+    /**
+     * Situação pelas notas em décimos; nota negativa é ausente (como nas colunas de {@link ColunasAlunos})
+     * e deixa o aluno sem situação.
+     */
+    public SituacaoAluno situacao(short nota1, short nota2, short nota3) {
+        if (nota1 < 0 || nota2 < 0 || nota3 < 0) {
+            return null;
+        }
+        boolean media = fator1 * nota1 + fator2 * nota2 + fator3 * nota3 >= limite;
+        boolean provas = provaFeita(nota1) + provaFeita(nota2) + provaFeita(nota3) >= provasMinimas;
+        return media && provas ? SituacaoAluno.APROVADO : SituacaoAluno.REPROVADO;
+    }
+
+    /**
+     * Situação pelas notas em décimos de uma entidade ou DTO; sem alguma das notas, sem situação.
+     */
+    public SituacaoAluno situacao(Short nota1, Short nota2, Short nota3) {
+        if (nota1 == null || nota2 == null || nota3 == null) {
+            return null;
+        }
+        return situacao(nota1.shortValue(), nota2.shortValue(), nota3.shortValue());
+    }
+
+    /**
+     * Código da situação (1 = aprovado, 0 = reprovado) em SQL, com a mesma comparação inteira de
+     * {@link #situacao(short, short, short)}. As expressões das notas são DECIMAL(3,1), como as colunas
+     * NOTA_1 a NOTA_3; multiplicadas por 10 viram décimos exatos. O texto só contém constantes da política.
+     */
+    public String sql(String nota1, String nota2, String nota3) {
+        StringBuilder sql = new StringBuilder("CASE WHEN ")
+                .append(10 * fator1).append(" * ").append(nota1).append(" + ")
+                .append(10 * fator2).append(" * ").append(nota2).append(" + ")
+                .append(10 * fator3).append(" * ").append(nota3).append(" >= ").append(limite);
+        if (provasMinimas > 0) {
+            sql.append(" AND ").append(provaFeitaSql(nota1)).append(" + ").append(provaFeitaSql(nota2))
+                    .append(" + ").append(provaFeitaSql(nota3)).append(" >= ").append(provasMinimas);
+        }
+        return sql.append(" THEN 1 ELSE 0 END").toString();
+    }
+
+    private static String provaFeitaSql(String nota) {
+        return "CASE WHEN " + nota + " > 0 THEN 1 ELSE 0 END";
+    }
+
+    private static int provaFeita(short nota) {
+        return nota > 0 ? 1 : 0;
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.cadastro.alunos.model.estatisticas;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Retrato imutável das políticas gravadas, já compiladas, por turma; turmas sem política seguem
+ * {@link PoliticaCompilada#PADRAO}. Uma gravação que alcança alunos de várias turmas (reavaliação em
+ * lote, alteração de notas por CPF) usa {@link #sql(String, String, String, String)}, que escolhe a
+ * política pela coluna da turma no próprio comando.
+ */
+public final class PoliticasCompiladas {
+
+    public static final PoliticasCompiladas NENHUMA = new PoliticasCompiladas(new TreeMap<>());
+
+    // Ordenado pela turma: a ordem dos parâmetros de sql() é a das chaves
+    private final Map<String, PoliticaCompilada> gravadas;
+
+    private PoliticasCompiladas(SortedMap<String, PoliticaCompilada> gravadas) {
+        this.gravadas = Collections.unmodifiableSortedMap(gravadas);
+    }
+
+    public static PoliticasCompiladas de(Map<String, PoliticaCompilada> gravadas) {
+        return new PoliticasCompiladas(new TreeMap<>(gravadas));
+    }
+
+    /**
+     * Cópia com a política da turma substituída.
+     */
+    public PoliticasCompiladas com(String turma, PoliticaCompilada politica) {
+        SortedMap<String, PoliticaCompilada> copia = new TreeMap<>(gravadas);
+        copia.put(turma, politica);
+        return new PoliticasCompiladas(copia);
+    }
+
+    public PoliticaCompilada daTurma(String turma) {
+        return gravadas.getOrDefault(turma, PoliticaCompilada.PADRAO);
+    }
+
+    /**
+     * Apenas as turmas com política gravada.
+     */
+    public Map<String, PoliticaCompilada> getGravadas() {
+        return gravadas;
+    }
+
+    /**
+     * Código da situação pela política da turma de cada linha: um CASE sobre {@code turma} com um ramo por
+     * política gravada e a padrão no ELSE. As turmas entram como parâmetros, na ordem de {@link #parametros()}.
+     */
+    public String sql(String turma, String nota1, String nota2, String nota3) {
+        String padrao = PoliticaCompilada.PADRAO.sql(nota1, nota2, nota3);
+        if (gravadas.isEmpty()) {
+            return padrao;
+        }
+        StringBuilder sql = new StringBuilder("CASE ").append(turma);
+        gravadas.values().forEach(politica -> sql.append(" WHEN ? THEN ").append(politica.sql(nota1, nota2, nota3)));
+        return sql.append(" ELSE ").append(padrao).append(" END").toString();
+    }
+
+    /**
+     * Parâmetros de uma ocorrência de {@link #sql(String, String, String, String)}.
+     */
+    public List<Object> parametros() {
+        return List.copyOf(gravadas.keySet());
+    }
+}
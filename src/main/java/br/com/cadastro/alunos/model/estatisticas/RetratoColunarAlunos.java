@@ -0,0 +1,111 @@
+package br.com.cadastro.alunos.model.estatisticas;
+
+import br.com.cadastro.alunos.model.dto.AlunoDTO;
+import br.com.cadastro.alunos.model.dto.ResultadoSimulacao;
+import br.com.cadastro.alunos.model.events.AlunosAlteradosEvent;
+import br.com.cadastro.alunos.model.repository.AlunoRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Retrato em colunas de todos os alunos ({@link ColunasAlunos}), usado pelas listagens gerais por
+ * situação e por quantidade de provas e pela simulação de políticas de aprovação. Carregado do banco
+ * quando a aplicação sobe e atualizado de forma incremental a cada gravação confirmada; recarregado na
+ * próxima leitura apenas quando uma gravação não informa os alunos alterados (ex.: reavaliação geral),
+ * como as {@link EstatisticasTurmas}.
+ */
+@Component
+public class RetratoColunarAlunos {
+
+    private static final Logger logger = LogManager.getLogger(RetratoColunarAlunos.class);
+
+    private final AlunoRepository alunoRepository;
+
+    // Número de gravações confirmadas, usado para saber se a carga já enxergou uma gravação
+    private final AtomicLong gravacoes = new AtomicLong();
+
+    // null enquanto o retrato precisa ser (re)carregado do banco
+    private ColunasAlunos colunas;
+    private long gravacoesAntesDaCarga;
+    private long gravacoesAposCarga;
+
+    @Autowired
+    public RetratoColunarAlunos(AlunoRepository alunoRepository) {
+        this.alunoRepository = alunoRepository;
+    }
+
+    /**
+     * Carrega o retrato quando a aplicação termina de subir, para que a primeira listagem não espere a carga.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void carregar() {
+        carregadas();
+    }
+
+    public synchronized List<AlunoDTO> aprovados() {
+        return carregadas().aprovados();
+    }
+
+    public synchronized List<AlunoDTO> reprovados() {
+        return carregadas().reprovados();
+    }
+
+    public synchronized List<AlunoDTO> comUmaProva() {
+        return carregadas().comUmaProva();
+    }
+
+    public synchronized Optional<ResultadoSimulacao> simular(String turma, PoliticaCompilada politica) {
+        return carregadas().simular(turma, politica);
+    }
+
+    /**
+     * Aplica a gravação depois do commit, antes da invalidação das respostas serializadas
+     * ({@link br.com.cadastro.alunos.model.cache.RespostaJsonCache}), que são refeitas a partir deste retrato.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarAlunos(AlunosAlteradosEvent evento) {
+        long gravacao = gravacoes.incrementAndGet();
+        synchronized (this) {
+            if (colunas == null || gravacao <= gravacoesAntesDaCarga) {
+                // Ainda não carregado, ou confirmada antes da carga e portanto já lida nela
+                return;
+            }
+            if (gravacao <= gravacoesAposCarga || evento.isTodasAsTurmas() || !evento.isComRetratos()) {
+                // Confirmada durante a carga (pode ou não ter sido lida) ou sem os alunos alterados
+                colunas = null;
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Retrato colunar dos alunos será recarregado na próxima leitura");
+                }
+                return;
+            }
+            colunas.aplicar(evento.getRemovidos(), evento.getIncluidos());
+        }
+    }
+
+    private ColunasAlunos carregadas() {
+        if (colunas == null) {
+            long inicio = System.nanoTime();
+            gravacoesAntesDaCarga = gravacoes.get();
+            ColunasAlunos carga = alunoRepository.carregarColunas();
+            gravacoesAposCarga = gravacoes.get();
+            colunas = carga;
+            if (logger.isInfoEnabled()) {
+                logger.info("Retrato colunar carregado em {} ms: {} alunos, {} bytes nas colunas",
+                        (System.nanoTime() - inicio) / 1_000_000, carga.getQuantidade(), carga.getMemoriaBytes());
+            }
+        }
+        return colunas;
+    }
+}
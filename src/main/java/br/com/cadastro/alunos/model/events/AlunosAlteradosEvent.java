@@ -0,0 +1,98 @@
+package br.com.cadastro.alunos.model.events;
+
+import br.com.cadastro.alunos.model.dto.AlunoDTO;
+import br.com.cadastro.alunos.model.entities.Aluno;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Publicado após gravações de alunos, com as turmas afetadas. Quando a gravação pode ter
+ * alterado qualquer turma (ex.: reavaliação geral), {@link #isTodasAsTurmas()} é verdadeiro.
+ * Inclusões, alterações e exclusões levam também o retrato dos alunos antes ({@link #getRemovidos()})
+ * e depois ({@link #getIncluidos()}) da gravação, para quem mantém agregados de forma incremental.
+ */
+@Getter
+public final class AlunosAlteradosEvent {
+
+    private final Set<String> turmas;
+    private final boolean todasAsTurmas;
+    private final List<AlunoDTO> removidos;
+    private final List<AlunoDTO> incluidos;
+
+    private AlunosAlteradosEvent(Set<String> turmas, boolean todasAsTurmas,
+                                 List<AlunoDTO> removidos, List<AlunoDTO> incluidos) {
+        this.turmas = turmas;
+        this.todasAsTurmas = todasAsTurmas;
+        this.removidos = removidos;
+        this.incluidos = incluidos;
+    }
+
+    public static AlunosAlteradosEvent dasTurmas(Collection<String> turmas) {
+        // Set.copyOf aceita turmas repetidas (ex.: alteração sem troca de turma)
+        return new AlunosAlteradosEvent(Set.copyOf(turmas), false, List.of(), List.of());
+    }
+
+    public static AlunosAlteradosEvent daTurma(String turma) {
+        return new AlunosAlteradosEvent(Set.of(turma), false, List.of(), List.of());
+    }
+
+    public static AlunosAlteradosEvent deTodasAsTurmas() {
+        return new AlunosAlteradosEvent(Set.of(), true, List.of(), List.of());
+    }
+
+    public static AlunosAlteradosEvent inclusao(Aluno aluno) {
+        return inclusoes(List.of(aluno));
+    }
+
+    public static AlunosAlteradosEvent inclusoes(Collection<Aluno> alunos) {
+        List<AlunoDTO> incluidos = alunos.stream().map(AlunosAlteradosEvent::retrato).toList();
+        return new AlunosAlteradosEvent(turmasDe(incluidos), false, List.of(), incluidos);
+    }
+
+    /**
+     * @param anterior retrato do aluno obtido com {@link #retrato(Aluno)} antes de aplicar a alteração
+     */
+    public static AlunosAlteradosEvent alteracao(AlunoDTO anterior, Aluno atual) {
+        List<AlunoDTO> removidos = List.of(anterior);
+        List<AlunoDTO> incluidos = List.of(retrato(atual));
+        return new AlunosAlteradosEvent(Set.copyOf(List.of(anterior.getTurma(), atual.getTurma())), false,
+                removidos, incluidos);
+    }
+
+    /**
+     * Alterações feitas direto no banco, com os retratos de cada aluno antes e depois da gravação.
+     */
+    public static AlunosAlteradosEvent alteracoes(List<AlunoDTO> anteriores, List<AlunoDTO> atuais) {
+        Set<String> turmas = new HashSet<>(turmasDe(anteriores));
+        turmas.addAll(turmasDe(atuais));
+        return new AlunosAlteradosEvent(Set.copyOf(turmas), false, List.copyOf(anteriores), List.copyOf(atuais));
+    }
+
+    public static AlunosAlteradosEvent exclusao(Aluno aluno) {
+        List<AlunoDTO> removidos = List.of(retrato(aluno));
+        return new AlunosAlteradosEvent(turmasDe(removidos), false, removidos, List.of());
+    }
+
+    /**
+     * Copia os campos usados pelos agregados; a entidade continua mutável depois da publicação.
+     */
+    public static AlunoDTO retrato(Aluno aluno) {
+        return new AlunoDTO(aluno.getCpf(), aluno.getNome(), aluno.getTurma(), aluno.getMedia(),
+                aluno.getSituacao(), aluno.getNota1(), aluno.getNota2(), aluno.getNota3());
+    }
+
+    /**
+     * Indica se o evento traz o retrato dos alunos gravados, permitindo atualização incremental.
+     */
+    public boolean isComRetratos() {
+        return !removidos.isEmpty() || !incluidos.isEmpty();
+    }
+
+    private static Set<String> turmasDe(List<AlunoDTO> alunos) {
+        return Set.copyOf(alunos.stream().map(AlunoDTO::getTurma).toList());
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.cadastro.alunos.model.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ConflitoVersaoException extends RuntimeException {
+    public ConflitoVersaoException(String message) {
+        super(message);
+    }
+
+    public ConflitoVersaoException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,9 +1,12 @@
 package br.com.cadastro.alunos.model.exceptions;
 
 import br.com.cadastro.alunos.model.dto.ErrorResponse;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -45,6 +48,18 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
     }
 
+    // Versão desatualizada: outra requisição alterou o aluno depois que ele foi lido
+    @ExceptionHandler({ConflitoVersaoException.class, OptimisticLockingFailureException.class})
+    public ResponseEntity<ErrorResponse> handleConflitoVersaoException(RuntimeException e) {
+        ErrorResponse error = new ErrorResponse(
+                "Conflito de versão",
+                e instanceof ConflitoVersaoException ? e.getMessage()
+                        : "O registro foi alterado por outra requisição; leia-o novamente antes de alterar",
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(ServiceException.class)
     public ResponseEntity<ErrorResponse> handleServiceException(ServiceException e) {
         ErrorResponse error = new ErrorResponse(
@@ -65,6 +80,18 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    // Corpo que não pôde ser lido, como um CPF com dígitos verificadores errados
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ErrorResponse> handleHttpMessageNotReadableException(HttpMessageNotReadableException e) {
+        ErrorResponse error = new ErrorResponse(
+                "Corpo da requisição inválido",
+                e.getCause() instanceof JsonMappingException jsonMappingException
+                        ? jsonMappingException.getOriginalMessage() : e.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception e) {
         ErrorResponse error = new ErrorResponse(
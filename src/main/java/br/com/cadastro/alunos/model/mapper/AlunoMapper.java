@@ -2,11 +2,10 @@ package br.com.cadastro.alunos.model.mapper;
 
 import br.com.cadastro.alunos.model.dto.AlunoDTO;
 import br.com.cadastro.alunos.model.entities.Aluno;
+import br.com.cadastro.alunos.model.entities.Notas;
+import br.com.cadastro.alunos.model.entities.SituacaoAluno;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-
 @Component
 @SuppressWarnings("java:S1192")
 public class AlunoMapper {
@@ -19,28 +18,21 @@ public class AlunoMapper {
             return null;
         }
 
-        // Calcula a média com precisão de duas casas decimais
-        double mediaCalculada = calcularMedia(aluno);
-        double mediaFormatada = formatarMedia(mediaCalculada);
+        // Usa a média persistida (coluna MEDIA); calcula apenas para entidades ainda não gravadas.
+        // As duas já têm duas casas decimais exatas, então não há formatação a fazer aqui
+        Double media = aluno.getMedia() != null ? aluno.getMedia() : aluno.calcularMedia();
 
-        // Converte os valores do banco para o DTO
-        String situacao;
-        if (aluno.getAprovado() != null) {
-            // Considerar todos os possíveis valores de aprovado
-            if ("Sim".equals(aluno.getAprovado()) || "APROVADO".equals(aluno.getAprovado())) {
-                situacao = "APROVADO";
-            } else {
-                situacao = "REPROVADO";
-            }
-        } else {
-            situacao = mediaCalculada >= 7.0 ? "APROVADO" : "REPROVADO";
+        // A situação persistida já vem normalizada; calcula pela média apenas quando ausente
+        SituacaoAluno situacao = aluno.getSituacao();
+        if (situacao == null) {
+            situacao = Notas.situacao(media);
         }
 
         return AlunoDTO.builder()
                 .cpf(aluno.getCpf())
                 .nome(aluno.getNome())
                 .turma(aluno.getTurma())
-                .media(mediaFormatada)
+                .media(media)
                 .situacao(situacao)
                 .nota1(aluno.getNota1())
                 .nota2(aluno.getNota2())
@@ -49,7 +41,7 @@ public class AlunoMapper {
     }
 
     /**
-     * Converte um DTO em entidade e atualiza o campo aprovado
+     * Converte um DTO em entidade e atualiza a situação
      */
     public Aluno toEntity(AlunoDTO dto) {
         if (dto == null) {
@@ -65,26 +57,9 @@ public class AlunoMapper {
                 .nota3(dto.getNota3())
                 .build();
 
-        // Atualiza o campo aprovado com base na situação do DTO
-        aluno.setAprovado(dto.getSituacao());
+        // Atualiza a situação com base no DTO
+        aluno.setSituacao(dto.getSituacao());
 
         return aluno;
     }
-
-    /**
-     * Calcula a média das notas do aluno
-     */
-    private double calcularMedia(Aluno aluno) {
-        return (aluno.getNota1() + aluno.getNota2() + aluno.getNota3()) / 3.0;
-    }
-
-    /**
-     * Formata a média para duas casas decimais
-     */
-    private double formatarMedia(double media) {
-        // Corrigido para usar String em vez de double no construtor do BigDecimal
-        BigDecimal bd = new BigDecimal(String.valueOf(media));
-        bd = bd.setScale(2, RoundingMode.HALF_UP);
-        return bd.doubleValue();
-    }
 }
\ No newline at end of file
@@ -1,48 +1,73 @@
 package br.com.cadastro.alunos.model.repository;
 
+import br.com.cadastro.alunos.model.dto.AlunoDTO;
 import br.com.cadastro.alunos.model.entities.Aluno;
+import br.com.cadastro.alunos.model.entities.SituacaoAluno;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface AlunoRepository extends JpaRepository<Aluno, String> {
+public interface AlunoRepository extends JpaRepository<Aluno, Long>, AlunoRepositoryCustom {
 
-    // Método existente
-    Page<Aluno> findByTurmaAndAprovado(String turma, String aprovado, Pageable pageable);
+    // Projeção direta para o DTO: seleciona só as colunas expostas pela API (sem ENDERECO)
+    // e não carrega entidades no contexto de persistência
+    String SELECT_DTO = "SELECT new br.com.cadastro.alunos.model.dto.AlunoDTO("
+            + "a.cpf, a.nome, a.turma, a.media, a.situacao, a.nota1, a.nota2, a.nota3) FROM Aluno a";
 
-    // Novo método
-    Page<Aluno> findByTurma(String turma, Pageable pageable);
+    // Região do cache de consultas do Hibernate para as páginas por turma. O Hibernate descarta os
+    // resultados após gravações pela sessão; as gravações por JDBC do repositório esvaziam a região
+    String REGIAO_CONSULTAS = "alunos-consultas";
 
-    // Consultas otimizadas sugeridas
-    @Query("SELECT a FROM Aluno a WHERE (a.nota1 + a.nota2 + a.nota3) / 3.0 > 7.0")
-    List<Aluno> findApproved();
+    @Query(SELECT_DTO)
+    List<AlunoDTO> findAllAsDTO();
 
-    @Query("SELECT a FROM Aluno a WHERE (a.nota1 + a.nota2 + a.nota3) / 3.0 <= 7.0")
-    List<Aluno> findFailed();
+    // Busca por igualdade no índice (TURMA, STATUS)
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = REGIAO_CONSULTAS)})
+    @Query(value = SELECT_DTO + " WHERE a.turma = :turma AND a.situacao = :situacao",
+            countQuery = "SELECT COUNT(a) FROM Aluno a WHERE a.turma = :turma AND a.situacao = :situacao")
+    Page<AlunoDTO> findByTurmaAndSituacao(@Param("turma") String turma, @Param("situacao") SituacaoAluno situacao,
+                                          Pageable pageable);
 
-    @Query("SELECT a FROM Aluno a WHERE a.nota2 = 0 OR a.nota3 = 0")
-    List<Aluno> findFailedInOneExam();
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = REGIAO_CONSULTAS)})
+    @Query(value = SELECT_DTO + " WHERE a.turma = :turma",
+            countQuery = "SELECT COUNT(a) FROM Aluno a WHERE a.turma = :turma")
+    Page<AlunoDTO> findByTurma(@Param("turma") String turma, Pageable pageable);
 
-    @Query("SELECT a FROM Aluno a WHERE a.turma = :turma AND (a.nota1 + a.nota2 + a.nota3) / 3.0 > 7.0")
-    Page<Aluno> findApprovedByClass(@Param("turma") String turma, Pageable pageable);
+    // Paginação por cursor (keyset): busca a partir do último CPF retornado, sem OFFSET e sem COUNT
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = REGIAO_CONSULTAS)})
+    @Query(SELECT_DTO + " WHERE a.turma = :turma AND a.cpf > :ultimoCpf ORDER BY a.cpf")
+    List<AlunoDTO> findByTurmaAfterCpf(@Param("turma") String turma, @Param("ultimoCpf") long ultimoCpf,
+                                       Pageable limite);
 
-    @Query("SELECT a FROM Aluno a WHERE a.turma = :turma AND (a.nota1 + a.nota2 + a.nota3) / 3.0 <= 7.0")
-    Page<Aluno> findFailedByClass(@Param("turma") String turma, Pageable pageable);
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = REGIAO_CONSULTAS)})
+    @Query(SELECT_DTO + " WHERE a.turma = :turma AND a.situacao = :situacao AND a.cpf > :ultimoCpf "
+            + "ORDER BY a.cpf")
+    List<AlunoDTO> findByTurmaAndSituacaoAfterCpf(@Param("turma") String turma,
+                                                  @Param("situacao") SituacaoAluno situacao,
+                                                  @Param("ultimoCpf") long ultimoCpf, Pageable limite);
 
-    @Query(value =
-            "SELECT * FROM alunos WHERE " +
-                    "((nota_1 <> 0.0 AND nota_2 = 0.0 AND nota_3 = 0.0) OR " +
-                    "(nota_1 = 0.0 AND nota_2 <> 0.0 AND nota_3 = 0.0) OR " +
-                    "(nota_1 = 0.0 AND nota_2 = 0.0 AND nota_3 <> 0.0))",
-            nativeQuery = true)
-    List<Aluno> findAlunosComApenasUmaProva();
+    // Verificação de existência baseada em conjunto: uma consulta por lote de CPFs
+    @Query("SELECT a.cpf FROM Aluno a WHERE a.cpf IN :cpfs")
+    List<Long> findCpfsExistentes(@Param("cpfs") Collection<Long> cpfs);
 
-
-    Page<Aluno> findByTurmaAndAprovadoIn(String turma, List<String> list, Pageable pageable);
+    // Leitura em streaming para exportação: o driver busca as linhas em lotes (fetch size)
+    // e cada linha vira diretamente um DTO, sem entidade gerenciada
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_DTO)
+    Stream<AlunoDTO> streamAll();
 }
\ No newline at end of file
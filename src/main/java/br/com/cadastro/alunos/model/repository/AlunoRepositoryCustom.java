@@ -0,0 +1,80 @@
+package br.com.cadastro.alunos.model.repository;
+
+import br.com.cadastro.alunos.model.dto.AlteracaoNotas;
+import br.com.cadastro.alunos.model.entities.Aluno;
+import br.com.cadastro.alunos.model.estatisticas.AgregadoTurma;
+import br.com.cadastro.alunos.model.estatisticas.ColunasAlunos;
+import br.com.cadastro.alunos.model.estatisticas.PoliticaCompilada;
+import br.com.cadastro.alunos.model.estatisticas.PoliticasCompiladas;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongConsumer;
+
+/**
+ * Operações do repositório de alunos implementadas diretamente em SQL (JDBC).
+ */
+public interface AlunoRepositoryCustom {
+
+    /**
+     * Reavalia a situação de um lote de até {@code tamanhoLote} alunos com CPF maior que
+     * {@code ultimoCpf}, em uma transação própria, pela política da turma de cada aluno. Apenas as linhas
+     * cuja situação muda são gravadas.
+     */
+    LoteAvaliado avaliarLote(long ultimoCpf, int tamanhoLote, PoliticasCompiladas politicas);
+
+    /**
+     * Reavalia os alunos da {@code turma} pela {@code politica} com um único UPDATE, que grava só as linhas
+     * cuja situação muda e avança a versão delas. Participa da transação corrente.
+     * Retorna as linhas alteradas antes e depois da reavaliação.
+     */
+    List<NotasGravadas> reavaliarTurma(String turma, PoliticaCompilada politica);
+
+    /**
+     * Insere os alunos com um único INSERT em lote (JDBC batch), em uma transação própria.
+     * A média é calculada pelo banco (coluna gerada) e a situação deve estar preenchida.
+     */
+    void inserirLote(List<Aluno> alunos);
+
+    /**
+     * Inclui um aluno novo com um único INSERT (persist + flush, sem o SELECT do merge).
+     * CPF duplicado é sinalizado pela violação da chave primária, traduzida para
+     * {@link org.springframework.dao.DuplicateKeyException}; as demais violações de integridade chegam como
+     * {@link org.springframework.dao.DataIntegrityViolationException}.
+     */
+    Aluno inserir(Aluno aluno);
+
+    /**
+     * Altera só as notas informadas (as nulas mantêm o valor gravado) e recalcula a situação, pela política
+     * da turma do aluno, com um único comando, que também avança a versão. Restrito à {@code turma} e à
+     * {@code versao} quando informadas; vazio se nenhuma linha atende às condições.
+     */
+    Optional<NotasGravadas> alterarNotas(long cpf, String turma, AlteracaoNotas notas, Long versao,
+                                         PoliticasCompiladas politicas);
+
+    /**
+     * Grava a nota da avaliação {@code prova} (1 a 3), em décimos, de cada CPF da {@code turma} e recalcula
+     * a situação pela {@code politica} da turma na mesma passada, com um MERGE por lote de alunos. Participa
+     * da transação corrente. Retorna as linhas gravadas antes e depois do lançamento; CPFs sem aluno na turma
+     * ficam de fora.
+     */
+    List<NotasGravadas> lancarNotas(String turma, int prova, Map<Long, Short> notas, PoliticaCompilada politica);
+
+    /**
+     * Entrega ao {@code consumidor} o CPF de cada aluno gravado, lendo as linhas em streaming.
+     */
+    void percorrerCpfs(LongConsumer consumidor);
+
+    /**
+     * Agrega os alunos por turma no banco: totais em uma consulta e a contagem de cada nota
+     * das três avaliações em outra, sem trazer as linhas dos alunos para a aplicação.
+     */
+    List<AgregadoTurma> agregarPorTurma();
+
+    /**
+     * Lê todos os alunos em streaming, em ordem de CPF, direto para as colunas do retrato,
+     * sem criar entidades nem DTOs.
+     */
+    ColunasAlunos carregarColunas();
+}
@@ -0,0 +1,366 @@
+package br.com.cadastro.alunos.model.repository;
+
+import br.com.cadastro.alunos.model.dto.AlteracaoNotas;
+import br.com.cadastro.alunos.model.dto.AlunoDTO;
+import br.com.cadastro.alunos.model.entities.Aluno;
+import br.com.cadastro.alunos.model.entities.Notas;
+import br.com.cadastro.alunos.model.entities.SituacaoAluno;
+import br.com.cadastro.alunos.model.estatisticas.AgregadoTurma;
+import br.com.cadastro.alunos.model.estatisticas.ColunasAlunos;
+import br.com.cadastro.alunos.model.estatisticas.PoliticaCompilada;
+import br.com.cadastro.alunos.model.estatisticas.PoliticasCompiladas;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongConsumer;
+
+class AlunoRepositoryCustomImpl implements AlunoRepositoryCustom {
+
+    // Limites do lote pela chave primária: quantas linhas existem após o último CPF e qual é o maior CPF do lote
+    private static final String SQL_FAIXA_LOTE =
+            "SELECT COUNT(*), MAX(CPF) FROM (SELECT CPF FROM alunos WHERE CPF > ? ORDER BY CPF LIMIT ?) lote";
+
+    // SQLState padrão de violação de unicidade; a única restrição única de alunos é a chave primária (CPF)
+    private static final String CHAVE_DUPLICADA = "23505";
+
+    // Linhas anteriores de uma gravação, lidas por retratoAnterior; o comando e o parêntese final vêm na chamada
+    private static final String SQL_RETRATO_ANTERIOR =
+            "SELECT CPF, NOME, TURMA, MEDIA, STATUS, NOTA_1, NOTA_2, NOTA_3, VERSAO FROM OLD TABLE (";
+
+    private static final String SQL_INSERIR =
+            "INSERT INTO alunos (CPF, NOME, ENDERECO, TURMA, NOTA_1, NOTA_2, NOTA_3, STATUS) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Nota informada ou, se nula, a gravada
+    private static final String NOVA_NOTA_1 = "COALESCE(n.NOTA_1, a.NOTA_1)";
+    private static final String NOVA_NOTA_2 = "COALESCE(n.NOTA_2, a.NOTA_2)";
+    private static final String NOVA_NOTA_3 = "COALESCE(n.NOTA_3, a.NOTA_3)";
+
+    // Um único MERGE grava as notas, a situação recalculada pela política da turma e a nova versão;
+    // OLD TABLE devolve a linha anterior no mesmo comando, para os eventos. As notas vêm uma vez só,
+    // na lista VALUES, e a expressão da situação as lê de lá. As condições opcionais (turma, versão)
+    // entram no ON, na chamada
+    private static final String SQL_ALTERAR_NOTAS = SQL_RETRATO_ANTERIOR
+            + "MERGE INTO alunos a USING (VALUES (CAST(? AS BIGINT), CAST(? AS DECIMAL(3,1)),"
+            + " CAST(? AS DECIMAL(3,1)), CAST(? AS DECIMAL(3,1)))) n (CPF, NOTA_1, NOTA_2, NOTA_3) ON a.CPF = n.CPF";
+
+    // Lançamento de uma avaliação para a turma: um MERGE por lote de alunos, com as notas em uma lista VALUES.
+    // Cada linha da turma recebe a nota e a situação recalculada na mesma passada, e OLD TABLE devolve
+    // as linhas anteriores, para os eventos
+    private static final String NOTA_LANCADA = "(CAST(? AS BIGINT), CAST(? AS DECIMAL(3,1)))";
+
+    private static final int TAMANHO_LOTE_LANCAMENTO = 500;
+
+    private static final String SQL_CPFS = "SELECT CPF FROM alunos";
+    private static final int TAMANHO_LEITURA_CPFS = 10_000;
+
+    private static final String SQL_TOTAIS_TURMA =
+            "SELECT TURMA, COUNT(*), SUM(CASE WHEN STATUS = 1 THEN 1 ELSE 0 END), "
+                    + "SUM(CASE WHEN STATUS = 0 THEN 1 ELSE 0 END), SUM(MEDIA) FROM alunos GROUP BY TURMA";
+
+    // Uma linha por (turma, avaliação, nota): no máximo 101 notas distintas por avaliação
+    private static final String SQL_NOTAS_TURMA =
+            "SELECT TURMA, 1, NOTA_1, COUNT(*) FROM alunos GROUP BY TURMA, NOTA_1"
+                    + " UNION ALL SELECT TURMA, 2, NOTA_2, COUNT(*) FROM alunos GROUP BY TURMA, NOTA_2"
+                    + " UNION ALL SELECT TURMA, 3, NOTA_3, COUNT(*) FROM alunos GROUP BY TURMA, NOTA_3";
+
+    // Ordem da chave primária: as colunas do retrato são preenchidas já ordenadas por CPF
+    private static final String SQL_COLUNAS =
+            "SELECT CPF, NOME, TURMA, NOTA_1, NOTA_2, NOTA_3, MEDIA, STATUS FROM alunos ORDER BY CPF";
+    private static final String SQL_QUANTIDADE = "SELECT COUNT(*) FROM alunos";
+    private static final int TAMANHO_LEITURA_COLUNAS = 5_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Autowired
+    AlunoRepositoryCustomImpl(JdbcTemplate jdbcTemplate, EntityManager entityManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional
+    public Aluno inserir(Aluno aluno) {
+        try {
+            // save() com @Id atribuído faria merge (SELECT + INSERT); persist agenda só o INSERT
+            entityManager.persist(aluno);
+            // O flush antecipa a violação de chave para dentro do repositório, onde é traduzida
+            entityManager.flush();
+        } catch (ConstraintViolationException e) {
+            if (CHAVE_DUPLICADA.equals(e.getSQLState())) {
+                throw new DuplicateKeyException("CPF " + aluno.getCpf() + " já cadastrado", e);
+            }
+            throw e;
+        }
+        return aluno;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public LoteAvaliado avaliarLote(long ultimoCpf, int tamanhoLote, PoliticasCompiladas politicas) {
+        LoteAvaliado faixa = jdbcTemplate.queryForObject(SQL_FAIXA_LOTE,
+                (rs, linha) -> new LoteAvaliado(rs.getLong(2), rs.getInt(1), 0),
+                ultimoCpf, tamanhoLote);
+
+        if (faixa == null || faixa.isVazio()) {
+            return new LoteAvaliado(ultimoCpf, 0, 0);
+        }
+
+        List<Object> parametros = new ArrayList<>(politicas.parametros());
+        parametros.add(ultimoCpf);
+        parametros.add(faixa.getUltimoCpf());
+        parametros.addAll(politicas.parametros());
+        int alterados = jdbcTemplate.update(
+                sqlAvaliarLote(politicas.sql("TURMA", "NOTA_1", "NOTA_2", "NOTA_3")), parametros.toArray());
+        if (alterados > 0) {
+            // Quais CPFs da faixa mudaram não é devolvido pelo UPDATE: todos os alunos saem do cache
+            removerDoCacheAposTransacao(null);
+        }
+        return new LoteAvaliado(faixa.getUltimoCpf(), faixa.getProcessados(), alterados);
+    }
+
+    @Override
+    @Transactional
+    public List<NotasGravadas> reavaliarTurma(String turma, PoliticaCompilada politica) {
+        String situacao = politica.sql("NOTA_1", "NOTA_2", "NOTA_3");
+        List<NotasGravadas> gravadas = jdbcTemplate.query(SQL_RETRATO_ANTERIOR
+                + "UPDATE alunos SET STATUS = " + situacao + ", VERSAO = VERSAO + 1"
+                + " WHERE TURMA = ? AND (STATUS IS NULL OR STATUS <> " + situacao + "))", (rs, linha) -> {
+            AlunoDTO anterior = retratoAnterior(rs);
+            AlunoDTO atual = new AlunoDTO(anterior.getCpf(), anterior.getNome(), anterior.getTurma(),
+                    anterior.getMedia(), politica.situacao(anterior.getNota1(), anterior.getNota2(), anterior.getNota3()),
+                    anterior.getNota1(), anterior.getNota2(), anterior.getNota3());
+            return new NotasGravadas(anterior, atual, rs.getLong(9) + 1);
+        }, turma);
+        if (!gravadas.isEmpty()) {
+            removerDoCacheAposTransacao(gravadas.stream().map(g -> g.getAtual().getCpf()).toList());
+        }
+        return gravadas;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void inserirLote(List<Aluno> alunos) {
+        jdbcTemplate.batchUpdate(SQL_INSERIR, alunos, alunos.size(), (ps, aluno) -> {
+            ps.setLong(1, aluno.getCpf());
+            ps.setString(2, aluno.getNome());
+            ps.setString(3, aluno.getEndereco());
+            ps.setString(4, aluno.getTurma());
+            ps.setBigDecimal(5, BigDecimal.valueOf(aluno.getNota1(), 1));
+            ps.setBigDecimal(6, BigDecimal.valueOf(aluno.getNota2(), 1));
+            ps.setBigDecimal(7, BigDecimal.valueOf(aluno.getNota3(), 1));
+            ps.setByte(8, aluno.getSituacao().getCodigo());
+        });
+        // CPFs novos não estão no cache de entidades, mas as páginas das turmas mudaram
+        removerDoCacheAposTransacao(List.of());
+    }
+
+    @Override
+    @Transactional
+    public Optional<NotasGravadas> alterarNotas(long cpf, String turma, AlteracaoNotas notas, Long versao,
+                                                PoliticasCompiladas politicas) {
+        StringBuilder sql = new StringBuilder(SQL_ALTERAR_NOTAS);
+        List<Object> parametros = new ArrayList<>();
+        parametros.add(cpf);
+        parametros.add(decimal(notas.getNota1()));
+        parametros.add(decimal(notas.getNota2()));
+        parametros.add(decimal(notas.getNota3()));
+        if (turma != null) {
+            sql.append(" AND a.TURMA = ?");
+            parametros.add(turma);
+        }
+        if (versao != null) {
+            sql.append(" AND a.VERSAO = ?");
+            parametros.add(versao);
+        }
+        sql.append(" WHEN MATCHED THEN UPDATE SET NOTA_1 = ").append(NOVA_NOTA_1)
+                .append(", NOTA_2 = ").append(NOVA_NOTA_2)
+                .append(", NOTA_3 = ").append(NOVA_NOTA_3)
+                .append(", STATUS = ").append(politicas.sql("a.TURMA", NOVA_NOTA_1, NOVA_NOTA_2, NOVA_NOTA_3))
+                .append(", VERSAO = a.VERSAO + 1)");
+        parametros.addAll(politicas.parametros());
+
+        List<NotasGravadas> gravadas = jdbcTemplate.query(sql.toString(), (rs, linha) -> {
+            AlunoDTO anterior = retratoAnterior(rs);
+
+            Short nota1 = notas.getNota1() != null ? notas.getNota1() : anterior.getNota1();
+            Short nota2 = notas.getNota2() != null ? notas.getNota2() : anterior.getNota2();
+            Short nota3 = notas.getNota3() != null ? notas.getNota3() : anterior.getNota3();
+            AlunoDTO atual = new AlunoDTO(anterior.getCpf(), anterior.getNome(), anterior.getTurma(),
+                    Notas.media(nota1, nota2, nota3),
+                    politicas.daTurma(anterior.getTurma()).situacao(nota1, nota2, nota3), nota1, nota2, nota3);
+            return new NotasGravadas(anterior, atual, rs.getLong(9) + 1);
+        }, parametros.toArray());
+        if (!gravadas.isEmpty()) {
+            removerDoCacheAposTransacao(List.of(cpf));
+        }
+        return gravadas.stream().findFirst();
+    }
+
+    @Override
+    @Transactional
+    public List<NotasGravadas> lancarNotas(String turma, int prova, Map<Long, Short> notas,
+                                           PoliticaCompilada politica) {
+        String situacao = politica.sql(notaLancada(prova, 1), notaLancada(prova, 2), notaLancada(prova, 3));
+        List<Map.Entry<Long, Short>> lancamentos = List.copyOf(notas.entrySet());
+        List<NotasGravadas> gravadas = new ArrayList<>(lancamentos.size());
+        for (int inicio = 0; inicio < lancamentos.size(); inicio += TAMANHO_LOTE_LANCAMENTO) {
+            List<Map.Entry<Long, Short>> lote =
+                    lancamentos.subList(inicio, Math.min(inicio + TAMANHO_LOTE_LANCAMENTO, lancamentos.size()));
+            Object[] parametros = new Object[lote.size() * 2 + 1];
+            int posicao = 0;
+            for (Map.Entry<Long, Short> nota : lote) {
+                parametros[posicao++] = nota.getKey();
+                parametros[posicao++] = decimal(nota.getValue());
+            }
+            parametros[posicao] = turma;
+
+            gravadas.addAll(jdbcTemplate.query(sqlLancarNotas(prova, lote.size(), situacao), (rs, linha) -> {
+                AlunoDTO anterior = retratoAnterior(rs);
+                Short nota = notas.get(anterior.getCpf());
+                Short nota1 = prova == 1 ? nota : anterior.getNota1();
+                Short nota2 = prova == 2 ? nota : anterior.getNota2();
+                Short nota3 = prova == 3 ? nota : anterior.getNota3();
+                AlunoDTO atual = new AlunoDTO(anterior.getCpf(), anterior.getNome(), anterior.getTurma(),
+                        Notas.media(nota1, nota2, nota3), politica.situacao(nota1, nota2, nota3), nota1, nota2, nota3);
+                return new NotasGravadas(anterior, atual, rs.getLong(9) + 1);
+            }, parametros));
+        }
+        if (!gravadas.isEmpty()) {
+            removerDoCacheAposTransacao(gravadas.stream().map(g -> g.getAtual().getCpf()).toList());
+        }
+        return gravadas;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void percorrerCpfs(LongConsumer consumidor) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SQL_CPFS);
+            ps.setFetchSize(TAMANHO_LEITURA_CPFS);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumidor.accept(rs.getLong(1)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AgregadoTurma> agregarPorTurma() {
+        Map<String, AgregadoTurma> agregados = new HashMap<>();
+        jdbcTemplate.query(SQL_TOTAIS_TURMA, rs -> {
+            BigDecimal somaMedias = rs.getBigDecimal(5);
+            agregados.computeIfAbsent(rs.getString(1), AgregadoTurma::new)
+                    .somarTotais(rs.getLong(2), rs.getLong(3), rs.getLong(4),
+                            somaMedias == null ? 0 : somaMedias.movePointRight(2).longValue());
+        });
+        jdbcTemplate.query(SQL_NOTAS_TURMA, rs -> {
+            agregados.computeIfAbsent(rs.getString(1), AgregadoTurma::new)
+                    .somarNota(rs.getInt(2), decimos(rs.getBigDecimal(3)), rs.getLong(4));
+        });
+        return new ArrayList<>(agregados.values());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ColunasAlunos carregarColunas() {
+        Integer quantidade = jdbcTemplate.queryForObject(SQL_QUANTIDADE, Integer.class);
+        ColunasAlunos colunas = new ColunasAlunos(quantidade == null ? 0 : quantidade);
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SQL_COLUNAS);
+            ps.setFetchSize(TAMANHO_LEITURA_COLUNAS);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            BigDecimal media = rs.getBigDecimal(7);
+            byte status = rs.getByte(8);
+            SituacaoAluno situacao = rs.wasNull() ? null : SituacaoAluno.doCodigo(status);
+            colunas.acrescentar(rs.getLong(1), rs.getString(2), rs.getString(3),
+                    decimos(rs.getBigDecimal(4)), decimos(rs.getBigDecimal(5)), decimos(rs.getBigDecimal(6)),
+                    media == null ? null : media.movePointRight(2).shortValue(), situacao);
+        });
+        return colunas;
+    }
+
+    // Atualização baseada em conjunto: grava apenas as linhas do lote cuja situação muda.
+    // A versão também avança, para que uma alteração concorrente baseada na linha antiga falhe
+    private static String sqlAvaliarLote(String situacao) {
+        return "UPDATE alunos SET STATUS = " + situacao + ", VERSAO = VERSAO + 1 WHERE CPF > ? AND CPF <= ?"
+                + " AND (STATUS IS NULL OR STATUS <> " + situacao + ")";
+    }
+
+    private static String sqlLancarNotas(int prova, int quantidade, String situacao) {
+        return SQL_RETRATO_ANTERIOR
+                + "MERGE INTO alunos a USING (VALUES " + String.join(", ", Collections.nCopies(quantidade, NOTA_LANCADA))
+                + ") n (CPF, NOTA) ON a.CPF = n.CPF AND a.TURMA = ? WHEN MATCHED THEN UPDATE SET NOTA_" + prova
+                + " = n.NOTA, STATUS = " + situacao + ", VERSAO = a.VERSAO + 1)";
+    }
+
+    // Nota de cada avaliação depois do lançamento da prova: a lançada ou a gravada
+    private static String notaLancada(int prova, int avaliacao) {
+        return prova == avaliacao ? "n.NOTA" : "a.NOTA_" + avaliacao;
+    }
+
+    // Linha devolvida por OLD TABLE: CPF, NOME, TURMA, MEDIA, STATUS, NOTA_1, NOTA_2, NOTA_3, VERSAO
+    private static AlunoDTO retratoAnterior(ResultSet rs) throws SQLException {
+        BigDecimal media = rs.getBigDecimal(4);
+        Object status = rs.getObject(5);
+        return new AlunoDTO(rs.getLong(1), rs.getString(2), rs.getString(3),
+                media == null ? null : media.doubleValue(),
+                status == null ? null : SituacaoAluno.doCodigo(rs.getByte(5)),
+                decimos(rs.getBigDecimal(6)), decimos(rs.getBigDecimal(7)), decimos(rs.getBigDecimal(8)));
+    }
+
+    /**
+     * Gravações por JDBC não passam pela sessão do Hibernate: depois do commit (ou rollback), os alunos
+     * gravados ({@code null} para todos) saem do cache de segundo nível e a região de consultas por turma
+     * é esvaziada. Antes disso, outra transação ainda leria do banco a linha anterior e a devolveria ao cache.
+     */
+    private void removerDoCacheAposTransacao(List<Long> cpfs) {
+        Cache cache = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getCache();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                // Antes dos ouvintes de AlunosAlteradosEvent, que podem refazer as consultas
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (cpfs == null) {
+                    cache.evictEntityData(Aluno.class);
+                } else {
+                    cpfs.forEach(cpf -> cache.evictEntityData(Aluno.class, cpf));
+                }
+                cache.evictQueryRegion(AlunoRepository.REGIAO_CONSULTAS);
+            }
+        });
+    }
+
+    private static BigDecimal decimal(Short decimos) {
+        return decimos == null ? null : BigDecimal.valueOf(decimos, 1);
+    }
+
+    private static Short decimos(BigDecimal nota) {
+        return nota == null ? null : Notas.decimos(nota);
+    }
+}
@@ -0,0 +1,20 @@
+package br.com.cadastro.alunos.model.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Resultado da reavaliação de um lote de alunos, delimitado pelo último CPF processado.
+ */
+@Getter
+@AllArgsConstructor
+public class LoteAvaliado {
+
+    private final long ultimoCpf;
+    private final int processados;
+    private final int alterados;
+
+    public boolean isVazio() {
+        return processados == 0;
+    }
+}
@@ -0,0 +1,18 @@
+package br.com.cadastro.alunos.model.repository;
+
+import br.com.cadastro.alunos.model.dto.AlunoDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Aluno antes e depois de uma alteração ou lançamento de notas, ou de uma reavaliação, feita direto no banco,
+ * e a versão gravada.
+ */
+@Getter
+@AllArgsConstructor
+public class NotasGravadas {
+
+    private final AlunoDTO anterior;
+    private final AlunoDTO atual;
+    private final long versao;
+}
@@ -0,0 +1,9 @@
+package br.com.cadastro.alunos.model.repository;
+
+import br.com.cadastro.alunos.model.entities.PoliticaAprovacao;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PoliticaAprovacaoRepository extends JpaRepository<PoliticaAprovacao, String> {
+}
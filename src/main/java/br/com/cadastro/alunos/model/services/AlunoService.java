@@ -1,40 +1,75 @@
 package br.com.cadastro.alunos.model.services;
 
+import br.com.cadastro.alunos.model.cache.CpfsCadastrados;
+import br.com.cadastro.alunos.model.events.AlunosAlteradosEvent;
+import br.com.cadastro.alunos.model.dto.AlteracaoNotas;
+import br.com.cadastro.alunos.model.dto.AlunoDTO;
+import br.com.cadastro.alunos.model.dto.ResultadoAlteracaoNotas;
+import br.com.cadastro.alunos.model.dto.ResultadoAvaliacao;
+import br.com.cadastro.alunos.model.dto.ResultadoLancamentoNotas;
 import br.com.cadastro.alunos.model.entities.Aluno;
+import br.com.cadastro.alunos.model.entities.Cpf;
+import br.com.cadastro.alunos.model.entities.Notas;
+import br.com.cadastro.alunos.model.estatisticas.PoliticaCompilada;
+import br.com.cadastro.alunos.model.estatisticas.PoliticasCompiladas;
+import br.com.cadastro.alunos.model.exceptions.ConflitoVersaoException;
 import br.com.cadastro.alunos.model.exceptions.ResourceNotFoundException;
 import br.com.cadastro.alunos.model.exceptions.ServiceException;
 import br.com.cadastro.alunos.model.exceptions.BusinessException;
 import br.com.cadastro.alunos.model.repository.AlunoRepository;
+import br.com.cadastro.alunos.model.repository.LoteAvaliado;
+import br.com.cadastro.alunos.model.repository.NotasGravadas;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @SuppressWarnings({
         "java:S3776", // Cognitive Complexity
-        "java:S3655",  // Optional#isPresent
         "PMD.GuardLogStatement"
 })
 public class AlunoService {
 
     private final AlunoRepository alunoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CpfsCadastrados cpfsCadastrados;
+    private final TravasCpf travasCpf;
+    private final PoliticaAprovacaoService politicaAprovacaoService;
     private static final Logger logger = LogManager.getLogger(AlunoService.class);
 
     @Autowired
-    public AlunoService(AlunoRepository alunoRepository) {
+    public AlunoService(AlunoRepository alunoRepository, ApplicationEventPublisher eventPublisher,
+                        CpfsCadastrados cpfsCadastrados, TravasCpf travasCpf,
+                        PoliticaAprovacaoService politicaAprovacaoService) {
         this.alunoRepository = alunoRepository;
+        this.eventPublisher = eventPublisher;
+        this.cpfsCadastrados = cpfsCadastrados;
+        this.travasCpf = travasCpf;
+        this.politicaAprovacaoService = politicaAprovacaoService;
     }
 
-    public List<Aluno> listarAlunos() {
+    public List<AlunoDTO> listarAlunos() {
         if (logger.isInfoEnabled()) {
             logger.info("Listando todos os alunos");
         }
         try {
-            List<Aluno> alunos = alunoRepository.findAll();
+            List<AlunoDTO> alunos = alunoRepository.findAllAsDTO();
             if (logger.isInfoEnabled()) {
                 logger.info("Total de alunos encontrados: {}", alunos.size());
             }
@@ -47,6 +82,29 @@ public class AlunoService {
         }
     }
 
+    /**
+     * Percorre todos os alunos linha a linha, entregando cada um ao consumidor.
+     * As linhas são projetadas direto no DTO, então o contexto de persistência
+     * não cresce com o tamanho da tabela.
+     */
+    @Transactional(readOnly = true)
+    public void exportarAlunos(Consumer<AlunoDTO> consumidor) {
+        if (logger.isInfoEnabled()) {
+            logger.info("Exportando alunos em modo streaming");
+        }
+        try (Stream<AlunoDTO> alunos = alunoRepository.streamAll()) {
+            alunos.forEach(consumidor);
+        } catch (UncheckedIOException e) {
+            // Falha de escrita na resposta (ex.: cliente desconectou); não é erro de serviço
+            throw e;
+        } catch (Exception e) {
+            if (logger.isErrorEnabled()) {
+                logger.error("Erro ao exportar alunos", e);
+            }
+            throw new ServiceException("Erro ao exportar alunos", e);
+        }
+    }
+
     @Transactional
     public Aluno incluirAluno(Aluno aluno) {
         if (logger.isInfoEnabled()) {
@@ -55,39 +113,23 @@ public class AlunoService {
 
         try {
             // Validação do CPF
-            if (aluno.getCpf() == null || aluno.getCpf().length() != 14) {
+            if (aluno.getCpf() == null || !Cpf.valido(aluno.getCpf())) {
                 if (logger.isErrorEnabled()) {
                     logger.error("CPF inválido: {}", aluno.getCpf());
                 }
                 throw new BusinessException("O CPF do aluno não é válido");
             }
 
-            // Verifica se o CPF já está cadastrado
-            if (alunoRepository.existsById(aluno.getCpf())) {
-                // Corrigido: log protegido com verificação de nível
-                if (logger.isErrorEnabled()) {
-                    logger.error("CPF já cadastrado: {}", aluno.getCpf());
-                }
-                throw new BusinessException("CPF já cadastrado");
-            }
+            // Calcula se o aluno está aprovado ou não, pela política da turma
+            atualizarSituacaoAluno(aluno, politicaAprovacaoService.compilada(aluno.getTurma()));
 
-            // Verifica se o CPF está cadastrado em outra turma
-            if (alunoRepository.findById(aluno.getCpf()).isPresent()) {
-                Aluno alunoExistente = alunoRepository.findById(aluno.getCpf()).get();
-                if (!aluno.getTurma().equals(alunoExistente.getTurma())) {
-                    if (logger.isErrorEnabled()) {
-                        logger.error("Aluno com CPF {} já cadastrado em outra turma", aluno.getCpf());
-                    }
-                    throw new BusinessException("Aluno já cadastrado em outra turma");
-                }
-            }
-
-            // Calcula se o aluno está aprovado ou não
-            double media = calcularMedia(aluno);
-            aluno.setAprovado(media >= 7.0 ? "SIM" : "NÃO");
+            // Inclusões simultâneas do mesmo CPF esperam o commit da primeira, em vez de disputar a chave primária
+            travasCpf.travar(aluno.getCpf());
 
-            // Salva o aluno no banco de dados
-            Aluno alunoSalvo = alunoRepository.save(aluno);
+            // Um único INSERT: CPF já cadastrado é detectado pela chave primária
+            Aluno alunoSalvo = alunoRepository.inserir(aluno);
+            cpfsCadastrados.adicionar(alunoSalvo.getCpf());
+            eventPublisher.publishEvent(AlunosAlteradosEvent.inclusao(alunoSalvo));
 
             if (logger.isInfoEnabled()) {
                 logger.info("Aluno cadastrado com sucesso: {}", alunoSalvo);
@@ -96,6 +138,12 @@ public class AlunoService {
             return alunoSalvo;
         } catch (BusinessException e) {
             throw e;
+        } catch (DuplicateKeyException e) {
+            // Só a chave primária duplicada é erro do cliente; outras violações de integridade são falhas internas
+            if (logger.isErrorEnabled()) {
+                logger.error("CPF já cadastrado: {}", aluno.getCpf());
+            }
+            throw new BusinessException("CPF já cadastrado", e);
         } catch (Exception e) {
             if (logger.isErrorEnabled()) {
                 logger.error("Erro ao incluir aluno", e);
@@ -105,20 +153,30 @@ public class AlunoService {
     }
 
     @Transactional
-    public Aluno alterarAluno(String cpf, Aluno aluno) {
+    public Aluno alterarAluno(long cpf, Aluno aluno) {
         if (logger.isInfoEnabled()) {
-            logger.info("Alterando aluno com CPF: {}", cpf);
+            logger.info("Alterando aluno com CPF: {}", Cpf.formatar(cpf));
         }
 
         try {
+            // Serializa as gravações do CPF até o commit; a versão ainda protege contra outras instâncias
+            travasCpf.travar(cpf);
+
             // Verifica se o aluno existe
             Aluno alunoExistente = alunoRepository.findById(cpf)
                     .orElseThrow(() -> {
-                        logger.error("Aluno com CPF {} não encontrado", cpf);
-                        return new ResourceNotFoundException("Aluno com CPF " + cpf + " não encontrado");
+                        logger.error("Aluno com CPF {} não encontrado", Cpf.formatar(cpf));
+                        return new ResourceNotFoundException("Aluno com CPF " + Cpf.formatar(cpf) + " não encontrado");
                     });
 
+            // Versão informada pelo cliente (If-Match): recusa alterar uma linha que ele não viu
+            if (aluno.getVersao() != null && !aluno.getVersao().equals(alunoExistente.getVersao())) {
+                throw new ConflitoVersaoException("Aluno com CPF " + Cpf.formatar(cpf) + " foi alterado por outra requisição "
+                        + "(versão informada: " + aluno.getVersao() + ", atual: " + alunoExistente.getVersao() + ")");
+            }
+
             // Atualiza os dados do aluno
+            AlunoDTO anterior = AlunosAlteradosEvent.retrato(alunoExistente);
             alunoExistente.setNome(aluno.getNome());
             alunoExistente.setEndereco(aluno.getEndereco());
             alunoExistente.setTurma(aluno.getTurma());
@@ -126,44 +184,216 @@ public class AlunoService {
             alunoExistente.setNota2(aluno.getNota2());
             alunoExistente.setNota3(aluno.getNota3());
 
-            // Recalcula se o aluno está aprovado
-            double media = calcularMedia(alunoExistente);
-            alunoExistente.setAprovado(media >= 7.0 ? "SIM" : "NÃO");
+            // Recalcula se o aluno está aprovado, pela política da turma (que pode ter mudado)
+            atualizarSituacaoAluno(alunoExistente, politicaAprovacaoService.compilada(alunoExistente.getTurma()));
 
-            // Salva as alterações
+            // Salva as alterações; o flush executa aqui o UPDATE (só das colunas alteradas, com
+            // WHERE VERSAO = ?), para que uma gravação concorrente vire conflito antes do evento
             Aluno alunoAlterado = alunoRepository.save(alunoExistente);
+            alunoRepository.flush();
+            eventPublisher.publishEvent(AlunosAlteradosEvent.alteracao(anterior, alunoAlterado));
 
             if (logger.isInfoEnabled()) {
-                logger.info("Aluno com CPF {} alterado com sucesso: {}", cpf, alunoAlterado);
+                logger.info("Aluno com CPF {} alterado com sucesso: {}", Cpf.formatar(cpf), alunoAlterado);
             }
 
             return alunoAlterado;
-        } catch (ResourceNotFoundException e) {
+        } catch (ResourceNotFoundException | ConflitoVersaoException e) {
             throw e;
+        } catch (OptimisticLockingFailureException e) {
+            if (logger.isWarnEnabled()) {
+                logger.warn("Alteração concorrente do aluno com CPF {}", Cpf.formatar(cpf));
+            }
+            throw new ConflitoVersaoException("Aluno com CPF " + Cpf.formatar(cpf) + " foi alterado por outra requisição", e);
         } catch (Exception e) {
             logger.error("Erro ao alterar aluno", e);
             throw new ServiceException("Erro ao alterar aluno", e);
         }
     }
 
+    /**
+     * Altera apenas as notas informadas com um único UPDATE, sem carregar a entidade nem
+     * revalidar nome e endereço. A situação é recalculada no mesmo comando, pela política da turma.
+     *
+     * @param versao versão lida pelo cliente (If-Match), ou nula para aceitar qualquer versão
+     */
     @Transactional
-    public void excluirAluno(String cpf) {
+    public NotasGravadas alterarNotas(long cpf, AlteracaoNotas notas, Long versao) {
         if (logger.isInfoEnabled()) {
-            logger.info("Excluindo aluno com CPF: {}", cpf);
+            logger.info("Alterando notas do aluno com CPF: {}", Cpf.formatar(cpf));
+        }
+
+        if (notas.isVazia()) {
+            throw new BusinessException("Informe ao menos uma nota");
         }
 
         try {
-            // Verifica se o aluno existe
-            if (!alunoRepository.existsById(cpf)) {
-                logger.warn("Tentativa de exclusão de aluno inexistente com CPF: {}", cpf);
-                throw new ResourceNotFoundException("Aluno com CPF " + cpf + " não encontrado");
+            travasCpf.travar(cpf);
+            NotasGravadas gravadas = alunoRepository.alterarNotas(cpf, null, notas, versao,
+                            politicaAprovacaoService.compiladas())
+                    .orElseThrow(() -> {
+                        // Nenhuma linha alterada: a consulta extra só acontece neste caminho
+                        if (versao != null && alunoRepository.existsById(cpf)) {
+                            return new ConflitoVersaoException("Aluno com CPF " + Cpf.formatar(cpf)
+                                    + " foi alterado por outra requisição (versão informada: " + versao + ")");
+                        }
+                        logger.error("Aluno com CPF {} não encontrado", Cpf.formatar(cpf));
+                        return new ResourceNotFoundException("Aluno com CPF " + Cpf.formatar(cpf) + " não encontrado");
+                    });
+            eventPublisher.publishEvent(AlunosAlteradosEvent.alteracoes(
+                    List.of(gravadas.getAnterior()), List.of(gravadas.getAtual())));
+
+            if (logger.isInfoEnabled()) {
+                logger.info("Notas do aluno com CPF {} alteradas; nova média {}", Cpf.formatar(cpf),
+                        gravadas.getAtual().getMedia());
+            }
+
+            return gravadas;
+        } catch (ResourceNotFoundException | ConflitoVersaoException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Erro ao alterar notas do aluno", e);
+            throw new ServiceException("Erro ao alterar notas do aluno", e);
+        }
+    }
+
+    /**
+     * Altera as notas de vários alunos da turma em uma transação, com um UPDATE por aluno.
+     * CPFs sem aluno na turma são informados no resultado, sem desfazer os demais.
+     */
+    @Transactional
+    public ResultadoAlteracaoNotas alterarNotasDaTurma(String turma, List<AlteracaoNotas> alteracoes) {
+        if (logger.isInfoEnabled()) {
+            logger.info("Alterando notas de {} alunos da turma {}", alteracoes.size(), turma);
+        }
+
+        for (AlteracaoNotas notas : alteracoes) {
+            if (notas.getCpf() == null) {
+                throw new BusinessException("Informe o CPF de cada aluno");
+            }
+            if (notas.isVazia()) {
+                throw new BusinessException("Informe ao menos uma nota para o aluno com CPF " + Cpf.formatar(notas.getCpf()));
+            }
+        }
+
+        try {
+            List<AlunoDTO> anteriores = new ArrayList<>(alteracoes.size());
+            List<AlunoDTO> alterados = new ArrayList<>(alteracoes.size());
+            List<Long> naoEncontrados = new ArrayList<>();
+            PoliticasCompiladas politicas = politicaAprovacaoService.compiladas();
+            for (AlteracaoNotas notas : alteracoes) {
+                Optional<NotasGravadas> gravadas =
+                        alunoRepository.alterarNotas(notas.getCpf(), turma, notas, null, politicas);
+                if (gravadas.isPresent()) {
+                    anteriores.add(gravadas.get().getAnterior());
+                    alterados.add(gravadas.get().getAtual());
+                } else {
+                    naoEncontrados.add(notas.getCpf());
+                }
+            }
+            if (!alterados.isEmpty()) {
+                eventPublisher.publishEvent(AlunosAlteradosEvent.alteracoes(anteriores, alterados));
             }
 
+            if (logger.isInfoEnabled()) {
+                logger.info("Notas da turma {} alteradas: {} alunos, {} não encontrados",
+                        turma, alterados.size(), naoEncontrados.size());
+            }
+
+            return new ResultadoAlteracaoNotas(alterados, naoEncontrados);
+        } catch (Exception e) {
+            logger.error("Erro ao alterar notas da turma", e);
+            throw new ServiceException("Erro ao alterar notas da turma", e);
+        }
+    }
+
+    /**
+     * Lança a nota da avaliação {@code prova} (1 a 3) para os alunos da turma, por CPF, em uma única
+     * transação: um MERGE por lote de alunos, que já recalcula a situação de cada um pela política da turma.
+     * Os CPFs, chaves do mapa, podem vir formatados ou só com dígitos.
+     */
+    @Transactional
+    public ResultadoLancamentoNotas lancarNotas(String turma, int prova, Map<String, Double> notas) {
+        if (logger.isInfoEnabled()) {
+            logger.info("Lançando a nota {} de {} alunos da turma {}", prova, notas == null ? 0 : notas.size(), turma);
+        }
+
+        if (prova < 1 || prova > 3) {
+            throw new BusinessException("Avaliação inválida: informe 1, 2 ou 3");
+        }
+        if (notas == null || notas.isEmpty()) {
+            throw new BusinessException("Informe ao menos uma nota");
+        }
+        // O mesmo CPF informado duas vezes (formatado e só com dígitos) fica com a última nota
+        Map<Long, Short> lancamentos = new LinkedHashMap<>(notas.size() * 2);
+        for (Map.Entry<String, Double> nota : notas.entrySet()) {
+            if (nota.getKey() == null || nota.getKey().isBlank()) {
+                throw new BusinessException("Informe o CPF de cada aluno");
+            }
+            if (!Cpf.valido(nota.getKey())) {
+                throw new BusinessException("O CPF " + nota.getKey() + " não é válido");
+            }
+            if (nota.getValue() == null || nota.getValue() < 0 || nota.getValue() > 10) {
+                throw new BusinessException("Nota inválida para o aluno com CPF " + nota.getKey()
+                        + ": informe um valor entre 0 e 10");
+            }
+            lancamentos.put(Cpf.valor(nota.getKey()), Notas.decimos(nota.getValue()));
+        }
+
+        try {
+            List<NotasGravadas> gravadas = alunoRepository.lancarNotas(turma, prova, lancamentos,
+                    politicaAprovacaoService.compilada(turma));
+            List<AlunoDTO> anteriores = new ArrayList<>(gravadas.size());
+            List<AlunoDTO> atuais = new ArrayList<>(gravadas.size());
+            Set<Long> encontrados = new HashSet<>(gravadas.size() * 2);
+            for (NotasGravadas gravada : gravadas) {
+                anteriores.add(gravada.getAnterior());
+                atuais.add(gravada.getAtual());
+                encontrados.add(gravada.getAtual().getCpf());
+            }
+            List<Long> naoEncontrados = lancamentos.keySet().stream()
+                    .filter(cpf -> !encontrados.contains(cpf))
+                    .toList();
+            int alterados = gravadas.size();
+            if (alterados > 0) {
+                // Com os retratos de antes e depois, as estatísticas e o retrato colunar só aplicam a diferença
+                eventPublisher.publishEvent(AlunosAlteradosEvent.alteracoes(anteriores, atuais));
+            }
+
+            if (logger.isInfoEnabled()) {
+                logger.info("Nota {} da turma {} lançada: {} alunos, {} não encontrados",
+                        prova, turma, alterados, naoEncontrados.size());
+            }
+
+            return new ResultadoLancamentoNotas(alterados, naoEncontrados);
+        } catch (Exception e) {
+            logger.error("Erro ao lançar notas da turma", e);
+            throw new ServiceException("Erro ao lançar notas da turma", e);
+        }
+    }
+
+    @Transactional
+    public void excluirAluno(long cpf) {
+        if (logger.isInfoEnabled()) {
+            logger.info("Excluindo aluno com CPF: {}", Cpf.formatar(cpf));
+        }
+
+        try {
+            travasCpf.travar(cpf);
+
+            // Verifica se o aluno existe; seus dados são necessários para atualizar consultas e estatísticas
+            Aluno aluno = alunoRepository.findById(cpf)
+                    .orElseThrow(() -> {
+                        logger.warn("Tentativa de exclusão de aluno inexistente com CPF: {}", Cpf.formatar(cpf));
+                        return new ResourceNotFoundException("Aluno com CPF " + Cpf.formatar(cpf) + " não encontrado");
+                    });
+
             // Exclui o aluno
-            alunoRepository.deleteById(cpf);
+            alunoRepository.delete(aluno);
+            eventPublisher.publishEvent(AlunosAlteradosEvent.exclusao(aluno));
 
             if (logger.isInfoEnabled()) {
-                logger.info("Aluno com CPF {} excluído com sucesso", cpf);
+                logger.info("Aluno com CPF {} excluído com sucesso", Cpf.formatar(cpf));
             }
         } catch (ResourceNotFoundException e) {
             throw e;
@@ -173,37 +403,70 @@ public class AlunoService {
         }
     }
 
-    @Transactional
-    public void avaliarAlunos() {
+    /**
+     * Reavalia a situação de todos os alunos, pela política de cada turma, em lotes de CPF consecutivos. Cada lote é
+     * um UPDATE baseado em conjunto confirmado na própria transação, então nenhuma
+     * transação fica aberta durante a tabela inteira e as entidades não são carregadas.
+     */
+    public ResultadoAvaliacao avaliarAlunos(int tamanhoLote) {
         if (logger.isInfoEnabled()) {
-            logger.info("Iniciando avaliação dos alunos");
+            logger.info("Iniciando avaliação dos alunos em lotes de {}", tamanhoLote);
+        }
+
+        if (tamanhoLote < 1) {
+            throw new BusinessException("O tamanho do lote deve ser maior que zero");
         }
 
         try {
-            List<Aluno> alunos = alunoRepository.findAll();
+            long inicio = System.nanoTime();
+            long processados = 0;
+            long alterados = 0;
+            int lotes = 0;
+            long ultimoCpf = 0;
+            PoliticasCompiladas politicas = politicaAprovacaoService.compiladas();
+
+            LoteAvaliado lote = alunoRepository.avaliarLote(ultimoCpf, tamanhoLote, politicas);
+            while (!lote.isVazio()) {
+                processados += lote.getProcessados();
+                alterados += lote.getAlterados();
+                lotes++;
+                ultimoCpf = lote.getUltimoCpf();
+
+                // Cada lote já foi confirmado; a reavaliação pode mudar qualquer turma
+                if (lote.getAlterados() > 0) {
+                    eventPublisher.publishEvent(AlunosAlteradosEvent.deTodasAsTurmas());
+                }
 
-            for (Aluno aluno : alunos) {
-                double media = calcularMedia(aluno);
-                String mediaFormatada = String.format("%.2f", media);
-                aluno.setAprovado(media >= 7.0 ? "SIM" : "NÃO");
-                alunoRepository.save(aluno);
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Lote {} avaliado até o CPF {}: {} lidos, {} alterados",
+                            lotes, Cpf.formatar(ultimoCpf), lote.getProcessados(), lote.getAlterados());
+                }
 
-                if (logger.isInfoEnabled()) {
-                    logger.info("Aluno {} avaliado: Média = {}, Aprovado = {}",
-                            aluno.getCpf(), mediaFormatada, aluno.getAprovado());
+                // Lote incompleto indica que não há mais alunos após o último CPF
+                if (lote.getProcessados() < tamanhoLote) {
+                    break;
                 }
+                lote = alunoRepository.avaliarLote(ultimoCpf, tamanhoLote, politicas);
+            }
+
+            long duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
+            if (logger.isInfoEnabled()) {
+                logger.info("Avaliação concluída: {} alunos processados, {} alterados, {} lotes em {} ms",
+                        processados, alterados, lotes, duracaoMs);
             }
+            return new ResultadoAvaliacao(processados, alterados, lotes, duracaoMs);
         } catch (Exception e) {
             logger.error("Erro ao avaliar alunos", e);
             throw new ServiceException("Erro ao avaliar alunos", e);
         }
     }
 
-    private double calcularMedia(Aluno aluno) {
+    private Double calcularMedia(Aluno aluno) {
         if (logger.isDebugEnabled()) {
             logger.debug("Calculando média para o aluno com CPF: {}", aluno.getCpf());
         }
-        double media = (aluno.getNota1() + aluno.getNota2() + aluno.getNota3()) / 3.0;
+        aluno.atualizarMedia();
+        Double media = aluno.getMedia();
         if (logger.isDebugEnabled()) {
             logger.debug("Média calculada para o aluno {}: {}", aluno.getCpf(), media);
         }
@@ -211,7 +474,14 @@ public class AlunoService {
     }
 
     public void atualizarSituacaoAluno(Aluno aluno) {
-        double media = (aluno.getNota1() + aluno.getNota2() + aluno.getNota3()) / 3.0;
-        aluno.setAprovado(media >= 7.0 ? "APROVADO" : "REPROVADO");
+        atualizarSituacaoAluno(aluno, politicaAprovacaoService.compilada(aluno.getTurma()));
+    }
+
+    /**
+     * Recalcula a média e a situação do aluno pela política informada, sem consultar as políticas gravadas.
+     */
+    public void atualizarSituacaoAluno(Aluno aluno, PoliticaCompilada politica) {
+        calcularMedia(aluno);
+        aluno.setSituacao(politica.situacao(aluno.getNota1(), aluno.getNota2(), aluno.getNota3()));
     }
 }
\ No newline at end of file
@@ -1,6 +1,15 @@
 package br.com.cadastro.alunos.model.services;
 
-import br.com.cadastro.alunos.model.entities.Aluno;
+import br.com.cadastro.alunos.model.cache.ChaveConsulta;
+import br.com.cadastro.alunos.model.cache.ConsultaAlunoCache;
+import br.com.cadastro.alunos.model.dto.AlunoDTO;
+import br.com.cadastro.alunos.model.dto.EstatisticasCache;
+import br.com.cadastro.alunos.model.dto.EstatisticasTurma;
+import br.com.cadastro.alunos.model.dto.PaginaCursor;
+import br.com.cadastro.alunos.model.entities.SituacaoAluno;
+import br.com.cadastro.alunos.model.estatisticas.EstatisticasTurmas;
+import br.com.cadastro.alunos.model.estatisticas.RetratoColunarAlunos;
+import br.com.cadastro.alunos.model.exceptions.BusinessException;
 import br.com.cadastro.alunos.model.exceptions.ResourceNotFoundException;
 import br.com.cadastro.alunos.model.exceptions.ServiceException;
 import br.com.cadastro.alunos.model.repository.AlunoRepository;
@@ -12,113 +21,89 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 
 @Service
 public class ConsultaAlunoService {
 
     private static final Logger logger = LogManager.getLogger(ConsultaAlunoService.class);
     private final AlunoRepository alunoRepository;
+    private final ConsultaAlunoCache consultaAlunoCache;
+    private final EstatisticasTurmas estatisticasTurmas;
+    private final RetratoColunarAlunos retratoColunarAlunos;
 
     @Autowired
-    public ConsultaAlunoService(AlunoRepository alunoRepository) {
+    public ConsultaAlunoService(AlunoRepository alunoRepository, ConsultaAlunoCache consultaAlunoCache,
+                                EstatisticasTurmas estatisticasTurmas, RetratoColunarAlunos retratoColunarAlunos) {
         this.alunoRepository = alunoRepository;
+        this.consultaAlunoCache = consultaAlunoCache;
+        this.estatisticasTurmas = estatisticasTurmas;
+        this.retratoColunarAlunos = retratoColunarAlunos;
     }
 
-    public List<Aluno> listarTodosAlunos() {
+    public List<AlunoDTO> listarTodosAlunos() {
         if (logger.isInfoEnabled()) {
             logger.info("Listando todos os alunos");
         }
         try {
-            return alunoRepository.findAll();
+            return consultaAlunoCache.obter(ChaveConsulta.geral("todos"),
+                    () -> List.copyOf(alunoRepository.findAllAsDTO()));
         } catch (Exception e) {
             logger.error("Erro ao listar todos os alunos", e);
             throw new ServiceException("Erro ao listar todos os alunos", e);
         }
     }
 
-    public List<Aluno> listarAlunosAprovados() {
+    public List<AlunoDTO> listarAlunosAprovados() {
         if (logger.isInfoEnabled()) {
             logger.info("Listando alunos aprovados");
         }
         try {
-            // Idealmente deveria ser uma query específica no repository
-            List<Aluno> alunos = alunoRepository.findAll();
-            List<Aluno> aprovados = new ArrayList<>();
-            for (Aluno aluno : alunos) {
-                if (calcularMedia(aluno) > 7.0) {
-                    aprovados.add(aluno);
-                }
-            }
-            return aprovados;
+            // Filtro pela coluna de situação do retrato em memória, sem consultar o banco
+            return retratoColunarAlunos.aprovados();
         } catch (Exception e) {
             logger.error("Erro ao listar alunos aprovados", e);
             throw new ServiceException("Erro ao listar alunos aprovados", e);
         }
     }
     @SuppressWarnings("checkstyle:whitespace")
-    public List<Aluno> listarAlunosReprovadosUmaProva() {
+    public List<AlunoDTO> listarAlunosReprovadosUmaProva() {
         if (logger.isInfoEnabled()) {
             logger.info("Listando alunos que fizeram apenas uma prova");
         }
         try {
-            List<Aluno> alunos = alunoRepository.findAll();
-            return alunos.stream()
-                    .filter(aluno -> {
-                        int provasFeitas = 0;
-
-                        // Uma nota é considerada quando é maior que zero
-                        if (aluno.getNota1() != null && aluno.getNota1() > 0) {
-                            provasFeitas++;
-                        }
-                        if (aluno.getNota2() != null && aluno.getNota2() > 0) {
-                            provasFeitas++;
-                        }
-                        if (aluno.getNota3() != null && aluno.getNota3() > 0) {
-                            provasFeitas++;
-                        }
-
-                        return provasFeitas == 1;
-                    })
-                    .toList();
+            // Contagem de provas feitas (nota maior que zero) pelas colunas de notas do retrato em memória
+            return retratoColunarAlunos.comUmaProva();
         } catch (Exception e) {
             logger.error("Erro ao listar alunos que fizeram apenas uma prova", e);
             throw new ServiceException("Erro ao listar alunos que fizeram apenas uma prova", e);
         }
     }
 
-    public List<Aluno> listarTodosAlunosReprovados() {
+    public List<AlunoDTO> listarTodosAlunosReprovados() {
         if (logger.isInfoEnabled()) {
             logger.info("Listando todos os alunos reprovados");
         }
         try {
-            List<Aluno> alunos = alunoRepository.findAll();
-            List<Aluno> reprovados = new ArrayList<>();
-            for (Aluno aluno : alunos) {
-                if (calcularMedia(aluno) <= 7.0) {
-                    reprovados.add(aluno);
-                }
-            }
-            return reprovados;
+            // Filtro pela coluna de situação do retrato em memória, sem consultar o banco
+            return retratoColunarAlunos.reprovados();
         } catch (Exception e) {
             logger.error("Erro ao listar todos os alunos reprovados", e);
             throw new ServiceException("Erro ao listar todos os alunos reprovados", e);
         }
     }
 
-    public Page<Aluno> buscarAlunosAprovadosPorTurma(String turma, int pageNumber, int pageSize) {
+    public Page<AlunoDTO> buscarAlunosAprovadosPorTurma(String turma, int pageNumber, int pageSize) {
         if (logger.isInfoEnabled()) {
             logger.info("Buscando alunos aprovados na turma {} com paginação", turma);
         }
         try {
             Pageable pageable = PageRequest.of(pageNumber, pageSize);
 
-            // Como você tem valores inconsistentes, precisa buscar por ambos os possíveis valores de aprovado
-            // Opção 1: Usar query customizada no repository
-            Page<Aluno> alunosAprovados = alunoRepository.findByTurmaAndAprovadoIn(turma,
-                    Arrays.asList("Sim", "APROVADO"), pageable);
+            Page<AlunoDTO> alunosAprovados = consultaAlunoCache.obter(
+                    ChaveConsulta.porTurma("aprovados", turma, pageNumber, pageSize),
+                    () -> alunoRepository.findByTurmaAndSituacao(turma, SituacaoAluno.APROVADO, pageable));
 
             if (alunosAprovados.isEmpty()) {
                 throw new ResourceNotFoundException("Nenhum aluno aprovado encontrado na turma " + turma);
@@ -132,15 +117,16 @@ public class ConsultaAlunoService {
         }
     }
 
-    public Page<Aluno> buscarAlunosReprovadosPorTurma(String turma, int pageNumber, int pageSize) {
+    public Page<AlunoDTO> buscarAlunosReprovadosPorTurma(String turma, int pageNumber, int pageSize) {
         if (logger.isInfoEnabled()) {
             logger.info("Buscando alunos reprovados na turma {} com paginação", turma);
         }
         try {
             Pageable pageable = PageRequest.of(pageNumber, pageSize);
 
-            // Buscar apenas por "Não" já que é o único valor para reprovados
-            Page<Aluno> alunosReprovados = alunoRepository.findByTurmaAndAprovado(turma, "Não", pageable);
+            Page<AlunoDTO> alunosReprovados = consultaAlunoCache.obter(
+                    ChaveConsulta.porTurma("reprovados", turma, pageNumber, pageSize),
+                    () -> alunoRepository.findByTurmaAndSituacao(turma, SituacaoAluno.REPROVADO, pageable));
 
             if (alunosReprovados.isEmpty()) {
                 throw new ResourceNotFoundException("Nenhum aluno reprovado encontrado na turma " + turma);
@@ -154,13 +140,15 @@ public class ConsultaAlunoService {
         }
     }
 
-    public Page<Aluno> buscarTodosAlunosPorTurma(String turma, int pageNumber, int pageSize) {
+    public Page<AlunoDTO> buscarTodosAlunosPorTurma(String turma, int pageNumber, int pageSize) {
         if (logger.isInfoEnabled()) {
             logger.info("Buscando todos os alunos na turma {} com paginação", turma);
         }
         try {
             Pageable pageable = PageRequest.of(pageNumber, pageSize);
-            Page<Aluno> alunos = alunoRepository.findByTurma(turma, pageable);
+            Page<AlunoDTO> alunos = consultaAlunoCache.obter(
+                    ChaveConsulta.porTurma("todos", turma, pageNumber, pageSize),
+                    () -> alunoRepository.findByTurma(turma, pageable));
             if (alunos.isEmpty()) {
                 throw new ResourceNotFoundException("Nenhum aluno encontrado na turma " + turma);
             }
@@ -173,7 +161,82 @@ public class ConsultaAlunoService {
         }
     }
 
-    private double calcularMedia(Aluno aluno) {
-        return (aluno.getNota1() + aluno.getNota2() + aluno.getNota3()) / 3.0;
+    /**
+     * Busca alunos de uma turma com paginação por cursor (keyset) sobre (turma, cpf).
+     * Cada página custa o mesmo que a primeira e nenhuma consulta de COUNT é emitida.
+     */
+    public PaginaCursor<AlunoDTO> buscarAlunosPorTurmaComCursor(String turma, String situacao, String cursor, int pageSize) {
+        if (logger.isInfoEnabled()) {
+            logger.info("Buscando alunos na turma {} com paginação por cursor", turma);
+        }
+        try {
+            String filtro = situacao == null ? "todos" : situacao.toLowerCase(Locale.ROOT);
+            long ultimoCpf = CursorTurma.decodificar(cursor, turma, filtro);
+
+            // Busca um registro a mais apenas para saber se existe próxima página
+            Pageable limite = PageRequest.of(0, pageSize + 1);
+
+            List<AlunoDTO> alunos;
+            if ("aprovado".equals(filtro)) {
+                alunos = alunoRepository.findByTurmaAndSituacaoAfterCpf(turma,
+                        SituacaoAluno.APROVADO, ultimoCpf, limite);
+            } else if ("reprovado".equals(filtro)) {
+                alunos = alunoRepository.findByTurmaAndSituacaoAfterCpf(turma,
+                        SituacaoAluno.REPROVADO, ultimoCpf, limite);
+            } else {
+                alunos = alunoRepository.findByTurmaAfterCpf(turma, ultimoCpf, limite);
+            }
+
+            if (alunos.isEmpty() && ultimoCpf == CursorTurma.INICIO) {
+                throw new ResourceNotFoundException("Nenhum aluno encontrado na turma " + turma);
+            }
+
+            boolean temProxima = alunos.size() > pageSize;
+            List<AlunoDTO> pagina = temProxima ? alunos.subList(0, pageSize) : alunos;
+            String proximoCursor = temProxima
+                    ? CursorTurma.codificar(turma, filtro, pagina.get(pagina.size() - 1).getCpf())
+                    : null;
+
+            return new PaginaCursor<>(pagina, proximoCursor, pagina.size());
+        } catch (ResourceNotFoundException | BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Erro ao buscar alunos da turma {} por cursor", turma, e);
+            throw new ServiceException("Erro ao buscar alunos por turma com cursor", e);
+        }
+    }
+
+    /**
+     * Estatísticas de uma turma a partir dos agregados mantidos em memória, sem consultar os alunos.
+     */
+    public EstatisticasTurma obterEstatisticasTurma(String turma) {
+        if (logger.isInfoEnabled()) {
+            logger.info("Obtendo estatísticas da turma {}", turma);
+        }
+        try {
+            return estatisticasTurmas.daTurma(turma)
+                    .orElseThrow(() -> new ResourceNotFoundException("Nenhum aluno encontrado na turma " + turma));
+        } catch (ResourceNotFoundException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Erro ao obter estatísticas da turma {}", turma, e);
+            throw new ServiceException("Erro ao obter estatísticas da turma", e);
+        }
+    }
+
+    public List<EstatisticasTurma> listarEstatisticasTurmas() {
+        if (logger.isInfoEnabled()) {
+            logger.info("Listando estatísticas de todas as turmas");
+        }
+        try {
+            return estatisticasTurmas.todas();
+        } catch (Exception e) {
+            logger.error("Erro ao listar estatísticas das turmas", e);
+            throw new ServiceException("Erro ao listar estatísticas das turmas", e);
+        }
+    }
+
+    public EstatisticasCache obterEstatisticasCache() {
+        return consultaAlunoCache.estatisticas();
     }
-}
\ No newline at end of file
+}
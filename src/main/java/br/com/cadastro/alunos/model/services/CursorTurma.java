@@ -0,0 +1,57 @@
+package br.com.cadastro.alunos.model.services;
+
+import br.com.cadastro.alunos.model.exceptions.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Codifica a posição de uma paginação por cursor (keyset) em uma turma.
+ * O cursor guarda a turma, o filtro de situação e o último CPF retornado,
+ * e só é aceito de volta para a mesma consulta que o gerou.
+ */
+@SuppressWarnings("PMD.ClassNamingConventions")
+final class CursorTurma {
+
+    /**
+     * Posição anterior ao primeiro CPF: todo CPF válido é maior que zero.
+     */
+    static final long INICIO = 0;
+
+    private static final String SEPARADOR = "|";
+    private static final String CURSOR_INVALIDO = "Cursor de paginação inválido";
+
+    private CursorTurma() {
+    }
+
+    static String codificar(String turma, String situacao, long ultimoCpf) {
+        String conteudo = turma + SEPARADOR + situacao + SEPARADOR + ultimoCpf;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Retorna o último CPF da página anterior, ou {@link #INICIO} quando o cursor não foi informado (primeira página).
+     */
+    static long decodificar(String cursor, String turma, String situacao) {
+        if (cursor == null || cursor.isBlank()) {
+            return INICIO;
+        }
+
+        String[] partes;
+        try {
+            partes = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", -1);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(CURSOR_INVALIDO, e);
+        }
+
+        if (partes.length != 3 || !partes[0].equals(turma) || !partes[1].equals(situacao)) {
+            throw new BusinessException(CURSOR_INVALIDO);
+        }
+        try {
+            return Long.parseLong(partes[2]);
+        } catch (NumberFormatException e) {
+            throw new BusinessException(CURSOR_INVALIDO, e);
+        }
+    }
+}
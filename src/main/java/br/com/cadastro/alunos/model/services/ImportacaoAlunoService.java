@@ -0,0 +1,270 @@
+package br.com.cadastro.alunos.model.services;
+
+import br.com.cadastro.alunos.model.cache.CpfsCadastrados;
+import br.com.cadastro.alunos.model.events.AlunosAlteradosEvent;
+import br.com.cadastro.alunos.model.dto.ResultadoImportacao;
+import br.com.cadastro.alunos.model.dto.ResultadoLinhaImportacao;
+import br.com.cadastro.alunos.model.entities.Aluno;
+import br.com.cadastro.alunos.model.entities.Cpf;
+import br.com.cadastro.alunos.model.entities.Notas;
+import br.com.cadastro.alunos.model.estatisticas.PoliticasCompiladas;
+import br.com.cadastro.alunos.model.exceptions.ServiceException;
+import br.com.cadastro.alunos.model.repository.AlunoRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@SuppressWarnings({
+        "java:S3776", // Cognitive Complexity
+        "PMD.GuardLogStatement"
+})
+public class ImportacaoAlunoService {
+
+    /**
+     * Formatos aceitos no arquivo de importação: um objeto JSON por linha ou CSV separado por ';'.
+     */
+    public enum Formato {
+        NDJSON,
+        CSV
+    }
+
+    private static final Logger logger = LogManager.getLogger(ImportacaoAlunoService.class);
+
+    static final int TAMANHO_LOTE = 500;
+
+    // ';' porque o endereço costuma conter vírgulas
+    private static final String SEPARADOR_CSV = ";";
+    private static final int CAMPOS_CSV = 7;
+
+    private static final String INSERIDO = "INSERIDO";
+    private static final String DUPLICADO = "DUPLICADO";
+    private static final String INVALIDO = "INVALIDO";
+
+    private final AlunoRepository alunoRepository;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CpfsCadastrados cpfsCadastrados;
+    private final PoliticaAprovacaoService politicaAprovacaoService;
+
+    @Autowired
+    public ImportacaoAlunoService(AlunoRepository alunoRepository, ObjectMapper objectMapper, Validator validator,
+                                  ApplicationEventPublisher eventPublisher, CpfsCadastrados cpfsCadastrados,
+                                  PoliticaAprovacaoService politicaAprovacaoService) {
+        this.alunoRepository = alunoRepository;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.cpfsCadastrados = cpfsCadastrados;
+        this.politicaAprovacaoService = politicaAprovacaoService;
+    }
+
+    /**
+     * Importa alunos lidos linha a linha do corpo da requisição. Cada linha é validada
+     * individualmente; as válidas são agrupadas em lotes de {@value #TAMANHO_LOTE}, com uma
+     * única consulta de existência e um único INSERT em lote por lote.
+     */
+    public ResultadoImportacao importarAlunos(Reader leitor, Formato formato) {
+        if (logger.isInfoEnabled()) {
+            logger.info("Iniciando importação de alunos em lote ({})", formato);
+        }
+
+        try {
+            BufferedReader linhas = new BufferedReader(leitor);
+            List<ResultadoLinhaImportacao> resultados = new ArrayList<>();
+            Set<Long> cpfsDoArquivo = new HashSet<>();
+            Map<Long, Aluno> lote = new LinkedHashMap<>();
+            PoliticasCompiladas politicas = politicaAprovacaoService.compiladas();
+            long numeroLinha = 0;
+            long inseridos = 0;
+
+            String texto;
+            while ((texto = linhas.readLine()) != null) {
+                numeroLinha++;
+                if (texto.isBlank() || numeroLinha == 1 && formato == Formato.CSV && isCabecalhoCsv(texto)) {
+                    continue;
+                }
+
+                Aluno aluno;
+                try {
+                    aluno = formato == Formato.CSV ? lerCsv(texto) : objectMapper.readValue(texto, Aluno.class);
+                } catch (JsonProcessingException e) {
+                    resultados.add(new ResultadoLinhaImportacao(numeroLinha, null, INVALIDO,
+                            "JSON inválido: " + e.getOriginalMessage()));
+                    continue;
+                } catch (IllegalArgumentException e) {
+                    resultados.add(new ResultadoLinhaImportacao(numeroLinha, null, INVALIDO,
+                            "Linha CSV inválida: " + e.getMessage()));
+                    continue;
+                }
+
+                if (aluno == null) {
+                    resultados.add(new ResultadoLinhaImportacao(numeroLinha, null, INVALIDO, "Linha sem dados do aluno"));
+                    continue;
+                }
+
+                String erro = validar(aluno);
+                if (erro != null) {
+                    resultados.add(new ResultadoLinhaImportacao(numeroLinha, aluno.getCpf(), INVALIDO, erro));
+                    continue;
+                }
+
+                if (!cpfsDoArquivo.add(aluno.getCpf())) {
+                    resultados.add(new ResultadoLinhaImportacao(numeroLinha, aluno.getCpf(), DUPLICADO,
+                            "CPF repetido no arquivo"));
+                    continue;
+                }
+
+                aluno.atualizarMedia();
+                aluno.setSituacao(politicas.daTurma(aluno.getTurma())
+                        .situacao(aluno.getNota1(), aluno.getNota2(), aluno.getNota3()));
+                lote.put(numeroLinha, aluno);
+
+                if (lote.size() == TAMANHO_LOTE) {
+                    inseridos += gravarLote(lote, resultados);
+                    lote.clear();
+                }
+            }
+
+            if (!lote.isEmpty()) {
+                inseridos += gravarLote(lote, resultados);
+            }
+
+            // Linhas rejeitadas entram no relatório antes das válidas do mesmo lote
+            resultados.sort(Comparator.comparingLong(ResultadoLinhaImportacao::getLinha));
+            long rejeitados = resultados.size() - inseridos;
+
+            if (logger.isInfoEnabled()) {
+                logger.info("Importação concluída: {} linhas, {} inseridos, {} rejeitados",
+                        resultados.size(), inseridos, rejeitados);
+            }
+            return new ResultadoImportacao(resultados.size(), inseridos, rejeitados, resultados);
+        } catch (IOException e) {
+            logger.error("Erro ao ler o arquivo de importação", e);
+            throw new ServiceException("Erro ao ler o arquivo de importação", e);
+        } catch (Exception e) {
+            logger.error("Erro ao importar alunos", e);
+            throw new ServiceException("Erro ao importar alunos", e);
+        }
+    }
+
+    private long gravarLote(Map<Long, Aluno> lote, List<ResultadoLinhaImportacao> resultados) {
+        // Só os CPFs que o filtro não descarta vão à consulta de existência; em geral, nenhum
+        List<Long> cpfs = lote.values().stream().map(Aluno::getCpf).filter(cpfsCadastrados::podeExistir).toList();
+        Set<Long> existentes = cpfs.isEmpty() ? Set.of() : new HashSet<>(alunoRepository.findCpfsExistentes(cpfs));
+
+        Map<Long, Aluno> novos = new LinkedHashMap<>();
+        lote.forEach((linha, aluno) -> {
+            if (existentes.contains(aluno.getCpf())) {
+                resultados.add(new ResultadoLinhaImportacao(linha, aluno.getCpf(), DUPLICADO, "CPF já cadastrado"));
+            } else {
+                novos.put(linha, aluno);
+            }
+        });
+
+        if (novos.isEmpty()) {
+            return 0;
+        }
+
+        // Cada lote é confirmado na própria transação e publicado com os alunos efetivamente inseridos
+        try {
+            alunoRepository.inserirLote(List.copyOf(novos.values()));
+            novos.values().forEach(aluno -> cpfsCadastrados.adicionar(aluno.getCpf()));
+            eventPublisher.publishEvent(AlunosAlteradosEvent.inclusoes(novos.values()));
+            novos.forEach((linha, aluno) ->
+                    resultados.add(new ResultadoLinhaImportacao(linha, aluno.getCpf(), INSERIDO, null)));
+            if (logger.isDebugEnabled()) {
+                logger.debug("Lote de {} alunos inserido", novos.size());
+            }
+            return novos.size();
+        } catch (DuplicateKeyException e) {
+            // Outro cadastro gravou um dos CPFs entre a verificação e o INSERT: refaz o lote linha a linha
+            logger.warn("Conflito de CPF ao inserir lote de {} alunos; inserindo individualmente", novos.size());
+            List<Aluno> inseridos = new ArrayList<>();
+            for (Map.Entry<Long, Aluno> entrada : novos.entrySet()) {
+                Aluno aluno = entrada.getValue();
+                try {
+                    alunoRepository.inserirLote(List.of(aluno));
+                    cpfsCadastrados.adicionar(aluno.getCpf());
+                    resultados.add(new ResultadoLinhaImportacao(entrada.getKey(), aluno.getCpf(), INSERIDO, null));
+                    inseridos.add(aluno);
+                } catch (DuplicateKeyException conflito) {
+                    resultados.add(new ResultadoLinhaImportacao(entrada.getKey(), aluno.getCpf(), DUPLICADO,
+                            "CPF já cadastrado"));
+                }
+            }
+            if (!inseridos.isEmpty()) {
+                eventPublisher.publishEvent(AlunosAlteradosEvent.inclusoes(inseridos));
+            }
+            return inseridos.size();
+        }
+    }
+
+    private String validar(Aluno aluno) {
+        Set<ConstraintViolation<Aluno>> violacoes = validator.validate(aluno);
+        if (!violacoes.isEmpty()) {
+            return violacoes.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        return null;
+    }
+
+    private static boolean isCabecalhoCsv(String texto) {
+        return "cpf".equalsIgnoreCase(texto.split(SEPARADOR_CSV, -1)[0].trim());
+    }
+
+    /**
+     * Lê uma linha no formato cpf;nome;endereco;turma;nota1;nota2;nota3, com o CPF formatado ou só com dígitos
+     */
+    private static Aluno lerCsv(String texto) {
+        String[] campos = texto.split(SEPARADOR_CSV, -1);
+        if (campos.length != CAMPOS_CSV) {
+            throw new IllegalArgumentException("esperados " + CAMPOS_CSV + " campos separados por '"
+                    + SEPARADOR_CSV + "', encontrados " + campos.length);
+        }
+        return Aluno.builder()
+                .cpf(Cpf.valor(campos[0].trim()))
+                .nome(campos[1].trim())
+                .endereco(campos[2].trim())
+                .turma(campos[3].trim())
+                .nota1(lerNota(campos[4]))
+                .nota2(lerNota(campos[5]))
+                .nota3(lerNota(campos[6]))
+                .build();
+    }
+
+    private static Short lerNota(String campo) {
+        String valor = campo.trim();
+        if (valor.isEmpty()) {
+            return null;
+        }
+        try {
+            return Notas.decimos(new BigDecimal(valor.replace(',', '.')));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("nota inválida '" + valor + "'", e);
+        }
+    }
+}
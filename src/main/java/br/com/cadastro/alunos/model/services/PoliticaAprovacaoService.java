@@ -0,0 +1,225 @@
+package br.com.cadastro.alunos.model.services;
+
+import br.com.cadastro.alunos.model.dto.ResultadoSimulacao;
+import br.com.cadastro.alunos.model.entities.PoliticaAprovacao;
+import br.com.cadastro.alunos.model.estatisticas.PoliticaCompilada;
+import br.com.cadastro.alunos.model.estatisticas.PoliticasCompiladas;
+import br.com.cadastro.alunos.model.estatisticas.RetratoColunarAlunos;
+import br.com.cadastro.alunos.model.events.AlunosAlteradosEvent;
+import br.com.cadastro.alunos.model.exceptions.BusinessException;
+import br.com.cadastro.alunos.model.exceptions.ResourceNotFoundException;
+import br.com.cadastro.alunos.model.exceptions.ServiceException;
+import br.com.cadastro.alunos.model.repository.AlunoRepository;
+import br.com.cadastro.alunos.model.repository.NotasGravadas;
+import br.com.cadastro.alunos.model.repository.PoliticaAprovacaoRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Políticas de aprovação por turma (tabela POLITICAS_APROVACAO) e a simulação de uma política sobre as
+ * notas da turma. As políticas gravadas ficam compiladas em memória ({@link PoliticasCompiladas}) e são as
+ * que as gravações de alunos usam para calcular a situação; gravar a política de uma turma reavalia os
+ * alunos dela na mesma transação, e a nova política só passa a valer para as demais gravações depois do
+ * commit. A simulação não grava nada: avalia o retrato colunar dos alunos em uma
+ * passada, com a política já compilada ({@link PoliticaCompilada}), e compara com a situação gravada.
+ */
+@Service
+public class PoliticaAprovacaoService {
+
+    private static final Logger logger = LogManager.getLogger(PoliticaAprovacaoService.class);
+
+    private static final int TAMANHO_MINIMO_TURMA = 4;
+    private static final int TAMANHO_MAXIMO_TURMA = 5;
+
+    private final PoliticaAprovacaoRepository politicaAprovacaoRepository;
+    private final AlunoRepository alunoRepository;
+    private final RetratoColunarAlunos retratoColunarAlunos;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate novaTransacao;
+
+    // Políticas gravadas e confirmadas, já compiladas; null até a primeira carga do banco
+    @SuppressWarnings("PMD.AvoidUsingVolatile")
+    private volatile PoliticasCompiladas compiladas;
+
+    @Autowired
+    public PoliticaAprovacaoService(PoliticaAprovacaoRepository politicaAprovacaoRepository,
+                                    AlunoRepository alunoRepository, RetratoColunarAlunos retratoColunarAlunos,
+                                    ApplicationEventPublisher eventPublisher,
+                                    PlatformTransactionManager transactionManager) {
+        this.politicaAprovacaoRepository = politicaAprovacaoRepository;
+        this.alunoRepository = alunoRepository;
+        this.retratoColunarAlunos = retratoColunarAlunos;
+        this.eventPublisher = eventPublisher;
+        this.novaTransacao = new TransactionTemplate(transactionManager);
+        this.novaTransacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Compila as políticas quando a aplicação termina de subir, para que a primeira gravação não espere a carga.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarPoliticas() {
+        compiladas();
+    }
+
+    /**
+     * Políticas gravadas de todas as turmas, já compiladas. A tabela tem uma linha por turma com política,
+     * então é lida inteira na primeira chamada e mantida em memória.
+     */
+    public PoliticasCompiladas compiladas() {
+        PoliticasCompiladas atuais = compiladas;
+        return atuais != null ? atuais : carregar();
+    }
+
+    /**
+     * Política compilada da turma ou, se não houver, a padrão.
+     */
+    public PoliticaCompilada compilada(String turma) {
+        return compiladas().daTurma(turma);
+    }
+
+    /**
+     * Política gravada da turma ou, se não houver, a padrão (pesos iguais e média 7,00).
+     */
+    public PoliticaAprovacao obterPolitica(String turma) {
+        if (logger.isInfoEnabled()) {
+            logger.info("Obtendo a política de aprovação da turma {}", turma);
+        }
+        try {
+            return politicaAprovacaoRepository.findById(turma).orElseGet(() -> PoliticaAprovacao.padrao(turma));
+        } catch (Exception e) {
+            logger.error("Erro ao obter a política de aprovação da turma {}", turma, e);
+            throw new ServiceException("Erro ao obter a política de aprovação", e);
+        }
+    }
+
+    /**
+     * Grava a política e reavalia os alunos da turma por ela, na mesma transação: a situação gravada de
+     * cada aluno é sempre a da política confirmada da turma. A política compilada só é publicada para as
+     * demais gravações depois do commit ({@link #publicarAposCommit}).
+     */
+    @Transactional
+    public PoliticaAprovacao salvarPolitica(String turma, PoliticaAprovacao politica) {
+        if (logger.isInfoEnabled()) {
+            logger.info("Gravando a política de aprovação da turma {}", turma);
+        }
+        try {
+            validarTurma(turma);
+            PoliticaCompilada compilada = compilar(politica);
+            politica.setTurma(turma);
+            PoliticaAprovacao gravada = politicaAprovacaoRepository.save(politica);
+
+            List<NotasGravadas> reavaliados = alunoRepository.reavaliarTurma(turma, compilada);
+            publicarReavaliados(reavaliados);
+            publicarAposCommit(turma, compilada);
+            if (logger.isInfoEnabled()) {
+                logger.info("Política da turma {} gravada; {} alunos mudaram de situação", turma, reavaliados.size());
+            }
+            return gravada;
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Erro ao gravar a política de aprovação da turma {}", turma, e);
+            throw new ServiceException("Erro ao gravar a política de aprovação", e);
+        }
+    }
+
+    /**
+     * Quantos alunos da turma seriam aprovados pela política proposta ou, sem proposta, pela política gravada.
+     */
+    public ResultadoSimulacao simular(String turma, PoliticaAprovacao proposta) {
+        if (logger.isInfoEnabled()) {
+            logger.info("Simulando a política de aprovação da turma {}", turma);
+        }
+        try {
+            PoliticaCompilada politica = proposta == null ? compilada(turma) : compilar(proposta);
+            return retratoColunarAlunos.simular(turma, politica)
+                    .orElseThrow(() -> new ResourceNotFoundException("Nenhum aluno encontrado na turma " + turma));
+        } catch (BusinessException | ResourceNotFoundException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Erro ao simular a política de aprovação da turma {}", turma, e);
+            throw new ServiceException("Erro ao simular a política de aprovação", e);
+        }
+    }
+
+    private synchronized PoliticasCompiladas carregar() {
+        if (compiladas == null) {
+            Map<String, PoliticaCompilada> gravadas = new HashMap<>();
+            politicaAprovacaoRepository.findAll()
+                    .forEach(politica -> gravadas.put(politica.getTurma(), PoliticaCompilada.compilar(politica)));
+            compiladas = PoliticasCompiladas.de(gravadas);
+        }
+        return compiladas;
+    }
+
+    /**
+     * Antes do commit as demais gravações seguem com a política anterior, que ainda é a confirmada; se a
+     * transação for desfeita, nada foi publicado. Uma gravação concorrente da turma que calculou a situação
+     * pela política anterior e confirmou depois da reavaliação fica com a situação antiga: depois de publicar,
+     * a turma é reavaliada de novo, em outra transação, pela política agora em vigor.
+     */
+    private void publicarAposCommit(String turma, PoliticaCompilada compilada) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publicar(turma, compilada);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publicar(turma, compilada);
+                reavaliarGravacoesConcorrentes(turma);
+            }
+        });
+    }
+
+    private synchronized void publicar(String turma, PoliticaCompilada compilada) {
+        compiladas = compiladas().com(turma, compilada);
+    }
+
+    private void reavaliarGravacoesConcorrentes(String turma) {
+        try {
+            novaTransacao.executeWithoutResult(
+                    status -> publicarReavaliados(alunoRepository.reavaliarTurma(turma, compilada(turma))));
+        } catch (Exception e) {
+            // A política já foi confirmada; a reavaliação geral (POST /v1/alunos/avaliacao) corrige o restante
+            logger.error("Erro ao reavaliar a turma {} depois de publicar a política", turma, e);
+        }
+    }
+
+    private void publicarReavaliados(List<NotasGravadas> reavaliados) {
+        if (!reavaliados.isEmpty()) {
+            eventPublisher.publishEvent(AlunosAlteradosEvent.alteracoes(
+                    reavaliados.stream().map(NotasGravadas::getAnterior).toList(),
+                    reavaliados.stream().map(NotasGravadas::getAtual).toList()));
+        }
+    }
+
+    private static PoliticaCompilada compilar(PoliticaAprovacao politica) {
+        if (politica.getPeso1() + politica.getPeso2() + politica.getPeso3() == 0) {
+            throw new BusinessException("Informe ao menos um peso maior que zero");
+        }
+        return PoliticaCompilada.compilar(politica);
+    }
+
+    private static void validarTurma(String turma) {
+        if (turma.length() < TAMANHO_MINIMO_TURMA || turma.length() > TAMANHO_MAXIMO_TURMA) {
+            throw new BusinessException("O campo TURMA deve ter no minimo 4 caracteres e no maximo 5");
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.cadastro.alunos.model.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Travas por CPF distribuídas em um número fixo de faixas (lock striping): operações sobre o mesmo
+ * CPF são serializadas e CPFs de faixas diferentes seguem em paralelo, com memória constante.
+ * <p>
+ * A trava é mantida até o fim da transação corrente (commit ou rollback), para que a próxima
+ * operação sobre o CPF já leia o resultado confirmado. Usa {@link ReentrantLock}, que não prende
+ * a thread portadora quando a aplicação roda com threads virtuais.
+ */
+@Component
+public class TravasCpf {
+
+    private final ReentrantLock[] travas;
+    // Bits mais altos do hash de 64 bits que escolhem a faixa
+    private final int deslocamento;
+
+    @Autowired
+    public TravasCpf(@Value("${cadastro.travas.cpf.quantidade:1024}") int quantidade) {
+        if (quantidade <= 0) {
+            throw new IllegalArgumentException("Quantidade de travas por CPF inválida: " + quantidade);
+        }
+        // Potência de 2, para escolher a faixa pelos bits mais altos do hash
+        int faixas = Integer.highestOneBit(quantidade) == quantidade ? quantidade : Integer.highestOneBit(quantidade) << 1;
+        this.travas = new ReentrantLock[faixas];
+        for (int i = 0; i < faixas; i++) {
+            travas[i] = new ReentrantLock();
+        }
+        this.deslocamento = Long.numberOfLeadingZeros(faixas - 1L);
+    }
+
+    /**
+     * Trava o CPF até o fim da transação corrente. Deve ser chamada dentro de um método {@code @Transactional}
+     * e no máximo uma vez por transação, para que duas transações nunca esperem uma pela faixa da outra.
+     */
+    public void travar(long cpf) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("A trava por CPF exige uma transação ativa");
+        }
+        ReentrantLock trava = travas[faixa(cpf)];
+        trava.lock();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                trava.unlock();
+            }
+        });
+    }
+
+    public int getQuantidade() {
+        return travas.length;
+    }
+
+    /**
+     * Faixa do CPF numérico, espalhado por multiplicação (Fibonacci), já que CPFs sequenciais diferem
+     * só nos últimos dígitos.
+     */
+    private int faixa(long cpf) {
+        return travas.length == 1 ? 0 : (int) ((cpf * 0x9E3779B97F4A7C15L) >>> deslocamento);
+    }
+}
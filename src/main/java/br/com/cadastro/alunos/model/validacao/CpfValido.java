@@ -0,0 +1,26 @@
+package br.com.cadastro.alunos.model.validacao;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * CPF numérico com 11 dígitos e dígitos verificadores corretos; nulo é aceito (use {@code @NotNull}).
+ */
+@Documented
+@Constraint(validatedBy = CpfValidoValidator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CpfValido {
+
+    String message() default "O CPF do aluno não é válido";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
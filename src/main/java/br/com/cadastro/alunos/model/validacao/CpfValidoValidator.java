@@ -0,0 +1,13 @@
+package br.com.cadastro.alunos.model.validacao;
+
+import br.com.cadastro.alunos.model.entities.Cpf;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class CpfValidoValidator implements ConstraintValidator<CpfValido, Long> {
+
+    @Override
+    public boolean isValid(Long cpf, ConstraintValidatorContext contexto) {
+        return cpf == null || Cpf.valido(cpf);
+    }
+}
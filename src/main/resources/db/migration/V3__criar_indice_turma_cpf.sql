@@ -0,0 +1,2 @@
+-- Índice para paginação por cursor (keyset) dentro de uma turma: WHERE TURMA = ? AND CPF > ? ORDER BY CPF
+CREATE INDEX IDX_ALUNOS_TURMA_CPF ON alunos (TURMA, CPF);
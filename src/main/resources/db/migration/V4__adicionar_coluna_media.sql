@@ -0,0 +1,6 @@
+-- Média persistida como coluna gerada, mantida pelo próprio banco em qualquer escrita
+ALTER TABLE alunos ADD COLUMN MEDIA DECIMAL(4,2) GENERATED ALWAYS AS (ROUND((NOTA_1 + NOTA_2 + NOTA_3) / 3, 2));
+
+-- Filtros de aprovação (média > 7.0 / <= 7.0) passam a ser buscas por faixa no índice
+CREATE INDEX IDX_ALUNOS_MEDIA ON alunos (MEDIA);
+CREATE INDEX IDX_ALUNOS_TURMA_MEDIA ON alunos (TURMA, MEDIA);
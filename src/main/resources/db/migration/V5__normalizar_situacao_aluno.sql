@@ -0,0 +1,12 @@
+-- Substitui o APROVADO textual (SIM/NÃO, Sim/Não, APROVADO/REPROVADO) por um código de um byte.
+-- O texto legado não é aproveitado: em parte das linhas ele contradiz as notas, então a situação
+-- é calculada pelas notas com a regra padrão (média de 7,00 ou mais), a mesma da aplicação
+ALTER TABLE alunos ADD COLUMN STATUS TINYINT;
+
+UPDATE alunos SET STATUS = CASE WHEN MEDIA >= 7.00 THEN 1 ELSE 0 END;
+
+ALTER TABLE alunos DROP COLUMN APROVADO;
+
+-- Filtro por turma e situação vira uma busca por igualdade no índice; o CPF no final
+-- atende também a paginação por cursor dentro da turma e situação
+CREATE INDEX IDX_ALUNOS_TURMA_STATUS ON alunos (TURMA, STATUS, CPF);
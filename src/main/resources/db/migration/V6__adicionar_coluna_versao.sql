@@ -0,0 +1,3 @@
+-- Versão da linha para controle de concorrência otimista (@Version em Aluno): cada UPDATE
+-- confere a versão lida e a incrementa, então alterações simultâneas não se sobrescrevem
+ALTER TABLE alunos ADD COLUMN VERSAO BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,11 @@
+-- CPF numérico: os 11 dígitos em um BIGINT de 8 bytes no lugar do VARCHAR(14) formatado.
+-- A chave primária e os índices que terminam no CPF ficam menores e as comparações passam a
+-- ser entre inteiros; a aplicação formata o CPF ("000.000.000-00") na entrada e na saída
+DROP INDEX IDX_ALUNOS_TURMA_CPF;
+DROP INDEX IDX_ALUNOS_TURMA_STATUS;
+
+UPDATE alunos SET CPF = REPLACE(REPLACE(CPF, '.', ''), '-', '');
+ALTER TABLE alunos ALTER COLUMN CPF SET DATA TYPE BIGINT;
+
+CREATE INDEX IDX_ALUNOS_TURMA_CPF ON alunos (TURMA, CPF);
+CREATE INDEX IDX_ALUNOS_TURMA_STATUS ON alunos (TURMA, STATUS, CPF);
@@ -0,0 +1,11 @@
+-- Política de aprovação por turma: peso de cada avaliação, média mínima e quantidade mínima de
+-- provas feitas (nota maior que zero). Turmas sem linha seguem a regra padrão: pesos iguais,
+-- média 7,00 e nenhuma prova exigida além das três notas
+CREATE TABLE politicas_aprovacao (
+    TURMA VARCHAR(5) PRIMARY KEY,
+    PESO_1 TINYINT NOT NULL,
+    PESO_2 TINYINT NOT NULL,
+    PESO_3 TINYINT NOT NULL,
+    MEDIA_MINIMA DECIMAL(4,2) NOT NULL,
+    PROVAS_MINIMAS TINYINT NOT NULL
+);
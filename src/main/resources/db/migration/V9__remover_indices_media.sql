@@ -0,0 +1,4 @@
+-- Nenhuma consulta filtra mais pela média: aprovados e reprovados são buscados pela coluna STATUS
+-- (IDX_ALUNOS_TURMA_STATUS) ou no retrato em memória. Os índices só custavam escrita.
+DROP INDEX IDX_ALUNOS_MEDIA;
+DROP INDEX IDX_ALUNOS_TURMA_MEDIA;
@@ -54,7 +54,7 @@ class CadastroAlunoStepsTest {
         log.info("📋 Cenário: Cadastrar aluno com dados válidos deve retornar 201 Created");
 
         // Arrange
-        String cpf = "123.456.789-00";
+        String cpf = "123.456.700-88";
         String alunoJson = "{ \"cpf\": \"" + cpf + "\", \"nome\": \"João da Silva Souza\", " +
                 "\"endereco\": \"Rua Avelar, número 34, casa 02, Bairro Exemplo\", " +
                 "\"turma\": \"1001B\", \"nota1\": 8.0, \"nota2\": 7.5, \"nota3\": 9.0 }";
@@ -105,6 +105,43 @@ class CadastroAlunoStepsTest {
         }
     }
 
+    @Test
+    void testCadastrarAlunoComCPFJaCadastrado() {
+        log.info("🧪 Testando cadastro repetido do mesmo CPF");
+        log.info("📋 Cenário: Segundo cadastro do CPF deve retornar 400 com 'CPF já cadastrado'");
+
+        // Arrange
+        String cpf = "321.654.987-91";
+        String alunoJson = "{ \"cpf\": \"" + cpf + "\", \"nome\": \"Aluno Teste Repetido\", " +
+                "\"endereco\": \"Rua das Chaves, número 23505, Bairro Teste, Cidade Teste\", " +
+                "\"turma\": \"1001B\", \"nota1\": 8.0, \"nota2\": 7.5, \"nota3\": 9.0 }";
+        given().contentType(ContentType.JSON).body(alunoJson).post().then().statusCode(201);
+
+        // Act
+        log.info("📤 Enviando o mesmo CPF novamente");
+        Response response = given()
+                .contentType(ContentType.JSON)
+                .body(alunoJson)
+                .post();
+
+        // Assert
+        log.info("📥 Status: {}, Body: {}", response.getStatusCode(), response.getBody().asString());
+        assertEquals(400, response.getStatusCode(), "CPF repetido é erro do cliente (400)");
+        assertTrue(response.getBody().asString().contains("CPF já cadastrado"),
+                "A resposta deve informar que o CPF já está cadastrado");
+
+        log.info("✅ Teste passou! Chave primária duplicada retornou 400");
+
+        // Cleanup
+        log.debug("🧹 Limpando dados de teste...");
+        try {
+            given().pathParam("cpf", cpf).delete("/{cpf}");
+            log.debug("✅ Aluno removido para limpeza");
+        } catch (Exception e) {
+            log.warn("⚠️ Não foi possível remover aluno de teste: {}", e.getMessage());
+        }
+    }
+
     @Test
     void testCadastrarAlunoComCPFInvalido() {
         log.info("🧪 Testando cadastro de aluno com CPF inválido (deve falhar)");
@@ -190,13 +227,99 @@ class CadastroAlunoStepsTest {
         log.info("✅ Teste passou! Listagem retornou array JSON válido");
     }
 
+    @Test
+    void testListarAlunosEmNdjson() {
+        log.info("🧪 Testando listagem de alunos em NDJSON");
+        log.info("📋 Cenário: Accept application/x-ndjson deve retornar um aluno por linha, sem array");
+
+        // Act
+        Response response = given()
+                .accept("application/x-ndjson")
+                .when()
+                .get()
+                .then()
+                .statusCode(200)
+                .extract().response();
+
+        // Assert
+        String responseBody = response.getBody().asString();
+        log.info("📥 Content-Type: {}, tamanho: {} caracteres", response.getContentType(), responseBody.length());
+        assertTrue(response.getContentType().startsWith("application/x-ndjson"),
+                "O Content-Type deve ser application/x-ndjson");
+        assertTrue(!responseBody.startsWith("["), "A resposta NDJSON não deve ser um array JSON");
+        responseBody.lines().forEach(linha -> assertTrue(linha.startsWith("{") && linha.endsWith("}"),
+                "Cada linha deve conter um único aluno"));
+        assertTrue(response.getHeader("ETag") != null, "A listagem em NDJSON também deve ter ETag");
+
+        log.info("✅ Teste passou! Listagem retornou {} linhas NDJSON", responseBody.lines().count());
+    }
+
+    @Test
+    void testListarAlunosEnviaUmaUnicaETag() {
+        log.info("🧪 Testando cabeçalhos de versão da listagem de alunos");
+        log.info("📋 Cenário: cada resposta 200 deve ter uma única ETag e um único Last-Modified");
+
+        for (String formato : new String[]{"application/json", "application/x-ndjson"}) {
+            // Act
+            Response response = given().accept(formato).get().then().statusCode(200).extract().response();
+
+            // Assert
+            log.debug("🏷️ {}: ETag {}, Last-Modified {}", formato, response.getHeaders().getValues("ETag"),
+                    response.getHeaders().getValues("Last-Modified"));
+            assertEquals(1, response.getHeaders().getValues("ETag").size(), "Uma única ETag em " + formato);
+            assertEquals(1, response.getHeaders().getValues("Last-Modified").size(),
+                    "Um único Last-Modified em " + formato);
+        }
+
+        log.info("✅ Teste passou! ETag e Last-Modified enviados uma única vez");
+    }
+
+    @Test
+    void testListarAlunosNaoModificadoRetorna304() {
+        log.info("🧪 Testando GET condicional da listagem de alunos");
+        log.info("📋 Cenário: Listar → repetir com If-None-Match (304) → cadastrar → repetir (200)");
+
+        // Arrange
+        String cpf = "555.666.777-20";
+        String alunoJson = "{ \"cpf\": \"" + cpf + "\", \"nome\": \"Aluno Teste Versão\", " +
+                "\"endereco\": \"Rua das Versões, número 304, Bairro Teste, Cidade Teste\", " +
+                "\"turma\": \"1004D\", \"nota1\": 8.0, \"nota2\": 8.0, \"nota3\": 8.0 }";
+        String etag = given().get().then().statusCode(200).extract().header("ETag");
+        log.debug("🏷️ ETag inicial: {}", etag);
+
+        // Act
+        log.info("📤 Repetindo a listagem com If-None-Match: {}", etag);
+        Response naoModificada = given().header("If-None-Match", etag).get();
+        given().contentType(ContentType.JSON).body(alunoJson).post();
+        Response modificada = given().header("If-None-Match", etag).get();
+
+        // Assert
+        log.info("📥 Status sem alteração: {}, após cadastro: {}", naoModificada.getStatusCode(),
+                modificada.getStatusCode());
+        assertEquals(304, naoModificada.getStatusCode(), "Sem gravações a listagem deve responder 304");
+        assertEquals(200, modificada.getStatusCode(), "Após o cadastro a listagem deve ser reenviada");
+        assertTrue(modificada.getBody().asString().contains(cpf), "A nova listagem deve conter o aluno cadastrado");
+        assertTrue(!etag.equals(modificada.getHeader("ETag")), "A ETag deve mudar após a gravação");
+
+        log.info("✅ Teste passou! ETag {} substituída por {}", etag, modificada.getHeader("ETag"));
+
+        // Cleanup
+        log.debug("🧹 Limpando dados de teste...");
+        try {
+            given().pathParam("cpf", cpf).delete("/{cpf}");
+            log.debug("✅ Aluno removido para limpeza");
+        } catch (Exception e) {
+            log.warn("⚠️ Não foi possível remover aluno de teste: {}", e.getMessage());
+        }
+    }
+
     @Test
     void testDeletarAlunoComSucesso() {
         log.info("🧪 Testando exclusão de aluno com sucesso");
         log.info("📋 Cenário: Cadastrar aluno → Excluir aluno → Verificar se foi removido");
 
         // Arrange
-        String cpf = "111.222.333-44";
+        String cpf = "111.222.333-96";
         String alunoJson = "{ \"cpf\": \"" + cpf + "\", \"nome\": \"Aluno Teste Exclusão\", " +
                 "\"endereco\": \"Rua da Exclusão, número 404, Bairro Teste, Cidade Teste\", " +
                 "\"turma\": \"1003C\", \"nota1\": 6.0, \"nota2\": 7.0, \"nota3\": 5.5 }";
@@ -261,7 +384,7 @@ class CadastroAlunoStepsTest {
         log.info("📋 Cenário: Tentar excluir aluno inexistente deve retornar erro");
 
         // Arrange
-        String cpfInexistente = "999.999.999-99";
+        String cpfInexistente = "999.999.998-08";
 
         log.debug("❌ Dados para teste de falha:");
         log.debug("  - CPF inexistente: {}", cpfInexistente);
@@ -360,4 +483,111 @@ class CadastroAlunoStepsTest {
             log.warn("⚠️ Não foi possível remover aluno de teste: {}", e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void testAlterarNotasDaTurma() {
+        log.info("🧪 Testando alteração de notas de uma turma");
+        log.info("📋 Cenário: PATCH /v1/turmas/{turma}/notas altera o aluno da turma e lista o CPF de outra turma");
+
+        // Arrange
+        String cpf = "222.555.888-46";
+        String alunoJson = "{ \"cpf\": \"" + cpf + "\", \"nome\": \"Aluno das Notas da Turma\", " +
+                "\"endereco\": \"Rua das Turmas, número 17, Centro, Cidade Nova\", " +
+                "\"turma\": \"9017Z\", \"nota1\": 5.0, \"nota2\": 6.0, \"nota3\": 7.0 }";
+        String alteracoesJson = "{ \"alunos\": [ { \"cpf\": \"" + cpf + "\", \"nota1\": 9.0, \"nota2\": 8.0 }, " +
+                "{ \"cpf\": \"123.456.789-09\", \"nota1\": 1.0 } ] }";
+        given().contentType(ContentType.JSON).body(alunoJson).post().then().statusCode(201);
+
+        // Act
+        log.info("📤 Enviando PATCH para /v1/turmas/9017Z/notas");
+        Response response = given().basePath("/v1/turmas").contentType(ContentType.JSON).body(alteracoesJson)
+                .patch("/9017Z/notas");
+
+        // Assert
+        log.info("📥 Status: {}, Body: {}", response.getStatusCode(), response.getBody().asString());
+        response.then().statusCode(200)
+                .body("alterados.size()", equalTo(1))
+                .body("alterados[0].media", equalTo("8.0"))
+                .body("alterados[0].situacao", equalTo("APROVADO"))
+                .body("naoEncontrados", contains("123.456.789-09"));
+
+        log.info("✅ Teste passou! Notas da turma alteradas pelo novo caminho");
+
+        // Cleanup
+        log.debug("🧹 Limpando dados de teste...");
+        try {
+            given().pathParam("cpf", cpf).delete("/{cpf}");
+            log.debug("✅ Aluno removido para limpeza");
+        } catch (Exception e) {
+            log.warn("⚠️ Não foi possível remover aluno de teste: {}", e.getMessage());
+        }
+    }
+
+    @Test
+    void testSimularPoliticaDeAprovacao() {
+        log.info("🧪 Testando gravação e simulação de políticas de aprovação por turma");
+        log.info("📋 Cenário: Cadastrar aluno → Gravar política → Reavaliar turma → Simular proposta → Rejeitar pesos zerados");
+
+        // Arrange
+        String cpf = "111.444.777-35";
+        String alunoJson = "{ \"cpf\": \"" + cpf + "\", \"nome\": \"Aluno da Simulação\", " +
+                "\"endereco\": \"Rua das Políticas, número 25, Centro, Cidade Nova\", " +
+                "\"turma\": \"9001Z\", \"nota1\": 9.0, \"nota2\": 9.0, \"nota3\": 4.0 }";
+        // Média 7,33 (aprovado); com peso 2 na terceira avaliação, 6,50 (reprovado)
+        String politicaJson = "{ \"peso1\": 1, \"peso2\": 1, \"peso3\": 2, \"mediaMinima\": 7.0, \"provasMinimas\": 2 }";
+        String padraoJson = "{ \"peso1\": 1, \"peso2\": 1, \"peso3\": 1, \"mediaMinima\": 7.0, \"provasMinimas\": 0 }";
+        String semPesosJson = "{ \"peso1\": 0, \"peso2\": 0, \"peso3\": 0, \"mediaMinima\": 7.0, \"provasMinimas\": 0 }";
+        log.debug("📄 Política proposta: {}", politicaJson);
+
+        log.info("📤 PASSO 1: Cadastrando aluno na turma 9001Z...");
+        given().contentType(ContentType.JSON).body(alunoJson).post().then().statusCode(201);
+
+        // Act
+        log.info("📤 PASSO 2: Gravando e consultando a política da turma 9001Z...");
+        Response gravacao = given().basePath("/v2/turmas").contentType(ContentType.JSON).body(politicaJson)
+                .put("/9001Z/politica");
+        Response consulta = given().basePath("/v2/turmas").get("/9001Z/politica");
+
+        log.info("📤 PASSO 3: Simulando a política gravada, a padrão e uma proposta inválida...");
+        long startTime = System.currentTimeMillis();
+        Response simulacao = given().basePath("/v2/turmas").contentType(ContentType.JSON).post("/9001Z/simulacao");
+        long endTime = System.currentTimeMillis();
+        Response padrao = given().basePath("/v2/turmas").contentType(ContentType.JSON).body(padraoJson)
+                .post("/9001Z/simulacao");
+        Response invalida = given().basePath("/v2/turmas").contentType(ContentType.JSON).body(semPesosJson)
+                .post("/9001Z/simulacao");
+
+        // Assert & Log
+        log.info("📥 Simulação recebida em {}ms: {}", (endTime - startTime), simulacao.getBody().asString());
+        assertEquals(200, gravacao.getStatusCode(), "A política deve ser gravada");
+        consulta.then().statusCode(200)
+                .body("turma", equalTo("9001Z"))
+                .body("peso3", equalTo(2))
+                .body("provasMinimas", equalTo(2));
+        // Gravar a política reavalia a turma: a situação gravada já é a da nova política
+        simulacao.then().statusCode(200)
+                .body("turma", equalTo("9001Z"))
+                .body("quantidade", equalTo(1))
+                .body("aprovados", equalTo(0))
+                .body("aprovadosAtuais", equalTo(0))
+                .body("passariamAReprovados", equalTo(0));
+        padrao.then().statusCode(200)
+                .body("aprovados", equalTo(1))
+                .body("passariamAAprovados", equalTo(1));
+        assertEquals(400, invalida.getStatusCode(), "Política sem pesos deve ser rejeitada");
+        // A simulação não grava a situação: o aluno continua reprovado
+        given().basePath("/v2/turmas").contentType(ContentType.JSON).post("/9001Z/simulacao").then().statusCode(200)
+                .body("aprovadosAtuais", equalTo(0));
+
+        log.info("✅ Teste passou! Política gravada reavaliou a turma e a simulação não alterou a situação do aluno");
+
+        // Cleanup
+        log.debug("🧹 Limpando dados de teste...");
+        try {
+            given().pathParam("cpf", cpf).delete("/{cpf}");
+            log.debug("✅ Aluno removido para limpeza");
+        } catch (Exception e) {
+            log.warn("⚠️ Não foi possível remover aluno de teste: {}", e.getMessage());
+        }
+    }
+}
@@ -1,13 +1,22 @@
 package services.integracao;
 
+import br.com.cadastro.alunos.model.dto.AlunoDTO;
+import br.com.cadastro.alunos.model.dto.EstatisticasTurma;
 import br.com.cadastro.alunos.model.entities.Aluno;
+import br.com.cadastro.alunos.model.entities.Cpf;
+import br.com.cadastro.alunos.model.entities.Notas;
+import br.com.cadastro.alunos.model.entities.SituacaoAluno;
+import br.com.cadastro.alunos.model.estatisticas.AgregadoTurma;
+import br.com.cadastro.alunos.model.estatisticas.PoliticasCompiladas;
 import br.com.cadastro.alunos.model.repository.AlunoRepository;
+import br.com.cadastro.alunos.model.repository.LoteAvaliado;
 import jakarta.validation.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,25 +52,25 @@ class AlunoRepositoryIntegrationTest {
 
         // Arrange
         Aluno aluno = Aluno.builder()
-                .cpf("123.456.789-01") // CPF com 14 caracteres (formato correto)
+                .cpf(Cpf.valor("123.456.701-69")) // CPF com dígitos verificadores corretos
                 .nome("João da Silva Souza")
                 .endereco("Rua Teste, 123, Bairro Exemplo, Cidade, Estado, CEP 12345-678")
                 .turma("1001B")
-                .nota1(9.0)
-                .nota2(8.5)
-                .nota3(9.2)
-                .aprovado("SIM")
+                .nota1(Notas.decimos(9.0))
+                .nota2(Notas.decimos(8.5))
+                .nota3(Notas.decimos(9.2))
+                .situacao(SituacaoAluno.APROVADO)
                 .build();
 
         logger.debug("📝 Dados do aluno criado para inserção:");
-        logger.debug("  - CPF: {} (tamanho: {})", aluno.getCpf(), aluno.getCpf().length());
+        logger.debug("  - CPF: {}", Cpf.formatar(aluno.getCpf()));
         logger.debug("  - Nome: {}", aluno.getNome());
         logger.debug("  - Endereço: {} (tamanho: {})", aluno.getEndereco(), aluno.getEndereco().length());
         logger.debug("  - Turma: {}", aluno.getTurma());
-        logger.debug("  - Notas: [{}, {}, {}] -> Média: {:.2f}",
+        logger.debug("  - Notas (décimos): [{}, {}, {}] -> Média: {:.2f}",
                 aluno.getNota1(), aluno.getNota2(), aluno.getNota3(),
-                (aluno.getNota1() + aluno.getNota2() + aluno.getNota3()) / 3);
-        logger.debug("  - Status: {}", aluno.getAprovado());
+                aluno.calcularMedia());
+        logger.debug("  - Status: {}", aluno.getSituacao());
 
         // Act
         logger.info("💾 Salvando aluno no banco de dados H2...");
@@ -95,17 +104,17 @@ class AlunoRepositoryIntegrationTest {
 
         // Arrange
         Aluno aluno = Aluno.builder()
-                .cpf("123") // CPF inválido (menos de 14 caracteres)
+                .cpf(12_345_678_900L) // CPF inválido (dígitos verificadores errados)
                 .nome("João da Silva Souza")
                 .endereco("Rua Teste, 123, Bairro Exemplo, Cidade, Estado, CEP 12345-678")
                 .turma("1001B")
-                .nota1(9.0)
-                .nota2(8.5)
-                .nota3(9.2)
+                .nota1(Notas.decimos(9.0))
+                .nota2(Notas.decimos(8.5))
+                .nota3(Notas.decimos(9.2))
                 .build();
 
         logger.debug("❌ Dados do aluno com CPF inválido:");
-        logger.debug("  - CPF: '{}' (tamanho: {} - deveria ser 14)", aluno.getCpf(), aluno.getCpf().length());
+        logger.debug("  - CPF: '{}' (dígitos verificadores deveriam ser 09)", Cpf.formatar(aluno.getCpf()));
         logger.debug("  - Nome: {}", aluno.getNome());
         logger.debug("  - Endereço: {} (tamanho: {})", aluno.getEndereco(), aluno.getEndereco().length());
 
@@ -120,7 +129,8 @@ class AlunoRepositoryIntegrationTest {
         logger.info("✅ Verificando se a exceção correta foi lançada...");
         assertThat(thrown).hasRootCauseInstanceOf(ConstraintViolationException.class);
 
-        logger.info("✅ Teste passou! CPF inválido '{}' gerou ConstraintViolationException como esperado", aluno.getCpf());
+        logger.info("✅ Teste passou! CPF inválido '{}' gerou ConstraintViolationException como esperado",
+                Cpf.formatar(aluno.getCpf()));
         logger.debug("🔍 Causa raiz da exceção: {}", thrown.getRootCause().getClass().getSimpleName());
     }
 
@@ -130,17 +140,17 @@ class AlunoRepositoryIntegrationTest {
 
         // Arrange
         Aluno aluno = Aluno.builder()
-                .cpf("123.456.789-01") // CPF com formato correto
+                .cpf(Cpf.valor("123.456.701-69")) // CPF válido
                 .nome("João da Silva Souza")
                 .endereco("Rua Teste") // Endereço inválido (menos de 25 caracteres)
                 .turma("1001B")
-                .nota1(9.0)
-                .nota2(8.5)
-                .nota3(9.2)
+                .nota1(Notas.decimos(9.0))
+                .nota2(Notas.decimos(8.5))
+                .nota3(Notas.decimos(9.2))
                 .build();
 
         logger.debug("❌ Dados do aluno com endereço inválido:");
-        logger.debug("  - CPF: {} (tamanho: {} - válido)", aluno.getCpf(), aluno.getCpf().length());
+        logger.debug("  - CPF: {} (válido)", Cpf.formatar(aluno.getCpf()));
         logger.debug("  - Nome: {}", aluno.getNome());
         logger.debug("  - Endereço: '{}' (tamanho: {} - deveria ser >= 25)", aluno.getEndereco(), aluno.getEndereco().length());
 
@@ -160,8 +170,8 @@ class AlunoRepositoryIntegrationTest {
     }
 
     @Test
-    void testFindApproved() {
-        logger.info("🧪 Testando query customizada findApproved()");
+    void testFindByTurmaAndSituacao() {
+        logger.info("🧪 Testando query customizada findByTurmaAndSituacao()");
 
         // Arrange
         logger.debug("🧹 Limpando repositório antes do teste...");
@@ -173,40 +183,40 @@ class AlunoRepositoryIntegrationTest {
         logger.debug("📝 Criando alunos de teste...");
 
         Aluno alunoAprovado = Aluno.builder()
-                .cpf("123.456.789-11")
+                .cpf(Cpf.valor("123.456.711-30"))
                 .nome("Aluno Aprovado")
                 .endereco("Rua da Aprovação, 100, Bairro Sucesso, Cidade Teste, Estado Teste")
                 .turma("1001A")
-                .nota1(8.0)
-                .nota2(9.0)
-                .nota3(10.0)
-                .aprovado("SIM")
+                .nota1(Notas.decimos(8.0))
+                .nota2(Notas.decimos(9.0))
+                .nota3(Notas.decimos(10.0))
+                .situacao(SituacaoAluno.APROVADO)
                 .build();
 
         Aluno alunoReprovado = Aluno.builder()
-                .cpf("123.456.789-22")
+                .cpf(Cpf.valor("123.456.722-93"))
                 .nome("Aluno Reprovado")
                 .endereco("Rua da Reprovação, 200, Bairro Falha, Cidade Teste, Estado Teste")
                 .turma("1001A")
-                .nota1(4.0)
-                .nota2(5.0)
-                .nota3(6.0)
-                .aprovado("NÃO")
+                .nota1(Notas.decimos(4.0))
+                .nota2(Notas.decimos(5.0))
+                .nota3(Notas.decimos(6.0))
+                .situacao(SituacaoAluno.REPROVADO)
                 .build();
 
         logger.debug("📊 Aluno Aprovado criado:");
         logger.debug("  - CPF: {}, Nome: {}", alunoAprovado.getCpf(), alunoAprovado.getNome());
-        logger.debug("  - Notas: [{}, {}, {}] -> Média: {:.2f}",
+        logger.debug("  - Notas (décimos): [{}, {}, {}] -> Média: {:.2f}",
                 alunoAprovado.getNota1(), alunoAprovado.getNota2(), alunoAprovado.getNota3(),
-                (alunoAprovado.getNota1() + alunoAprovado.getNota2() + alunoAprovado.getNota3()) / 3);
-        logger.debug("  - Status: {}", alunoAprovado.getAprovado());
+                alunoAprovado.calcularMedia());
+        logger.debug("  - Status: {}", alunoAprovado.getSituacao());
 
         logger.debug("📊 Aluno Reprovado criado:");
         logger.debug("  - CPF: {}, Nome: {}", alunoReprovado.getCpf(), alunoReprovado.getNome());
-        logger.debug("  - Notas: [{}, {}, {}] -> Média: {:.2f}",
+        logger.debug("  - Notas (décimos): [{}, {}, {}] -> Média: {:.2f}",
                 alunoReprovado.getNota1(), alunoReprovado.getNota2(), alunoReprovado.getNota3(),
-                (alunoReprovado.getNota1() + alunoReprovado.getNota2() + alunoReprovado.getNota3()) / 3);
-        logger.debug("  - Status: {}", alunoReprovado.getAprovado());
+                alunoReprovado.calcularMedia());
+        logger.debug("  - Status: {}", alunoReprovado.getSituacao());
 
         logger.info("💾 Salvando alunos de teste no banco...");
         alunoRepository.save(alunoAprovado);
@@ -214,9 +224,11 @@ class AlunoRepositoryIntegrationTest {
         logger.debug("✅ 2 alunos salvos no banco");
 
         // Act
-        logger.info("🔍 Executando query findApproved()...");
+        logger.info("🔍 Executando query findByTurmaAndSituacao()...");
         long startTime = System.currentTimeMillis();
-        List<Aluno> aprovados = alunoRepository.findApproved();
+        List<AlunoDTO> aprovados = alunoRepository
+                .findByTurmaAndSituacao("1001A", SituacaoAluno.APROVADO, PageRequest.of(0, 10))
+                .getContent();
         long endTime = System.currentTimeMillis();
 
         logger.debug("⏱️ Tempo de execução da query: {}ms", (endTime - startTime));
@@ -225,20 +237,26 @@ class AlunoRepositoryIntegrationTest {
         // Assert
         logger.info("✅ Verificando resultados da query...");
         assertThat(aprovados).isNotNull();
-        assertThat(aprovados.size()).isGreaterThanOrEqualTo(1);
+        assertThat(aprovados).extracting(AlunoDTO::getCpf).containsExactly(alunoAprovado.getCpf());
 
         logger.debug("🔍 Procurando aluno aprovado específico na lista...");
-        boolean alunoAprovadoEncontrado = aprovados.stream()
-                .anyMatch(a -> a.getCpf().equals(alunoAprovado.getCpf()));
+        AlunoDTO alunoAprovadoEncontrado = aprovados.stream()
+                .filter(a -> a.getCpf().equals(alunoAprovado.getCpf()))
+                .findFirst()
+                .orElse(null);
 
-        assertThat(alunoAprovadoEncontrado).isTrue();
+        assertThat(alunoAprovadoEncontrado).isNotNull();
+        // A projeção já traz a média gerada pelo banco e a situação gravada, sem passar pelo mapper
+        assertThat(alunoAprovadoEncontrado.getMedia()).isNotNull();
+        assertThat(alunoAprovadoEncontrado.getSituacao()).isEqualTo(SituacaoAluno.APROVADO);
 
         logger.debug("📋 Alunos aprovados encontrados:");
         aprovados.forEach(aluno ->
                 logger.debug("  - CPF: {}, Nome: {}, Status: {}",
-                        aluno.getCpf(), aluno.getNome(), aluno.getAprovado()));
+                        aluno.getCpf(), aluno.getNome(), aluno.getSituacao()));
 
-        logger.info("✅ Teste passou! Query findApproved() retornou {} aluno(s) aprovado(s)", aprovados.size());
+        logger.info("✅ Teste passou! Query findByTurmaAndSituacao() retornou {} aluno(s) aprovado(s)",
+                aprovados.size());
 
         // Cleanup
         logger.debug("🧹 Limpando dados de teste...");
@@ -247,106 +265,132 @@ class AlunoRepositoryIntegrationTest {
     }
 
     @Test
-    void testFindFailedInOneExam() {
-        logger.info("🧪 Testando query customizada findFailedInOneExam()");
+    void avaliarLoteAtualizaApenasSituacoesDivergentes() {
+        logger.info("🧪 Testando reavaliação em lote (UPDATE baseado em conjunto por faixa de CPF)");
 
         // Arrange
         logger.debug("🧹 Limpando repositório antes do teste...");
-        long countAntes = alunoRepository.count();
         alunoRepository.deleteAll();
-        logger.debug("✅ Repositório limpo (removidos {} registros)", countAntes);
-
-        // Criando alunos de teste
-        logger.debug("📝 Criando alunos de teste...");
 
-        Aluno alunoComNotaZero = Aluno.builder()
-                .cpf("123.456.789-33")
-                .nome("Aluno Com Nota Zero")
-                .endereco("Rua das Notas, 300, Bairro Teste, Cidade Teste, Estado Teste")
-                .turma("1001B")
-                .nota1(8.0)
-                .nota2(0.0)  // Nota zero na 2ª avaliação
-                .nota3(9.0)
-                .aprovado("NÃO")
+        Aluno alunoComSituacaoErrada = Aluno.builder()
+                .cpf(Cpf.valor("123.456.755-51"))
+                .nome("Aluno Situacao Errada")
+                .endereco("Rua da Avaliação, 500, Bairro Teste, Cidade Teste")
+                .turma("1001C")
+                .nota1(Notas.decimos(9.0))
+                .nota2(Notas.decimos(8.0))
+                .nota3(Notas.decimos(10.0))
+                .situacao(SituacaoAluno.REPROVADO)  // Média 9.0, deveria estar aprovado
                 .build();
 
-        Aluno alunoComTodasNotas = Aluno.builder()
-                .cpf("123.456.789-44")
-                .nome("Aluno Com Todas Notas")
-                .endereco("Rua das Notas Completas, 400, Bairro Teste, Cidade Teste")
-                .turma("1001B")
-                .nota1(7.0)
-                .nota2(7.5)
-                .nota3(8.0)
-                .aprovado("SIM")
+        Aluno alunoComSituacaoCorreta = Aluno.builder()
+                .cpf(Cpf.valor("123.456.766-04"))
+                .nome("Aluno Situacao Correta")
+                .endereco("Rua da Avaliação, 600, Bairro Teste, Cidade Teste")
+                .turma("1001C")
+                .nota1(Notas.decimos(4.0))
+                .nota2(Notas.decimos(5.0))
+                .nota3(Notas.decimos(6.0))
+                .situacao(SituacaoAluno.REPROVADO)
                 .build();
 
-        logger.debug("📊 Aluno com nota zero criado:");
-        logger.debug("  - CPF: {}, Nome: {}", alunoComNotaZero.getCpf(), alunoComNotaZero.getNome());
-        logger.debug("  - Notas: [{}, {}, {}] (nota zero na posição 2)",
-                alunoComNotaZero.getNota1(), alunoComNotaZero.getNota2(), alunoComNotaZero.getNota3());
-        logger.debug("  - Status: {}", alunoComNotaZero.getAprovado());
-
-        logger.debug("📊 Aluno com todas as notas criado:");
-        logger.debug("  - CPF: {}, Nome: {}", alunoComTodasNotas.getCpf(), alunoComTodasNotas.getNome());
-        logger.debug("  - Notas: [{}, {}, {}] (todas > 0)",
-                alunoComTodasNotas.getNota1(), alunoComTodasNotas.getNota2(), alunoComTodasNotas.getNota3());
-        logger.debug("  - Status: {}", alunoComTodasNotas.getAprovado());
+        Aluno alunoForaDoLote = Aluno.builder()
+                .cpf(Cpf.valor("123.456.777-67"))
+                .nome("Aluno Fora Do Lote")
+                .endereco("Rua da Avaliação, 700, Bairro Teste, Cidade Teste")
+                .turma("1001C")
+                .nota1(Notas.decimos(10.0))
+                .nota2(Notas.decimos(10.0))
+                .nota3(Notas.decimos(10.0))
+                .situacao(SituacaoAluno.REPROVADO)
+                .build();
 
-        logger.info("💾 Salvando alunos de teste no banco...");
-        alunoRepository.save(alunoComNotaZero);
-        alunoRepository.save(alunoComTodasNotas);
-        logger.debug("✅ 2 alunos salvos no banco");
+        alunoRepository.save(alunoComSituacaoErrada);
+        alunoRepository.save(alunoComSituacaoCorreta);
+        alunoRepository.save(alunoForaDoLote);
+        logger.debug("✅ 3 alunos salvos no banco");
 
         // Act
-        logger.info("🔍 Executando query findFailedInOneExam()...");
-        long startTime = System.currentTimeMillis();
-        List<Aluno> alunosReprovadosUmaProva = alunoRepository.findFailedInOneExam();
-        long endTime = System.currentTimeMillis();
-
-        logger.debug("⏱️ Tempo de execução da query: {}ms", (endTime - startTime));
-        logger.debug("📊 Resultado da query: {} aluno(s) reprovado(s) em uma prova encontrado(s)",
-                alunosReprovadosUmaProva.size());
+        logger.info("🔍 Executando avaliarLote com lote de 2 alunos...");
+        LoteAvaliado lote = alunoRepository.avaliarLote(0, 2, PoliticasCompiladas.NENHUMA);
 
         // Assert
-        logger.info("✅ Verificando resultados da query...");
-        assertThat(alunosReprovadosUmaProva).isNotNull();
-        assertThat(alunosReprovadosUmaProva.size()).isGreaterThanOrEqualTo(1);
+        logger.info("✅ Verificando resultado do lote...");
+        assertThat(lote.getProcessados()).isEqualTo(2);
+        assertThat(lote.getAlterados()).isEqualTo(1);
+        assertThat(lote.getUltimoCpf()).isEqualTo(alunoComSituacaoCorreta.getCpf());
+        assertThat(alunoRepository.findById(alunoComSituacaoErrada.getCpf()).orElseThrow().getSituacao())
+                .isEqualTo(SituacaoAluno.APROVADO);
+        assertThat(alunoRepository.findById(alunoForaDoLote.getCpf()).orElseThrow().getSituacao())
+                .isEqualTo(SituacaoAluno.REPROVADO);
+
+        logger.debug("🔍 Executando lote seguinte a partir do CPF {}...", lote.getUltimoCpf());
+        LoteAvaliado proximo = alunoRepository.avaliarLote(lote.getUltimoCpf(), 2, PoliticasCompiladas.NENHUMA);
+        assertThat(proximo.getProcessados()).isEqualTo(1);
+        assertThat(proximo.getAlterados()).isEqualTo(1);
+
+        logger.info("✅ Teste passou! Lote avaliou {} alunos e alterou {}", lote.getProcessados(), lote.getAlterados());
 
-        logger.debug("🔍 Procurando aluno com nota zero específico na lista...");
-        boolean alunoComNotaZeroEncontrado = alunosReprovadosUmaProva.stream()
-                .anyMatch(a -> a.getCpf().equals(alunoComNotaZero.getCpf()));
+        // Cleanup
+        logger.debug("🧹 Limpando dados de teste...");
+        alunoRepository.deleteAll();
+        logger.debug("✅ Dados limpos");
+    }
 
-        assertThat(alunoComNotaZeroEncontrado).isTrue();
+    @Test
+    void agregarPorTurmaResumeTotaisENotasNoBanco() {
+        logger.info("🧪 Testando agregação por turma com GROUP BY (totais e contagem de notas)");
 
-        logger.debug("📋 Alunos reprovados em uma prova encontrados:");
-        alunosReprovadosUmaProva.forEach(aluno -> {
-            int provasComNota = contarProvasComNota(aluno);
-            logger.debug("  - CPF: {}, Nome: {}, Provas com nota: {}/3",
-                    aluno.getCpf(), aluno.getNome(), provasComNota);
-        });
+        // Arrange
+        logger.debug("🧹 Limpando repositório antes do teste...");
+        alunoRepository.deleteAll();
+
+        alunoRepository.save(Aluno.builder()
+                .cpf(Cpf.valor("123.456.781-43"))
+                .nome("Aluno Agregado Um")
+                .endereco("Rua das Estatísticas, 100, Bairro Teste, Cidade Teste")
+                .turma("1001E")
+                .nota1(Notas.decimos(9.0))
+                .nota2(Notas.decimos(8.0))
+                .nota3(Notas.decimos(7.0))
+                .situacao(SituacaoAluno.APROVADO)
+                .build());
+        alunoRepository.save(Aluno.builder()
+                .cpf(Cpf.valor("123.456.782-24"))
+                .nome("Aluno Agregado Dois")
+                .endereco("Rua das Estatísticas, 200, Bairro Teste, Cidade Teste")
+                .turma("1001E")
+                .nota1(Notas.decimos(5.0))
+                .nota2(Notas.decimos(6.0))
+                .nota3(Notas.decimos(4.5))
+                .situacao(SituacaoAluno.REPROVADO)
+                .build());
+        logger.debug("✅ 2 alunos salvos na turma 1001E");
+
+        // Act
+        logger.info("🔍 Executando agregarPorTurma...");
+        List<AgregadoTurma> agregados = alunoRepository.agregarPorTurma();
 
-        logger.info("✅ Teste passou! Query findFailedInOneExam() retornou {} aluno(s)",
-                alunosReprovadosUmaProva.size());
+        // Assert
+        assertThat(agregados).hasSize(1);
+        EstatisticasTurma estatisticas = agregados.get(0).resumir();
+        logger.debug("📊 Turma {}: {} alunos, média geral {}", estatisticas.getTurma(),
+                estatisticas.getQuantidade(), estatisticas.getMediaGeral());
+
+        assertThat(estatisticas.getTurma()).isEqualTo("1001E");
+        assertThat(estatisticas.getQuantidade()).isEqualTo(2);
+        assertThat(estatisticas.getAprovados()).isEqualTo(1);
+        assertThat(estatisticas.getReprovados()).isEqualTo(1);
+        assertThat(estatisticas.getMediaGeral()).isEqualTo(6.59);
+        assertThat(estatisticas.getNota1().getMinima()).isEqualTo(5.0);
+        assertThat(estatisticas.getNota1().getMaxima()).isEqualTo(9.0);
+        assertThat(estatisticas.getNota3().getMinima()).isEqualTo(4.5);
+
+        logger.info("✅ Teste passou! Turma agregada sem carregar os alunos");
 
         // Cleanup
         logger.debug("🧹 Limpando dados de teste...");
         alunoRepository.deleteAll();
         logger.debug("✅ Dados limpos");
     }
-
-    /**
-     * Método auxiliar para contar quantas provas têm nota > 0
-     */
-    private int contarProvasComNota(Aluno aluno) {
-        int count = 0;
-        if (aluno.getNota1() != null && aluno.getNota1() > 0) count++;
-        if (aluno.getNota2() != null && aluno.getNota2() > 0) count++;
-        if (aluno.getNota3() != null && aluno.getNota3() > 0) count++;
-        logger.debug("    Detalhes: Nota1={} ({}), Nota2={} ({}), Nota3={} ({})",
-                aluno.getNota1(), aluno.getNota1() > 0 ? "✓" : "✗",
-                aluno.getNota2(), aluno.getNota2() > 0 ? "✓" : "✗",
-                aluno.getNota3(), aluno.getNota3() > 0 ? "✓" : "✗");
-        return count;
-    }
 }
\ No newline at end of file
@@ -0,0 +1,396 @@
+package services.integracao;
+
+import br.com.cadastro.alunos.model.dto.AlteracaoNotas;
+import br.com.cadastro.alunos.model.dto.AlunoDTO;
+import br.com.cadastro.alunos.model.dto.ResultadoAlteracaoNotas;
+import br.com.cadastro.alunos.model.dto.ResultadoLancamentoNotas;
+import br.com.cadastro.alunos.model.entities.Aluno;
+import br.com.cadastro.alunos.model.entities.Cpf;
+import br.com.cadastro.alunos.model.entities.Notas;
+import br.com.cadastro.alunos.model.entities.PoliticaAprovacao;
+import br.com.cadastro.alunos.model.entities.SituacaoAluno;
+import br.com.cadastro.alunos.model.estatisticas.PoliticaCompilada;
+import br.com.cadastro.alunos.model.exceptions.BusinessException;
+import br.com.cadastro.alunos.model.exceptions.ConflitoVersaoException;
+import br.com.cadastro.alunos.model.repository.AlunoRepository;
+import br.com.cadastro.alunos.model.repository.NotasGravadas;
+import br.com.cadastro.alunos.model.services.AlunoService;
+import br.com.cadastro.alunos.model.services.PoliticaAprovacaoService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Tag("integracao")
+@SpringBootTest(classes = br.com.cadastro.alunos.CadastroAlunosApplication.class,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@SuppressWarnings("java:S*")
+class AlunoServiceIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlunoServiceIntegrationTest.class);
+
+    @Autowired
+    private AlunoService alunoService;
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @Autowired
+    private PoliticaAprovacaoService politicaAprovacaoService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics estatisticas;
+
+    @BeforeEach
+    void setUp() {
+        logger.info("=== Iniciando teste de integração do AlunoService ===");
+        logger.info("📊 Profile ativo: test (usando H2 database, estatísticas do Hibernate habilitadas)");
+
+        logger.debug("🧹 Limpando repositório antes do teste...");
+        alunoRepository.deleteAll();
+
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+        logger.debug("✅ Estatísticas do Hibernate zeradas");
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.debug("🧹 Limpando dados de teste...");
+        alunoRepository.deleteAll();
+    }
+
+    @Test
+    void incluirAlunoExecutaUmUnicoInsert() {
+        logger.info("🧪 Testando que a inclusão de um aluno novo emite exatamente um comando SQL");
+
+        // Arrange
+        Aluno aluno = novoAluno("123.456.788-10");
+        logger.debug("📝 Aluno criado: CPF={}, Nome={}", aluno.getCpf(), aluno.getNome());
+
+        // Act
+        logger.info("💾 Incluindo aluno pelo serviço...");
+        alunoService.incluirAluno(aluno);
+
+        // Assert
+        logger.info("✅ Verificando contagem de comandos...");
+        logger.debug("📊 Comandos preparados: {}, INSERTs: {}, consultas: {}",
+                estatisticas.getPrepareStatementCount(), estatisticas.getEntityInsertCount(),
+                estatisticas.getQueryExecutionCount());
+
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(estatisticas.getEntityInsertCount()).isEqualTo(1);
+        assertThat(estatisticas.getEntityLoadCount()).isZero();
+        assertThat(alunoRepository.existsById(aluno.getCpf())).isTrue();
+
+        logger.info("✅ Teste passou! Inclusão custou {} comando SQL", estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void incluirAlunoCpfDuplicadoTraduzViolacaoDeChave() {
+        logger.info("🧪 Testando que CPF duplicado vira BusinessException a partir da violação da chave primária");
+
+        // Arrange
+        alunoService.incluirAluno(novoAluno("123.456.799-72"));
+        estatisticas.clear();
+        logger.debug("✅ Primeiro cadastro realizado; estatísticas zeradas");
+
+        // Act & Assert
+        logger.info("💾 Incluindo o mesmo CPF novamente...");
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> alunoService.incluirAluno(novoAluno("123.456.799-72")));
+
+        assertThat(exception.getMessage()).isEqualTo("CPF já cadastrado");
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(estatisticas.getEntityLoadCount()).isZero();
+
+        logger.info("✅ Teste passou! Duplicidade detectada pelo próprio INSERT: {}", exception.getMessage());
+    }
+
+    @Test
+    void alterarAlunoComVersaoAntigaGeraConflito() {
+        logger.info("🧪 Testando que duas alterações baseadas na mesma versão não se sobrescrevem");
+
+        // Arrange
+        Aluno incluido = alunoService.incluirAluno(novoAluno("123.456.777-67"));
+        long versaoLida = incluido.getVersao();
+        logger.debug("📝 Aluno incluído na versão {}", versaoLida);
+
+        Aluno primeiraAlteracao = novoAluno("123.456.777-67");
+        primeiraAlteracao.setNota1(Notas.decimos(10.0));
+        primeiraAlteracao.setVersao(versaoLida);
+        Aluno segundaAlteracao = novoAluno("123.456.777-67");
+        segundaAlteracao.setNome("Aluno Alteração Perdida");
+        segundaAlteracao.setVersao(versaoLida);
+
+        // Act
+        logger.info("💾 Aplicando as duas alterações a partir da versão {}...", versaoLida);
+        Aluno alterado = alunoService.alterarAluno(incluido.getCpf(), primeiraAlteracao);
+        ConflitoVersaoException exception = assertThrows(ConflitoVersaoException.class,
+                () -> alunoService.alterarAluno(incluido.getCpf(), segundaAlteracao));
+
+        // Assert
+        Aluno gravado = alunoRepository.findById(incluido.getCpf()).orElseThrow();
+        logger.debug("📊 Versão gravada: {}, nome: {}, nota1: {}", gravado.getVersao(), gravado.getNome(),
+                gravado.getNota1());
+        assertThat(alterado.getVersao()).isEqualTo(versaoLida + 1);
+        assertThat(gravado.getVersao()).isEqualTo(versaoLida + 1);
+        assertThat(gravado.getNome()).isEqualTo("Aluno Contagem Queries");
+        assertThat(gravado.getNota1()).isEqualTo(Notas.decimos(10.0));
+
+        logger.info("✅ Teste passou! Segunda alteração recusada: {}", exception.getMessage());
+    }
+
+    @Test
+    void alterarNotasGravaSoAsNotasInformadasERetornaNovaMedia() {
+        logger.info("🧪 Testando alteração parcial de notas com um único UPDATE");
+
+        // Arrange: notas 8.0, 7.0 e 9.0 (média 8.00, aprovado)
+        Aluno incluido = alunoService.incluirAluno(novoAluno("123.456.766-04"));
+        AlteracaoNotas notas = AlteracaoNotas.builder().nota2(Notas.decimos(1.0)).nota3(Notas.decimos(2.5)).build();
+
+        // Act
+        logger.info("💾 Alterando nota2 e nota3 a partir da versão {}...", incluido.getVersao());
+        NotasGravadas gravadas = alunoService.alterarNotas(incluido.getCpf(), notas, incluido.getVersao());
+
+        // Assert
+        Aluno gravado = alunoRepository.findById(incluido.getCpf()).orElseThrow();
+        logger.debug("📊 Antes: média {} ({}); depois: média {} ({}), versão {}",
+                gravadas.getAnterior().getMedia(), gravadas.getAnterior().getSituacao(),
+                gravadas.getAtual().getMedia(), gravadas.getAtual().getSituacao(), gravadas.getVersao());
+        assertThat(gravadas.getAnterior().getMedia()).isEqualTo(8.0);
+        // (8.0 + 1.0 + 2.5) / 3 = 3.8333... -> 3.83
+        assertThat(gravadas.getAtual().getMedia()).isEqualTo(3.83);
+        assertThat(gravadas.getAtual().getSituacao()).isEqualTo(SituacaoAluno.REPROVADO);
+        assertThat(gravado.getNota1()).isEqualTo(Notas.decimos(8.0));
+        assertThat(gravado.getMedia()).isEqualTo(gravadas.getAtual().getMedia());
+        assertThat(gravado.getSituacao()).isEqualTo(SituacaoAluno.REPROVADO);
+        assertThat(gravado.getVersao()).isEqualTo(gravadas.getVersao()).isEqualTo(incluido.getVersao() + 1);
+        assertThrows(ConflitoVersaoException.class,
+                () -> alunoService.alterarNotas(incluido.getCpf(), notas, incluido.getVersao()));
+
+        logger.info("✅ Teste passou! Nova média {} calculada igual à coluna MEDIA", gravado.getMedia());
+    }
+
+    @Test
+    void alterarNotasDaTurmaInformaAlunosNaoEncontrados() {
+        logger.info("🧪 Testando alteração de notas de uma turma com um CPF de outra turma");
+
+        // Arrange
+        alunoService.incluirAluno(novoAluno("123.456.755-51"));
+        Aluno deOutraTurma = novoAluno("123.456.744-07");
+        deOutraTurma.setTurma("1002E");
+        alunoService.incluirAluno(deOutraTurma);
+        List<AlteracaoNotas> alteracoes = List.of(
+                AlteracaoNotas.builder().cpf(Cpf.valor("123.456.755-51")).nota1(Notas.decimos(10.0)).build(),
+                AlteracaoNotas.builder().cpf(Cpf.valor("123.456.744-07")).nota1(Notas.decimos(10.0)).build());
+
+        // Act
+        ResultadoAlteracaoNotas resultado = alunoService.alterarNotasDaTurma("1001D", alteracoes);
+
+        // Assert
+        logger.debug("📊 Alterados: {}, não encontrados: {}", resultado.getAlterados().size(),
+                resultado.getNaoEncontrados());
+        assertThat(resultado.getAlterados()).extracting(AlunoDTO::getCpf).containsExactly(Cpf.valor("123.456.755-51"));
+        assertThat(resultado.getNaoEncontrados()).containsExactly(Cpf.valor("123.456.744-07"));
+        assertThat(alunoRepository.findById(Cpf.valor("123.456.744-07")).orElseThrow().getNota1()).isEqualTo(Notas.decimos(8.0));
+
+        logger.info("✅ Teste passou! Apenas o aluno da turma 1001D foi alterado");
+    }
+
+    @Test
+    void lancarNotasDaTurmaRecalculaSituacaoEmLote() {
+        logger.info("🧪 Testando lançamento da nota 3 para a turma com os UPDATEs em lote");
+
+        // Arrange: notas 8.0, 7.0 e 9.0 (média 8.00, aprovado)
+        Aluno incluido = alunoService.incluirAluno(novoAluno("123.456.733-46"));
+        alunoService.incluirAluno(novoAluno("123.456.722-93"));
+        Map<String, Double> notas = new LinkedHashMap<>();
+        notas.put("123.456.733-46", 0.5);
+        notas.put("123.456.722-93", 10.0);
+        notas.put("000.000.001-91", 7.0);
+
+        // Act
+        logger.info("💾 Lançando a nota 3 de {} alunos...", notas.size());
+        ResultadoLancamentoNotas resultado = alunoService.lancarNotas("1001D", 3, notas);
+
+        // Assert
+        Aluno reprovado = alunoRepository.findById(Cpf.valor("123.456.733-46")).orElseThrow();
+        Aluno aprovado = alunoRepository.findById(Cpf.valor("123.456.722-93")).orElseThrow();
+        logger.debug("📊 Alterados: {}, não encontrados: {}; médias {} e {}", resultado.getAlterados(),
+                resultado.getNaoEncontrados(), reprovado.getMedia(), aprovado.getMedia());
+        assertThat(resultado.getAlterados()).isEqualTo(2);
+        assertThat(resultado.getNaoEncontrados()).containsExactly(Cpf.valor("000.000.001-91"));
+        // (8.0 + 7.0 + 0.5) / 3 = 5.1666... -> 5.17
+        assertThat(reprovado.getNota3()).isEqualTo(Notas.decimos(0.5));
+        assertThat(reprovado.getMedia()).isEqualTo(5.17);
+        assertThat(reprovado.getSituacao()).isEqualTo(SituacaoAluno.REPROVADO);
+        assertThat(reprovado.getVersao()).isEqualTo(incluido.getVersao() + 1);
+        assertThat(aprovado.getSituacao()).isEqualTo(SituacaoAluno.APROVADO);
+        assertThrows(BusinessException.class, () -> alunoService.lancarNotas("1001D", 4, notas));
+
+        logger.info("✅ Teste passou! Situação recalculada no mesmo UPDATE do lançamento");
+    }
+
+    @Test
+    void lancarNotasDevolveAsLinhasAntesEDepoisDoLancamento() {
+        logger.info("🧪 Testando que o lançamento devolve os retratos de cada aluno gravado (OLD TABLE)");
+
+        // Arrange: notas 8.0, 7.0 e 9.0 (média 8.00, aprovado)
+        Aluno incluido = alunoService.incluirAluno(novoAluno("123.456.733-46"));
+        Map<Long, Short> notas = new LinkedHashMap<>();
+        notas.put(incluido.getCpf(), Notas.decimos(2.0));
+        notas.put(Cpf.valor("000.000.001-91"), Notas.decimos(7.0));
+
+        // Act
+        List<NotasGravadas> gravadas = alunoRepository.lancarNotas("1001D", 2, notas, PoliticaCompilada.PADRAO);
+
+        // Assert
+        Aluno gravado = alunoRepository.findById(incluido.getCpf()).orElseThrow();
+        logger.debug("📊 Gravadas: {}", gravadas);
+        assertThat(gravadas).hasSize(1);
+        NotasGravadas lancada = gravadas.get(0);
+        assertThat(lancada.getAnterior().getNota2()).isEqualTo(Notas.decimos(7.0));
+        assertThat(lancada.getAnterior().getSituacao()).isEqualTo(SituacaoAluno.APROVADO);
+        // (8.0 + 2.0 + 9.0) / 3 = 6.333... -> 6.33
+        assertThat(lancada.getAtual().getNota2()).isEqualTo(Notas.decimos(2.0));
+        assertThat(lancada.getAtual().getMedia()).isEqualTo(gravado.getMedia()).isEqualTo(6.33);
+        assertThat(lancada.getAtual().getSituacao()).isEqualTo(gravado.getSituacao()).isEqualTo(SituacaoAluno.REPROVADO);
+        assertThat(lancada.getVersao()).isEqualTo(gravado.getVersao());
+
+        logger.info("✅ Teste passou! Retratos do lançamento conferem com a linha gravada");
+    }
+
+    @Test
+    void gravacoesCalculamASituacaoPelaPoliticaDaTurma() {
+        logger.info("🧪 Testando que inclusão, gravação da política, alteração, lançamento e reavaliação usam a política");
+
+        // Arrange: notas 9.0, 9.0 e 6.0 (média simples 8.00; com peso 2 na terceira, 7.50)
+        Aluno primeiro = alunoService.incluirAluno(alunoDaTurma("123.456.711-30", "1001P", 9.0, 9.0, 6.0));
+        assertThat(primeiro.getSituacao()).isEqualTo(SituacaoAluno.APROVADO);
+        PoliticaAprovacao politica = new PoliticaAprovacao(null, 1, 1, 2, new BigDecimal("8.00"), 0);
+
+        // Act & Assert: gravar a política reavalia a turma
+        logger.info("💾 Gravando a política da turma 1001P...");
+        politicaAprovacaoService.salvarPolitica("1001P", politica);
+        assertThat(situacaoGravada(primeiro.getCpf())).isEqualTo(SituacaoAluno.REPROVADO);
+
+        Aluno segundo = alunoService.incluirAluno(alunoDaTurma("123.456.722-93", "1001P", 9.0, 9.0, 6.0));
+        assertThat(segundo.getSituacao()).isEqualTo(SituacaoAluno.REPROVADO);
+
+        // (10.0 + 9.0 + 2 * 6.0) / 4 = 7.75: reprovado pela política, aprovado pela média simples (8.33)
+        NotasGravadas alteradas = alunoService.alterarNotas(primeiro.getCpf(),
+                AlteracaoNotas.builder().nota1(Notas.decimos(10.0)).build(), null);
+        assertThat(alteradas.getAtual().getSituacao()).isEqualTo(situacaoGravada(primeiro.getCpf()))
+                .isEqualTo(SituacaoAluno.REPROVADO);
+
+        // (9.0 + 9.0 + 2 * 9.0) / 4 = 9.00: aprovado
+        alunoService.lancarNotas("1001P", 3, Map.of("123.456.722-93", 9.0));
+        assertThat(situacaoGravada(segundo.getCpf())).isEqualTo(SituacaoAluno.APROVADO);
+
+        // A situação gravada já é a da política: a reavaliação geral não muda nenhum aluno
+        assertThat(alunoService.avaliarAlunos(100).getAlterados()).isZero();
+
+        logger.info("✅ Teste passou! Todas as gravações seguiram a política da turma");
+    }
+
+    @Test
+    void politicaSoValeParaAsDemaisGravacoesDepoisDoCommit() {
+        logger.info("🧪 Testando que a política só é publicada depois do commit, e nunca quando desfeita");
+
+        // Arrange: notas 9.0, 9.0 e 6.0 (média simples 8.00; com peso 2 na terceira, 7.50)
+        Aluno primeiro = alunoService.incluirAluno(alunoDaTurma("987.654.311-38", "1001Q", 9.0, 9.0, 6.0));
+        PoliticaAprovacao politica = new PoliticaAprovacao(null, 1, 1, 2, new BigDecimal("8.00"), 0);
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+
+        // Act & Assert: desfeita, a política nunca é vista pelas demais gravações
+        transacao.executeWithoutResult(status -> {
+            politicaAprovacaoService.salvarPolitica("1001Q", politica);
+            assertThat(politicaAprovacaoService.compilada("1001Q")).isSameAs(PoliticaCompilada.PADRAO);
+            status.setRollbackOnly();
+        });
+        assertThat(politicaAprovacaoService.compilada("1001Q")).isSameAs(PoliticaCompilada.PADRAO);
+        assertThat(situacaoGravada(primeiro.getCpf())).isEqualTo(SituacaoAluno.APROVADO);
+
+        // Uma inclusão concorrente, confirmada antes do commit da política, usa a política anterior
+        ExecutorService outraThread = Executors.newSingleThreadExecutor();
+        try {
+            transacao.executeWithoutResult(status -> {
+                politicaAprovacaoService.salvarPolitica("1001Q", politica);
+                Aluno concorrente = aguardar(outraThread.submit(() -> alunoService.incluirAluno(
+                        alunoDaTurma("987.654.322-90", "1001Q", 9.0, 9.0, 6.0))));
+                assertThat(concorrente.getSituacao()).isEqualTo(SituacaoAluno.APROVADO);
+            });
+        } finally {
+            outraThread.shutdown();
+        }
+
+        // Depois do commit: política publicada e a inclusão concorrente reavaliada por ela
+        assertThat(politicaAprovacaoService.compilada("1001Q")).isNotSameAs(PoliticaCompilada.PADRAO);
+        assertThat(situacaoGravada(primeiro.getCpf())).isEqualTo(SituacaoAluno.REPROVADO);
+        assertThat(situacaoGravada(Cpf.valor("987.654.322-90"))).isEqualTo(SituacaoAluno.REPROVADO);
+
+        logger.info("✅ Teste passou! Política publicada só depois do commit e gravação concorrente corrigida");
+    }
+
+    private static <T> T aguardar(Future<T> tarefa) {
+        try {
+            return tarefa.get(30, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private SituacaoAluno situacaoGravada(long cpf) {
+        return alunoRepository.findById(cpf).orElseThrow().getSituacao();
+    }
+
+    private static Aluno alunoDaTurma(String cpf, String turma, double nota1, double nota2, double nota3) {
+        Aluno aluno = novoAluno(cpf);
+        aluno.setTurma(turma);
+        aluno.setNota1(Notas.decimos(nota1));
+        aluno.setNota2(Notas.decimos(nota2));
+        aluno.setNota3(Notas.decimos(nota3));
+        return aluno;
+    }
+
+    private static Aluno novoAluno(String cpf) {
+        return Aluno.builder()
+                .cpf(Cpf.valor(cpf))
+                .nome("Aluno Contagem Queries")
+                .endereco("Rua das Estatísticas, 800, Bairro Teste, Cidade Teste")
+                .turma("1001D")
+                .nota1(Notas.decimos(8.0))
+                .nota2(Notas.decimos(7.0))
+                .nota3(Notas.decimos(9.0))
+                .build();
+    }
+}
@@ -0,0 +1,154 @@
+package services.integracao;
+
+import br.com.cadastro.alunos.model.dto.AlteracaoNotas;
+import br.com.cadastro.alunos.model.dto.AlunoDTO;
+import br.com.cadastro.alunos.model.entities.Aluno;
+import br.com.cadastro.alunos.model.entities.Cpf;
+import br.com.cadastro.alunos.model.entities.Notas;
+import br.com.cadastro.alunos.model.repository.AlunoRepository;
+import br.com.cadastro.alunos.model.services.AlunoService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("integracao")
+@SpringBootTest(classes = br.com.cadastro.alunos.CadastroAlunosApplication.class)
+@ActiveProfiles("test")
+@SuppressWarnings("java:S*")
+class CacheSegundoNivelIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheSegundoNivelIntegrationTest.class);
+
+    private static final String TURMA = "1001E";
+
+    @Autowired
+    private AlunoService alunoService;
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estatisticas;
+
+    @BeforeEach
+    void setUp() {
+        logger.info("=== Iniciando teste de integração do cache de segundo nível ===");
+        alunoRepository.deleteAll();
+        alunoService.incluirAluno(novoAluno("123.456.711-30"));
+        alunoService.incluirAluno(novoAluno("123.456.722-93"));
+        alunoService.incluirAluno(novoAluno("123.456.733-46"));
+
+        // Os mesmos CPFs são removidos e incluídos a cada teste: o cache começa vazio
+        entityManagerFactory.getCache().evictAll();
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+        logger.debug("✅ Turma {} com 3 alunos; cache de segundo nível e estatísticas do Hibernate zerados", TURMA);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.debug("🧹 Limpando dados de teste...");
+        alunoRepository.deleteAll();
+    }
+
+    @Test
+    void paginasRepetidasSaoRespondidasPeloCache() {
+        logger.info("🧪 Testando que páginas e alunos repetidos são lidos do cache de segundo nível");
+
+        // Arrange
+        Pageable pagina = PageRequest.of(0, 2);
+        long cpf = Cpf.valor("123.456.722-93");
+
+        // Act
+        Page<AlunoDTO> primeira = alunoRepository.findByTurma(TURMA, pagina);
+        long consultasNoBanco = estatisticas.getQueryExecutionCount();
+        Page<AlunoDTO> segunda = alunoRepository.findByTurma(TURMA, pagina);
+        alunoRepository.findById(cpf).orElseThrow();
+        alunoRepository.findById(cpf).orElseThrow();
+
+        // Assert
+        logger.debug("📊 Consultas no banco: {}, acertos no cache de consultas: {}, acertos de entidade: {}",
+                estatisticas.getQueryExecutionCount(), estatisticas.getQueryCacheHitCount(),
+                estatisticas.getSecondLevelCacheHitCount());
+        assertThat(segunda.getContent()).extracting(AlunoDTO::getCpf)
+                .containsExactlyElementsOf(primeira.getContent().stream().map(AlunoDTO::getCpf).toList());
+        assertThat(segunda.getTotalElements()).isEqualTo(3);
+        // A página e a contagem da segunda leitura vêm do cache de consultas
+        assertThat(estatisticas.getQueryExecutionCount()).isEqualTo(consultasNoBanco);
+        assertThat(estatisticas.getQueryCacheHitCount()).isEqualTo(2);
+        // Só a primeira leitura por CPF vai ao banco
+        assertThat(estatisticas.getSecondLevelCacheHitCount()).isEqualTo(1);
+        assertThat(estatisticas.getEntityLoadCount()).isEqualTo(1);
+
+        logger.info("✅ Teste passou! {} consultas no banco para duas leituras da página",
+                estatisticas.getQueryExecutionCount());
+    }
+
+    @Test
+    void gravacaoPorJdbcInvalidaOCache() {
+        logger.info("🧪 Testando que notas gravadas por JDBC pelo AlunoService não deixam leituras antigas no cache");
+
+        // Arrange: página e aluno em cache
+        Pageable pagina = PageRequest.of(0, 3);
+        long cpf = Cpf.valor("123.456.711-30");
+        alunoRepository.findByTurma(TURMA, pagina);
+        Aluno antes = alunoRepository.findById(cpf).orElseThrow();
+        AlteracaoNotas notas = AlteracaoNotas.builder().nota1(Notas.decimos(2.0)).build();
+
+        // Act
+        logger.info("💾 Alterando nota1 e lançando a nota2 da turma...");
+        alunoService.alterarNotas(cpf, notas, antes.getVersao());
+        alunoService.lancarNotas(TURMA, 2, Map.of("123.456.733-46", 4.5));
+        Page<AlunoDTO> depois = alunoRepository.findByTurma(TURMA, pagina);
+        Aluno alterado = alunoRepository.findById(cpf).orElseThrow();
+
+        // Assert
+        logger.debug("📊 Acertos no cache de consultas: {}, versão {} -> {}",
+                estatisticas.getQueryCacheHitCount(), antes.getVersao(), alterado.getVersao());
+        assertThat(alterado.getNota1()).isEqualTo(Notas.decimos(2.0));
+        assertThat(alterado.getVersao()).isEqualTo(antes.getVersao() + 1);
+        assertThat(depois.getContent())
+                .filteredOn(aluno -> aluno.getCpf() == cpf)
+                .singleElement()
+                .extracting(AlunoDTO::getNota1)
+                .isEqualTo(Notas.decimos(2.0));
+        assertThat(depois.getContent())
+                .filteredOn(aluno -> aluno.getCpf() == Cpf.valor("123.456.733-46"))
+                .singleElement()
+                .extracting(AlunoDTO::getNota2)
+                .isEqualTo(Notas.decimos(4.5));
+        assertThat(estatisticas.getQueryCacheHitCount()).isZero();
+
+        logger.info("✅ Teste passou! Nova nota lida do banco após a gravação por JDBC");
+    }
+
+    private static Aluno novoAluno(String cpf) {
+        return Aluno.builder()
+                .cpf(Cpf.valor(cpf))
+                .nome("Aluno Cache Segundo Nível")
+                .endereco("Rua do Cache, 900, Bairro Teste, Cidade Teste")
+                .turma(TURMA)
+                .nota1(Notas.decimos(8.0))
+                .nota2(Notas.decimos(7.0))
+                .nota3(Notas.decimos(9.0))
+                .build();
+    }
+}
@@ -0,0 +1,207 @@
+package services.integracao;
+
+import br.com.cadastro.alunos.CadastroAlunosApplication;
+import br.com.cadastro.alunos.model.entities.Aluno;
+import br.com.cadastro.alunos.model.entities.Cpf;
+import br.com.cadastro.alunos.model.entities.Notas;
+import br.com.cadastro.alunos.model.repository.AlunoRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste de carga de {@code GET /v2/alunos/por-turma} com threads de plataforma e com threads virtuais.
+ * Não roda no build padrão; execute com:
+ * <pre>mvn test -Dtest=CargaPorTurmaTest -Dcadastro.carga=true [-Dcadastro.carga.duracao=PT20S]</pre>
+ * O cache de consultas é desligado para que toda requisição vá ao banco. A comparação é gravada em
+ * {@code target/carga-por-turma.md}.
+ */
+@Tag("carga")
+@EnabledIfSystemProperty(named = "cadastro.carga", matches = "true")
+@SuppressWarnings("java:S*")
+class CargaPorTurmaTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(CargaPorTurmaTest.class);
+
+    private static final int[] CLIENTES = {50, 500, 5000};
+    private static final int TURMAS = 20;
+    private static final int ALUNOS_POR_TURMA = 500;
+    private static final Duration AQUECIMENTO = Duration.ofSeconds(5);
+    private static final Duration DURACAO =
+            Duration.parse(System.getProperty("cadastro.carga.duracao", "PT20S"));
+
+    private record Medicao(String modo, int clientes, long requisicoes, long erros,
+                           double porSegundo, double p99Ms) {
+    }
+
+    @Test
+    void compararThreadsDePlataformaEVirtuais() throws Exception {
+        logger.info("🧪 Comparando vazão e p99 de /v2/alunos/por-turma com threads de plataforma e virtuais");
+        logger.info("📊 Clientes: {}, duração por nível: {}", Arrays.toString(CLIENTES), DURACAO);
+
+        // Act
+        List<Medicao> medicoes = new ArrayList<>();
+        medicoes.addAll(medirModo("plataforma", false));
+        medicoes.addAll(medirModo("virtual", true));
+
+        // Assert
+        String tabela = tabela(medicoes);
+        logger.info("📈 Resultado:\n{}", tabela);
+        Files.writeString(Path.of("target", "carga-por-turma.md"), tabela);
+        for (Medicao medicao : medicoes) {
+            assertThat(medicao.requisicoes()).isPositive();
+            // Tolera até 1% de falhas (timeouts de conexão no nível mais alto de concorrência)
+            assertThat(medicao.erros()).isLessThanOrEqualTo(medicao.requisicoes() / 100);
+        }
+
+        logger.info("✅ Teste de carga concluído; comparação gravada em target/carga-por-turma.md");
+    }
+
+    private List<Medicao> medirModo(String modo, boolean threadsVirtuais) throws Exception {
+        logger.info("🚀 Subindo a aplicação com threads {}", modo);
+        try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(CadastroAlunosApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.profiles.active=test",
+                        "spring.threads.virtual.enabled=" + threadsVirtuais,
+                        "spring.datasource.url=jdbc:h2:mem:carga-" + modo,
+                        "spring.jpa.show-sql=false",
+                        "cadastro.cache.consultas.tamanho-maximo=0")
+                .run();
+             HttpClient cliente = HttpClient.newBuilder()
+                     .executor(Executors.newVirtualThreadPerTaskExecutor())
+                     .connectTimeout(Duration.ofSeconds(30))
+                     .build()) {
+
+            popular(contexto.getBean(AlunoRepository.class));
+            String base = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port")
+                    + "/v2/alunos/por-turma";
+
+            medir(cliente, base, modo, CLIENTES[0], AQUECIMENTO);
+            List<Medicao> medicoes = new ArrayList<>();
+            for (int clientes : CLIENTES) {
+                Medicao medicao = medir(cliente, base, modo, clientes, DURACAO);
+                logger.info("📊 [{}] {} clientes: {} req/s, p99 {} ms, {} erros", modo, clientes,
+                        String.format("%.0f", medicao.porSegundo()), String.format("%.1f", medicao.p99Ms()),
+                        medicao.erros());
+                medicoes.add(medicao);
+            }
+            return medicoes;
+        }
+    }
+
+    private static void popular(AlunoRepository alunoRepository) {
+        List<Aluno> alunos = new ArrayList<>(TURMAS * ALUNOS_POR_TURMA);
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        for (int i = 0; i < TURMAS * ALUNOS_POR_TURMA; i++) {
+            Aluno aluno = Aluno.builder()
+                    .cpf(Cpf.comDigitosVerificadores(i + 1L))
+                    .nome("Aluno Carga " + i)
+                    .endereco("Rua da Carga, " + i + ", Bairro Teste, Cidade Teste")
+                    .turma("Turma " + (i % TURMAS))
+                    .nota1((short) aleatorio.nextInt(101))
+                    .nota2((short) aleatorio.nextInt(101))
+                    .nota3((short) aleatorio.nextInt(101))
+                    .build();
+            aluno.atualizarMedia();
+            aluno.setSituacao(Notas.situacao(aluno.getMedia()));
+            alunos.add(aluno);
+        }
+        alunoRepository.inserirLote(alunos);
+        logger.debug("💾 {} alunos inseridos em {} turmas", alunos.size(), TURMAS);
+    }
+
+    private static Medicao medir(HttpClient cliente, String base, String modo, int clientes, Duration duracao)
+            throws Exception {
+        long inicio = System.nanoTime();
+        long fim = inicio + duracao.toNanos();
+        List<Future<long[]>> latencias = new ArrayList<>(clientes);
+        long[] erros = new long[clientes];
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clientes; c++) {
+                int indice = c;
+                latencias.add(executor.submit(() -> executarCliente(cliente, base, fim, erros, indice)));
+            }
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        long[] todas = latencias.stream().map(CargaPorTurmaTest::obter).flatMapToLong(Arrays::stream).toArray();
+        Arrays.sort(todas);
+        double p99Ms = todas.length == 0 ? 0 : todas[(int) Math.ceil(todas.length * 0.99) - 1] / 1e6;
+        return new Medicao(modo, clientes, todas.length, Arrays.stream(erros).sum(), todas.length / segundos, p99Ms);
+    }
+
+    private static long[] executarCliente(HttpClient cliente, String base, long fim, long[] erros, int indice) {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        long[] latencias = new long[1024];
+        int total = 0;
+        while (System.nanoTime() < fim) {
+            HttpRequest requisicao = HttpRequest.newBuilder(URI.create(
+                            base + "?turma=Turma%20" + aleatorio.nextInt(TURMAS) + "&page=" + aleatorio.nextInt(5)))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+            long antes = System.nanoTime();
+            try {
+                HttpResponse<Void> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                if (resposta.statusCode() != 200) {
+                    erros[indice]++;
+                    continue;
+                }
+            } catch (IOException e) {
+                erros[indice]++;
+                continue;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (total == latencias.length) {
+                latencias = Arrays.copyOf(latencias, total * 2);
+            }
+            latencias[total++] = System.nanoTime() - antes;
+        }
+        return Arrays.copyOf(latencias, total);
+    }
+
+    private static long[] obter(Future<long[]> futuro) {
+        try {
+            return futuro.get();
+        } catch (Exception e) {
+            throw new IllegalStateException("Cliente de carga falhou", e);
+        }
+    }
+
+    private static String tabela(List<Medicao> medicoes) {
+        StringBuilder tabela = new StringBuilder()
+                .append("| Threads | Clientes | Requisições | Erros | Req/s | p99 (ms) |\n")
+                .append("|---|---:|---:|---:|---:|---:|\n");
+        for (Medicao medicao : medicoes) {
+            tabela.append(String.format("| %s | %d | %d | %d | %.0f | %.1f |%n", medicao.modo(), medicao.clientes(),
+                    medicao.requisicoes(), medicao.erros(), medicao.porSegundo(), medicao.p99Ms()));
+        }
+        return tabela.toString();
+    }
+}
@@ -12,6 +12,9 @@ import org.junit.jupiter.api.Test;
 
 import br.com.cadastro.alunos.model.dto.AlunoDTO;
 import br.com.cadastro.alunos.model.entities.Aluno;
+import br.com.cadastro.alunos.model.entities.Cpf;
+import br.com.cadastro.alunos.model.entities.Notas;
+import br.com.cadastro.alunos.model.entities.SituacaoAluno;
 import br.com.cadastro.alunos.model.mapper.AlunoMapper;
 
 @Tag("unitario")
@@ -27,22 +30,22 @@ class AlunoMapperTest {
 
     @Test
     void deveMappearAlunoParaDTOComSucesso() {
-        logger.info("Testando mapeamento de aluno aprovado com campo 'Sim'");
+        logger.info("Testando mapeamento de aluno aprovado com situação APROVADO");
 
         // Arrange
-        Aluno aluno = new Aluno(
-                "123.456.789-09",
+        Aluno aluno = novoAluno(
+                Cpf.valor("123.456.789-09"),
                 "Carlos",
                 "Rua A, número 123, Bairro Exemplo, Cidade Teste",
                 "Turma 1",
                 9.0,
                 8.0,
                 7.0,
-                "Sim"
+                SituacaoAluno.APROVADO
         );
 
         logger.debug("Aluno criado: CPF={}, Nome={}, Notas=[{}, {}, {}], Aprovado={}",
-                aluno.getCpf(), aluno.getNome(), aluno.getNota1(), aluno.getNota2(), aluno.getNota3(), aluno.getAprovado());
+                aluno.getCpf(), aluno.getNome(), aluno.getNota1(), aluno.getNota2(), aluno.getNota3(), aluno.getSituacao());
 
         // Act
         logger.info("Executando mapeamento para DTO...");
@@ -51,14 +54,14 @@ class AlunoMapperTest {
         // Assert
         logger.info("Verificando resultado do mapeamento...");
         assertNotNull(dto);
-        assertEquals("123.456.789-09", dto.getCpf());
+        assertEquals(Cpf.valor("123.456.789-09"), dto.getCpf());
         assertEquals("Carlos", dto.getNome());
         assertEquals("Turma 1", dto.getTurma());
         assertEquals(8.0, dto.getMedia(), 0.01); // Média com 2 casas decimais
-        assertEquals("APROVADO", dto.getSituacao());
-        assertEquals(9.0, dto.getNota1());
-        assertEquals(8.0, dto.getNota2());
-        assertEquals(7.0, dto.getNota3());
+        assertEquals(SituacaoAluno.APROVADO, dto.getSituacao());
+        assertEquals(Notas.decimos(9.0), dto.getNota1());
+        assertEquals(Notas.decimos(8.0), dto.getNota2());
+        assertEquals(Notas.decimos(7.0), dto.getNota3());
 
         logger.info("✅ Teste passou! DTO mapeado: CPF={}, Nome={}, Média={}, Situação={}",
                 dto.getCpf(), dto.getNome(), dto.getMedia(), dto.getSituacao());
@@ -81,11 +84,11 @@ class AlunoMapperTest {
 
     @Test
     void deveCalcularMediaeStatusParaAlunoAprovado() {
-        logger.info("Testando cálculo de média e status para aluno aprovado (campo aprovado = null)");
+        logger.info("Testando cálculo de média e status para aluno aprovado (situação = null)");
 
         // Arrange
-        Aluno aluno = new Aluno(
-                "123.456.789-09",
+        Aluno aluno = novoAluno(
+                Cpf.valor("123.456.789-09"),
                 "Carlos",
                 "Rua A, número 123, Bairro Exemplo, Cidade Teste",
                 "Turma 1",
@@ -95,7 +98,7 @@ class AlunoMapperTest {
                 null // Status será calculado pelo mapper
         );
 
-        logger.debug("Aluno criado: Notas=[{}, {}, {}], Campo aprovado=null",
+        logger.debug("Aluno criado: Notas=[{}, {}, {}], Situação=null",
                 aluno.getNota1(), aluno.getNota2(), aluno.getNota3());
 
         double mediaEsperada = (7.5 + 7.0 + 7.0) / 3;
@@ -108,18 +111,18 @@ class AlunoMapperTest {
         // Assert
         logger.info("Verificando média e situação calculadas...");
         assertEquals(7.17, dto.getMedia(), 0.01); // (7.5 + 7.0 + 7.0) / 3 = 7.17
-        assertEquals("APROVADO", dto.getSituacao());
+        assertEquals(SituacaoAluno.APROVADO, dto.getSituacao());
 
         logger.info("✅ Teste passou! Média calculada: {}, Situação: {}", dto.getMedia(), dto.getSituacao());
     }
 
     @Test
     void deveCalcularMediaEStatusParaAlunoReprovado() {
-        logger.info("Testando cálculo de média e status para aluno reprovado (campo aprovado = null)");
+        logger.info("Testando cálculo de média e status para aluno reprovado (situação = null)");
 
         // Arrange
-        Aluno aluno = new Aluno(
-                "123.456.789-09",
+        Aluno aluno = novoAluno(
+                Cpf.valor("123.456.789-09"),
                 "Carlos",
                 "Rua A, número 123, Bairro Exemplo, Cidade Teste",
                 "Turma 1",
@@ -129,7 +132,7 @@ class AlunoMapperTest {
                 null // Status será calculado pelo mapper
         );
 
-        logger.debug("Aluno criado: Notas=[{}, {}, {}], Campo aprovado=null",
+        logger.debug("Aluno criado: Notas=[{}, {}, {}], Situação=null",
                 aluno.getNota1(), aluno.getNota2(), aluno.getNota3());
 
         double mediaEsperada = (6.0 + 6.0 + 6.0) / 3;
@@ -142,7 +145,7 @@ class AlunoMapperTest {
         // Assert
         logger.info("Verificando média e situação calculadas...");
         assertEquals(6.0, dto.getMedia(), 0.01);
-        assertEquals("REPROVADO", dto.getSituacao());
+        assertEquals(SituacaoAluno.REPROVADO, dto.getSituacao());
 
         logger.info("✅ Teste passou! Média calculada: {}, Situação: {}", dto.getMedia(), dto.getSituacao());
     }
@@ -152,8 +155,8 @@ class AlunoMapperTest {
         logger.info("Testando formatação de média com duas casas decimais");
 
         // Arrange
-        Aluno aluno = new Aluno(
-                "123.456.789-09",
+        Aluno aluno = novoAluno(
+                Cpf.valor("123.456.789-09"),
                 "Carlos",
                 "Rua A, número 123, Bairro Exemplo, Cidade Teste",
                 "Turma 1",
@@ -183,22 +186,22 @@ class AlunoMapperTest {
 
     @Test
     void deveMappearAlunoReprovadoParaDTOComSucesso() {
-        logger.info("Testando mapeamento de aluno reprovado com campo 'Não'");
+        logger.info("Testando mapeamento de aluno reprovado com situação REPROVADO");
 
         // Arrange
-        Aluno aluno = new Aluno(
-                "123.456.789-09",
+        Aluno aluno = novoAluno(
+                Cpf.valor("123.456.789-09"),
                 "Ana",
                 "Rua B, número 456, Bairro Exemplo, Cidade Teste",
                 "Turma 2",
                 5.0,
                 6.0,
                 4.0,
-                "Não"  // Aluno reprovado
+                SituacaoAluno.REPROVADO  // Aluno reprovado
         );
 
         logger.debug("Aluno criado: CPF={}, Nome={}, Notas=[{}, {}, {}], Aprovado={}",
-                aluno.getCpf(), aluno.getNome(), aluno.getNota1(), aluno.getNota2(), aluno.getNota3(), aluno.getAprovado());
+                aluno.getCpf(), aluno.getNome(), aluno.getNota1(), aluno.getNota2(), aluno.getNota3(), aluno.getSituacao());
 
         // Act
         logger.info("Executando mapeamento para DTO...");
@@ -207,66 +210,66 @@ class AlunoMapperTest {
         // Assert
         logger.info("Verificando resultado do mapeamento...");
         assertNotNull(dto);
-        assertEquals("123.456.789-09", dto.getCpf());
+        assertEquals(Cpf.valor("123.456.789-09"), dto.getCpf());
         assertEquals("Ana", dto.getNome());
         assertEquals("Turma 2", dto.getTurma());
         assertEquals(5.0, dto.getMedia(), 0.01);
-        assertEquals("REPROVADO", dto.getSituacao());
-        assertEquals(5.0, dto.getNota1());
-        assertEquals(6.0, dto.getNota2());
-        assertEquals(4.0, dto.getNota3());
+        assertEquals(SituacaoAluno.REPROVADO, dto.getSituacao());
+        assertEquals(Notas.decimos(5.0), dto.getNota1());
+        assertEquals(Notas.decimos(6.0), dto.getNota2());
+        assertEquals(Notas.decimos(4.0), dto.getNota3());
 
         logger.info("✅ Teste passou! DTO mapeado: CPF={}, Nome={}, Média={}, Situação={}",
                 dto.getCpf(), dto.getNome(), dto.getMedia(), dto.getSituacao());
     }
 
     @Test
-    void deveMappearAlunoComAPROVADOMaiusculoParaDTOComSucesso() {
-        logger.info("Testando mapeamento de aluno com campo 'APROVADO' (todo maiúsculo)");
+    void deveMappearSituacaoPersistidaSemRecalcularPelaMedia() {
+        logger.info("Testando mapeamento de aluno com situação persistida divergente da média");
 
-        Aluno aluno = new Aluno(
-                "123.456.789-09",
+        Aluno aluno = novoAluno(
+                Cpf.valor("123.456.789-09"),
                 "João",
                 "Rua C, número 789, Bairro Exemplo, Cidade Teste",
                 "Turma 3",
-                9.0,
-                8.0,
-                7.0,
-                "APROVADO"  // Valor inconsistente que existe no banco
+                0.0,
+                0.0,
+                9.3,
+                SituacaoAluno.APROVADO  // Situação gravada no banco (STATUS = 1)
         );
 
-        logger.debug("Aluno criado: CPF={}, Nome={}, Aprovado='{}' (valor inconsistente do banco)",
-                aluno.getCpf(), aluno.getNome(), aluno.getAprovado());
+        logger.debug("Aluno criado: CPF={}, Nome={}, Situação={} (média {} abaixo de 7.0)",
+                aluno.getCpf(), aluno.getNome(), aluno.getSituacao(), aluno.calcularMedia());
 
         // Act
-        logger.info("Executando mapeamento com valor inconsistente...");
+        logger.info("Executando mapeamento com situação persistida...");
         AlunoDTO dto = alunoMapper.toDTO(aluno);
 
         // Assert
-        logger.info("Verificando se o valor inconsistente é tratado corretamente...");
+        logger.info("Verificando se a situação persistida é usada sem recálculo...");
         assertNotNull(dto);
-        assertEquals("APROVADO", dto.getSituacao());
+        assertEquals(SituacaoAluno.APROVADO, dto.getSituacao());
 
-        logger.info("✅ Teste passou! Valor 'APROVADO' mapeado corretamente para situação: {}", dto.getSituacao());
+        logger.info("✅ Teste passou! Situação persistida mapeada diretamente: {}", dto.getSituacao());
     }
 
     @Test
     void deveMappearAlunoSemCampoAprovadoUsandoMedia() {
-        logger.info("Testando mapeamento de aluno sem campo aprovado, usando média > 7.0");
+        logger.info("Testando mapeamento de aluno sem situação persistida, usando média > 7.0");
 
-        // Arrange - testando quando o campo aprovado é null
-        Aluno aluno = new Aluno(
-                "123.456.789-09",
+        // Arrange - testando quando a situação é null
+        Aluno aluno = novoAluno(
+                Cpf.valor("123.456.789-09"),
                 "Pedro",
                 "Rua D, número 101, Bairro Exemplo, Cidade Teste",
                 "Turma 4",
                 8.0,
                 9.0,
                 7.5,
-                null  // Campo aprovado é null
+                null  // Situação não persistida
         );
 
-        logger.debug("Aluno criado: Notas=[{}, {}, {}], Campo aprovado=null",
+        logger.debug("Aluno criado: Notas=[{}, {}, {}], Situação=null",
                 aluno.getNota1(), aluno.getNota2(), aluno.getNota3());
 
         double mediaCalculada = (8.0 + 9.0 + 7.5) / 3;
@@ -279,7 +282,7 @@ class AlunoMapperTest {
         // Assert
         logger.info("Verificando se a situação foi calculada corretamente pela média...");
         assertNotNull(dto);
-        assertEquals("APROVADO", dto.getSituacao()); // Média é 8.17, > 7.0
+        assertEquals(SituacaoAluno.APROVADO, dto.getSituacao()); // Média é 8.17, > 7.0
 
         logger.info("✅ Teste passou! Situação calculada pela média: {} (média: {})",
                 dto.getSituacao(), dto.getMedia());
@@ -287,21 +290,21 @@ class AlunoMapperTest {
 
     @Test
     void deveMappearAlunoSemCampoAprovadoUsandoMediaReprovado() {
-        logger.info("Testando mapeamento de aluno sem campo aprovado, usando média ≤ 7.0");
+        logger.info("Testando mapeamento de aluno sem situação persistida, usando média ≤ 7.0");
 
-        // Arrange - testando quando o campo aprovado é null e média < 7
-        Aluno aluno = new Aluno(
-                "123.456.789-09",
+        // Arrange - testando quando a situação é null e média < 7
+        Aluno aluno = novoAluno(
+                Cpf.valor("123.456.789-09"),
                 "Maria",
                 "Rua E, número 202, Bairro Exemplo, Cidade Teste",
                 "Turma 5",
                 5.0,
                 6.0,
                 4.0,
-                null  // Campo aprovado é null
+                null  // Situação não persistida
         );
 
-        logger.debug("Aluno criado: Notas=[{}, {}, {}], Campo aprovado=null",
+        logger.debug("Aluno criado: Notas=[{}, {}, {}], Situação=null",
                 aluno.getNota1(), aluno.getNota2(), aluno.getNota3());
 
         double mediaCalculada = (5.0 + 6.0 + 4.0) / 3;
@@ -314,9 +317,26 @@ class AlunoMapperTest {
         // Assert
         logger.info("Verificando se a situação foi calculada corretamente pela média...");
         assertNotNull(dto);
-        assertEquals("REPROVADO", dto.getSituacao()); // Média é 5.0, <= 7.0
+        assertEquals(SituacaoAluno.REPROVADO, dto.getSituacao()); // Média é 5.0, <= 7.0
 
         logger.info("✅ Teste passou! Situação calculada pela média: {} (média: {})",
                 dto.getSituacao(), dto.getMedia());
     }
-}
\ No newline at end of file
+
+    /**
+     * Cria um aluno de teste com os dados cadastrais, as três notas e a situação de aprovação
+     */
+    private static Aluno novoAluno(long cpf, String nome, String endereco, String turma,
+                                   Double nota1, Double nota2, Double nota3, SituacaoAluno situacao) {
+        return Aluno.builder()
+                .cpf(cpf)
+                .nome(nome)
+                .endereco(endereco)
+                .turma(turma)
+                .nota1(Notas.decimos(nota1))
+                .nota2(Notas.decimos(nota2))
+                .nota3(Notas.decimos(nota3))
+                .situacao(situacao)
+                .build();
+    }
+}
@@ -4,32 +4,59 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 
+import br.com.cadastro.alunos.model.dto.AlunoDTO;
+import br.com.cadastro.alunos.model.dto.ResultadoAvaliacao;
+import br.com.cadastro.alunos.model.dto.ResultadoLancamentoNotas;
 import br.com.cadastro.alunos.model.entities.Aluno;
+import br.com.cadastro.alunos.model.entities.Cpf;
+import br.com.cadastro.alunos.model.entities.Notas;
+import br.com.cadastro.alunos.model.entities.SituacaoAluno;
+import br.com.cadastro.alunos.model.cache.CpfsCadastrados;
+import br.com.cadastro.alunos.model.events.AlunosAlteradosEvent;
 import br.com.cadastro.alunos.model.exceptions.BusinessException;
+import br.com.cadastro.alunos.model.exceptions.ConflitoVersaoException;
 import br.com.cadastro.alunos.model.exceptions.ResourceNotFoundException;
 import br.com.cadastro.alunos.model.exceptions.ServiceException;
 import br.com.cadastro.alunos.model.repository.AlunoRepository;
+import br.com.cadastro.alunos.model.repository.LoteAvaliado;
+import br.com.cadastro.alunos.model.repository.NotasGravadas;
+import br.com.cadastro.alunos.model.estatisticas.PoliticaCompilada;
+import br.com.cadastro.alunos.model.estatisticas.PoliticasCompiladas;
 import br.com.cadastro.alunos.model.services.AlunoService;
+import br.com.cadastro.alunos.model.services.PoliticaAprovacaoService;
+import br.com.cadastro.alunos.model.services.TravasCpf;
 
 @Tag("unitario")
 class AlunoServiceTest {
@@ -42,11 +69,26 @@ class AlunoServiceTest {
     @Mock
     private AlunoRepository alunoRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CpfsCadastrados cpfsCadastrados;
+
+    @Mock
+    private TravasCpf travasCpf;
+
+    @Mock
+    private PoliticaAprovacaoService politicaAprovacaoService;
+
     @BeforeEach
     void setUp() {
         logger.info("=== Iniciando teste do AlunoService ===");
         logger.debug("Inicializando mocks do Mockito...");
         MockitoAnnotations.openMocks(this);
+        // Nenhuma turma com política gravada: vale a regra padrão
+        when(politicaAprovacaoService.compiladas()).thenReturn(PoliticasCompiladas.NENHUMA);
+        when(politicaAprovacaoService.compilada(any())).thenReturn(PoliticaCompilada.PADRAO);
         logger.debug("Mocks inicializados com sucesso");
     }
 
@@ -55,15 +97,13 @@ class AlunoServiceTest {
         logger.info("🧪 Testando inclusão de aluno com novo cadastro (sucesso)");
 
         // Arrange
-        Aluno aluno = new Aluno("123.456.789-09", "Carlos", "Rua A", "Turma 1", 9.0, 8.0, 7.0, "SIM");
+        Aluno aluno = novoAluno(Cpf.valor("123.456.789-09"), "Carlos", "Rua A", "Turma 1", 9.0, 8.0, 7.0, SituacaoAluno.APROVADO);
         logger.debug("Aluno criado para teste: CPF={}, Nome={}, Notas=[{}, {}, {}], Aprovado={}",
-                aluno.getCpf(), aluno.getNome(), aluno.getNota1(), aluno.getNota2(), aluno.getNota3(), aluno.getAprovado());
+                aluno.getCpf(), aluno.getNome(), aluno.getNota1(), aluno.getNota2(), aluno.getNota3(), aluno.getSituacao());
 
         logger.debug("Configurando mocks...");
-        when(alunoRepository.existsById(aluno.getCpf())).thenReturn(false);
-        when(alunoRepository.findById(aluno.getCpf())).thenReturn(Optional.empty());
-        when(alunoRepository.save(any(Aluno.class))).thenReturn(aluno);
-        logger.debug("Mocks configurados: existsById=false, findById=empty, save=retorna aluno");
+        when(alunoRepository.inserir(any(Aluno.class))).thenReturn(aluno);
+        logger.debug("Mock configurado: inserir=retorna aluno");
 
         // Act
         logger.info("Executando inclusão do aluno...");
@@ -73,11 +113,16 @@ class AlunoServiceTest {
         logger.info("Verificando resultado da inclusão...");
         assertNotNull(result);
         assertEquals("Carlos", result.getNome());
-        assertEquals("SIM", result.getAprovado()); // Verifica se o status foi preenchido
-        verify(alunoRepository, times(1)).save(aluno);
+        assertEquals(SituacaoAluno.APROVADO, result.getSituacao()); // Verifica se o status foi preenchido
+        verify(alunoRepository, times(1)).inserir(aluno);
+        // Nenhuma consulta prévia: o INSERT é o único acesso ao banco
+        verify(alunoRepository, never()).existsById(anyLong());
+        verify(alunoRepository, never()).findById(anyLong());
+        verify(alunoRepository, never()).save(any(Aluno.class));
+        verify(eventPublisher, times(1)).publishEvent(any(AlunosAlteradosEvent.class));
 
         logger.info("✅ Teste passou! Aluno incluído com sucesso: CPF={}, Nome={}, Status={}",
-                result.getCpf(), result.getNome(), result.getAprovado());
+                result.getCpf(), result.getNome(), result.getSituacao());
     }
 
     @Test
@@ -85,12 +130,13 @@ class AlunoServiceTest {
         logger.info("🧪 Testando inclusão de aluno com CPF já cadastrado (deve falhar)");
 
         // Arrange
-        Aluno aluno = new Aluno("123.456.789-09", "Carlos", "Rua A", "Turma 1", 9.0, 8.0, 7.0, "SIM");
+        Aluno aluno = novoAluno(Cpf.valor("123.456.789-09"), "Carlos", "Rua A", "Turma 1", 9.0, 8.0, 7.0, SituacaoAluno.APROVADO);
         logger.debug("Aluno criado para teste: CPF={} (simulando CPF já existente)", aluno.getCpf());
 
         logger.debug("Configurando mock para CPF já existente...");
-        when(alunoRepository.existsById(aluno.getCpf())).thenReturn(true);
-        logger.debug("Mock configurado: existsById=true (CPF já existe)");
+        when(alunoRepository.inserir(any(Aluno.class)))
+                .thenThrow(new DuplicateKeyException("Violação da chave primária CPF"));
+        logger.debug("Mock configurado: inserir=violação de chave primária (CPF já existe)");
 
         // Act & Assert
         logger.info("Executando inclusão que deve falhar...");
@@ -99,17 +145,38 @@ class AlunoServiceTest {
         logger.info("Verificando exceção lançada...");
         assertEquals("CPF já cadastrado", exception.getMessage());
         verify(alunoRepository, never()).save(aluno);
+        verify(alunoRepository, never()).existsById(anyLong());
 
         logger.info("✅ Teste passou! BusinessException lançada corretamente: {}", exception.getMessage());
     }
 
+    @Test
+    void incluirAlunoOutraViolacaoDeIntegridadeNaoEhCpfDuplicado() {
+        logger.info("🧪 Testando inclusão que viola outra restrição do banco (não é CPF duplicado)");
+
+        // Arrange
+        Aluno aluno = novoAluno(Cpf.valor("123.456.789-09"), "Carlos", "Rua A", "Turma 1", 9.0, 8.0, 7.0, SituacaoAluno.APROVADO);
+        when(alunoRepository.inserir(any(Aluno.class)))
+                .thenThrow(new DataIntegrityViolationException("NULL not allowed for column ENDERECO"));
+        logger.debug("Mock configurado: inserir=violação de NOT NULL");
+
+        // Act & Assert
+        Exception exception = assertThrows(ServiceException.class, () -> alunoService.incluirAluno(aluno));
+
+        assertEquals("Erro ao incluir aluno", exception.getMessage());
+        verify(eventPublisher, never()).publishEvent(any());
+
+        logger.info("✅ Teste passou! Violação fora da chave primária tratada como erro interno: {}",
+                exception.getMessage());
+    }
+
     @Test
     void incluirAlunoCpfInvalidoFalha() {
         logger.info("🧪 Testando inclusão de aluno com CPF inválido (deve falhar)");
 
         // Arrange
-        Aluno aluno = new Aluno("123", "Carlos", "Rua A", "Turma 1", 9.0, 8.0, 7.0, "SIM");
-        logger.debug("Aluno criado com CPF inválido: CPF='{}' (muito curto)", aluno.getCpf());
+        Aluno aluno = novoAluno(12_345_678_900L, "Carlos", "Rua A", "Turma 1", 9.0, 8.0, 7.0, SituacaoAluno.APROVADO);
+        logger.debug("Aluno criado com CPF inválido: CPF='{}' (dígitos verificadores errados)", aluno.getCpf());
 
         // Act & Assert
         logger.info("Executando inclusão com CPF inválido...");
@@ -117,7 +184,7 @@ class AlunoServiceTest {
 
         logger.info("Verificando exceção lançada...");
         assertEquals("O CPF do aluno não é válido", exception.getMessage());
-        verify(alunoRepository, never()).save(aluno);
+        verify(alunoRepository, never()).inserir(aluno);
 
         logger.info("✅ Teste passou! BusinessException lançada corretamente: {}", exception.getMessage());
     }
@@ -127,31 +194,38 @@ class AlunoServiceTest {
         logger.info("🧪 Testando alteração de aluno existente (sucesso)");
 
         // Arrange
-        Aluno alunoExistente = new Aluno("123.456.789-09", "Carlos", "Rua A", "Turma 1", 9.0, 8.0, 7.0, "SIM");
-        Aluno alunoAlterado = new Aluno("123.456.789-09", "Carlos Atualizado", "Rua B", "Turma 2", 9.5, 9.0, 8.5, null);
-        Aluno alunoSalvo = new Aluno("123.456.789-09", "Carlos Atualizado", "Rua B", "Turma 2", 9.5, 9.0, 8.5, "SIM");
+        Aluno alunoExistente = novoAluno(Cpf.valor("123.456.789-09"), "Carlos", "Rua A", "Turma 1", 9.0, 8.0, 7.0, SituacaoAluno.APROVADO);
+        Aluno alunoAlterado = novoAluno(Cpf.valor("123.456.789-09"), "Carlos Atualizado", "Rua B", "Turma 2", 9.5, 9.0, 8.5, null);
+        Aluno alunoSalvo = novoAluno(Cpf.valor("123.456.789-09"), "Carlos Atualizado", "Rua B", "Turma 2", 9.5, 9.0, 8.5, SituacaoAluno.APROVADO);
 
         logger.debug("Aluno existente: CPF={}, Nome={}", alunoExistente.getCpf(), alunoExistente.getNome());
         logger.debug("Dados para alteração: Nome={}, Endereço={}, Turma={}",
                 alunoAlterado.getNome(), alunoAlterado.getEndereco(), alunoAlterado.getTurma());
 
         logger.debug("Configurando mocks...");
-        when(alunoRepository.findById("123.456.789-09")).thenReturn(Optional.of(alunoExistente));
+        when(alunoRepository.findById(Cpf.valor("123.456.789-09"))).thenReturn(Optional.of(alunoExistente));
         when(alunoRepository.save(any(Aluno.class))).thenReturn(alunoSalvo);
         logger.debug("Mocks configurados: findById=aluno existente, save=aluno atualizado");
 
         // Act
         logger.info("Executando alteração do aluno...");
-        Aluno result = alunoService.alterarAluno("123.456.789-09", alunoAlterado);
+        Aluno result = alunoService.alterarAluno(Cpf.valor("123.456.789-09"), alunoAlterado);
 
         // Assert
         logger.info("Verificando resultado da alteração...");
         assertNotNull(result);
         assertEquals("Carlos Atualizado", result.getNome());
-        assertEquals("SIM", result.getAprovado()); // Verifica se o status foi recalculado
+        assertEquals(SituacaoAluno.APROVADO, result.getSituacao()); // Verifica se o status foi recalculado
+
+        // A troca de turma invalida as consultas da turma antiga e da nova
+        ArgumentCaptor<AlunosAlteradosEvent> evento = ArgumentCaptor.forClass(AlunosAlteradosEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(evento.capture());
+        assertEquals(Set.of("Turma 1", "Turma 2"), evento.getValue().getTurmas());
+        assertEquals("Turma 1", evento.getValue().getRemovidos().get(0).getTurma());
+        assertEquals("Turma 2", evento.getValue().getIncluidos().get(0).getTurma());
 
         logger.info("✅ Teste passou! Aluno alterado com sucesso: CPF={}, Nome atualizado={}, Status={}",
-                result.getCpf(), result.getNome(), result.getAprovado());
+                result.getCpf(), result.getNome(), result.getSituacao());
     }
 
     @Test
@@ -159,41 +233,100 @@ class AlunoServiceTest {
         logger.info("🧪 Testando alteração de aluno não encontrado (deve falhar)");
 
         // Arrange
-        Aluno alunoAtualizado = new Aluno("123.456.789-09", "Carlos Atualizado", "Rua B", "Turma 2", 9.5, 9.0, 8.5, "SIM");
+        Aluno alunoAtualizado = novoAluno(Cpf.valor("123.456.789-09"), "Carlos Atualizado", "Rua B", "Turma 2", 9.5, 9.0, 8.5, SituacaoAluno.APROVADO);
         logger.debug("Tentando alterar aluno com CPF={} (não existe)", alunoAtualizado.getCpf());
 
         logger.debug("Configurando mock para aluno não encontrado...");
-        when(alunoRepository.findById("123.456.789-09")).thenReturn(Optional.empty());
+        when(alunoRepository.findById(Cpf.valor("123.456.789-09"))).thenReturn(Optional.empty());
         logger.debug("Mock configurado: findById=empty (aluno não encontrado)");
 
         // Act & Assert
         logger.info("Executando alteração que deve falhar...");
-        assertThrows(ResourceNotFoundException.class, () -> alunoService.alterarAluno("123.456.789-09", alunoAtualizado));
+        assertThrows(ResourceNotFoundException.class, () -> alunoService.alterarAluno(Cpf.valor("123.456.789-09"), alunoAtualizado));
         verify(alunoRepository, never()).save(any(Aluno.class));
 
         logger.info("✅ Teste passou! ResourceNotFoundException lançada corretamente");
     }
 
+    @Test
+    void alterarAlunoComVersaoDesatualizadaFalha() {
+        logger.info("🧪 Testando alteração com versão desatualizada (deve retornar conflito)");
+
+        // Arrange
+        Aluno alunoExistente = novoAluno(Cpf.valor("123.456.789-09"), "Carlos", "Rua A", "Turma 1", 9.0, 8.0, 7.0, SituacaoAluno.APROVADO);
+        alunoExistente.setVersao(3L);
+        Aluno alunoAtualizado = novoAluno(Cpf.valor("123.456.789-09"), "Carlos Atualizado", "Rua B", "Turma 1", 5.0, 5.0, 5.0, null);
+        alunoAtualizado.setVersao(2L);
+        when(alunoRepository.findById(Cpf.valor("123.456.789-09"))).thenReturn(Optional.of(alunoExistente));
+        logger.debug("Mock configurado: aluno na versão 3, cliente informou a versão 2");
+
+        // Act & Assert
+        ConflitoVersaoException exception = assertThrows(ConflitoVersaoException.class,
+                () -> alunoService.alterarAluno(Cpf.valor("123.456.789-09"), alunoAtualizado));
+        assertEquals("Carlos", alunoExistente.getNome());
+        verify(alunoRepository, never()).save(any(Aluno.class));
+        verify(eventPublisher, never()).publishEvent(any());
+
+        logger.info("✅ Teste passou! Alteração recusada sem gravar: {}", exception.getMessage());
+    }
+
+    @Test
+    void lancarNotasPublicaOsRetratosDosAlunosGravados() {
+        logger.info("🧪 Testando que o lançamento de notas publica os retratos de antes e depois");
+
+        // Arrange
+        long cpf = Cpf.valor("123.456.789-09");
+        AlunoDTO anterior = new AlunoDTO(cpf, "Carlos", "Turma 1", 8.0, SituacaoAluno.APROVADO,
+                Notas.decimos(9.0), Notas.decimos(8.0), Notas.decimos(7.0));
+        AlunoDTO atual = new AlunoDTO(cpf, "Carlos", "Turma 1", 5.33, SituacaoAluno.REPROVADO,
+                Notas.decimos(1.0), Notas.decimos(8.0), Notas.decimos(7.0));
+        when(alunoRepository.lancarNotas(eq("Turma 1"), eq(1), any(), eq(PoliticaCompilada.PADRAO)))
+                .thenReturn(List.of(new NotasGravadas(anterior, atual, 2)));
+        Map<String, Double> notas = new LinkedHashMap<>();
+        notas.put("123.456.789-09", 1.0);
+        notas.put("111.444.777-35", 5.0);
+        logger.debug("Mock configurado: só o primeiro CPF está na turma");
+
+        // Act
+        ResultadoLancamentoNotas resultado = alunoService.lancarNotas("Turma 1", 1, notas);
+
+        // Assert
+        ArgumentCaptor<AlunosAlteradosEvent> evento = ArgumentCaptor.forClass(AlunosAlteradosEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(evento.capture());
+        assertEquals(List.of(anterior), evento.getValue().getRemovidos());
+        assertEquals(List.of(atual), evento.getValue().getIncluidos());
+        assertEquals(1, resultado.getAlterados());
+        assertEquals(List.of(Cpf.valor("111.444.777-35")), resultado.getNaoEncontrados());
+
+        logger.info("✅ Teste passou! Evento com {} retrato(s), sem recalcular a turma inteira",
+                evento.getValue().getIncluidos().size());
+    }
+
     @Test
     void excluirAlunoSucesso() {
         logger.info("🧪 Testando exclusão de aluno existente (sucesso)");
 
         // Arrange
-        String cpf = "123.456.789-09";
+        long cpf = Cpf.valor("123.456.789-09");
         logger.debug("CPF para exclusão: {}", cpf);
 
+        Aluno aluno = novoAluno(cpf, "Carlos", "Rua A", "Turma 1", 9.0, 8.0, 7.0, SituacaoAluno.APROVADO);
+
         logger.debug("Configurando mocks...");
-        when(alunoRepository.existsById(cpf)).thenReturn(true);
-        doNothing().when(alunoRepository).deleteById(cpf);
-        logger.debug("Mocks configurados: existsById=true, deleteById=void");
+        when(alunoRepository.findById(cpf)).thenReturn(Optional.of(aluno));
+        doNothing().when(alunoRepository).delete(aluno);
+        logger.debug("Mocks configurados: findById=aluno, delete=void");
 
         // Act
         logger.info("Executando exclusão do aluno...");
         alunoService.excluirAluno(cpf);
 
         // Assert
-        logger.info("Verificando se exclusão foi executada...");
-        verify(alunoRepository, times(1)).deleteById(cpf);
+        logger.info("Verificando se exclusão foi executada e o cache da turma invalidado...");
+        verify(alunoRepository, times(1)).delete(aluno);
+        ArgumentCaptor<AlunosAlteradosEvent> evento = ArgumentCaptor.forClass(AlunosAlteradosEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(evento.capture());
+        assertEquals(Set.of("Turma 1"), evento.getValue().getTurmas());
 
         logger.info("✅ Teste passou! Aluno excluído com sucesso: CPF={}", cpf);
     }
@@ -203,76 +336,97 @@ class AlunoServiceTest {
         logger.info("🧪 Testando exclusão de aluno não encontrado (deve falhar)");
 
         // Arrange
-        String cpf = "123.456.789-09";
+        long cpf = Cpf.valor("123.456.789-09");
         logger.debug("CPF para exclusão: {} (não existe)", cpf);
 
         logger.debug("Configurando mock para aluno não encontrado...");
-        when(alunoRepository.existsById(cpf)).thenReturn(false);
-        logger.debug("Mock configurado: existsById=false (aluno não existe)");
+        when(alunoRepository.findById(cpf)).thenReturn(Optional.empty());
+        logger.debug("Mock configurado: findById=empty (aluno não existe)");
 
         // Act & Assert
         logger.info("Executando exclusão que deve falhar...");
         assertThrows(ResourceNotFoundException.class, () -> alunoService.excluirAluno(cpf));
-        verify(alunoRepository, never()).deleteById(anyString());
+        verify(alunoRepository, never()).delete(any(Aluno.class));
+        verify(eventPublisher, never()).publishEvent(any(AlunosAlteradosEvent.class));
 
         logger.info("✅ Teste passou! ResourceNotFoundException lançada corretamente");
     }
 
     @Test
     void avaliarAlunosSucesso() {
-        logger.info("🧪 Testando avaliação de alunos (cálculo automático de aprovação)");
+        logger.info("🧪 Testando avaliação de alunos em lotes (cálculo automático de aprovação)");
 
         // Arrange
-        Aluno aluno1 = new Aluno("123.456.789-09", "Carlos", "Rua A", "Turma 1", 9.0, 8.0, 7.0, null);
-        Aluno aluno2 = new Aluno("124.456.789-09", "Ana", "Rua B", "Turma 1", 6.0, 5.0, 7.0, null);
-        List<Aluno> alunos = Arrays.asList(aluno1, aluno2);
-
-        logger.debug("Alunos para avaliação:");
-        logger.debug("  - Carlos: Notas=[{}, {}, {}] -> Média={}",
-                aluno1.getNota1(), aluno1.getNota2(), aluno1.getNota3(), (aluno1.getNota1() + aluno1.getNota2() + aluno1.getNota3()) / 3);
-        logger.debug("  - Ana: Notas=[{}, {}, {}] -> Média={}",
-                aluno2.getNota1(), aluno2.getNota2(), aluno2.getNota3(), (aluno2.getNota1() + aluno2.getNota2() + aluno2.getNota3()) / 3);
-
-        logger.debug("Configurando mocks...");
-        when(alunoRepository.findAll()).thenReturn(alunos);
-        when(alunoRepository.save(any(Aluno.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        logger.debug("Mocks configurados: findAll=lista de alunos, save=retorna argumento");
+        logger.debug("Configurando mocks: dois lotes completos de 2 alunos e um lote final parcial...");
+        when(alunoRepository.avaliarLote(0, 2, PoliticasCompiladas.NENHUMA))
+                .thenReturn(new LoteAvaliado(Cpf.valor("124.456.789-27"), 2, 1));
+        when(alunoRepository.avaliarLote(Cpf.valor("124.456.789-27"), 2, PoliticasCompiladas.NENHUMA))
+                .thenReturn(new LoteAvaliado(Cpf.valor("126.456.789-80"), 2, 0));
+        when(alunoRepository.avaliarLote(Cpf.valor("126.456.789-80"), 2, PoliticasCompiladas.NENHUMA))
+                .thenReturn(new LoteAvaliado(Cpf.valor("127.456.789-06"), 1, 1));
+        logger.debug("Mocks configurados: avaliarLote retorna 2 + 2 + 1 alunos processados");
 
         // Act
         logger.info("Executando avaliação dos alunos...");
-        alunoService.avaliarAlunos();
+        ResultadoAvaliacao resultado = alunoService.avaliarAlunos(2);
 
         // Assert
         logger.info("Verificando resultados da avaliação...");
-        assertEquals("SIM", aluno1.getAprovado());
-        assertEquals("NÃO", aluno2.getAprovado());
-        verify(alunoRepository, times(2)).save(any(Aluno.class));
+        assertEquals(5, resultado.getProcessados());
+        assertEquals(2, resultado.getAlterados());
+        assertEquals(3, resultado.getLotes());
+        verify(alunoRepository, times(3)).avaliarLote(anyLong(), eq(2), any());
+        verify(alunoRepository, never()).findAll();
+        verify(alunoRepository, never()).save(any(Aluno.class));
 
-        logger.info("✅ Teste passou! Avaliações realizadas:");
-        logger.info("  - Carlos: {} (média > 7.0)", aluno1.getAprovado());
-        logger.info("  - Ana: {} (média ≤ 7.0)", aluno2.getAprovado());
+        logger.info("✅ Teste passou! {} alunos processados, {} alterados em {} lotes",
+                resultado.getProcessados(), resultado.getAlterados(), resultado.getLotes());
     }
 
     @Test
-    void avaliarAlunosErroAoSalvar() {
-        logger.info("🧪 Testando avaliação de alunos com erro ao salvar (deve falhar)");
+    void avaliarAlunosTabelaVazia() {
+        logger.info("🧪 Testando avaliação de alunos sem registros");
 
         // Arrange
-        List<Aluno> alunos = Arrays.asList(
-                new Aluno("123.456.789-09", "Carlos", "Rua A", "Turma 1", 9.0, 8.0, 7.0, null)
-        );
-        logger.debug("Aluno para avaliação: CPF={}, Nome={}", alunos.get(0).getCpf(), alunos.get(0).getNome());
+        when(alunoRepository.avaliarLote(0, 1000, PoliticasCompiladas.NENHUMA)).thenReturn(new LoteAvaliado(0, 0, 0));
+        logger.debug("Mock configurado: avaliarLote retorna lote vazio");
 
-        logger.debug("Configurando mocks com erro...");
-        when(alunoRepository.findAll()).thenReturn(alunos);
-        when(alunoRepository.save(any(Aluno.class))).thenThrow(new RuntimeException("Erro ao salvar"));
-        logger.debug("Mocks configurados: findAll=lista de alunos, save=lança exceção");
+        // Act
+        ResultadoAvaliacao resultado = alunoService.avaliarAlunos(1000);
+
+        // Assert
+        assertEquals(0, resultado.getProcessados());
+        assertEquals(0, resultado.getLotes());
+        verify(alunoRepository, times(1)).avaliarLote(anyLong(), anyInt(), any());
+
+        logger.info("✅ Teste passou! Nenhum lote confirmado para tabela vazia");
+    }
+
+    @Test
+    void avaliarAlunosTamanhoLoteInvalido() {
+        logger.info("🧪 Testando avaliação de alunos com tamanho de lote inválido (deve falhar)");
+
+        // Act & Assert
+        assertThrows(BusinessException.class, () -> alunoService.avaliarAlunos(0));
+        verify(alunoRepository, never()).avaliarLote(anyLong(), anyInt(), any());
+
+        logger.info("✅ Teste passou! BusinessException lançada para lote de tamanho zero");
+    }
+
+    @Test
+    void avaliarAlunosErroAoAtualizar() {
+        logger.info("🧪 Testando avaliação de alunos com erro ao atualizar o lote (deve falhar)");
+
+        // Arrange
+        logger.debug("Configurando mock com erro...");
+        when(alunoRepository.avaliarLote(0, 1000, PoliticasCompiladas.NENHUMA)).thenThrow(new RuntimeException("Erro ao atualizar"));
+        logger.debug("Mock configurado: avaliarLote lança exceção");
 
         // Act & Assert
         logger.info("Executando avaliação que deve falhar...");
-        assertThrows(ServiceException.class, () -> alunoService.avaliarAlunos());
+        assertThrows(ServiceException.class, () -> alunoService.avaliarAlunos(1000));
 
-        logger.info("✅ Teste passou! ServiceException lançada corretamente devido a erro no save");
+        logger.info("✅ Teste passou! ServiceException lançada corretamente devido a erro no lote");
     }
 
     @Test
@@ -280,26 +434,27 @@ class AlunoServiceTest {
         logger.info("🧪 Testando listagem de alunos (sucesso)");
 
         // Arrange
-        List<Aluno> alunosMock = Arrays.asList(
-                new Aluno("123.456.789-09", "Carlos", "Rua A", "Turma 1", 9.0, 8.0, 7.0, "SIM"),
-                new Aluno("124.456.789-09", "Ana", "Rua B", "Turma 1", 6.0, 5.0, 7.0, "NÃO")
+        List<AlunoDTO> alunosMock = Arrays.asList(
+                novoAlunoDTO(Cpf.valor("123.456.789-09"), "Carlos", "Turma 1", 9.0, 8.0, 7.0, SituacaoAluno.APROVADO),
+                novoAlunoDTO(Cpf.valor("124.456.789-27"), "Ana", "Turma 1", 6.0, 5.0, 7.0, SituacaoAluno.REPROVADO)
         );
         logger.debug("Lista mock criada com {} alunos:", alunosMock.size());
         alunosMock.forEach(aluno ->
-                logger.debug("  - CPF={}, Nome={}, Status={}", aluno.getCpf(), aluno.getNome(), aluno.getAprovado()));
+                logger.debug("  - CPF={}, Nome={}, Status={}", aluno.getCpf(), aluno.getNome(), aluno.getSituacao()));
 
         logger.debug("Configurando mock...");
-        when(alunoRepository.findAll()).thenReturn(alunosMock);
-        logger.debug("Mock configurado: findAll=lista com {} alunos", alunosMock.size());
+        when(alunoRepository.findAllAsDTO()).thenReturn(alunosMock);
+        logger.debug("Mock configurado: findAllAsDTO=lista com {} alunos", alunosMock.size());
 
         // Act
         logger.info("Executando listagem de alunos...");
-        List<Aluno> result = alunoService.listarAlunos();
+        List<AlunoDTO> result = alunoService.listarAlunos();
 
         // Assert
         logger.info("Verificando resultado da listagem...");
         assertEquals(2, result.size());
-        verify(alunoRepository, times(1)).findAll();
+        verify(alunoRepository, times(1)).findAllAsDTO();
+        verify(alunoRepository, never()).findAll();
 
         logger.info("✅ Teste passou! {} alunos listados com sucesso", result.size());
         result.forEach(aluno ->
@@ -312,13 +467,69 @@ class AlunoServiceTest {
 
         // Arrange
         logger.debug("Configurando mock com erro...");
-        when(alunoRepository.findAll()).thenThrow(new RuntimeException("Erro ao listar"));
-        logger.debug("Mock configurado: findAll=lança exceção");
+        when(alunoRepository.findAllAsDTO()).thenThrow(new RuntimeException("Erro ao listar"));
+        logger.debug("Mock configurado: findAllAsDTO=lança exceção");
 
         // Act & Assert
         logger.info("Executando listagem que deve falhar...");
         assertThrows(ServiceException.class, () -> alunoService.listarAlunos());
 
-        logger.info("✅ Teste passou! ServiceException lançada corretamente devido a erro no findAll");
+        logger.info("✅ Teste passou! ServiceException lançada corretamente devido a erro no findAllAsDTO");
+    }
+
+    @Test
+    void exportarAlunosStreamingSucesso() {
+        logger.info("🧪 Testando exportação de alunos em streaming");
+
+        // Arrange
+        AlunoDTO aluno1 = novoAlunoDTO(Cpf.valor("123.456.789-09"), "Carlos", "Turma 1", 9.0, 8.0, 7.0, SituacaoAluno.APROVADO);
+        AlunoDTO aluno2 = novoAlunoDTO(Cpf.valor("124.456.789-27"), "Ana", "Turma 1", 6.0, 5.0, 7.0, SituacaoAluno.REPROVADO);
+        when(alunoRepository.streamAll()).thenReturn(Stream.of(aluno1, aluno2));
+        logger.debug("Mock configurado: streamAll=stream com 2 alunos");
+
+        // Act
+        List<AlunoDTO> exportados = new ArrayList<>();
+        alunoService.exportarAlunos(exportados::add);
+
+        // Assert
+        assertEquals(2, exportados.size());
+        assertEquals("Carlos", exportados.get(0).getNome());
+        verify(alunoRepository, never()).findAll();
+
+        logger.info("✅ Teste passou! {} alunos exportados direto da projeção", exportados.size());
+    }
+
+    /**
+     * Cria um aluno de teste com os dados cadastrais, as três notas e a situação de aprovação
+     */
+    private static Aluno novoAluno(long cpf, String nome, String endereco, String turma,
+                                   Double nota1, Double nota2, Double nota3, SituacaoAluno situacao) {
+        return Aluno.builder()
+                .cpf(cpf)
+                .nome(nome)
+                .endereco(endereco)
+                .turma(turma)
+                .nota1(Notas.decimos(nota1))
+                .nota2(Notas.decimos(nota2))
+                .nota3(Notas.decimos(nota3))
+                .situacao(situacao)
+                .build();
+    }
+
+    /**
+     * Cria a projeção de um aluno como devolvida pelas consultas do repositório
+     */
+    private static AlunoDTO novoAlunoDTO(long cpf, String nome, String turma,
+                                         Double nota1, Double nota2, Double nota3, SituacaoAluno situacao) {
+        return AlunoDTO.builder()
+                .cpf(cpf)
+                .nome(nome)
+                .turma(turma)
+                .media(Math.round((nota1 + nota2 + nota3) / 3 * 100) / 100.0)
+                .situacao(situacao)
+                .nota1(Notas.decimos(nota1))
+                .nota2(Notas.decimos(nota2))
+                .nota3(Notas.decimos(nota3))
+                .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,89 @@
+package services.unitarios;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import br.com.cadastro.alunos.model.entities.SituacaoAluno;
+import br.com.cadastro.alunos.model.estatisticas.AvaliacaoAlunos;
+import br.com.cadastro.alunos.model.estatisticas.AvaliadorAprovacao;
+
+@Tag("unitario")
+@SuppressWarnings("java:S*")
+class AvaliadorAprovacaoTest {
+
+    private static final Logger logger = LogManager.getLogger(AvaliadorAprovacaoTest.class);
+
+    // Não múltiplo do tamanho do vetor nem de 64, para exercitar o resto escalar e a última palavra
+    private static final int QUANTIDADE = 10_007;
+
+    @Test
+    void deveSepararPeloCodigoDaSituacao() {
+        logger.info("🧪 Testando a avaliação escalar pelo código da situação, com situações ausentes");
+
+        // Arrange
+        byte[] situacoes = situacoesAleatorias();
+
+        // Act
+        AvaliacaoAlunos avaliacao = AvaliadorAprovacao.escalar().avaliar(situacoes, QUANTIDADE);
+
+        // Assert
+        for (int i = 0; i < QUANTIDADE; i++) {
+            assertEquals(situacoes[i] == SituacaoAluno.APROVADO.getCodigo(), avaliacao.getAprovados().get(i),
+                    "posição " + i);
+            assertEquals(situacoes[i] == SituacaoAluno.REPROVADO.getCodigo(), avaliacao.getReprovados().get(i),
+                    "posição " + i);
+        }
+        assertTrue(avaliacao.getAprovados().length() <= QUANTIDADE);
+
+        logger.info("✅ Teste passou! {} aprovados e {} reprovados em {} alunos",
+                avaliacao.getAprovados().cardinality(), avaliacao.getReprovados().cardinality(), QUANTIDADE);
+    }
+
+    @Test
+    void deveAvaliarVetorialIgualAoEscalar() {
+        logger.info("🧪 Testando a avaliação vetorial contra a escalar");
+        assumeTrue(AvaliadorAprovacao.isVetorialDisponivel(), "JVM sem --add-modules jdk.incubator.vector");
+
+        // Arrange
+        byte[] situacoes = situacoesAleatorias();
+        AvaliadorAprovacao escalar = AvaliadorAprovacao.escalar();
+        AvaliadorAprovacao vetorial = AvaliadorAprovacao.vetorial();
+
+        // Act & Assert
+        // Quantidades que terminam antes, no meio e depois de um vetor e de uma palavra de 64 bits
+        for (int quantidade : new int[]{0, 1, 31, 64, 65, 1000, QUANTIDADE}) {
+            AvaliacaoAlunos esperada = escalar.avaliar(situacoes, quantidade);
+            AvaliacaoAlunos obtida = vetorial.avaliar(situacoes, quantidade);
+            logger.debug("📊 {} alunos: {} aprovados", quantidade, obtida.getAprovados().cardinality());
+            assertEquals(esperada.getAprovados(), obtida.getAprovados(), "quantidade " + quantidade);
+            assertEquals(esperada.getReprovados(), obtida.getReprovados(), "quantidade " + quantidade);
+        }
+        // Nenhuma situação gravada: ninguém em nenhum dos conjuntos
+        byte[] semSituacao = new byte[QUANTIDADE];
+        Arrays.fill(semSituacao, (byte) -1);
+        AvaliacaoAlunos vazia = vetorial.avaliar(semSituacao, QUANTIDADE);
+        assertTrue(vazia.getAprovados().isEmpty());
+        assertTrue(vazia.getReprovados().isEmpty());
+
+        logger.info("✅ Teste passou! Bitsets vetoriais idênticos aos escalares para 7 quantidades");
+    }
+
+    private static byte[] situacoesAleatorias() {
+        SplittableRandom aleatorio = new SplittableRandom(42);
+        byte[] situacoes = new byte[QUANTIDADE];
+        for (int i = 0; i < QUANTIDADE; i++) {
+            // Cerca de 1% sem situação (-1), como a coluna do retrato
+            situacoes[i] = aleatorio.nextInt(100) == 0 ? -1 : (byte) aleatorio.nextInt(2);
+        }
+        return situacoes;
+    }
+}
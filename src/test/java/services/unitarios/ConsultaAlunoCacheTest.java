@@ -0,0 +1,95 @@
+package services.unitarios;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import br.com.cadastro.alunos.model.cache.ChaveConsulta;
+import br.com.cadastro.alunos.model.cache.ConsultaAlunoCache;
+import br.com.cadastro.alunos.model.events.AlunosAlteradosEvent;
+
+@Tag("unitario")
+@SuppressWarnings("java:S*")
+class ConsultaAlunoCacheTest {
+
+    private static final Logger logger = LogManager.getLogger(ConsultaAlunoCacheTest.class);
+
+    private ConsultaAlunoCache consultaAlunoCache;
+    private final AtomicInteger consultas = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        logger.info("=== Iniciando teste do ConsultaAlunoCache ===");
+        consultaAlunoCache = new ConsultaAlunoCache(100, Duration.ofMinutes(5));
+        consultas.set(0);
+    }
+
+    @Test
+    void naoDeveGuardarConsultaInvalidadaDuranteAExecucao() {
+        logger.info("🧪 Testando gravação confirmada enquanto a consulta da turma ainda executava");
+
+        // Arrange
+        ChaveConsulta turma1 = ChaveConsulta.porTurma("aprovados", "Turma 1", 0, 10);
+        ChaveConsulta turma2 = ChaveConsulta.porTurma("aprovados", "Turma 2", 0, 10);
+
+        // Act
+        // A gravação é confirmada depois da leitura dos dados e antes de o resultado ir para o cache
+        List<String> antiga = consultaAlunoCache.obter(turma1, () -> {
+            List<String> lidos = consultar("antes");
+            consultaAlunoCache.aoAlterarAlunos(AlunosAlteradosEvent.daTurma("Turma 1"));
+            return lidos;
+        });
+        List<String> atual = consultaAlunoCache.obter(turma1, () -> consultar("depois"));
+        consultaAlunoCache.obter(turma2, () -> {
+            List<String> lidos = consultar("turma 2");
+            consultaAlunoCache.aoAlterarAlunos(AlunosAlteradosEvent.daTurma("Turma 1"));
+            return lidos;
+        });
+        consultaAlunoCache.obter(turma2, () -> consultar("turma 2 de novo"));
+
+        // Assert
+        logger.debug("📊 Consultas executadas: {}", consultas.get());
+        assertEquals(List.of("antes"), antiga);
+        assertEquals(List.of("depois"), atual);
+        // Turma 2 não foi afetada: o resultado ficou no cache
+        assertEquals(3, consultas.get());
+
+        logger.info("✅ Teste passou! Resultado anterior à gravação não ficou no cache");
+    }
+
+    @Test
+    void naoDeveGuardarListagemGeralDuranteQualquerGravacao() {
+        logger.info("🧪 Testando listagem geral com gravação em uma turma durante a consulta");
+
+        // Arrange
+        ChaveConsulta todos = ChaveConsulta.geral("todos");
+
+        // Act
+        consultaAlunoCache.obter(todos, () -> {
+            List<String> lidos = consultar("antes");
+            consultaAlunoCache.aoAlterarAlunos(AlunosAlteradosEvent.daTurma("Turma 3"));
+            return lidos;
+        });
+        List<String> atual = consultaAlunoCache.obter(todos, () -> consultar("depois"));
+        consultaAlunoCache.obter(todos, () -> consultar("não deve executar"));
+
+        // Assert
+        assertEquals(List.of("depois"), atual);
+        assertEquals(2, consultas.get());
+
+        logger.info("✅ Teste passou! Listagem geral refeita uma única vez após a gravação");
+    }
+
+    private List<String> consultar(String marca) {
+        consultas.incrementAndGet();
+        return List.of(marca);
+    }
+}
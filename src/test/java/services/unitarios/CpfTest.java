@@ -0,0 +1,74 @@
+package services.unitarios;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+
+import br.com.cadastro.alunos.model.dto.AlunoDTO;
+import br.com.cadastro.alunos.model.entities.Cpf;
+
+@Tag("unitario")
+@SuppressWarnings("java:S*")
+class CpfTest {
+
+    private static final Logger logger = LogManager.getLogger(CpfTest.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void deveLerCpfFormatadoOuSoComDigitos() {
+        logger.info("🧪 Testando leitura do CPF nos dois formatos aceitos");
+
+        assertEquals(12_345_678_909L, Cpf.valor("123.456.789-09"));
+        assertEquals(12_345_678_909L, Cpf.valor("12345678909"));
+        // Zeros à esquerda não fazem parte do número, mas voltam na formatação
+        assertEquals(191L, Cpf.valor("000.000.001-91"));
+        assertEquals("000.000.001-91", Cpf.formatar(191L));
+        assertEquals("123.456.789-09", Cpf.formatar(Cpf.comDigitosVerificadores(123_456_789L)));
+
+        logger.info("✅ Teste passou! Leitura e formatação são inversas");
+    }
+
+    @Test
+    void deveRejeitarCpfInvalido() {
+        logger.info("🧪 Testando CPFs com dígitos verificadores errados, dígitos repetidos e formato inválido");
+
+        assertFalse(Cpf.valido("123.456.789-00"));
+        assertFalse(Cpf.valido("111.111.111-11"));
+        assertFalse(Cpf.valido("000.000.000-00"));
+        assertFalse(Cpf.valido("123.456.789.09"));
+        assertFalse(Cpf.valido("123456789-09"));
+        assertFalse(Cpf.valido("123"));
+        assertFalse(Cpf.valido((CharSequence) null));
+        assertTrue(Cpf.valido(12_345_678_909L));
+        assertThrows(IllegalArgumentException.class, () -> Cpf.valor("123.456.789-00"));
+
+        logger.info("✅ Teste passou! CPFs inválidos rejeitados");
+    }
+
+    @Test
+    void deveManterOCpfFormatadoNoJson() throws Exception {
+        logger.info("🧪 Testando o CPF numérico no JSON");
+
+        // Act
+        AlunoDTO dto = objectMapper.readValue("{\"cpf\":\"12345678909\",\"nome\":\"Carlos\"}", AlunoDTO.class);
+        String json = objectMapper.writeValueAsString(dto);
+
+        // Assert
+        assertEquals(12_345_678_909L, dto.getCpf());
+        assertTrue(json.contains("\"cpf\":\"123.456.789-09\""), json);
+        assertThrows(InvalidFormatException.class,
+                () -> objectMapper.readValue("{\"cpf\":\"123.456.789-00\"}", AlunoDTO.class));
+
+        logger.info("✅ Teste passou! JSON serializado: {}", json);
+    }
+}
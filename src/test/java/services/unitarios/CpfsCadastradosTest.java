@@ -0,0 +1,149 @@
+package services.unitarios;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongConsumer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import br.com.cadastro.alunos.model.cache.CpfsCadastrados;
+import br.com.cadastro.alunos.model.dto.EstatisticasFiltroCpfs;
+import br.com.cadastro.alunos.model.entities.Aluno;
+import br.com.cadastro.alunos.model.entities.Cpf;
+import br.com.cadastro.alunos.model.events.AlunosAlteradosEvent;
+import br.com.cadastro.alunos.model.repository.AlunoRepository;
+
+@Tag("unitario")
+@SuppressWarnings("java:S*")
+class CpfsCadastradosTest {
+
+    private static final Logger logger = LogManager.getLogger(CpfsCadastradosTest.class);
+
+    private static final int CAPACIDADE = 10_000;
+    private static final double TAXA_FALSOS_POSITIVOS = 0.01;
+
+    private CpfsCadastrados cpfsCadastrados;
+
+    @BeforeEach
+    void setUp() {
+        logger.info("=== Iniciando teste do CpfsCadastrados ===");
+        AlunoRepository alunoRepository = mock(AlunoRepository.class);
+        doAnswer(invocacao -> {
+            LongConsumer consumidor = invocacao.getArgument(0);
+            for (int i = 0; i < CAPACIDADE / 2; i++) {
+                consumidor.accept(cpf(i));
+            }
+            return null;
+        }).when(alunoRepository).percorrerCpfs(any());
+        cpfsCadastrados = new CpfsCadastrados(alunoRepository, CAPACIDADE, TAXA_FALSOS_POSITIVOS);
+        cpfsCadastrados.carregar();
+    }
+
+    @Test
+    void deveManterTaxaDeFalsosPositivosDentroDoDimensionamento() {
+        logger.info("🧪 Testando falsos negativos, falsos positivos e memória do filtro na capacidade máxima");
+
+        // Arrange: a carga trouxe metade da capacidade; a outra metade é incluída depois
+        for (int i = CAPACIDADE / 2; i < CAPACIDADE; i++) {
+            cpfsCadastrados.adicionar(cpf(i));
+        }
+
+        // Act
+        int falsosPositivos = 0;
+        for (int i = CAPACIDADE; i < 11 * CAPACIDADE; i++) {
+            if (cpfsCadastrados.podeExistir(cpf(i))) {
+                falsosPositivos++;
+            }
+        }
+
+        // Assert
+        EstatisticasFiltroCpfs estatisticas = cpfsCadastrados.estatisticas();
+        double medida = (double) falsosPositivos / (10 * CAPACIDADE);
+        logger.debug("📊 {} CPFs, {} bytes, {} funções de hash; falsos positivos medidos {} e estimados {}",
+                estatisticas.getCpfs(), estatisticas.getMemoriaBytes(), estatisticas.getFuncoesHash(),
+                medida, estatisticas.getTaxaFalsosPositivos());
+        for (int i = 0; i < CAPACIDADE; i++) {
+            assertTrue(cpfsCadastrados.podeExistir(cpf(i)));
+        }
+        assertEquals(CAPACIDADE, estatisticas.getCpfs());
+        assertTrue(medida < 2 * TAXA_FALSOS_POSITIVOS);
+        assertTrue(estatisticas.getTaxaFalsosPositivos() < 2 * TAXA_FALSOS_POSITIVOS);
+        // 4 bits por contador: cerca de 4,8 bytes por CPF para 1% de falsos positivos
+        assertTrue(estatisticas.getMemoriaBytes() < 6L * CAPACIDADE);
+
+        logger.info("✅ Teste passou! Taxa de falsos positivos {} com {} bytes", medida, estatisticas.getMemoriaBytes());
+    }
+
+    @Test
+    void deveRemoverCpfExcluidoSemAfetarOsDemais() {
+        logger.info("🧪 Testando remoção de um CPF excluído após o commit");
+
+        // Arrange
+        Aluno excluido = Aluno.builder().cpf(cpf(0)).turma("1001A").build();
+        Aluno alterado = Aluno.builder().cpf(cpf(1)).turma("1001A").build();
+
+        // Act
+        cpfsCadastrados.aoAlterarAlunos(AlunosAlteradosEvent.exclusao(excluido));
+        cpfsCadastrados.aoAlterarAlunos(AlunosAlteradosEvent.alteracao(AlunosAlteradosEvent.retrato(alterado), alterado));
+
+        // Assert
+        assertFalse(cpfsCadastrados.podeExistir(cpf(0)));
+        for (int i = 1; i < CAPACIDADE / 2; i++) {
+            assertTrue(cpfsCadastrados.podeExistir(cpf(i)));
+        }
+        assertEquals(CAPACIDADE / 2 - 1, cpfsCadastrados.estatisticas().getCpfs());
+
+        logger.info("✅ Teste passou! CPF excluído descartado; alteração não mudou o filtro");
+    }
+
+    @Test
+    void naoDevePerderCpfsIncluidosConcorrentemente() throws Exception {
+        logger.info("🧪 Testando inclusões concorrentes que disputam as mesmas palavras de contadores");
+
+        // Arrange
+        int threads = 8;
+        int porThread = 500;
+        List<Future<?>> inclusoes = new ArrayList<>();
+
+        // Act
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                int primeiro = CAPACIDADE + t * porThread;
+                inclusoes.add(executor.submit(() -> {
+                    for (int i = primeiro; i < primeiro + porThread; i++) {
+                        cpfsCadastrados.adicionar(cpf(i));
+                    }
+                }));
+            }
+            for (Future<?> inclusao : inclusoes) {
+                inclusao.get();
+            }
+        }
+
+        // Assert
+        for (int i = CAPACIDADE; i < CAPACIDADE + threads * porThread; i++) {
+            assertTrue(cpfsCadastrados.podeExistir(cpf(i)), "CPF perdido: " + cpf(i));
+        }
+        assertEquals(CAPACIDADE / 2 + threads * porThread, cpfsCadastrados.estatisticas().getCpfs());
+
+        logger.info("✅ Teste passou! {} inclusões concorrentes sem falsos negativos", threads * porThread);
+    }
+
+    private static long cpf(int numero) {
+        return Cpf.comDigitosVerificadores(numero + 1L);
+    }
+}
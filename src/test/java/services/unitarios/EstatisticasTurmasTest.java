@@ -0,0 +1,163 @@
+package services.unitarios;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import br.com.cadastro.alunos.model.dto.AlunoDTO;
+import br.com.cadastro.alunos.model.dto.EstatisticasTurma;
+import br.com.cadastro.alunos.model.entities.Aluno;
+import br.com.cadastro.alunos.model.entities.Cpf;
+import br.com.cadastro.alunos.model.entities.Notas;
+import br.com.cadastro.alunos.model.estatisticas.AgregadoTurma;
+import br.com.cadastro.alunos.model.estatisticas.EstatisticasTurmas;
+import br.com.cadastro.alunos.model.events.AlunosAlteradosEvent;
+import br.com.cadastro.alunos.model.repository.AlunoRepository;
+
+@Tag("unitario")
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("java:S*")
+class EstatisticasTurmasTest {
+
+    private static final Logger logger = LogManager.getLogger(EstatisticasTurmasTest.class);
+
+    @Mock
+    private AlunoRepository alunoRepository;
+
+    private EstatisticasTurmas estatisticasTurmas;
+
+    @BeforeEach
+    void setUp() {
+        logger.info("=== Iniciando teste das EstatisticasTurmas ===");
+        estatisticasTurmas = new EstatisticasTurmas(alunoRepository);
+
+        // Carga inicial: Turma 1 com um aluno aprovado (9.0, 8.0, 7.0)
+        AgregadoTurma turma1 = new AgregadoTurma("Turma 1");
+        turma1.somarTotais(1, 1, 0, 800);
+        turma1.somarNota(1, Notas.decimos(9.0), 1);
+        turma1.somarNota(2, Notas.decimos(8.0), 1);
+        turma1.somarNota(3, Notas.decimos(7.0), 1);
+        lenient().when(alunoRepository.agregarPorTurma()).thenReturn(List.of(turma1));
+        logger.debug("Mock configurado: Turma 1 agregada com um aluno aprovado");
+    }
+
+    @Test
+    void deveAtualizarEstatisticasIncrementalmente() {
+        logger.info("🧪 Testando inclusão, alteração e exclusão aplicadas sem reler o banco");
+
+        // Arrange
+        estatisticasTurmas.daTurma("Turma 1");
+        Aluno ana = novoAluno(Cpf.valor("124.456.789-27"), "Turma 1", 5.0, 6.0, 4.5);
+        Aluno bruno = novoAluno(Cpf.valor("125.456.789-53"), "Turma 1", 10.0, 7.5, 9.0);
+        logger.debug("Estatísticas carregadas; alunos Ana (reprovada) e Bruno (aprovado) criados");
+
+        // Act
+        logger.info("Aplicando inclusões e a exclusão de Bruno...");
+        estatisticasTurmas.aoAlterarAlunos(AlunosAlteradosEvent.inclusoes(List.of(ana, bruno)));
+        estatisticasTurmas.aoAlterarAlunos(AlunosAlteradosEvent.exclusao(bruno));
+        EstatisticasTurma estatisticas = estatisticasTurmas.daTurma("Turma 1").orElseThrow();
+
+        // Assert
+        logger.debug("📊 Quantidade={}, aprovados={}, reprovados={}, média geral={}",
+                estatisticas.getQuantidade(), estatisticas.getAprovados(), estatisticas.getReprovados(),
+                estatisticas.getMediaGeral());
+        assertEquals(2, estatisticas.getQuantidade());
+        assertEquals(1, estatisticas.getAprovados());
+        assertEquals(1, estatisticas.getReprovados());
+        // (8.00 + 5.17) / 2
+        assertEquals(6.59, estatisticas.getMediaGeral());
+        assertEquals(5.0, estatisticas.getNota1().getMinima());
+        // A maior nota (10.0, de Bruno) saiu junto com ele
+        assertEquals(9.0, estatisticas.getNota1().getMaxima());
+        assertEquals(4.5, estatisticas.getNota3().getMinima());
+        verify(alunoRepository, times(1)).agregarPorTurma();
+
+        logger.info("✅ Teste passou! Estatísticas mantidas com uma única carga do banco");
+    }
+
+    @Test
+    void deveMoverAlunoEntreTurmasERemoverTurmaVazia() {
+        logger.info("🧪 Testando troca de turma do único aluno da Turma 1");
+
+        // Arrange
+        estatisticasTurmas.todas();
+        Aluno carlos = novoAluno(Cpf.valor("123.456.789-09"), "Turma 1", 9.0, 8.0, 7.0);
+        AlunoDTO anterior = AlunosAlteradosEvent.retrato(carlos);
+        carlos.setTurma("Turma 2");
+
+        // Act
+        estatisticasTurmas.aoAlterarAlunos(AlunosAlteradosEvent.alteracao(anterior, carlos));
+        List<EstatisticasTurma> todas = estatisticasTurmas.todas();
+
+        // Assert
+        assertEquals(1, todas.size());
+        assertEquals("Turma 2", todas.get(0).getTurma());
+        assertEquals(8.0, todas.get(0).getMediaGeral());
+        assertTrue(estatisticasTurmas.daTurma("Turma 1").isEmpty());
+
+        logger.info("✅ Teste passou! Turma 1 deixou de existir e Turma 2 recebeu o aluno");
+    }
+
+    @Test
+    void deveRecarregarAposReavaliacaoGeral() {
+        logger.info("🧪 Testando recarga após gravação sem retrato dos alunos (reavaliação geral)");
+
+        // Arrange
+        estatisticasTurmas.daTurma("Turma 1");
+
+        // Act
+        estatisticasTurmas.aoAlterarAlunos(AlunosAlteradosEvent.deTodasAsTurmas());
+        estatisticasTurmas.daTurma("Turma 1");
+        estatisticasTurmas.daTurma("Turma 1");
+
+        // Assert
+        verify(alunoRepository, times(2)).agregarPorTurma();
+
+        logger.info("✅ Teste passou! Agregados recarregados uma única vez após a reavaliação");
+    }
+
+    @Test
+    void deveRetornarFaixaVaziaSemNotas() {
+        logger.info("🧪 Testando resumo de turma sem notas registradas");
+
+        // Act
+        EstatisticasTurma estatisticas = new AgregadoTurma("Turma 3").resumir();
+
+        // Assert
+        assertEquals(0, estatisticas.getQuantidade());
+        assertNull(estatisticas.getMediaGeral());
+        assertNull(estatisticas.getNota2().getMinima());
+        assertNull(estatisticas.getNota2().getMaxima());
+
+        logger.info("✅ Teste passou! Turma vazia não inventa mínimo nem máximo");
+    }
+
+    private static Aluno novoAluno(long cpf, String turma, Double nota1, Double nota2, Double nota3) {
+        Aluno aluno = Aluno.builder()
+                .cpf(cpf)
+                .nome("Aluno Estatísticas")
+                .endereco("Rua das Turmas, 100, Bairro Teste, Cidade Teste")
+                .turma(turma)
+                .nota1(Notas.decimos(nota1))
+                .nota2(Notas.decimos(nota2))
+                .nota3(Notas.decimos(nota3))
+                .build();
+        aluno.atualizarMedia();
+        aluno.setSituacao(Notas.situacao(aluno.getMedia()));
+        return aluno;
+    }
+}
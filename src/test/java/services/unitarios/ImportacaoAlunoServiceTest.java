@@ -0,0 +1,223 @@
+package services.unitarios;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.cadastro.alunos.model.cache.CpfsCadastrados;
+import br.com.cadastro.alunos.model.events.AlunosAlteradosEvent;
+import br.com.cadastro.alunos.model.dto.ResultadoImportacao;
+import br.com.cadastro.alunos.model.entities.Cpf;
+import br.com.cadastro.alunos.model.entities.Aluno;
+import br.com.cadastro.alunos.model.entities.SituacaoAluno;
+import br.com.cadastro.alunos.model.estatisticas.PoliticasCompiladas;
+import br.com.cadastro.alunos.model.repository.AlunoRepository;
+import br.com.cadastro.alunos.model.services.ImportacaoAlunoService;
+import br.com.cadastro.alunos.model.services.PoliticaAprovacaoService;
+import jakarta.validation.Validation;
+
+@Tag("unitario")
+@SuppressWarnings({"java:S*", "unchecked"})
+class ImportacaoAlunoServiceTest {
+
+    private static final Logger logger = LogManager.getLogger(ImportacaoAlunoServiceTest.class);
+
+    @Mock
+    private AlunoRepository alunoRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PoliticaAprovacaoService politicaAprovacaoService;
+
+    private CpfsCadastrados cpfsCadastrados;
+    private ImportacaoAlunoService importacaoAlunoService;
+
+    @BeforeEach
+    void setUp() {
+        logger.info("=== Iniciando teste do ImportacaoAlunoService ===");
+        logger.debug("Inicializando mocks do Mockito e validador real do Bean Validation...");
+        MockitoAnnotations.openMocks(this);
+        // Filtro de CPFs não carregado: todo CPF "talvez" exista e vai à consulta de existência
+        cpfsCadastrados = new CpfsCadastrados(alunoRepository, 1000, 0.01);
+        when(politicaAprovacaoService.compiladas()).thenReturn(PoliticasCompiladas.NENHUMA);
+        importacaoAlunoService = new ImportacaoAlunoService(alunoRepository, new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(), eventPublisher, cpfsCadastrados,
+                politicaAprovacaoService);
+        logger.debug("Serviço de importação criado com sucesso");
+    }
+
+    @Test
+    void importarNdjsonComLinhasValidasInvalidasERepetidas() {
+        logger.info("🧪 Testando importação NDJSON com linhas válidas, inválidas e CPF repetido no arquivo");
+
+        // Arrange
+        String corpo = String.join("\n",
+                "{\"cpf\":\"123.456.789-09\",\"nome\":\"Carlos Pereira\",\"endereco\":\"Rua A, 100, Bairro Centro, Cidade\","
+                        + "\"turma\":\"1001B\",\"nota1\":9.0,\"nota2\":8.0,\"nota3\":7.0}",
+                "{\"cpf\":\"124.456.789-27\",\"nome\":\"Ana\",\"endereco\":\"Rua B, 200, Bairro Centro, Cidade\","
+                        + "\"turma\":\"1001B\",\"nota1\":6.0,\"nota2\":5.0,\"nota3\":7.0}",
+                "",
+                "{\"cpf\":\"125.456.789-53\",\"nome\":\"Beatriz Souza\",\"endereco\":\"Rua C, 300, Bairro Centro, Cidade\","
+                        + "\"turma\":\"1001B\",\"nota1\":6.0,\"nota2\":5.0,\"nota3\":7.0}",
+                "{\"cpf\":\"123.456.789-09\",\"nome\":\"Carlos Repetido\",\"endereco\":\"Rua A, 100, Bairro Centro, Cidade\","
+                        + "\"turma\":\"1001B\",\"nota1\":9.0,\"nota2\":8.0,\"nota3\":7.0}",
+                "{nao e json");
+        logger.debug("Corpo NDJSON com 6 linhas (1 em branco)");
+
+        when(alunoRepository.findCpfsExistentes(anyCollection())).thenReturn(List.of());
+        doNothing().when(alunoRepository).inserirLote(anyList());
+        logger.debug("Mocks configurados: nenhum CPF existente, inserirLote sem erro");
+
+        // Act
+        logger.info("Executando importação...");
+        ResultadoImportacao resultado = importacaoAlunoService.importarAlunos(new StringReader(corpo),
+                ImportacaoAlunoService.Formato.NDJSON);
+
+        // Assert
+        logger.info("Verificando relatório da importação...");
+        assertEquals(5, resultado.getTotal());
+        assertEquals(2, resultado.getInseridos());
+        assertEquals(3, resultado.getRejeitados());
+        assertEquals("INSERIDO", resultado.getLinhas().get(0).getSituacao());
+        assertNull(resultado.getLinhas().get(0).getMensagem());
+        assertEquals("INVALIDO", resultado.getLinhas().get(1).getSituacao());
+        assertEquals(2, resultado.getLinhas().get(1).getLinha());
+        assertEquals("INSERIDO", resultado.getLinhas().get(2).getSituacao());
+        assertEquals("DUPLICADO", resultado.getLinhas().get(3).getSituacao());
+        assertEquals("INVALIDO", resultado.getLinhas().get(4).getSituacao());
+
+        ArgumentCaptor<List<Aluno>> inseridos = ArgumentCaptor.forClass(List.class);
+        verify(alunoRepository, times(1)).findCpfsExistentes(anyCollection());
+        verify(alunoRepository, times(1)).inserirLote(inseridos.capture());
+        assertEquals(2, inseridos.getValue().size());
+        assertEquals(SituacaoAluno.APROVADO, inseridos.getValue().get(0).getSituacao());
+        assertEquals(SituacaoAluno.REPROVADO, inseridos.getValue().get(1).getSituacao());
+        verify(eventPublisher, times(1)).publishEvent(any(AlunosAlteradosEvent.class));
+
+        logger.info("✅ Teste passou! {} inseridos e {} rejeitados com um único INSERT em lote",
+                resultado.getInseridos(), resultado.getRejeitados());
+    }
+
+    @Test
+    void importarCsvComCabecalhoECpfJaCadastrado() {
+        logger.info("🧪 Testando importação CSV com cabeçalho, CPF já cadastrado e nota inválida");
+
+        // Arrange
+        String corpo = String.join("\n",
+                "cpf;nome;endereco;turma;nota1;nota2;nota3",
+                "123.456.789-09;Carlos Pereira;Rua A, 100, Bairro Centro, Cidade;1001B;9,0;8,0;7,0",
+                "124.456.789-27;Ana Carolina;Rua B, 200, Bairro Centro, Cidade;1001B;6.0;5.0;7.0",
+                "125.456.789-53;Beatriz Souza;Rua C, 300, Bairro Centro, Cidade;1001B;dez;5.0;7.0");
+        logger.debug("Corpo CSV com cabeçalho e 3 alunos");
+
+        when(alunoRepository.findCpfsExistentes(anyCollection())).thenReturn(List.of(Cpf.valor("124.456.789-27")));
+        logger.debug("Mock configurado: CPF 124.456.789-27 já cadastrado");
+
+        // Act
+        ResultadoImportacao resultado = importacaoAlunoService.importarAlunos(new StringReader(corpo),
+                ImportacaoAlunoService.Formato.CSV);
+
+        // Assert
+        assertEquals(3, resultado.getTotal());
+        assertEquals(1, resultado.getInseridos());
+        assertEquals("INSERIDO", resultado.getLinhas().get(0).getSituacao());
+        assertEquals("DUPLICADO", resultado.getLinhas().get(1).getSituacao());
+        assertEquals("CPF já cadastrado", resultado.getLinhas().get(1).getMensagem());
+        assertEquals("INVALIDO", resultado.getLinhas().get(2).getSituacao());
+        verify(alunoRepository, times(1)).inserirLote(argThat(alunos -> alunos.size() == 1));
+
+        logger.info("✅ Teste passou! CSV importado com {} rejeitado(s)", resultado.getRejeitados());
+    }
+
+    @Test
+    void importarConsultaApenasCpfsQueOFiltroNaoDescarta() {
+        logger.info("🧪 Testando que só os CPFs possivelmente cadastrados vão à consulta de existência");
+
+        // Arrange
+        doAnswer(invocacao -> {
+            LongConsumer consumidor = invocacao.getArgument(0);
+            consumidor.accept(Cpf.valor("124.456.789-27"));
+            return null;
+        }).when(alunoRepository).percorrerCpfs(any());
+        cpfsCadastrados.carregar();
+        String corpo = String.join("\n",
+                "123.456.789-09;Carlos Pereira;Rua A, 100, Bairro Centro, Cidade;1001B;9.0;8.0;7.0",
+                "124.456.789-27;Ana Carolina;Rua B, 200, Bairro Centro, Cidade;1001B;6.0;5.0;7.0",
+                "125.456.789-53;Beatriz Souza;Rua C, 300, Bairro Centro, Cidade;1001B;6.0;5.0;7.0");
+        when(alunoRepository.findCpfsExistentes(anyCollection())).thenReturn(List.of(Cpf.valor("124.456.789-27")));
+        logger.debug("Filtro carregado com o CPF 124.456.789-27");
+
+        // Act
+        ResultadoImportacao resultado = importacaoAlunoService.importarAlunos(new StringReader(corpo),
+                ImportacaoAlunoService.Formato.CSV);
+
+        // Assert
+        assertEquals(2, resultado.getInseridos());
+        assertEquals("DUPLICADO", resultado.getLinhas().get(1).getSituacao());
+        verify(alunoRepository, times(1)).findCpfsExistentes(List.of(Cpf.valor("124.456.789-27")));
+        assertTrue(cpfsCadastrados.podeExistir(Cpf.valor("123.456.789-09")));
+        assertTrue(cpfsCadastrados.podeExistir(Cpf.valor("125.456.789-53")));
+
+        logger.info("✅ Teste passou! Consulta de existência com 1 dos 3 CPFs; inseridos entraram no filtro");
+    }
+
+    @Test
+    void importarComConflitoNoLoteInsereIndividualmente() {
+        logger.info("🧪 Testando importação com CPF gravado por outra requisição durante o lote");
+
+        // Arrange
+        String corpo = String.join("\n",
+                "123.456.789-09;Carlos Pereira;Rua A, 100, Bairro Centro, Cidade;1001B;9.0;8.0;7.0",
+                "124.456.789-27;Ana Carolina;Rua B, 200, Bairro Centro, Cidade;1001B;6.0;5.0;7.0");
+
+        when(alunoRepository.findCpfsExistentes(anyCollection())).thenReturn(List.of());
+        DuplicateKeyException conflito = new DuplicateKeyException("PK violada");
+        doThrow(conflito).when(alunoRepository).inserirLote(argThat(alunos -> alunos.size() == 2));
+        doThrow(conflito).when(alunoRepository)
+                .inserirLote(argThat(alunos -> alunos.size() == 1 && Cpf.valor("124.456.789-27") == alunos.get(0).getCpf()));
+        logger.debug("Mocks configurados: lote inteiro falha e o segundo CPF já existe");
+
+        // Act
+        ResultadoImportacao resultado = importacaoAlunoService.importarAlunos(new StringReader(corpo),
+                ImportacaoAlunoService.Formato.CSV);
+
+        // Assert
+        assertEquals(1, resultado.getInseridos());
+        assertEquals("INSERIDO", resultado.getLinhas().get(0).getSituacao());
+        assertEquals("DUPLICADO", resultado.getLinhas().get(1).getSituacao());
+        verify(alunoRepository, times(3)).inserirLote(anyList());
+        verify(alunoRepository, never()).findAll();
+
+        logger.info("✅ Teste passou! Conflito isolado na linha {}", resultado.getLinhas().get(1).getLinha());
+    }
+}
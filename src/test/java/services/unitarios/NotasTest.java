@@ -0,0 +1,142 @@
+package services.unitarios;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+import br.com.cadastro.alunos.model.dto.AlunoDTO;
+import br.com.cadastro.alunos.model.entities.Aluno;
+import br.com.cadastro.alunos.model.entities.Notas;
+import br.com.cadastro.alunos.model.entities.SituacaoAluno;
+
+@Tag("unitario")
+@SuppressWarnings("java:S*")
+class NotasTest {
+
+    private static final Logger logger = LogManager.getLogger(NotasTest.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    void deveCalcularMediaEmCentesimosComoORoundDoBanco() {
+        logger.info("🧪 Testando média em ponto fixo nos casos de arredondamento");
+
+        // (7.0 + 7.0 + 6.9) / 3 = 6.9666... -> 6.97, reprovado por 3 centésimos
+        assertEquals(697, Notas.mediaCentesimos(70, 70, 69));
+        assertEquals(SituacaoAluno.REPROVADO, Notas.situacao(Notas.mediaCentesimos(70, 70, 69)));
+        // (10.0 + 9.5 + 9.5) / 3 = 9.6666... -> 9.67 (sobe)
+        assertEquals(967, Notas.mediaCentesimos(100, 95, 95));
+        // (10.0 + 10.0 + 9.5) / 3 = 9.8333... -> 9.83 (não sobe)
+        assertEquals(983, Notas.mediaCentesimos(100, 100, 95));
+        // Fronteira exata da aprovação
+        assertEquals(700, Notas.mediaCentesimos(60, 70, 80));
+        assertEquals(SituacaoAluno.APROVADO, Notas.situacao(Notas.mediaCentesimos(60, 70, 80)));
+
+        logger.info("✅ Teste passou! Médias em centésimos iguais às da coluna MEDIA");
+    }
+
+    @Test
+    void deveConverterNotaDecimalEmDecimosSemAlocar() {
+        logger.info("🧪 Testando conversão de nota decimal para décimos");
+
+        assertEquals(95, (int) Notas.decimos(9.5));
+        // 6.95 não é representável em double; o arredondamento em décimos é meio para cima como o DECIMAL(3,1)
+        assertEquals(70, (int) Notas.decimos(6.95));
+        assertEquals(101, (int) Notas.decimos(1e9));
+        // Faixa válida (0 a 100) vem do cache de Short.valueOf
+        assertSame(Notas.decimos(10.0), Notas.decimos(10.0));
+        assertNull(Notas.media(null, (short) 70, (short) 70));
+        assertNull(Notas.situacao((Double) null));
+
+        logger.info("✅ Teste passou! Conversões em décimos determinísticas");
+    }
+
+    @Test
+    void deveManterNotasDecimaisNoJson() throws Exception {
+        logger.info("🧪 Testando que a API continua lendo e escrevendo notas decimais");
+
+        // Arrange
+        String json = "{\"cpf\":\"123.456.789-09\",\"nome\":\"Carlos Pereira\",\"turma\":\"1001B\","
+                + "\"nota1\":9.5,\"nota2\":8,\"nota3\":\"7.0\"}";
+
+        // Act
+        Aluno aluno = objectMapper.readValue(json, Aluno.class);
+        aluno.atualizarMedia();
+        AlunoDTO dto = new AlunoDTO(aluno.getCpf(), aluno.getNome(), aluno.getTurma(), aluno.getMedia(),
+                Notas.situacao(aluno.getMedia()), aluno.getNota1(), aluno.getNota2(), aluno.getNota3());
+        String resposta = objectMapper.writeValueAsString(dto);
+        logger.debug("📄 JSON gerado: {}", resposta);
+
+        // Assert
+        assertEquals(95, (int) aluno.getNota1());
+        assertEquals(80, (int) aluno.getNota2());
+        assertEquals(70, (int) aluno.getNota3());
+        assertEquals(8.17, aluno.getMedia());
+        assertTrue(resposta.contains("\"nota1\":9.5"));
+        assertTrue(resposta.contains("\"nota2\":8.0"));
+        assertTrue(resposta.contains("\"media\":\"8.17\""));
+        // O DTO imutável é lido de volta pelo builder com os mesmos conversores
+        AlunoDTO lido = objectMapper.readValue(resposta, AlunoDTO.class);
+        assertEquals(aluno.getCpf(), lido.getCpf());
+        assertEquals(95, (int) lido.getNota1());
+        assertEquals(8.17, lido.getMedia());
+
+        logger.info("✅ Teste passou! Contrato JSON preservado com notas em décimos internamente");
+    }
+
+    @Test
+    void naoDeveArredondarNotaForaDaFaixaParaDentroDela() {
+        logger.info("🧪 Testando que 10.04 e -0.04 não viram 10.0 e 0.0 no arredondamento");
+
+        assertEquals(101, (int) Notas.decimos(new BigDecimal("10.04")));
+        assertEquals(-1, (int) Notas.decimos(new BigDecimal("-0.04")));
+        assertEquals(100, (int) Notas.decimos(new BigDecimal("10.00")));
+        assertEquals(0, (int) Notas.decimos(new BigDecimal("0.04")));
+        assertEquals(70, (int) Notas.decimos(new BigDecimal("6.95")));
+        assertEquals(101, (int) Notas.decimos(10.04));
+        assertEquals(-1, (int) Notas.decimos(-0.04));
+        assertEquals(-1, (int) Notas.decimos(Double.NaN));
+
+        logger.info("✅ Teste passou! A faixa é verificada antes de converter para décimos");
+    }
+
+    @Test
+    void deveRejeitarNoJsonNotaAcimaDeDezOuAbaixoDeZero() throws Exception {
+        logger.info("🧪 Testando a validação de 10.04 e -0.04 vindos do JSON");
+
+        // Arrange
+        String json = "{\"cpf\":\"123.456.789-09\",\"nome\":\"Carlos Pereira\",\"turma\":\"1001B\","
+                + "\"endereco\":\"Rua avelar, n 34, casa 02\",\"nota1\":10.04,\"nota2\":-0.04,\"nota3\":\"10.04\"}";
+
+        // Act
+        Aluno aluno = objectMapper.readValue(json, Aluno.class);
+        Set<String> mensagens = validator.validate(aluno).stream()
+                .map(ConstraintViolation::getMessage)
+                .collect(Collectors.toSet());
+        logger.debug("📄 Violações: {}", mensagens);
+
+        // Assert
+        assertEquals(Set.of("O campo NOTA_1 deve ser no máximo 10.0", "O campo NOTA_2 deve ser no mínimo 0.0",
+                "O campo NOTA_3 deve ser no máximo 10.0"), mensagens);
+
+        logger.info("✅ Teste passou! Notas fora de 0 a 10 rejeitadas em vez de arredondadas");
+    }
+}
@@ -0,0 +1,106 @@
+package services.unitarios;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import br.com.cadastro.alunos.model.entities.Notas;
+import br.com.cadastro.alunos.model.entities.PoliticaAprovacao;
+import br.com.cadastro.alunos.model.entities.SituacaoAluno;
+import br.com.cadastro.alunos.model.estatisticas.PoliticaCompilada;
+
+@Tag("unitario")
+@SuppressWarnings("java:S*")
+class PoliticaCompiladaTest {
+
+    private static final Logger logger = LogManager.getLogger(PoliticaCompiladaTest.class);
+
+    @Test
+    void devePoliticaPadraoSerIgualANotasSituacao() {
+        logger.info("🧪 Testando a política padrão contra Notas.situacao em todas as combinações de notas");
+
+        // Arrange
+        PoliticaCompilada padrao = PoliticaCompilada.PADRAO;
+        int divergencias = 0;
+
+        // Act
+        for (short nota1 = 0; nota1 <= 100; nota1++) {
+            for (short nota2 = 0; nota2 <= 100; nota2++) {
+                for (short nota3 = 0; nota3 <= 100; nota3++) {
+                    SituacaoAluno esperada = Notas.situacao(Notas.mediaCentesimos(nota1, nota2, nota3));
+                    if (esperada != padrao.situacao(nota1, nota2, nota3)) {
+                        logger.error("❌ Notas {}, {}, {}: esperado {}", nota1, nota2, nota3, esperada);
+                        divergencias++;
+                    }
+                }
+            }
+        }
+
+        // Assert
+        assertEquals(0, divergencias);
+        assertNull(padrao.situacao((short) -1, (short) 100, (short) 100));
+
+        logger.info("✅ Teste passou! 1.030.301 combinações com a mesma situação de Notas.situacao");
+    }
+
+    @Test
+    void deveAvaliarComoAMediaPonderadaArredondada() {
+        logger.info("🧪 Testando políticas aleatórias contra a média ponderada em BigDecimal (ROUND_HALF_UP)");
+
+        // Arrange
+        SplittableRandom aleatorio = new SplittableRandom(42);
+        int aprovados = 0;
+
+        // Act & Assert
+        for (int i = 0; i < 200_000; i++) {
+            PoliticaAprovacao politica = new PoliticaAprovacao("1001B", aleatorio.nextInt(11), aleatorio.nextInt(11),
+                    1 + aleatorio.nextInt(10), BigDecimal.valueOf(aleatorio.nextInt(1001), 2), aleatorio.nextInt(4));
+            short[] notas = {(short) aleatorio.nextInt(101), (short) aleatorio.nextInt(101), (short) aleatorio.nextInt(101)};
+
+            SituacaoAluno obtida = PoliticaCompilada.compilar(politica).situacao(notas[0], notas[1], notas[2]);
+
+            SituacaoAluno esperada = referencia(politica, notas);
+            assertEquals(esperada, obtida, () -> politica + " " + notas[0] + ", " + notas[1] + ", " + notas[2]);
+            aprovados += obtida == SituacaoAluno.APROVADO ? 1 : 0;
+        }
+
+        logger.info("✅ Teste passou! 200.000 avaliações iguais à referência, {} aprovações", aprovados);
+    }
+
+    @Test
+    void deveRejeitarPesosZerados() {
+        logger.info("🧪 Testando a compilação de uma política sem nenhum peso");
+
+        // Arrange
+        PoliticaAprovacao politica = new PoliticaAprovacao("1001B", 0, 0, 0, new BigDecimal("7.00"), 0);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> PoliticaCompilada.compilar(politica));
+
+        logger.info("✅ Teste passou! Política sem pesos rejeitada");
+    }
+
+    // Média ponderada em centésimos com BigDecimal, arredondada meio para cima, e provas com nota maior que zero
+    private static SituacaoAluno referencia(PoliticaAprovacao politica, short[] notas) {
+        int[] pesos = {politica.getPeso1(), politica.getPeso2(), politica.getPeso3()};
+        BigDecimal soma = BigDecimal.ZERO;
+        int provas = 0;
+        for (int i = 0; i < 3; i++) {
+            soma = soma.add(BigDecimal.valueOf(notas[i], 1).multiply(BigDecimal.valueOf(pesos[i])));
+            provas += notas[i] > 0 ? 1 : 0;
+        }
+        BigDecimal media = soma.divide(BigDecimal.valueOf(pesos[0] + pesos[1] + pesos[2]), 2, RoundingMode.HALF_UP);
+        return media.compareTo(politica.getMediaMinima()) >= 0 && provas >= politica.getProvasMinimas()
+                ? SituacaoAluno.APROVADO
+                : SituacaoAluno.REPROVADO;
+    }
+}
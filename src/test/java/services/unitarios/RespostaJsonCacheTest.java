@@ -0,0 +1,148 @@
+package services.unitarios;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.cadastro.alunos.model.cache.RespostaJson;
+import br.com.cadastro.alunos.model.cache.RespostaJsonCache;
+import br.com.cadastro.alunos.model.cache.VersaoAlunos;
+import br.com.cadastro.alunos.model.dto.AlunoDTO;
+import br.com.cadastro.alunos.model.entities.Cpf;
+import br.com.cadastro.alunos.model.entities.Notas;
+import br.com.cadastro.alunos.model.entities.SituacaoAluno;
+import br.com.cadastro.alunos.model.events.AlunosAlteradosEvent;
+
+@Tag("unitario")
+@SuppressWarnings("java:S*")
+class RespostaJsonCacheTest {
+
+    private static final Logger logger = LogManager.getLogger(RespostaJsonCacheTest.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private VersaoAlunos versaoAlunos;
+    private RespostaJsonCache respostaJsonCache;
+    private AtomicInteger consultas;
+    private List<AlunoDTO> alunos;
+
+    @BeforeEach
+    void setUp() {
+        logger.info("=== Iniciando teste do RespostaJsonCache ===");
+        versaoAlunos = new VersaoAlunos();
+        respostaJsonCache = new RespostaJsonCache(objectMapper, versaoAlunos, 16, Duration.ofMinutes(5));
+        consultas = new AtomicInteger();
+        alunos = List.of(new AlunoDTO(Cpf.valor("123.456.789-09"), "Carlos Pereira", "1001B", 8.0, SituacaoAluno.APROVADO,
+                Notas.decimos(9.0), Notas.decimos(8.0), Notas.decimos(7.0)));
+    }
+
+    @Test
+    void deveSerializarUmaVezEServirOsMesmosBytes() throws Exception {
+        logger.info("🧪 Testando que a listagem é consultada e serializada uma única vez");
+
+        // Act
+        ResponseEntity<byte[]> primeira = respostaJsonCache.obter("todos", this::consultar).comoResposta(null);
+        ResponseEntity<byte[]> segunda = respostaJsonCache.obter("todos", this::consultar).comoResposta(null);
+
+        // Assert
+        logger.debug("📄 JSON em cache: {}", new String(primeira.getBody(), StandardCharsets.UTF_8));
+        assertEquals(1, consultas.get());
+        assertSame(primeira.getBody(), segunda.getBody());
+        assertArrayEquals(objectMapper.writeValueAsBytes(alunos), primeira.getBody());
+        assertNull(primeira.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(versaoAlunos.geral().etag(false), primeira.getHeaders().getETag());
+
+        logger.info("✅ Teste passou! Segunda leitura copiou os bytes do cache");
+    }
+
+    @Test
+    void deveComprimirComGzipQuandoAceito() throws Exception {
+        logger.info("🧪 Testando resposta gzip para clientes que a aceitam");
+
+        // Act
+        RespostaJson resposta = respostaJsonCache.obter("aprovados", this::consultar);
+        ResponseEntity<byte[]> comprimida = resposta.comoResposta("br;q=1.0, gzip;q=0.8");
+        ResponseEntity<byte[]> recusada = resposta.comoResposta("gzip;q=0");
+
+        // Assert
+        assertEquals("gzip", comprimida.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertSame(comprimida.getBody(), resposta.comoResposta("gzip").getBody());
+        try (GZIPInputStream entrada = new GZIPInputStream(new ByteArrayInputStream(comprimida.getBody()))) {
+            assertArrayEquals(objectMapper.writeValueAsBytes(alunos), entrada.readAllBytes());
+        }
+        assertNull(recusada.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(versaoAlunos.geral().etag(true), comprimida.getHeaders().getETag());
+
+        logger.info("✅ Teste passou! gzip gerado uma vez e recusado com q=0");
+    }
+
+    @Test
+    void deveInvalidarTodasAsListagensAposGravacao() {
+        logger.info("🧪 Testando invalidação das listagens após gravação em qualquer turma");
+
+        // Arrange
+        respostaJsonCache.obter("todos", this::consultar);
+        respostaJsonCache.obter("reprovados", List::of);
+
+        // Act
+        respostaJsonCache.aoAlterarAlunos(AlunosAlteradosEvent.daTurma("1001B"));
+        RespostaJson todos = respostaJsonCache.obter("todos", this::consultar);
+
+        // Assert
+        assertEquals(2, consultas.get());
+        assertTrue(respostaJsonCache.obter("reprovados", List::of).isVazia());
+
+        logger.info("✅ Teste passou! Listagem relida após a gravação: {} bytes", todos.getTamanho());
+    }
+
+    @Test
+    void naoDeveServirListagemConsultadaDuranteAInvalidacao() {
+        logger.info("🧪 Testando gravação confirmada enquanto a listagem ainda é consultada");
+
+        // Arrange
+        AlunosAlteradosEvent evento = AlunosAlteradosEvent.daTurma("1001B");
+
+        // Act: a gravação é confirmada depois que a consulta leu os dados e antes de o resultado ser guardado
+        RespostaJson antiga = respostaJsonCache.obter("todos", () -> {
+            List<AlunoDTO> lidos = consultar();
+            respostaJsonCache.aoAlterarAlunos(evento);
+            versaoAlunos.aoAlterarAlunos(evento);
+            return lidos;
+        });
+        RespostaJson nova = respostaJsonCache.obter("todos", this::consultar);
+
+        // Assert
+        assertEquals(2, consultas.get(), "A listagem gerada na versão anterior não pode ser reaproveitada");
+        assertEquals(versaoAlunos.geral(), nova.getVersao());
+        assertTrue(antiga.getVersao().getNumero() < nova.getVersao().getNumero());
+        assertEquals(antiga.getVersao().etag(false), antiga.comoResposta(null).getHeaders().getETag(),
+                "A ETag deve ser a da versão em que o corpo foi gerado");
+        assertEquals(versaoAlunos.geral().etag(false), nova.comoResposta(null).getHeaders().getETag());
+
+        logger.info("✅ Teste passou! Listagem da versão {} descartada na versão {}",
+                antiga.getVersao().getNumero(), nova.getVersao().getNumero());
+    }
+
+    private List<AlunoDTO> consultar() {
+        consultas.incrementAndGet();
+        return alunos;
+    }
+}
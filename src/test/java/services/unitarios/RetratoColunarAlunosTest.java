@@ -0,0 +1,288 @@
+package services.unitarios;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import br.com.cadastro.alunos.model.dto.AlunoDTO;
+import br.com.cadastro.alunos.model.dto.ResultadoSimulacao;
+import br.com.cadastro.alunos.model.entities.Aluno;
+import br.com.cadastro.alunos.model.entities.Cpf;
+import br.com.cadastro.alunos.model.entities.Notas;
+import br.com.cadastro.alunos.model.entities.PoliticaAprovacao;
+import br.com.cadastro.alunos.model.entities.SituacaoAluno;
+import br.com.cadastro.alunos.model.estatisticas.ColunasAlunos;
+import br.com.cadastro.alunos.model.estatisticas.PoliticaCompilada;
+import br.com.cadastro.alunos.model.estatisticas.RetratoColunarAlunos;
+import br.com.cadastro.alunos.model.events.AlunosAlteradosEvent;
+import br.com.cadastro.alunos.model.repository.AlunoRepository;
+
+@Tag("unitario")
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("java:S*")
+class RetratoColunarAlunosTest {
+
+    private static final Logger logger = LogManager.getLogger(RetratoColunarAlunosTest.class);
+
+    @Mock
+    private AlunoRepository alunoRepository;
+
+    private RetratoColunarAlunos retrato;
+
+    private Aluno carlos;
+
+    @BeforeEach
+    void setUp() {
+        logger.info("=== Iniciando teste do RetratoColunarAlunos ===");
+        retrato = new RetratoColunarAlunos(alunoRepository);
+
+        // Carga inicial: Carlos aprovado (9.0, 8.0, 7.0) e Ana reprovada (5.0, 6.0, 4.5)
+        carlos = novoAluno(Cpf.valor("123.456.789-09"), "Carlos Aprovado", "Turma 1", 9.0, 8.0, 7.0);
+        Aluno ana = novoAluno(Cpf.valor("124.456.789-27"), "Ana Reprovada", "Turma 2", 5.0, 6.0, 4.5);
+        lenient().when(alunoRepository.carregarColunas()).thenAnswer(invocacao -> {
+            ColunasAlunos colunas = new ColunasAlunos(2);
+            colunas.acrescentar(carlos.getCpf(), carlos.getNome(), carlos.getTurma(), carlos.getNota1(),
+                    carlos.getNota2(), carlos.getNota3(), (short) 800, SituacaoAluno.APROVADO);
+            colunas.acrescentar(ana.getCpf(), ana.getNome(), ana.getTurma(), ana.getNota1(),
+                    ana.getNota2(), ana.getNota3(), (short) 517, SituacaoAluno.REPROVADO);
+            return colunas;
+        });
+        logger.debug("Mock configurado: retrato carregado com Carlos (aprovado) e Ana (reprovada)");
+    }
+
+    @Test
+    void deveAplicarGravacoesSemReler() {
+        logger.info("🧪 Testando inclusão, alteração e exclusão aplicadas ao retrato sem reler o banco");
+
+        // Arrange
+        retrato.carregar();
+        Aluno bruno = novoAluno(Cpf.valor("111.444.777-35"), "Bruno Aprovado", "Turma 3", 10.0, 7.5, 9.0);
+        Aluno joao = novoAluno(Cpf.valor("125.456.789-53"), "João Uma Prova", "Turma 3", 9.0, 0.0, 0.0);
+        AlunoDTO anterior = AlunosAlteradosEvent.retrato(carlos);
+        carlos.setNota1(Notas.decimos(2.0));
+        carlos.atualizarMedia();
+        carlos.setSituacao(Notas.situacao(carlos.getMedia()));
+
+        // Act
+        logger.info("Aplicando inclusões, a alteração de Carlos e a exclusão de João...");
+        retrato.aoAlterarAlunos(AlunosAlteradosEvent.inclusoes(List.of(joao, bruno)));
+        List<AlunoDTO> comUmaProva = retrato.comUmaProva();
+        retrato.aoAlterarAlunos(AlunosAlteradosEvent.alteracao(anterior, carlos));
+        retrato.aoAlterarAlunos(AlunosAlteradosEvent.exclusao(joao));
+        List<AlunoDTO> aprovados = retrato.aprovados();
+        List<AlunoDTO> reprovados = retrato.reprovados();
+
+        // Assert
+        logger.debug("📊 Aprovados={}, reprovados={}, com uma prova={}", aprovados.size(), reprovados.size(),
+                comUmaProva.size());
+        assertEquals(List.of("João Uma Prova"), comUmaProva.stream().map(AlunoDTO::getNome).toList());
+        assertEquals(List.of("Bruno Aprovado"), aprovados.stream().map(AlunoDTO::getNome).toList());
+        assertEquals("Turma 3", aprovados.get(0).getTurma());
+        assertEquals(8.83, aprovados.get(0).getMedia());
+        // Em ordem de CPF: Carlos (123...) antes de Ana (124...)
+        assertEquals(List.of("Carlos Aprovado", "Ana Reprovada"), reprovados.stream().map(AlunoDTO::getNome).toList());
+        assertEquals(SituacaoAluno.REPROVADO, reprovados.get(0).getSituacao());
+        assertEquals(Notas.decimos(2.0), reprovados.get(0).getNota1());
+        verify(alunoRepository, times(1)).carregarColunas();
+
+        logger.info("✅ Teste passou! Retrato mantido com uma única carga do banco");
+    }
+
+    @Test
+    void deveUsarOsMesmosCriteriosDasConsultas() {
+        logger.info("🧪 Testando média de fronteira (7,00) e aluno sem notas, pela situação gravada");
+
+        // Arrange
+        ColunasAlunos colunas = new ColunasAlunos(0);
+        colunas.acrescentar(1L, "Média Sete", "Turma 1", (short) 70, (short) 70, (short) 70, (short) 700,
+                SituacaoAluno.APROVADO);
+        colunas.acrescentar(2L, "Média Sete e Três", "Turma 1", (short) 70, (short) 70, (short) 71, (short) 703,
+                SituacaoAluno.APROVADO);
+        colunas.acrescentar(3L, "Sem Notas", "Turma 1", null, null, (short) 80, null, null);
+
+        // Act
+        List<AlunoDTO> aprovados = colunas.aprovados();
+        List<AlunoDTO> reprovados = colunas.reprovados();
+        List<AlunoDTO> comUmaProva = colunas.comUmaProva();
+
+        // Assert
+        // Pela situação gravada: média 7,00 aprovada; sem situação, fora das duas listas
+        assertEquals(List.of(1L, 2L), aprovados.stream().map(AlunoDTO::getCpf).toList());
+        assertEquals(List.of(), reprovados.stream().map(AlunoDTO::getCpf).toList());
+        assertEquals(List.of(3L), comUmaProva.stream().map(AlunoDTO::getCpf).toList());
+        assertNull(comUmaProva.get(0).getMedia());
+        assertNull(comUmaProva.get(0).getNota1());
+        assertNull(comUmaProva.get(0).getSituacao());
+
+        logger.info("✅ Teste passou! Média 7,00 aprovada pela situação e notas nulas não contam como prova");
+    }
+
+    @Test
+    void deveListarPelaSituacaoGravadaMesmoQuandoDivergeDasNotas() {
+        logger.info("🧪 Testando aprovados e reprovados quando a situação gravada diverge das notas");
+
+        // Arrange
+        ColunasAlunos colunas = new ColunasAlunos(0);
+        // Média 3,10 com situação APROVADO (ex.: gravada por uma política da turma)
+        colunas.acrescentar(1L, "Aprovado Pela Situação", "1002C", (short) 0, (short) 0, (short) 93, (short) 310,
+                SituacaoAluno.APROVADO);
+        // Média 9,00 com situação REPROVADO
+        colunas.acrescentar(2L, "Reprovado Pela Situação", "1002C", (short) 90, (short) 90, (short) 90, (short) 900,
+                SituacaoAluno.REPROVADO);
+
+        // Act
+        List<AlunoDTO> aprovados = colunas.aprovados();
+        List<AlunoDTO> reprovados = colunas.reprovados();
+
+        // Assert
+        // A coluna de situação é a única fonte: cada DTO sai na lista da situação que ele mesmo carrega
+        assertEquals(List.of(1L), aprovados.stream().map(AlunoDTO::getCpf).toList());
+        assertEquals(SituacaoAluno.APROVADO, aprovados.get(0).getSituacao());
+        assertEquals(List.of(2L), reprovados.stream().map(AlunoDTO::getCpf).toList());
+        assertEquals(SituacaoAluno.REPROVADO, reprovados.get(0).getSituacao());
+
+        logger.info("✅ Teste passou! Listagens seguem a situação gravada, não a reavaliação das notas");
+    }
+
+    @Test
+    void deveSimularPoliticaDaTurmaSemAlterarSituacoes() {
+        logger.info("🧪 Testando a simulação de uma política com peso 2 na terceira avaliação");
+
+        // Arrange
+        ColunasAlunos colunas = new ColunasAlunos(0);
+        // Média 7,00 e ponderada 7,50: continua aprovado
+        colunas.acrescentar(1L, "Continua Aprovado", "1001B", (short) 60, (short) 60, (short) 90, (short) 700,
+                SituacaoAluno.APROVADO);
+        // Média 7,33 e ponderada 6,50: passaria a reprovado
+        colunas.acrescentar(2L, "Passaria a Reprovado", "1001B", (short) 90, (short) 90, (short) 40, (short) 733,
+                SituacaoAluno.APROVADO);
+        // Média 6,50 e ponderada 7,25: passaria a aprovado
+        colunas.acrescentar(3L, "Passaria a Aprovado", "1001B", (short) 50, (short) 50, (short) 95, (short) 650,
+                SituacaoAluno.REPROVADO);
+        colunas.acrescentar(4L, "Continua Reprovado", "1001B", (short) 0, (short) 0, (short) 100, (short) 333,
+                SituacaoAluno.REPROVADO);
+        colunas.acrescentar(5L, "Sem Notas", "1001B", null, null, (short) 80, null, null);
+        colunas.acrescentar(6L, "Outra Turma", "1002A", (short) 100, (short) 100, (short) 0, (short) 667,
+                SituacaoAluno.REPROVADO);
+        PoliticaCompilada proposta = PoliticaCompilada.compilar(
+                new PoliticaAprovacao("1001B", 1, 1, 2, new BigDecimal("7.00"), 0));
+
+        // Act
+        ResultadoSimulacao simulacao = colunas.simular("1001B", proposta).orElseThrow();
+        ResultadoSimulacao padrao = colunas.simular("1001B", PoliticaCompilada.PADRAO).orElseThrow();
+
+        // Assert
+        logger.debug("📊 Aprovados={}, reprovados={}, atuais={}", simulacao.getAprovados(), simulacao.getReprovados(),
+                simulacao.getAprovadosAtuais());
+        assertEquals(5, simulacao.getQuantidade());
+        assertEquals(2, simulacao.getAprovados());
+        assertEquals(2, simulacao.getReprovados());
+        assertEquals(2, simulacao.getAprovadosAtuais());
+        assertEquals(1, simulacao.getPassariamAAprovados());
+        assertEquals(1, simulacao.getPassariamAReprovados());
+        // A política padrão reproduz a situação gravada
+        assertEquals(2, padrao.getAprovados());
+        assertEquals(0, padrao.getPassariamAAprovados() + padrao.getPassariamAReprovados());
+        assertTrue(colunas.simular("9999Z", proposta).isEmpty());
+        // Nada foi gravado no retrato
+        assertEquals(List.of(1L, 2L), colunas.aprovados().stream().map(AlunoDTO::getCpf).toList());
+
+        logger.info("✅ Teste passou! Simulação com 1 aluno passando a aprovado e 1 a reprovado");
+    }
+
+    @Test
+    void deveManterOrdemDosCpfsEmLotesMisturados() {
+        logger.info("🧪 Testando lotes com inclusões, alterações e exclusões contra um mapa ordenado de referência");
+
+        // Arrange
+        Random aleatorio = new Random(42);
+        ColunasAlunos colunas = new ColunasAlunos(0);
+        TreeMap<Long, AlunoDTO> esperado = new TreeMap<>();
+
+        // Act
+        for (int lote = 0; lote < 200; lote++) {
+            List<AlunoDTO> removidos = new ArrayList<>();
+            List<AlunoDTO> incluidos = new ArrayList<>();
+            for (int i = aleatorio.nextInt(20); i >= 0; i--) {
+                long cpf = 1 + aleatorio.nextInt(300);
+                if (aleatorio.nextInt(3) == 0) {
+                    removidos.add(aluno(cpf, 0));
+                    incluidos.removeIf(aluno -> aluno.getCpf() == cpf);
+                    esperado.remove(cpf);
+                } else {
+                    AlunoDTO aluno = aluno(cpf, 1 + aleatorio.nextInt(100));
+                    incluidos.removeIf(incluido -> incluido.getCpf() == cpf);
+                    incluidos.add(aluno);
+                    esperado.put(cpf, aluno);
+                }
+            }
+            colunas.aplicar(removidos, incluidos);
+        }
+
+        // Assert
+        // Todos têm só a nota1, então todos aparecem na listagem de uma prova, em ordem de CPF
+        List<AlunoDTO> todos = colunas.comUmaProva();
+        logger.debug("📊 {} alunos no retrato após 200 lotes", todos.size());
+        assertEquals(esperado.size(), colunas.getQuantidade());
+        assertEquals(new ArrayList<>(esperado.keySet()), todos.stream().map(AlunoDTO::getCpf).toList());
+        assertEquals(esperado.values().stream().map(AlunoDTO::getNota1).toList(),
+                todos.stream().map(AlunoDTO::getNota1).toList());
+
+        logger.info("✅ Teste passou! {} alunos em ordem de CPF com as notas mais recentes", todos.size());
+    }
+
+    @Test
+    void deveRecarregarAposReavaliacaoGeral() {
+        logger.info("🧪 Testando recarga após gravação sem retrato dos alunos (reavaliação geral)");
+
+        // Arrange
+        retrato.aprovados();
+
+        // Act
+        retrato.aoAlterarAlunos(AlunosAlteradosEvent.deTodasAsTurmas());
+        retrato.aprovados();
+        retrato.reprovados();
+
+        // Assert
+        verify(alunoRepository, times(2)).carregarColunas();
+
+        logger.info("✅ Teste passou! Retrato recarregado uma única vez após a reavaliação");
+    }
+
+    private static AlunoDTO aluno(long cpf, int nota1) {
+        return new AlunoDTO(cpf, "Aluno " + cpf, "Turma " + cpf % 7, null, null, (short) nota1, (short) 0, (short) 0);
+    }
+
+    private static Aluno novoAluno(long cpf, String nome, String turma, Double nota1, Double nota2, Double nota3) {
+        Aluno aluno = Aluno.builder()
+                .cpf(cpf)
+                .nome(nome)
+                .endereco("Rua das Colunas, 100, Bairro Teste, Cidade Teste")
+                .turma(turma)
+                .nota1(Notas.decimos(nota1))
+                .nota2(Notas.decimos(nota2))
+                .nota3(Notas.decimos(nota3))
+                .build();
+        aluno.atualizarMedia();
+        aluno.setSituacao(Notas.situacao(aluno.getMedia()));
+        return aluno;
+    }
+}
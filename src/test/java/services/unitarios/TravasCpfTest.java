@@ -0,0 +1,162 @@
+package services.unitarios;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.cadastro.alunos.model.entities.Cpf;
+import br.com.cadastro.alunos.model.services.TravasCpf;
+
+@Tag("unitario")
+@SuppressWarnings("java:S*")
+class TravasCpfTest {
+
+    private static final Logger logger = LogManager.getLogger(TravasCpfTest.class);
+
+    private static final int THREADS = 16;
+    private static final int OPERACOES_POR_THREAD = 256;
+    private static final int CPFS = 64;
+    // Trabalho dentro da trava (consulta e gravação), simulado com uma espera que não ocupa CPU
+    private static final long TRABALHO_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    // Gerenciador sem recursos: só executa o ciclo de sincronização de uma transação real
+    private final TransactionTemplate transacao = new TransactionTemplate(new AbstractPlatformTransactionManager() {
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    });
+
+    @Test
+    void deveSerializarOMesmoCpfEParalelizarCpfsDiferentes() throws Exception {
+        logger.info("🧪 Testando travas por faixa contra uma trava global com {} threads e {} CPFs", THREADS, CPFS);
+
+        // Act: a trava global roda primeiro e também aquece a JIT para a medição das faixas
+        long nanosGlobal = executarCarga(new TravasCpf(1));
+        long nanosFaixas = executarCarga(new TravasCpf(1024));
+
+        // Assert
+        double vazaoFaixas = THREADS * OPERACOES_POR_THREAD / (nanosFaixas / 1e9);
+        double vazaoGlobal = THREADS * OPERACOES_POR_THREAD / (nanosGlobal / 1e9);
+        logger.debug("📊 Vazão: {} op/s com 1024 faixas, {} op/s com trava global", Math.round(vazaoFaixas),
+                Math.round(vazaoGlobal));
+        assertTrue(vazaoFaixas > 2 * vazaoGlobal,
+                "Faixas deveriam superar a trava global: " + vazaoFaixas + " x " + vazaoGlobal);
+
+        logger.info("✅ Teste passou! Nenhuma gravação perdida; faixas {}x mais rápidas que a trava global",
+                Math.round(vazaoFaixas / vazaoGlobal));
+    }
+
+    @Test
+    void deveManterATravaDoCpfAteOFimDaTransacao() throws Exception {
+        logger.info("🧪 Testando que a trava do CPF vale até o fim da transação");
+
+        // Arrange
+        TravasCpf travasCpf = new TravasCpf(1024);
+        CountDownLatch travado = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+
+        // Act: a primeira transação segura o CPF; a segunda tenta o mesmo CPF
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<?> primeira = executor.submit(() -> transacao.executeWithoutResult(status -> {
+                travasCpf.travar(Cpf.valor("123.456.789-09"));
+                travado.countDown();
+                aguardar(liberar);
+            }));
+            aguardar(travado);
+            long inicio = System.nanoTime();
+            Future<Long> segunda = executor.submit(() -> transacao.execute(status -> {
+                travasCpf.travar(Cpf.valor("12345678909"));
+                return System.nanoTime();
+            }));
+            Thread.sleep(50);
+            liberar.countDown();
+            primeira.get();
+
+            // Assert
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(segunda.get() - inicio) >= 50);
+        }
+        assertThrows(IllegalStateException.class, () -> travasCpf.travar(Cpf.valor("123.456.789-09")));
+
+        logger.info("✅ Teste passou! Segunda transação esperou o fim da primeira");
+    }
+
+    /**
+     * Cada operação lê e regrava o contador do CPF em passos separados, como um SELECT seguido de UPDATE:
+     * sem a trava, operações simultâneas sobre o mesmo CPF perderiam incrementos.
+     */
+    private long executarCarga(TravasCpf travasCpf) throws Exception {
+        Map<Long, Integer> gravacoes = new ConcurrentHashMap<>();
+        List<Future<?>> threads = new ArrayList<>();
+        long inicio = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int t = 0; t < THREADS; t++) {
+                int deslocamento = t;
+                threads.add(executor.submit(() -> {
+                    for (int i = 0; i < OPERACOES_POR_THREAD; i++) {
+                        long cpf = Cpf.comDigitosVerificadores((i + deslocamento) % CPFS + 1L);
+                        transacao.executeWithoutResult(status -> {
+                            travasCpf.travar(cpf);
+                            int atual = gravacoes.getOrDefault(cpf, 0);
+                            LockSupport.parkNanos(TRABALHO_NANOS);
+                            gravacoes.put(cpf, atual + 1);
+                        });
+                    }
+                }));
+            }
+            for (Future<?> thread : threads) {
+                thread.get();
+            }
+        }
+        long nanos = System.nanoTime() - inicio;
+
+        int total = gravacoes.values().stream().mapToInt(Integer::intValue).sum();
+        logger.debug("Carga com {} faixas: {} gravações em {} ms", travasCpf.getQuantidade(), total,
+                TimeUnit.NANOSECONDS.toMillis(nanos));
+        assertEquals(THREADS * OPERACOES_POR_THREAD, total);
+        assertEquals(CPFS, gravacoes.size());
+        gravacoes.values().forEach(porCpf -> assertEquals(THREADS * OPERACOES_POR_THREAD / CPFS, porCpf));
+        return nanos;
+    }
+
+    private static void aguardar(CountDownLatch sinal) {
+        try {
+            assertTrue(sinal.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,11 +1,15 @@
 package services.unitarios;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 
@@ -15,7 +19,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
@@ -23,7 +26,16 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
-import br.com.cadastro.alunos.model.entities.Aluno;
+import br.com.cadastro.alunos.model.cache.ConsultaAlunoCache;
+import br.com.cadastro.alunos.model.dto.AlunoDTO;
+import br.com.cadastro.alunos.model.dto.PaginaCursor;
+import br.com.cadastro.alunos.model.entities.Cpf;
+import br.com.cadastro.alunos.model.entities.Notas;
+import br.com.cadastro.alunos.model.entities.SituacaoAluno;
+import br.com.cadastro.alunos.model.estatisticas.ColunasAlunos;
+import br.com.cadastro.alunos.model.estatisticas.EstatisticasTurmas;
+import br.com.cadastro.alunos.model.estatisticas.RetratoColunarAlunos;
+import br.com.cadastro.alunos.model.events.AlunosAlteradosEvent;
 import br.com.cadastro.alunos.model.exceptions.ResourceNotFoundException;
 import br.com.cadastro.alunos.model.exceptions.ServiceException;
 import br.com.cadastro.alunos.model.repository.AlunoRepository;
@@ -36,39 +48,44 @@ class VerificaAlunoServiceTest {
 
     private static final Logger logger = LogManager.getLogger(VerificaAlunoServiceTest.class);
 
-    @InjectMocks
     private ConsultaAlunoService consultaAlunoService;
 
+    private ConsultaAlunoCache consultaAlunoCache;
+
     @Mock
     private AlunoRepository alunoRepository;
 
-    private Aluno alunoAprovado;
-    private Aluno alunoReprovado;
-    private Aluno alunoReprovadoUmaProva;
+    private AlunoDTO alunoAprovado;
+    private AlunoDTO alunoReprovado;
+    private AlunoDTO alunoReprovadoUmaProva;
 
     @BeforeEach
     void setUp() {
         logger.info("=== Iniciando teste do ConsultaAlunoService ===");
+        // Cache real e vazio a cada teste, para que cada consulta chegue ao repositório simulado
+        consultaAlunoCache = new ConsultaAlunoCache(100, Duration.ofMinutes(5));
+        consultaAlunoService = new ConsultaAlunoService(alunoRepository, consultaAlunoCache,
+                new EstatisticasTurmas(alunoRepository), new RetratoColunarAlunos(alunoRepository));
         logger.info("🧪 Executado por: ferrazsergio em 2025-06-26 18:09:45");
 
         logger.debug("Criando dados de teste...");
-        alunoAprovado = new Aluno("123", "Carlos", "Rua A", "Turma 1", 9.0, 8.0, 7.5, "Sim");
-        alunoReprovado = new Aluno("124", "Ana", "Rua B", "Turma 2", 5.0, 6.0, 5.5, "Não");
-        alunoReprovadoUmaProva = new Aluno("125", "João", "Rua C", "Turma 3", 9.0, 0.0, 0.0, "Não");
+        alunoAprovado = novoAluno(Cpf.valor("123.456.789-09"), "Carlos", "Turma 1", 9.0, 8.0, 7.5, SituacaoAluno.APROVADO);
+        alunoReprovado = novoAluno(Cpf.valor("124.456.789-27"), "Ana", "Turma 2", 5.0, 6.0, 5.5, SituacaoAluno.REPROVADO);
+        alunoReprovadoUmaProva = novoAluno(Cpf.valor("125.456.789-53"), "João", "Turma 3", 9.0, 0.0, 0.0, SituacaoAluno.REPROVADO);
 
         logger.debug("Alunos de teste criados:");
         logger.debug("  📘 Aprovado: CPF={}, Nome={}, Média={:.2f}, Status={}",
                 alunoAprovado.getCpf(), alunoAprovado.getNome(),
-                (alunoAprovado.getNota1() + alunoAprovado.getNota2() + alunoAprovado.getNota3()) / 3,
-                alunoAprovado.getAprovado());
+                alunoAprovado.getMedia(),
+                alunoAprovado.getSituacao());
         logger.debug("  📕 Reprovado: CPF={}, Nome={}, Média={:.2f}, Status={}",
                 alunoReprovado.getCpf(), alunoReprovado.getNome(),
-                (alunoReprovado.getNota1() + alunoReprovado.getNota2() + alunoReprovado.getNota3()) / 3,
-                alunoReprovado.getAprovado());
+                alunoReprovado.getMedia(),
+                alunoReprovado.getSituacao());
         logger.debug("  📙 Reprovado (1 prova): CPF={}, Nome={}, Notas=[{}, {}, {}], Status={}",
                 alunoReprovadoUmaProva.getCpf(), alunoReprovadoUmaProva.getNome(),
                 alunoReprovadoUmaProva.getNota1(), alunoReprovadoUmaProva.getNota2(), alunoReprovadoUmaProva.getNota3(),
-                alunoReprovadoUmaProva.getAprovado());
+                alunoReprovadoUmaProva.getSituacao());
     }
 
     @Test
@@ -76,20 +93,21 @@ class VerificaAlunoServiceTest {
         logger.info("🧪 Testando listagem de alunos aprovados");
 
         // Arrange
-        List<Aluno> alunosMock = Arrays.asList(alunoAprovado, alunoReprovado);
-        logger.debug("Configurando mock com {} alunos (1 aprovado, 1 reprovado)", alunosMock.size());
-        when(alunoRepository.findAll()).thenReturn(alunosMock);
-        logger.debug("✅ Mock configurado: findAll() retorna lista com {} alunos", alunosMock.size());
+        logger.debug("Configurando mock com os 3 alunos carregados no retrato colunar (filtro feito em memória)");
+        when(alunoRepository.carregarColunas()).thenReturn(colunasCom(alunoAprovado, alunoReprovado, alunoReprovadoUmaProva));
+        logger.debug("✅ Mock configurado: carregarColunas() retorna 3 alunos");
 
         // Act
         logger.info("Executando listarAlunosAprovados()...");
-        List<Aluno> aprovados = consultaAlunoService.listarAlunosAprovados();
+        List<AlunoDTO> aprovados = consultaAlunoService.listarAlunosAprovados();
 
         // Assert
         logger.info("Verificando resultado da listagem...");
         assertEquals(1, aprovados.size());
         assertEquals("Carlos", aprovados.get(0).getNome());
-        verify(alunoRepository, times(1)).findAll();
+        assertEquals(8.17, aprovados.get(0).getMedia());
+        verify(alunoRepository, times(1)).carregarColunas();
+        verify(alunoRepository, never()).findAll();
 
         logger.info("✅ Teste passou! {} aluno aprovado encontrado: {}",
                 aprovados.size(), aprovados.get(0).getNome());
@@ -102,7 +120,7 @@ class VerificaAlunoServiceTest {
         // Arrange
         RuntimeException erroSimulado = new RuntimeException("Erro ao listar");
         logger.debug("Configurando mock para lançar exceção: {}", erroSimulado.getMessage());
-        when(alunoRepository.findAll()).thenThrow(erroSimulado);
+        when(alunoRepository.carregarColunas()).thenThrow(erroSimulado);
         logger.debug("✅ Mock configurado para falhar");
 
         // Act & Assert
@@ -117,23 +135,22 @@ class VerificaAlunoServiceTest {
         logger.info("🧪 Testando listagem de alunos reprovados que fizeram apenas uma prova");
 
         // Arrange
-        List<Aluno> alunosMock = Arrays.asList(alunoAprovado, alunoReprovadoUmaProva);
-        logger.debug("Configurando mock com {} alunos:", alunosMock.size());
-        logger.debug("  - {}: {} provas feitas", alunoAprovado.getNome(), contarProvasFeitas(alunoAprovado));
+        logger.debug("Configurando mock com os 3 alunos no retrato (contagem de provas feita em memória):");
         logger.debug("  - {}: {} prova feita", alunoReprovadoUmaProva.getNome(), contarProvasFeitas(alunoReprovadoUmaProva));
 
-        when(alunoRepository.findAll()).thenReturn(alunosMock);
+        when(alunoRepository.carregarColunas()).thenReturn(colunasCom(alunoAprovado, alunoReprovado, alunoReprovadoUmaProva));
         logger.debug("✅ Mock configurado");
 
         // Act
         logger.info("Executando listarAlunosReprovadosUmaProva()...");
-        List<Aluno> reprovadosUmaProva = consultaAlunoService.listarAlunosReprovadosUmaProva();
+        List<AlunoDTO> reprovadosUmaProva = consultaAlunoService.listarAlunosReprovadosUmaProva();
 
         // Assert
         logger.info("Verificando resultado da listagem...");
         assertEquals(1, reprovadosUmaProva.size());
         assertEquals("João", reprovadosUmaProva.get(0).getNome());
-        verify(alunoRepository, times(1)).findAll();
+        assertEquals(Notas.decimos(0.0), reprovadosUmaProva.get(0).getNota2());
+        verify(alunoRepository, never()).findAll();
 
         logger.info("✅ Teste passou! {} aluno com apenas 1 prova encontrado: {}",
                 reprovadosUmaProva.size(), reprovadosUmaProva.get(0).getNome());
@@ -146,7 +163,7 @@ class VerificaAlunoServiceTest {
         // Arrange
         RuntimeException erroSimulado = new RuntimeException("Erro ao listar");
         logger.debug("Configurando mock para lançar exceção: {}", erroSimulado.getMessage());
-        when(alunoRepository.findAll()).thenThrow(erroSimulado);
+        when(alunoRepository.carregarColunas()).thenThrow(erroSimulado);
         logger.debug("✅ Mock configurado para falhar");
 
         // Act & Assert
@@ -161,30 +178,28 @@ class VerificaAlunoServiceTest {
         logger.info("🧪 Testando listagem de todos os alunos reprovados");
 
         // Arrange
-        List<Aluno> alunosMock = Arrays.asList(alunoAprovado, alunoReprovado);
-        logger.debug("Configurando mock com {} alunos:", alunosMock.size());
-        logger.debug("  - {} (Aprovado): Média={:.2f}",
-                alunoAprovado.getNome(),
-                (alunoAprovado.getNota1() + alunoAprovado.getNota2() + alunoAprovado.getNota3()) / 3);
+        logger.debug("Configurando mock com os 3 alunos no retrato, 2 deles reprovados:");
         logger.debug("  - {} (Reprovado): Média={:.2f}",
                 alunoReprovado.getNome(),
-                (alunoReprovado.getNota1() + alunoReprovado.getNota2() + alunoReprovado.getNota3()) / 3);
+                alunoReprovado.getMedia());
 
-        when(alunoRepository.findAll()).thenReturn(alunosMock);
+        when(alunoRepository.carregarColunas()).thenReturn(colunasCom(alunoAprovado, alunoReprovado, alunoReprovadoUmaProva));
         logger.debug("✅ Mock configurado");
 
         // Act
         logger.info("Executando listarTodosAlunosReprovados()...");
-        List<Aluno> reprovados = consultaAlunoService.listarTodosAlunosReprovados();
+        List<AlunoDTO> reprovados = consultaAlunoService.listarTodosAlunosReprovados();
 
         // Assert
         logger.info("Verificando resultado da listagem...");
-        assertEquals(1, reprovados.size());
+        // Em ordem de CPF
+        assertEquals(2, reprovados.size());
         assertEquals("Ana", reprovados.get(0).getNome());
-        verify(alunoRepository, times(1)).findAll();
+        assertEquals("João", reprovados.get(1).getNome());
+        verify(alunoRepository, never()).findAll();
 
-        logger.info("✅ Teste passou! {} aluno reprovado encontrado: {}",
-                reprovados.size(), reprovados.get(0).getNome());
+        logger.info("✅ Teste passou! {} alunos reprovados encontrados: {} e {}",
+                reprovados.size(), reprovados.get(0).getNome(), reprovados.get(1).getNome());
     }
 
     @Test
@@ -194,7 +209,7 @@ class VerificaAlunoServiceTest {
         // Arrange
         RuntimeException erroSimulado = new RuntimeException("Erro ao listar");
         logger.debug("Configurando mock para lançar exceção: {}", erroSimulado.getMessage());
-        when(alunoRepository.findAll()).thenThrow(erroSimulado);
+        when(alunoRepository.carregarColunas()).thenThrow(erroSimulado);
         logger.debug("✅ Mock configurado para falhar");
 
         // Act & Assert
@@ -209,27 +224,27 @@ class VerificaAlunoServiceTest {
         logger.info("🧪 Testando listagem de todos os alunos");
 
         // Arrange
-        List<Aluno> alunosMock = Arrays.asList(alunoAprovado, alunoReprovado);
+        List<AlunoDTO> alunosMock = Arrays.asList(alunoAprovado, alunoReprovado);
         logger.debug("Configurando mock com {} alunos:", alunosMock.size());
         alunosMock.forEach(aluno ->
                 logger.debug("  - CPF={}, Nome={}, Status={}",
-                        aluno.getCpf(), aluno.getNome(), aluno.getAprovado()));
+                        aluno.getCpf(), aluno.getNome(), aluno.getSituacao()));
 
-        when(alunoRepository.findAll()).thenReturn(alunosMock);
+        when(alunoRepository.findAllAsDTO()).thenReturn(alunosMock);
         logger.debug("✅ Mock configurado");
 
         // Act
         logger.info("Executando listarTodosAlunos()...");
-        List<Aluno> alunos = consultaAlunoService.listarTodosAlunos();
+        List<AlunoDTO> alunos = consultaAlunoService.listarTodosAlunos();
 
         // Assert
         logger.info("Verificando resultado da listagem...");
         assertEquals(2, alunos.size());
-        verify(alunoRepository, times(1)).findAll();
+        verify(alunoRepository, times(1)).findAllAsDTO();
 
         logger.info("✅ Teste passou! {} alunos encontrados:", alunos.size());
         alunos.forEach(aluno ->
-                logger.debug("  - {}: {}", aluno.getNome(), aluno.getAprovado()));
+                logger.debug("  - {}: {}", aluno.getNome(), aluno.getSituacao()));
     }
 
     @Test
@@ -239,7 +254,7 @@ class VerificaAlunoServiceTest {
         // Arrange
         RuntimeException erroSimulado = new RuntimeException("Erro ao listar");
         logger.debug("Configurando mock para lançar exceção: {}", erroSimulado.getMessage());
-        when(alunoRepository.findAll()).thenThrow(erroSimulado);
+        when(alunoRepository.findAllAsDTO()).thenThrow(erroSimulado);
         logger.debug("✅ Mock configurado para falhar");
 
         // Act & Assert
@@ -256,27 +271,27 @@ class VerificaAlunoServiceTest {
         // Arrange
         String turma = "Turma 1";
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Aluno> page = new PageImpl<>(List.of(alunoAprovado));
+        Page<AlunoDTO> page = new PageImpl<>(List.of(alunoAprovado));
 
         logger.debug("Parâmetros de busca:");
         logger.debug("  - Turma: {}", turma);
         logger.debug("  - Paginação: página={}, tamanho={}", pageable.getPageNumber(), pageable.getPageSize());
-        logger.debug("  - Valores de aprovação aceitos: [Sim, APROVADO]");
+        logger.debug("  - Situação: APROVADO (STATUS = 1)");
 
         logger.debug("Configurando mock...");
-        when(alunoRepository.findByTurmaAndAprovadoIn(turma, Arrays.asList("Sim", "APROVADO"), pageable))
+        when(alunoRepository.findByTurmaAndSituacao(turma, SituacaoAluno.APROVADO, pageable))
                 .thenReturn(page);
         logger.debug("✅ Mock configurado: retorna página com {} elemento(s)", page.getTotalElements());
 
         // Act
         logger.info("Executando buscarAlunosAprovadosPorTurma({}, 0, 10)...", turma);
-        Page<Aluno> result = consultaAlunoService.buscarAlunosAprovadosPorTurma(turma, 0, 10);
+        Page<AlunoDTO> result = consultaAlunoService.buscarAlunosAprovadosPorTurma(turma, 0, 10);
 
         // Assert
         logger.info("Verificando resultado da busca...");
         assertEquals(1, result.getTotalElements());
         assertEquals("Carlos", result.getContent().get(0).getNome());
-        verify(alunoRepository, times(1)).findByTurmaAndAprovadoIn(turma, Arrays.asList("Sim", "APROVADO"), pageable);
+        verify(alunoRepository, times(1)).findByTurmaAndSituacao(turma, SituacaoAluno.APROVADO, pageable);
 
         logger.info("✅ Teste passou! {} aluno aprovado encontrado na {}: {}",
                 result.getTotalElements(), turma, result.getContent().get(0).getNome());
@@ -289,14 +304,14 @@ class VerificaAlunoServiceTest {
         // Arrange
         String turma = "Turma 1";
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Aluno> pageVazia = new PageImpl<>(List.of());
+        Page<AlunoDTO> pageVazia = new PageImpl<>(List.of());
 
         logger.debug("Parâmetros de busca:");
         logger.debug("  - Turma: {} (sem alunos aprovados)", turma);
         logger.debug("  - Paginação: página={}, tamanho={}", pageable.getPageNumber(), pageable.getPageSize());
 
         logger.debug("Configurando mock para retornar página vazia...");
-        when(alunoRepository.findByTurmaAndAprovadoIn(turma, Arrays.asList("Sim", "APROVADO"), pageable))
+        when(alunoRepository.findByTurmaAndSituacao(turma, SituacaoAluno.APROVADO, pageable))
                 .thenReturn(pageVazia);
         logger.debug("✅ Mock configurado: retorna página vazia");
 
@@ -320,7 +335,7 @@ class VerificaAlunoServiceTest {
 
         logger.debug("Parâmetros de busca: Turma={}", turma);
         logger.debug("Configurando mock para lançar exceção: {}", erroSimulado.getMessage());
-        when(alunoRepository.findByTurmaAndAprovadoIn(turma, Arrays.asList("Sim", "APROVADO"), pageable))
+        when(alunoRepository.findByTurmaAndSituacao(turma, SituacaoAluno.APROVADO, pageable))
                 .thenThrow(erroSimulado);
         logger.debug("✅ Mock configurado para falhar");
 
@@ -340,26 +355,26 @@ class VerificaAlunoServiceTest {
         // Arrange
         String turma = "Turma 2";
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Aluno> page = new PageImpl<>(List.of(alunoReprovado));
+        Page<AlunoDTO> page = new PageImpl<>(List.of(alunoReprovado));
 
         logger.debug("Parâmetros de busca:");
         logger.debug("  - Turma: {}", turma);
         logger.debug("  - Paginação: página={}, tamanho={}", pageable.getPageNumber(), pageable.getPageSize());
-        logger.debug("  - Valor de reprovação: 'Não'");
+        logger.debug("  - Situação: REPROVADO (STATUS = 0)");
 
         logger.debug("Configurando mock...");
-        when(alunoRepository.findByTurmaAndAprovado(turma, "Não", pageable)).thenReturn(page);
+        when(alunoRepository.findByTurmaAndSituacao(turma, SituacaoAluno.REPROVADO, pageable)).thenReturn(page);
         logger.debug("✅ Mock configurado: retorna página com {} elemento(s)", page.getTotalElements());
 
         // Act
         logger.info("Executando buscarAlunosReprovadosPorTurma({}, 0, 10)...", turma);
-        Page<Aluno> result = consultaAlunoService.buscarAlunosReprovadosPorTurma(turma, 0, 10);
+        Page<AlunoDTO> result = consultaAlunoService.buscarAlunosReprovadosPorTurma(turma, 0, 10);
 
         // Assert
         logger.info("Verificando resultado da busca...");
         assertEquals(1, result.getTotalElements());
         assertEquals("Ana", result.getContent().get(0).getNome());
-        verify(alunoRepository, times(1)).findByTurmaAndAprovado(turma, "Não", pageable);
+        verify(alunoRepository, times(1)).findByTurmaAndSituacao(turma, SituacaoAluno.REPROVADO, pageable);
 
         logger.info("✅ Teste passou! {} aluno reprovado encontrado na {}: {}",
                 result.getTotalElements(), turma, result.getContent().get(0).getNome());
@@ -372,7 +387,7 @@ class VerificaAlunoServiceTest {
         // Arrange
         String turma = "Turma 1";
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Aluno> page = new PageImpl<>(Arrays.asList(alunoAprovado, alunoReprovado));
+        Page<AlunoDTO> page = new PageImpl<>(Arrays.asList(alunoAprovado, alunoReprovado));
 
         logger.debug("Parâmetros de busca:");
         logger.debug("  - Turma: {}", turma);
@@ -385,7 +400,7 @@ class VerificaAlunoServiceTest {
 
         // Act
         logger.info("Executando buscarTodosAlunosPorTurma({}, 0, 10)...", turma);
-        Page<Aluno> result = consultaAlunoService.buscarTodosAlunosPorTurma(turma, 0, 10);
+        Page<AlunoDTO> result = consultaAlunoService.buscarTodosAlunosPorTurma(turma, 0, 10);
 
         // Assert
         logger.info("Verificando resultado da busca...");
@@ -394,17 +409,146 @@ class VerificaAlunoServiceTest {
 
         logger.info("✅ Teste passou! {} alunos encontrados na {}:", result.getTotalElements(), turma);
         result.getContent().forEach(aluno ->
-                logger.debug("  - {}: {}", aluno.getNome(), aluno.getAprovado()));
+                logger.debug("  - {}: {}", aluno.getNome(), aluno.getSituacao()));
+    }
+
+    @Test
+    void deveBuscarAlunosPorTurmaComCursor() {
+        logger.info("🧪 Testando busca de alunos por turma com paginação por cursor");
+
+        // Arrange
+        String turma = "Turma 1";
+        Pageable limite = PageRequest.of(0, 2);
+        when(alunoRepository.findByTurmaAfterCpf(turma, 0, limite))
+                .thenReturn(Arrays.asList(alunoAprovado, alunoReprovado));
+        when(alunoRepository.findByTurmaAfterCpf(turma, alunoAprovado.getCpf(), limite))
+                .thenReturn(List.of(alunoReprovado));
+        logger.debug("✅ Mocks configurados: primeira página com registro extra, segunda página final");
+
+        // Act
+        logger.info("Executando primeira página (cursor vazio) e página seguinte...");
+        PaginaCursor<AlunoDTO> primeira = consultaAlunoService.buscarAlunosPorTurmaComCursor(turma, "todos", "", 1);
+        PaginaCursor<AlunoDTO> segunda = consultaAlunoService.buscarAlunosPorTurmaComCursor(turma, "todos",
+                primeira.getNextCursor(), 1);
+
+        // Assert
+        assertEquals(1, primeira.getSize());
+        assertEquals("Carlos", primeira.getContent().get(0).getNome());
+        assertNotNull(primeira.getNextCursor());
+        assertEquals(1, segunda.getSize());
+        assertEquals("Ana", segunda.getContent().get(0).getNome());
+        assertNull(segunda.getNextCursor());
+        verify(alunoRepository, times(1)).findByTurmaAfterCpf(turma, alunoAprovado.getCpf(), limite);
+
+        logger.info("✅ Teste passou! Cursor levou da primeira para a última página sem COUNT");
+    }
+
+    @Test
+    void deveResponderConsultaRepetidaPeloCache() {
+        logger.info("🧪 Testando que a mesma página da turma é lida do banco apenas uma vez");
+
+        // Arrange
+        String turma = "Turma 1";
+        Pageable pageable = PageRequest.of(0, 10);
+        when(alunoRepository.findByTurma(turma, pageable)).thenReturn(new PageImpl<>(List.of(alunoAprovado)));
+        logger.debug("✅ Mock configurado: findByTurma retorna 1 aluno");
+
+        // Act
+        logger.info("Executando a mesma consulta duas vezes...");
+        Page<AlunoDTO> primeira = consultaAlunoService.buscarTodosAlunosPorTurma(turma, 0, 10);
+        Page<AlunoDTO> segunda = consultaAlunoService.buscarTodosAlunosPorTurma(turma, 0, 10);
+
+        // Assert
+        assertEquals(primeira.getContent(), segunda.getContent());
+        verify(alunoRepository, times(1)).findByTurma(turma, pageable);
+        assertEquals(1, consultaAlunoService.obterEstatisticasCache().getAcertos());
+        assertEquals(1, consultaAlunoService.obterEstatisticasCache().getFalhas());
+
+        logger.info("✅ Teste passou! Segunda consulta respondida pelo cache");
+    }
+
+    @Test
+    void deveInvalidarCacheApenasDaTurmaAlterada() {
+        logger.info("🧪 Testando invalidação do cache apenas para a turma alterada");
+
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10);
+        when(alunoRepository.findByTurma("Turma 1", pageable)).thenReturn(new PageImpl<>(List.of(alunoAprovado)));
+        when(alunoRepository.findByTurma("Turma 2", pageable)).thenReturn(new PageImpl<>(List.of(alunoReprovado)));
+        when(alunoRepository.findAllAsDTO()).thenReturn(List.of(alunoAprovado, alunoReprovado));
+
+        consultaAlunoService.buscarTodosAlunosPorTurma("Turma 1", 0, 10);
+        consultaAlunoService.buscarTodosAlunosPorTurma("Turma 2", 0, 10);
+        consultaAlunoService.listarTodosAlunos();
+        logger.debug("✅ Cache aquecido com as duas turmas e a listagem geral");
+
+        // Act
+        logger.info("Simulando gravação na Turma 2...");
+        consultaAlunoCache.aoAlterarAlunos(AlunosAlteradosEvent.daTurma("Turma 2"));
+        consultaAlunoService.buscarTodosAlunosPorTurma("Turma 1", 0, 10);
+        consultaAlunoService.buscarTodosAlunosPorTurma("Turma 2", 0, 10);
+        consultaAlunoService.listarTodosAlunos();
+
+        // Assert
+        verify(alunoRepository, times(1)).findByTurma("Turma 1", pageable);
+        verify(alunoRepository, times(2)).findByTurma("Turma 2", pageable);
+        verify(alunoRepository, times(2)).findAllAsDTO();
+
+        logger.info("✅ Teste passou! Turma 1 continuou em cache; Turma 2 e listagem geral foram relidas");
+    }
+
+    @Test
+    void obterEstatisticasTurmaInexistenteFalha() {
+        logger.info("🧪 Testando estatísticas de turma sem alunos (deve retornar 404)");
+
+        // Arrange
+        when(alunoRepository.agregarPorTurma()).thenReturn(List.of());
+        logger.debug("Mock configurado: nenhuma turma agregada no banco");
+
+        // Act & Assert
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> consultaAlunoService.obterEstatisticasTurma("Turma 9"));
+
+        assertEquals("Nenhum aluno encontrado na turma Turma 9", exception.getMessage());
+        verify(alunoRepository, never()).findAllAsDTO();
+
+        logger.info("✅ Teste passou! {}", exception.getMessage());
     }
 
     /**
      * Método auxiliar para contar quantas provas um aluno fez
      */
-    private int contarProvasFeitas(Aluno aluno) {
+    private int contarProvasFeitas(AlunoDTO aluno) {
         int count = 0;
         if (aluno.getNota1() != null && aluno.getNota1() > 0) count++;
         if (aluno.getNota2() != null && aluno.getNota2() > 0) count++;
         if (aluno.getNota3() != null && aluno.getNota3() > 0) count++;
         return count;
     }
-}
\ No newline at end of file
+
+    /**
+     * Retrato colunar como carregado do banco, com os alunos informados
+     */
+    private static ColunasAlunos colunasCom(AlunoDTO... alunos) {
+        ColunasAlunos colunas = new ColunasAlunos(alunos.length);
+        colunas.aplicar(List.of(), List.of(alunos));
+        return colunas;
+    }
+
+    /**
+     * Cria a projeção de um aluno como devolvida pelas consultas do repositório
+     */
+    private static AlunoDTO novoAluno(long cpf, String nome, String turma,
+                                      Double nota1, Double nota2, Double nota3, SituacaoAluno situacao) {
+        return AlunoDTO.builder()
+                .cpf(cpf)
+                .nome(nome)
+                .turma(turma)
+                .media(Math.round((nota1 + nota2 + nota3) / 3 * 100) / 100.0)
+                .situacao(situacao)
+                .nota1(Notas.decimos(nota1))
+                .nota2(Notas.decimos(nota2))
+                .nota3(Notas.decimos(nota3))
+                .build();
+    }
+}
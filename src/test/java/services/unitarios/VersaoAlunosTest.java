@@ -0,0 +1,67 @@
+package services.unitarios;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import br.com.cadastro.alunos.model.cache.VersaoAlunos;
+import br.com.cadastro.alunos.model.events.AlunosAlteradosEvent;
+
+@Tag("unitario")
+@SuppressWarnings("java:S*")
+class VersaoAlunosTest {
+
+    private static final Logger logger = LogManager.getLogger(VersaoAlunosTest.class);
+
+    private VersaoAlunos versaoAlunos;
+
+    @BeforeEach
+    void setUp() {
+        logger.info("=== Iniciando teste da VersaoAlunos ===");
+        versaoAlunos = new VersaoAlunos();
+    }
+
+    @Test
+    void deveAvancarApenasAsTurmasAlteradas() {
+        logger.info("🧪 Testando versões geral e por turma após gravação em uma turma");
+
+        // Arrange
+        String etagTurma1 = versaoAlunos.daTurma("Turma 1").etag(false);
+
+        // Act
+        versaoAlunos.aoAlterarAlunos(AlunosAlteradosEvent.daTurma("Turma 2"));
+
+        // Assert
+        logger.debug("🏷️ Geral: {}, Turma 1: {}, Turma 2: {}", versaoAlunos.geral().etag(false),
+                versaoAlunos.daTurma("Turma 1").etag(false), versaoAlunos.daTurma("Turma 2").etag(false));
+        assertEquals(1, versaoAlunos.geral().getNumero());
+        assertEquals(etagTurma1, versaoAlunos.daTurma("Turma 1").etag(false));
+        assertEquals(1, versaoAlunos.daTurma("Turma 2").getNumero());
+
+        logger.info("✅ Teste passou! Turma 1 manteve a ETag; Turma 2 e a versão geral avançaram");
+    }
+
+    @Test
+    void deveAvancarTodasAsTurmasAposReavaliacaoGeral() {
+        logger.info("🧪 Testando que a reavaliação geral invalida a ETag de todas as turmas");
+
+        // Arrange
+        versaoAlunos.aoAlterarAlunos(AlunosAlteradosEvent.daTurma("Turma 1"));
+        versaoAlunos.aoAlterarAlunos(AlunosAlteradosEvent.daTurma("Turma 2"));
+
+        // Act
+        versaoAlunos.aoAlterarAlunos(AlunosAlteradosEvent.deTodasAsTurmas());
+
+        // Assert
+        assertEquals(3, versaoAlunos.daTurma("Turma 1").getNumero());
+        assertEquals(3, versaoAlunos.daTurma("Turma 3").getNumero());
+        assertNotEquals(versaoAlunos.geral().etag(false), versaoAlunos.geral().etag(true));
+
+        logger.info("✅ Teste passou! Todas as turmas na versão {}", versaoAlunos.geral().getNumero());
+    }
+}